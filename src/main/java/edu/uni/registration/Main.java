@@ -1,14 +1,28 @@
 package edu.uni.registration;
 
+import edu.uni.registration.admission.AdaptiveLimit;
+import edu.uni.registration.admission.AdmissionScheduler;
 import edu.uni.registration.cli.CommandLineInterface;
+import edu.uni.registration.events.ChangeEvent;
+import edu.uni.registration.events.ChangeEventBus;
+import edu.uni.registration.events.ChangeEventCounter;
+import edu.uni.registration.events.SeatAvailabilityHub;
 import edu.uni.registration.gui.SimpleGui;
 import edu.uni.registration.repository.*;
+import edu.uni.registration.rpc.RpcServer;
+import edu.uni.registration.server.ApiServer;
+import edu.uni.registration.server.ServerMetrics;
 import edu.uni.registration.service.*;
 import edu.uni.registration.service.impl.*;
 import edu.uni.registration.util.SeedData;
+import edu.uni.registration.util.TokenBucketLimiter;
 import edu.uni.registration.validation.*;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Locale;
 import java.util.Scanner;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.swing.SwingUtilities;
 
@@ -26,12 +40,15 @@ public class Main {
         PrerequisiteValidator prereqVal = new PrerequisiteValidator();
 
         // 3. Setup Services
-        RegistrationService regService = new RegistrationServiceImpl(
+        RegistrationServiceImpl regService = new RegistrationServiceImpl(
             studentRepo, sectionRepo, prereqVal, transcriptRepo, personRepo, enrollmentRepo
         );
-        CatalogService catalogService = new CatalogServiceImpl(
+        CatalogServiceImpl catalogService = new CatalogServiceImpl(
             courseRepo, sectionRepo, personRepo
         );
+        catalogService.setSeatOfferer(regService::offerOpenSeats);
+        // Expired holds and offers return their seats even when nobody is registering.
+        regService.startExpiryTicker();
         GradingService gradingService = new GradingServiceImpl(
             studentRepo, sectionRepo, enrollmentRepo, transcriptRepo
         );
@@ -39,6 +56,82 @@ public class Main {
         // 4. Seed Data
         SeedData.seedData(studentRepo, courseRepo, sectionRepo, personRepo, transcriptRepo, enrollmentRepo);
 
+        // Change events for downstream consumers; attached after seeding so they see live changes only.
+        ChangeEventBus changeEvents = new ChangeEventBus();
+        studentRepo.setEventBus(changeEvents);
+        courseRepo.setEventBus(changeEvents);
+        sectionRepo.setEventBus(changeEvents);
+        personRepo.setEventBus(changeEvents);
+        transcriptRepo.setEventBus(changeEvents);
+        enrollmentRepo.setEventBus(changeEvents);
+
+        // Both server modes face many students at once, so their registration writes go through the
+        // waiting room: registration is open from startup with no year waves, the number of admitted
+        // sessions follows measured latency, and a session closes after five idle minutes.
+        AdmissionScheduler admission = new AdmissionScheduler(System.currentTimeMillis(), 0, 5 * 60_000L,
+                new AdaptiveLimit(64, 8, 1024), System::currentTimeMillis);
+        RegistrationService admittedRegService =
+                new AdmissionControlledRegistrationService(regService, admission, studentRepo);
+
+        // Headless mode for running behind a load balancer: --server [port]
+        if (args.length > 0 && "--server".equals(args[0])) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+            ServerMetrics metrics = new ServerMetrics();
+            metrics.gauge("search_cache_hits", () -> catalogService.getSearchCacheStats().getHitCount());
+            metrics.gauge("search_cache_misses", () -> catalogService.getSearchCacheStats().getMissCount());
+            metrics.gauge("search_cache_evictions", () -> catalogService.getSearchCacheStats().getEvictionCount());
+            metrics.gauge("replayed_requests", regService::getReplayedRequestCount);
+            metrics.gauge("section_write_conflicts", () -> sectionRepo.getContention().total());
+            metrics.gauge("course_write_conflicts", () -> courseRepo.getContention().total());
+            metrics.gauge("enrollment_write_conflicts", () -> enrollmentRepo.getContention().total());
+            metrics.gauge("change_event_sequence", changeEvents::nextSequence);
+            // Reads the change stream through its own cursor, alongside any other consumer of the bus.
+            ChangeEventCounter eventCounter = new ChangeEventCounter(changeEvents, 1_000);
+            for (ChangeEvent.Type type : ChangeEvent.Type.values()) {
+                metrics.gauge("change_events_" + type.name().toLowerCase(Locale.ROOT), () -> eventCounter.count(type));
+            }
+            metrics.gauge("change_event_consumer_lag", eventCounter::lag);
+            metrics.gauge("change_event_consumer_missed", eventCounter::missed);
+            metrics.gauge("admission_active_sessions", admission::activeSessions);
+            metrics.gauge("admission_waiting", admission::waitingCount);
+            // Same per-student budgets as the GUI; an exhausted budget is answered with 429.
+            RegistrationService apiRegService = new RateLimitedRegistrationService(admittedRegService,
+                    new TokenBucketLimiter(1 << 17, 20, 5), new TokenBucketLimiter(1 << 17, 5, 1));
+            try {
+                ApiServer server = new ApiServer(new InetSocketAddress(port), apiRegService, catalogService,
+                        gradingService, metrics);
+                server.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(2)));
+                System.out.println("API server listening on port " + server.getPort());
+            } catch (IOException e) {
+                System.err.println("Could not start API server: " + e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
+
+        // Binary protocol for kiosks and advisor tools: --rpc [port]
+        if (args.length > 0 && "--rpc".equals(args[0])) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : 9090;
+            // Same per-student budgets as the HTTP API; an exhausted budget fails the call.
+            RegistrationService rpcRegService = new RateLimitedRegistrationService(admittedRegService,
+                    new TokenBucketLimiter(1 << 17, 20, 5), new TokenBucketLimiter(1 << 17, 5, 1));
+            try {
+                RpcServer server = new RpcServer(new InetSocketAddress(port), rpcRegService, catalogService,
+                        Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+                server.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+                System.out.println("RPC server listening on port " + server.getPort());
+                Thread.currentThread().join();
+            } catch (IOException e) {
+                System.err.println("Could not start RPC server: " + e.getMessage());
+                System.exit(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return;
+        }
+
         // 5. Choose Interface (CLI or GUI)
         System.out.println("Choose mode: 1 for CLI, 2 for GUI");
         try (Scanner sc = new Scanner(System.in)) {
@@ -46,8 +139,19 @@ public class Main {
                 String mode = sc.nextLine();
                 if ("2".equals(mode)) {
                     System.out.println("Launching GUI...");
+                    // Refresh/Enroll clicks are rate limited per user: 20 reads burst at 5/s, 5 writes burst at 1/s.
+                    TokenBucketLimiter reads = new TokenBucketLimiter(1 << 17, 20, 5);
+                    TokenBucketLimiter writes = new TokenBucketLimiter(1 << 17, 5, 1);
+                    AtomicReference<SimpleGui> gui = new AtomicReference<>();
+                    RegistrationService guiRegService = new RateLimitedRegistrationService(regService, reads, writes);
+                    CatalogService guiCatalogService = new RateLimitedCatalogService(catalogService, reads, writes,
+                            () -> gui.get() == null ? null : gui.get().getCurrentUserId());
+                    // Seat counts on screen are pushed at most twice a second instead of re-polled.
+                    SeatAvailabilityHub seatHub = new SeatAvailabilityHub(500);
+                    Runtime.getRuntime().addShutdownHook(new Thread(seatHub::close));
                     SwingUtilities.invokeLater(() -> {
-                        new SimpleGui(regService, catalogService, gradingService).setVisible(true);
+                        gui.set(new SimpleGui(guiRegService, guiCatalogService, gradingService, seatHub));
+                        gui.get().setVisible(true);
                     });
                 } else {
                     CommandLineInterface cli = new CommandLineInterface(regService, catalogService, gradingService);
@@ -0,0 +1,55 @@
+package edu.uni.registration.admission;
+
+/**
+ * Concurrency limit that follows measured service latency (gradient style).
+ * A long-window average tracks the healthy baseline and a short-window average tracks now;
+ * while the short one stays near the baseline the limit grows by about its square root,
+ * and as it rises the limit shrinks in proportion. That keeps the engine near the point
+ * where extra admissions stop adding throughput and only add queueing.
+ */
+public class AdaptiveLimit {
+
+    private static final double SHORT_ALPHA = 0.1;
+    private static final double LONG_ALPHA = 0.002;
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private double limit;
+    private double shortRtt;
+    private double longRtt;
+
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Need 1 <= min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+    }
+
+    public synchronized void onSample(long latencyNanos) {
+        if (latencyNanos <= 0) {
+            return;
+        }
+        if (shortRtt == 0) {
+            shortRtt = longRtt = latencyNanos;
+            return;
+        }
+        shortRtt += SHORT_ALPHA * (latencyNanos - shortRtt);
+        longRtt += LONG_ALPHA * (latencyNanos - longRtt);
+        // A sustained regime change resets the baseline rather than pinning the limit at the floor forever.
+        if (longRtt > shortRtt * 2) {
+            longRtt = shortRtt;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+}
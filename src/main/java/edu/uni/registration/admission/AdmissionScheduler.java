@@ -0,0 +1,200 @@
+package edu.uni.registration.admission;
+
+import edu.uni.registration.model.Student;
+import edu.uni.registration.util.TimingWheel;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Virtual waiting room in front of registration.
+ * Each student gets a time ticket by seniority (final-year students first, one wave per year
+ * below). Once the ticket time passes, a student joins a FIFO queue and is admitted when an
+ * active session slot is free; the number of slots follows {@link AdaptiveLimit}. Sessions end
+ * on {@link #leave} or after an idle timeout driven by the timing wheel.
+ */
+public class AdmissionScheduler {
+
+    private static final int SENIOR_YEAR = 4;
+
+    private static final class Waiter {
+        final String studentId;
+        final long queueNumber;
+        long lastSeen;
+
+        Waiter(String studentId, long queueNumber, long lastSeen) {
+            this.studentId = studentId;
+            this.queueNumber = queueNumber;
+            this.lastSeen = lastSeen;
+        }
+    }
+
+    private static final class Session {
+        final long admittedAt;
+        long lastSeen;
+
+        Session(long admittedAt) {
+            this.admittedAt = admittedAt;
+            this.lastSeen = admittedAt;
+        }
+    }
+
+    private final long openAtMillis;
+    private final long waveGapMillis;
+    private final long idleTimeoutMillis;
+    private final AdaptiveLimit limit;
+    private final LongSupplier clock;
+    private final TimingWheel<String> sessionTimeouts;
+
+    private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+    private final Map<String, Waiter> waiting = new HashMap<>();
+    private final Map<String, Session> sessions = new HashMap<>();
+    private long nextQueueNumber;
+    private long admittedThrough;
+    private double averageSessionMillis;
+
+    /**
+     * @param openAtMillis      when the first (most senior) wave may register
+     * @param waveGapMillis     delay between consecutive year waves
+     * @param idleTimeoutMillis admitted sessions with no activity for this long are closed; waiters
+     *                          who stop polling for this long lose their place
+     */
+    public AdmissionScheduler(long openAtMillis, long waveGapMillis, long idleTimeoutMillis,
+                              AdaptiveLimit limit, LongSupplier clock) {
+        if (waveGapMillis < 0 || idleTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("Invalid admission timings");
+        }
+        if (limit == null || clock == null) {
+            throw new IllegalArgumentException("Limit and clock are required");
+        }
+        this.openAtMillis = openAtMillis;
+        this.waveGapMillis = waveGapMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.limit = limit;
+        this.clock = clock;
+        this.sessionTimeouts = new TimingWheel<>(1_000, 64, clock);
+        this.averageSessionMillis = idleTimeoutMillis;
+    }
+
+    /** Time ticket: seniors at opening, one wave gap later for each year below. */
+    public long ticketTime(Student student) {
+        int wavesBehind = Math.max(0, SENIOR_YEAR - Math.max(1, Math.min(SENIOR_YEAR, student.getYear())));
+        return openAtMillis + wavesBehind * waveGapMillis;
+    }
+
+    /**
+     * Registers activity from a student and returns where they stand. Admitted students keep
+     * their session alive by calling this; waiting students keep their place by polling.
+     */
+    public synchronized AdmissionTicket requestAdmission(Student student) {
+        long now = clock.getAsLong();
+        expireIdle(now);
+        String id = student.getId();
+        long ticket = ticketTime(student);
+
+        Session session = sessions.get(id);
+        if (session != null) {
+            session.lastSeen = now;
+            return new AdmissionTicket(AdmissionTicket.Status.ADMITTED, ticket, 0, 0);
+        }
+        if (now < ticket) {
+            return new AdmissionTicket(AdmissionTicket.Status.NOT_YET_OPEN, ticket, 0, ticket - now);
+        }
+
+        Waiter w = waiting.get(id);
+        if (w == null) {
+            w = new Waiter(id, nextQueueNumber++, now);
+            waiting.put(id, w);
+            queue.addLast(w);
+        }
+        w.lastSeen = now;
+        admitWaiting(now);
+
+        if (sessions.containsKey(id)) {
+            return new AdmissionTicket(AdmissionTicket.Status.ADMITTED, ticket, 0, 0);
+        }
+        int position = (int) (w.queueNumber - admittedThrough);
+        return new AdmissionTicket(AdmissionTicket.Status.WAITING, ticket, position, estimateWait(position));
+    }
+
+    /** True if the student holds an admitted session (does not refresh it). */
+    public synchronized boolean isAdmitted(String studentId) {
+        return sessions.containsKey(studentId);
+    }
+
+    /** Ends a session (student logged out or finished) and lets the next waiter in. */
+    public synchronized void leave(String studentId) {
+        long now = clock.getAsLong();
+        Session s = sessions.remove(studentId);
+        if (s != null) {
+            recordSession(now - s.admittedAt);
+        }
+        Waiter w = waiting.remove(studentId);
+        if (w != null) {
+            queue.remove(w);
+        }
+        admitWaiting(now);
+    }
+
+    /** Feeds one measured service call into the adaptive limit. */
+    public void recordLatency(long latencyNanos) {
+        limit.onSample(latencyNanos);
+    }
+
+    public synchronized int activeSessions() {
+        return sessions.size();
+    }
+
+    public synchronized int waitingCount() {
+        return waiting.size();
+    }
+
+    public int currentLimit() {
+        return limit.getLimit();
+    }
+
+    private void admitWaiting(long now) {
+        int cap = limit.getLimit();
+        while (sessions.size() < cap && !queue.isEmpty()) {
+            Waiter w = queue.pollFirst();
+            admittedThrough = w.queueNumber + 1;
+            waiting.remove(w.studentId);
+            if (now - w.lastSeen > idleTimeoutMillis) {
+                continue; // walked away from the waiting room
+            }
+            sessions.put(w.studentId, new Session(now));
+            sessionTimeouts.schedule(w.studentId, idleTimeoutMillis);
+        }
+    }
+
+    private void expireIdle(long now) {
+        boolean freed = false;
+        for (String id : sessionTimeouts.advance()) {
+            Session s = sessions.get(id);
+            if (s == null) continue;
+            long idleFor = now - s.lastSeen;
+            if (idleFor >= idleTimeoutMillis) {
+                sessions.remove(id);
+                recordSession(s.lastSeen - s.admittedAt);
+                freed = true;
+            } else {
+                sessionTimeouts.schedule(id, idleTimeoutMillis - idleFor);
+            }
+        }
+        if (freed) {
+            admitWaiting(now);
+        }
+    }
+
+    private void recordSession(long millis) {
+        averageSessionMillis += 0.1 * (Math.max(0, millis) - averageSessionMillis);
+    }
+
+    /** With {@code limit} slots each turning over once per average session, a slot frees every session/limit. */
+    private long estimateWait(int position) {
+        int cap = Math.max(1, limit.getLimit());
+        return (long) ((position + 1) * averageSessionMillis / cap);
+    }
+}
@@ -0,0 +1,60 @@
+package edu.uni.registration.admission;
+
+/**
+ * Snapshot of where a student stands in the registration waiting room.
+ */
+public class AdmissionTicket {
+
+    public enum Status {
+        /** The student's registration time ticket has not been reached yet. */
+        NOT_YET_OPEN,
+        WAITING,
+        ADMITTED
+    }
+
+    private final Status status;
+    private final long ticketTimeMillis;
+    private final int position;
+    private final long estimatedWaitMillis;
+
+    AdmissionTicket(Status status, long ticketTimeMillis, int position, long estimatedWaitMillis) {
+        this.status = status;
+        this.ticketTimeMillis = ticketTimeMillis;
+        this.position = position;
+        this.estimatedWaitMillis = estimatedWaitMillis;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isAdmitted() {
+        return status == Status.ADMITTED;
+    }
+
+    /** When this student's registration window opens. */
+    public long getTicketTimeMillis() {
+        return ticketTimeMillis;
+    }
+
+    /** Students ahead in the queue (0 once admitted). */
+    public int getPosition() {
+        return position;
+    }
+
+    public long getEstimatedWaitMillis() {
+        return estimatedWaitMillis;
+    }
+
+    @Override
+    public String toString() {
+        switch (status) {
+            case ADMITTED:
+                return "Admitted";
+            case NOT_YET_OPEN:
+                return "Registration opens for you in " + (estimatedWaitMillis / 1000) + "s";
+            default:
+                return "Waiting room: position " + position + ", about " + (estimatedWaitMillis / 1000) + "s";
+        }
+    }
+}
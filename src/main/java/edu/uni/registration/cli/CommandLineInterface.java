@@ -1,14 +1,20 @@
 package edu.uni.registration.cli;
 
 import edu.uni.registration.model.*;
+import edu.uni.registration.scheduling.ScheduleGenerator;
 import edu.uni.registration.service.*;
 import edu.uni.registration.util.CourseQuery;
 import edu.uni.registration.util.Result;
+import edu.uni.registration.validation.CartItemVerdict;
+import edu.uni.registration.validation.TimeClash;
 
 import java.time.DayOfWeek;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class CommandLineInterface {
 
@@ -96,6 +102,10 @@ public class CommandLineInterface {
             System.out.println("3. Drop Section");
             System.out.println("4. View Schedule");
             System.out.println("5. View Transcript");
+            System.out.println("6. Find Conflict-Free Schedules");
+            System.out.println("7. Validate Cart");
+            System.out.println("8. Swap Section");
+            System.out.println("9. Waitlist Seat Offers");
             System.out.println("0. Logout");
             System.out.print("Select action: ");
             
@@ -223,12 +233,101 @@ public class CommandLineInterface {
                 case "5":
                     viewTranscript();
                     break;
+                case "6":
+                    findSchedules();
+                    break;
+                case "7":
+                    validateCart();
+                    break;
+                case "9":
+                    handleOffers();
+                    break;
+                case "8":
+                    System.out.print("Section ID to leave: ");
+                    String fromId = scanner.nextLine();
+                    System.out.print("Section ID to join: ");
+                    String toId = scanner.nextLine();
+                    Result<Enrollment> swapRes = registrationService.swapSection(currentUserId, fromId, toId);
+                    if (swapRes.isOk()) {
+                        System.out.println("Swapped. Status: " + swapRes.get().getStatus());
+                    } else {
+                        System.out.println("Failed: " + swapRes.getError());
+                    }
+                    break;
                 default:
                     System.out.println("Invalid option.");
             }
         }
     }
 
+    private void findSchedules() {
+        System.out.print("Course codes (comma separated): ");
+        List<String> codes = new ArrayList<>();
+        for (String code : scanner.nextLine().split(",")) {
+            if (!code.isBlank()) codes.add(code.trim());
+        }
+        System.out.print("Term: ");
+        String term = scanner.nextLine().trim();
+
+        Result<Stream<List<Section>>> res = registrationService.generateSchedules(codes, term);
+        if (res.isFail()) {
+            System.out.println("Error: " + res.getError());
+            return;
+        }
+        List<List<Section>> options;
+        try (Stream<List<Section>> schedules = res.get()) {
+            options = schedules.limit(200).sorted(ScheduleGenerator.RANKING).limit(5).collect(Collectors.toList());
+        }
+        if (options.isEmpty()) {
+            System.out.println("No conflict-free combination exists.");
+            return;
+        }
+        for (int i = 0; i < options.size(); i++) {
+            List<Section> option = options.get(i);
+            System.out.println("Option " + (i + 1) + " (open seats: " + ScheduleGenerator.openSeats(option)
+                    + ", idle minutes: " + ScheduleGenerator.idleMinutes(option) + ")");
+            option.forEach(s -> System.out.println("  " + s));
+        }
+    }
+
+    private void validateCart() {
+        System.out.print("Section IDs in cart (comma separated): ");
+        List<String> ids = new ArrayList<>();
+        for (String id : scanner.nextLine().split(",")) {
+            if (!id.isBlank()) ids.add(id.trim());
+        }
+        Result<List<CartItemVerdict>> res = registrationService.validateCart(currentUserId, ids);
+        if (res.isOk()) {
+            res.get().forEach(System.out::println);
+        } else {
+            System.out.println("Error: " + res.getError());
+        }
+    }
+
+    private void handleOffers() {
+        Result<List<SeatOffer>> res = registrationService.getPendingOffers(currentUserId);
+        if (res.isFail()) {
+            System.out.println("Error: " + res.getError());
+            return;
+        }
+        if (res.get().isEmpty()) {
+            System.out.println("No pending seat offers.");
+            return;
+        }
+        res.get().forEach(System.out::println);
+        System.out.print("Offer ID to answer (blank to skip): ");
+        String offerId = scanner.nextLine().trim();
+        if (offerId.isEmpty()) return;
+        System.out.print("Accept? (y/N): ");
+        if ("y".equalsIgnoreCase(scanner.nextLine().trim())) {
+            Result<Enrollment> accepted = registrationService.acceptOffer(currentUserId, offerId);
+            System.out.println(accepted.isOk() ? "Enrolled." : "Failed: " + accepted.getError());
+        } else {
+            Result<Void> declined = registrationService.declineOffer(currentUserId, offerId);
+            System.out.println(declined.isOk() ? "Offer declined." : "Failed: " + declined.getError());
+        }
+    }
+
     private void viewTranscript() {
         Result<Transcript> res = registrationService.getTranscript(currentUserId);
         if (res.isOk()) {
@@ -293,7 +392,7 @@ public class CommandLineInterface {
                 for (Section s : sections) {
                     System.out.printf(" - %s: %s (%s) [%d/%d students]%n",
                             s.getId(), s.getCourse().getTitle(), s.getTerm(),
-                            s.getRoster().size(), s.getCapacity());
+                            s.getEnrolledCount(), s.getCapacity());
                 }
             }
         } else {
@@ -314,16 +413,15 @@ public class CommandLineInterface {
 
             if (target != null) {
                 System.out.println("Roster for " + target.getId() + ":");
-                List<Enrollment> roster = target.getRoster();
-                if (roster.isEmpty()) {
+                if (target.getEnrolledCount() + target.getWaitlistedCount() == 0) {
                     System.out.println("  (No students enrolled)");
                 } else {
-                    for (Enrollment e : roster) {
+                    target.forEachRosterEntry(e -> {
                         Student s = e.getStudent();
                         System.out.printf("  - %s (%s): %s [Grade: %s]%n",
                                 s.getId(), s.getFullName(), e.getStatus(),
                                 e.getGrade().map(Grade::toString).orElse("N/A"));
-                    }
+                    });
                 }
             } else {
                 System.out.println("Section not found or not assigned to you.");
@@ -363,6 +461,8 @@ public class CommandLineInterface {
             System.out.println("4. Override Capacity");
             System.out.println("5. Override Enrollment (Force Add)");
             System.out.println("6. Edit Course (Title/Credits)");
+            System.out.println("7. Add Meeting Time");
+            System.out.println("8. Audit Room Double-Bookings");
             System.out.println("0. Logout");
             System.out.print("Select action: ");
 
@@ -388,6 +488,12 @@ public class CommandLineInterface {
                 case "6":
                     editCourse();
                     break;
+                case "7":
+                    addMeetingTime();
+                    break;
+                case "8":
+                    auditRoomClashes();
+                    break;
                 default:
                     System.out.println("Invalid option.");
             }
@@ -447,6 +553,49 @@ public class CommandLineInterface {
         }
     }
 
+    private void addMeetingTime() {
+        System.out.print("Section ID: ");
+        String secId = scanner.nextLine();
+        System.out.print("Day (e.g. MONDAY): ");
+        String day = scanner.nextLine();
+        System.out.print("Start (HH:MM): ");
+        String start = scanner.nextLine();
+        System.out.print("End (HH:MM): ");
+        String end = scanner.nextLine();
+        System.out.print("Room: ");
+        String room = scanner.nextLine();
+
+        TimeSlot slot;
+        try {
+            slot = new TimeSlot(DayOfWeek.valueOf(day.trim().toUpperCase()),
+                    LocalTime.parse(start.trim()), LocalTime.parse(end.trim()), room.trim());
+        } catch (Exception e) {
+            System.out.println("Invalid meeting time: " + e.getMessage());
+            return;
+        }
+
+        Result<Void> res = catalogService.addMeetingTime(secId, slot);
+        if (res.isOk()) System.out.println("Meeting time added.");
+        else System.out.println("Failed: " + res.getError());
+    }
+
+    private void auditRoomClashes() {
+        System.out.print("Term (blank = all): ");
+        String term = scanner.nextLine();
+
+        Result<List<TimeClash>> res = catalogService.auditRoomClashes(term.isBlank() ? null : term.trim());
+        if (res.isFail()) {
+            System.out.println("Error: " + res.getError());
+        } else if (res.get().isEmpty()) {
+            System.out.println("No room double-bookings found.");
+        } else {
+            System.out.println("Room double-bookings:");
+            for (TimeClash clash : res.get()) {
+                System.out.println(" - " + clash);
+            }
+        }
+    }
+
     private void assignInstructor() {
         System.out.print("Section ID: ");
         String secId = scanner.nextLine();
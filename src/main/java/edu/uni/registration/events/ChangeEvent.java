@@ -0,0 +1,76 @@
+package edu.uni.registration.events;
+
+/**
+ * One committed change, as seen by downstream consumers (billing, LMS, dashboards).
+ * Immutable; {@link #getSequence()} is its position in the {@link ChangeEventBus}.
+ */
+public final class ChangeEvent {
+
+    public enum Type {
+        COURSE_SAVED,
+        COURSE_DELETED,
+        SECTION_SAVED,
+        SECTION_DELETED,
+        /** Detail is "old->new". */
+        CAPACITY_CHANGED,
+        STUDENT_SAVED,
+        STUDENT_DELETED,
+        PERSON_SAVED,
+        PERSON_DELETED,
+        TRANSCRIPT_SAVED,
+        TRANSCRIPT_DELETED,
+        /** A new enrollment record; detail is its status. */
+        ENROLLMENT_SAVED,
+        ENROLLMENT_DELETED,
+        /** Moved to the enrollment history after a drop. */
+        ENROLLMENT_ARCHIVED,
+        /** Detail is "OLD->NEW", e.g. "WAITLISTED->ENROLLED" or "ENROLLED->DROPPED". */
+        ENROLLMENT_STATUS_CHANGED,
+        /** Detail is the grade, or empty when a grade is cleared. */
+        GRADE_ASSIGNED
+    }
+
+    private final long sequence;
+    private final long timestampMillis;
+    private final Type type;
+    private final String entityId;
+    private final String detail;
+
+    ChangeEvent(long sequence, long timestampMillis, Type type, String entityId, String detail) {
+        this.sequence = sequence;
+        this.timestampMillis = timestampMillis;
+        this.type = type;
+        this.entityId = entityId;
+        this.detail = detail;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Id of the changed entity: course code, section id, person id, or
+     * "studentId:sectionId" for enrollments (the enrollment repository's key).
+     */
+    public String getEntityId() {
+        return entityId;
+    }
+
+    /** Type-specific detail; empty if the type has none. */
+    public String getDetail() {
+        return detail;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + sequence + " " + type + " " + entityId + (detail.isEmpty() ? "" : " " + detail);
+    }
+}
@@ -0,0 +1,116 @@
+package edu.uni.registration.events;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free ring buffer of {@link ChangeEvent}s. Publishing claims a sequence number with one
+ * atomic increment and writes one array slot; it never waits for consumers. Each consumer reads
+ * through its own {@link Subscription} cursor in batches, so any number of consumers can follow
+ * the stream at their own pace. A consumer that falls more than the ring size behind is lapped:
+ * it skips ahead and the skipped events are counted in {@link Subscription#getMissedCount()}.
+ */
+public class ChangeEventBus {
+
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private final AtomicReferenceArray<ChangeEvent> ring;
+    private final int mask;
+    private final AtomicLong next = new AtomicLong();
+    private final LongSupplier clock;
+
+    public ChangeEventBus() {
+        this(DEFAULT_CAPACITY, System::currentTimeMillis);
+    }
+
+    /** @param capacity ring size, rounded up to a power of two */
+    public ChangeEventBus(int capacity, LongSupplier clock) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("Capacity must be at least 2");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.clock = clock;
+    }
+
+    /** Appends an event and returns its sequence number. Safe to call from any thread. */
+    public long publish(ChangeEvent.Type type, String entityId, String detail) {
+        long seq = next.getAndIncrement();
+        ring.set((int) seq & mask, new ChangeEvent(seq, clock.getAsLong(), type, entityId,
+                detail == null ? "" : detail));
+        return seq;
+    }
+
+    /** Sequence number the next published event will get. */
+    public long nextSequence() {
+        return next.get();
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /** A consumer that sees every event published from now on. */
+    public Subscription subscribe() {
+        return new Subscription(next.get());
+    }
+
+    /**
+     * One consumer's position in the stream. Not thread-safe: each consumer polls its own
+     * subscription from one thread at a time.
+     */
+    public final class Subscription {
+        private long cursor;
+        private long missed;
+
+        private Subscription(long cursor) {
+            this.cursor = cursor;
+        }
+
+        /**
+         * Up to {@code maxBatch} events in sequence order, or an empty list if none are ready.
+         * Stops at the first sequence still being written, so events are never delivered out of order.
+         */
+        public List<ChangeEvent> poll(int maxBatch) {
+            List<ChangeEvent> batch = new ArrayList<>(Math.min(maxBatch, 64));
+            while (batch.size() < maxBatch) {
+                ChangeEvent e = ring.get((int) cursor & mask);
+                if (e == null || e.getSequence() < cursor) {
+                    break;
+                }
+                if (e.getSequence() > cursor) {
+                    // Lapped: resume at the oldest event the ring can still hold.
+                    long oldest = Math.max(cursor, next.get() - capacity());
+                    missed += Math.max(1, oldest - cursor);
+                    cursor = Math.max(oldest, cursor + 1);
+                    continue;
+                }
+                batch.add(e);
+                cursor++;
+            }
+            return batch;
+        }
+
+        /** Sequence number of the next event this consumer will read. */
+        public long getCursor() {
+            return cursor;
+        }
+
+        /** Events published but not yet read. */
+        public long lag() {
+            return Math.max(0, next.get() - cursor);
+        }
+
+        /** Events overwritten before this consumer read them. */
+        public long getMissedCount() {
+            return missed;
+        }
+    }
+}
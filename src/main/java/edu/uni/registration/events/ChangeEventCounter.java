@@ -0,0 +1,82 @@
+package edu.uni.registration.events;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A {@link ChangeEventBus} consumer that counts events by type, for dashboards and alerts.
+ * It reads through its own subscription, so it never holds back other consumers of the same bus,
+ * and exposes its lag and missed count so a consumer that cannot keep up is visible.
+ */
+public class ChangeEventCounter implements AutoCloseable {
+
+    private static final int BATCH = 1024;
+
+    private final ChangeEventBus.Subscription subscription;
+    private final AtomicLongArray counts = new AtomicLongArray(ChangeEvent.Type.values().length);
+    private final ScheduledExecutorService timer;
+
+    /** Starts a daemon timer that drains the bus every {@code intervalMillis}. */
+    public ChangeEventCounter(ChangeEventBus bus, long intervalMillis) {
+        if (intervalMillis < 1) {
+            throw new IllegalArgumentException("Interval must be positive");
+        }
+        this.subscription = subscribe(bus);
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "change-event-counter");
+            t.setDaemon(true);
+            return t;
+        });
+        timer.scheduleWithFixedDelay(this::drain, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** No timer; events are counted only when {@link #drain()} is called. */
+    public ChangeEventCounter(ChangeEventBus bus) {
+        this.subscription = subscribe(bus);
+        this.timer = null;
+    }
+
+    private static ChangeEventBus.Subscription subscribe(ChangeEventBus bus) {
+        if (bus == null) {
+            throw new IllegalArgumentException("Bus cannot be null");
+        }
+        return bus.subscribe();
+    }
+
+    /** Counts every event published so far and returns how many were read. Safe to call from any thread. */
+    public synchronized int drain() {
+        int read = 0;
+        List<ChangeEvent> batch;
+        while (!(batch = subscription.poll(BATCH)).isEmpty()) {
+            for (ChangeEvent e : batch) {
+                counts.incrementAndGet(e.getType().ordinal());
+            }
+            read += batch.size();
+        }
+        return read;
+    }
+
+    public long count(ChangeEvent.Type type) {
+        return counts.get(type.ordinal());
+    }
+
+    /** Events published but not yet counted. */
+    public synchronized long lag() {
+        return subscription.lag();
+    }
+
+    /** Events the bus overwrote before this counter read them. */
+    public synchronized long missed() {
+        return subscription.getMissedCount();
+    }
+
+    @Override
+    public void close() {
+        if (timer != null) {
+            timer.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package edu.uni.registration.events;
+
+import edu.uni.registration.model.Section;
+import edu.uni.registration.model.SectionChangeListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Pushes seat-count changes of watched sections to subscribers, at most once per interval.
+ * Every watched section reports its changes (enrollments, drops, holds, offers, capacity) into a
+ * dirty set as they happen; a tick drains only that set, so quiet sections cost nothing, and reads
+ * each dirty section's counters once however many subscribers watch it. Any number of changes
+ * within an interval reach a subscriber as one {@link SeatUpdate} per section, in a single batch;
+ * a change that nets out to the same counts is not sent at all.
+ * <p>
+ * Listeners run on the hub's timer thread and should hand work off (e.g. to the Swing event
+ * thread) rather than block it.
+ */
+public class SeatAvailabilityHub implements AutoCloseable {
+
+    private final Set<Section> dirty = ConcurrentHashMap.newKeySet();
+    private final SectionChangeListener markDirty = dirty::add;
+    // Guarded by the hub's monitor.
+    private final Map<Section, List<Subscription>> watchers = new IdentityHashMap<>();
+    private final Set<Subscription> subscriptions = new HashSet<>();
+    private final ScheduledExecutorService timer;
+
+    /** Starts a daemon timer that delivers updates every {@code intervalMillis}. */
+    public SeatAvailabilityHub(long intervalMillis) {
+        if (intervalMillis < 1) {
+            throw new IllegalArgumentException("Interval must be positive");
+        }
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "seat-availability");
+            t.setDaemon(true);
+            return t;
+        });
+        timer.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** No timer; updates are delivered only when {@link #flush()} is called. */
+    public SeatAvailabilityHub() {
+        this.timer = null;
+    }
+
+    /**
+     * Watches the sections for one client. The first delivery carries the current counts of every
+     * section; later ones only the sections whose counts changed.
+     */
+    public synchronized Subscription subscribe(Collection<Section> sections,
+                                               Consumer<List<SeatUpdate>> listener) {
+        if (sections == null || listener == null) {
+            throw new IllegalArgumentException("Sections and listener are required");
+        }
+        Subscription sub = new Subscription(sections, listener);
+        subscriptions.add(sub);
+        for (Section s : sub.lastSent.keySet()) {
+            watchers.computeIfAbsent(s, k -> {
+                k.addChangeListener(markDirty);
+                return new ArrayList<>(2);
+            }).add(sub);
+            dirty.add(s);
+        }
+        return sub;
+    }
+
+    /** Delivers pending changes now. Called by the timer; safe to call from any thread. */
+    public synchronized void flush() {
+        Map<Subscription, List<SeatUpdate>> batches = new LinkedHashMap<>();
+        for (Iterator<Section> it = dirty.iterator(); it.hasNext(); ) {
+            Section s = it.next();
+            // removed before reading, so a change made while we read marks the section again
+            it.remove();
+            List<Subscription> subs = watchers.get(s);
+            if (subs == null) continue;
+            SeatUpdate now = SeatUpdate.of(s);
+            for (Subscription sub : subs) {
+                if (!now.sameCounts(sub.lastSent.get(s))) {
+                    sub.lastSent.put(s, now);
+                    batches.computeIfAbsent(sub, k -> new ArrayList<>()).add(now);
+                }
+            }
+        }
+        for (Map.Entry<Subscription, List<SeatUpdate>> e : batches.entrySet()) {
+            try {
+                e.getKey().listener.accept(e.getValue());
+            } catch (RuntimeException ex) {
+                // one broken client must not stop deliveries to the others
+                e.getKey().close();
+            }
+        }
+    }
+
+    public synchronized int subscriptionCount() {
+        return subscriptions.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (timer != null) {
+            timer.shutdownNow();
+        }
+        for (Section s : watchers.keySet()) {
+            s.removeChangeListener(markDirty);
+        }
+        watchers.clear();
+        subscriptions.clear();
+        dirty.clear();
+    }
+
+    /** One client's watch list. Close it when the client goes away. */
+    public final class Subscription implements AutoCloseable {
+        // Watched sections and the counts last sent for each (null until the first delivery).
+        private final Map<Section, SeatUpdate> lastSent = new IdentityHashMap<>();
+        private final Consumer<List<SeatUpdate>> listener;
+
+        private Subscription(Collection<Section> sections, Consumer<List<SeatUpdate>> listener) {
+            for (Section s : sections) {
+                lastSent.put(s, null);
+            }
+            this.listener = listener;
+        }
+
+        @Override
+        public void close() {
+            synchronized (SeatAvailabilityHub.this) {
+                if (!subscriptions.remove(this)) return;
+                for (Section s : lastSent.keySet()) {
+                    List<Subscription> subs = watchers.get(s);
+                    if (subs == null || !subs.remove(this) || !subs.isEmpty()) continue;
+                    watchers.remove(s);
+                    s.removeChangeListener(markDirty);
+                }
+            }
+        }
+    }
+}
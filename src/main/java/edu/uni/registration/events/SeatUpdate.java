@@ -0,0 +1,50 @@
+package edu.uni.registration.events;
+
+import edu.uni.registration.model.Section;
+
+/**
+ * Seat counts of one section at the moment they were read; pushed by {@link SeatAvailabilityHub}.
+ */
+public final class SeatUpdate {
+
+    private final String sectionId;
+    private final int capacity;
+    private final int enrolled;
+    private final int held;
+    private final int waitlisted;
+
+    private SeatUpdate(String sectionId, int capacity, int enrolled, int held, int waitlisted) {
+        this.sectionId = sectionId;
+        this.capacity = capacity;
+        this.enrolled = enrolled;
+        this.held = held;
+        this.waitlisted = waitlisted;
+    }
+
+    static SeatUpdate of(Section s) {
+        return new SeatUpdate(s.getId(), s.getCapacity(), s.getEnrolledCount(), s.getHeldSeats(),
+                s.getWaitlistedCount());
+    }
+
+    public String getSectionId() { return sectionId; }
+    public int getCapacity() { return capacity; }
+    public int getEnrolled() { return enrolled; }
+
+    /** Seats reserved by unconfirmed holds and open offers. */
+    public int getHeld() { return held; }
+    public int getWaitlisted() { return waitlisted; }
+
+    public int getOpenSeats() {
+        return Math.max(0, capacity - enrolled - held);
+    }
+
+    boolean sameCounts(SeatUpdate other) {
+        return other != null && capacity == other.capacity && enrolled == other.enrolled
+                && held == other.held && waitlisted == other.waitlisted;
+    }
+
+    @Override
+    public String toString() {
+        return sectionId + " " + enrolled + "/" + capacity + " (held " + held + ", waitlist " + waitlisted + ")";
+    }
+}
@@ -1,5 +1,7 @@
 package edu.uni.registration.gui;
 
+import edu.uni.registration.events.SeatAvailabilityHub;
+import edu.uni.registration.events.SeatUpdate;
 import edu.uni.registration.model.*;
 import edu.uni.registration.service.CatalogService;
 import edu.uni.registration.service.GradingService;
@@ -11,12 +13,16 @@ import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.util.List;
+import java.util.function.BiConsumer;
 
 public class SimpleGui extends JFrame {
 
     private final RegistrationService registrationService;
     private final CatalogService catalogService;
     private final GradingService gradingService;
+    // Optional: pushes seat counts for the sections on screen; null means tables only change on refresh.
+    private final SeatAvailabilityHub seatHub;
+    private SeatAvailabilityHub.Subscription seatWatch;
     
     private String currentUserId;
     private String currentUserRole; // STUDENT, INSTRUCTOR, ADMIN
@@ -29,10 +35,21 @@ public class SimpleGui extends JFrame {
     private JRadioButton rbInstructor;
     private JRadioButton rbAdmin;
 
+    /** Logged-in user, or null; used to key per-user rate limits. */
+    public String getCurrentUserId() {
+        return currentUserId;
+    }
+
     public SimpleGui(RegistrationService registrationService, CatalogService catalogService, GradingService gradingService) {
+        this(registrationService, catalogService, gradingService, null);
+    }
+
+    public SimpleGui(RegistrationService registrationService, CatalogService catalogService,
+                     GradingService gradingService, SeatAvailabilityHub seatHub) {
         this.registrationService = registrationService;
         this.catalogService = catalogService;
         this.gradingService = gradingService;
+        this.seatHub = seatHub;
         
         setTitle("University Registration System");
         setSize(900, 700);
@@ -122,7 +139,33 @@ public class SimpleGui extends JFrame {
         return panel;
     }
     
+    /**
+     * Replaces the current seat watch with one over {@code sections}; each pushed batch is
+     * applied on the Swing thread to the rows whose column 0 holds the section id.
+     */
+    private void watchSeats(List<Section> sections, DefaultTableModel model, BiConsumer<Integer, SeatUpdate> applyRow) {
+        unwatchSeats();
+        if (seatHub == null || sections.isEmpty()) return;
+        seatWatch = seatHub.subscribe(sections, updates -> SwingUtilities.invokeLater(() -> {
+            for (SeatUpdate u : updates) {
+                for (int row = 0; row < model.getRowCount(); row++) {
+                    if (u.getSectionId().equals(model.getValueAt(row, 0))) {
+                        applyRow.accept(row, u);
+                    }
+                }
+            }
+        }));
+    }
+
+    private void unwatchSeats() {
+        if (seatWatch != null) {
+            seatWatch.close();
+            seatWatch = null;
+        }
+    }
+
     private void logout() {
+        unwatchSeats();
         currentUserId = null;
         currentUserRole = null;
         cardLayout.show(mainPanel, "LOGIN");
@@ -146,7 +189,7 @@ public class SimpleGui extends JFrame {
         JTabbedPane tabbedPane = new JTabbedPane();
 
         JPanel schedulePanel = new JPanel(new BorderLayout());
-        String[] scheduleCols = {"Section ID", "Course", "Term", "Instructor", "Status"};
+        String[] scheduleCols = {"Section ID", "Course", "Term", "Instructor", "Status", "Seats"};
         scheduleModel = new DefaultTableModel(scheduleCols, 0) {
             @Override
             public boolean isCellEditable(int row, int column) {
@@ -263,19 +306,16 @@ public class SimpleGui extends JFrame {
         Result<List<Section>> res = registrationService.getCurrentSchedule(currentUserId, null);
         if (res.isOk()) {
             for (Section s : res.get()) {
-                String status = "UNKNOWN";
-                for(Enrollment e : s.getRoster()) {
-                     if(e.getStudent().getId().equals(currentUserId)) {
-                         status = e.getStatus().toString();
-                         break;
-                     }
-                }
+                Enrollment mine = s.findActiveEnrollment(currentUserId);
+                String status = mine != null ? mine.getStatus().toString() : "UNKNOWN";
                 scheduleModel.addRow(new Object[]{
                     s.getId(), s.getCourse().getCode(), s.getTerm(),
                     s.getInstructor() != null ? s.getInstructor().getFullName() : "TBA",
-                    status
+                    status, s.getEnrolledCount() + "/" + s.getCapacity()
                 });
             }
+            watchSeats(res.get(), scheduleModel,
+                    (row, u) -> scheduleModel.setValueAt(u.getEnrolled() + "/" + u.getCapacity(), row, 5));
         }
         
         // 2. Transcript - Handle empty transcript gracefully
@@ -359,9 +399,13 @@ public class SimpleGui extends JFrame {
             for (Section s : res.get()) {
                 insSectionModel.addRow(new Object[]{
                     s.getId(), s.getCourse().getTitle(), s.getTerm(),
-                    s.getCapacity(), s.getRoster().size()
+                    s.getCapacity(), s.getEnrolledCount()
                 });
             }
+            watchSeats(res.get(), insSectionModel, (row, u) -> {
+                insSectionModel.setValueAt(u.getCapacity(), row, 3);
+                insSectionModel.setValueAt(u.getEnrolled(), row, 4);
+            });
         }
     }
     
@@ -382,12 +426,10 @@ public class SimpleGui extends JFrame {
             
             if (target != null) {
                 rosterModel.setRowCount(0);
-                for (Enrollment e : target.getRoster()) {
-                    rosterModel.addRow(new Object[]{
-                        e.getStudent().getId(), e.getStudent().getFullName(),
-                        e.getStatus(), e.getGrade().map(Grade::toString).orElse("-")
-                    });
-                }
+                target.forEachRosterEntry(e -> rosterModel.addRow(new Object[]{
+                    e.getStudent().getId(), e.getStudent().getFullName(),
+                    e.getStatus(), e.getGrade().map(Grade::toString).orElse("-")
+                }));
                 JOptionPane.showMessageDialog(this, "Roster loaded in 'Class Roster' tab.");
             }
         }
@@ -577,6 +619,19 @@ public class SimpleGui extends JFrame {
         return container;
     }
     
+    private static String sectionOption(Section s, int enrolled, int capacity) {
+        StringBuilder meetingInfo = new StringBuilder();
+        for (TimeSlot ts : s.getMeetingTimes()) {
+            if (meetingInfo.length() > 0) meetingInfo.append(", ");
+            meetingInfo.append(ts.getDayOfWeek()).append(" ")
+                      .append(ts.getStartTime()).append("-").append(ts.getEndTime());
+        }
+        return String.format("%s [%s] - %s (%d/%d enrolled)",
+            s.getId(), s.getTerm(),
+            meetingInfo.length() > 0 ? meetingInfo.toString() : "TBA",
+            enrolled, capacity);
+    }
+
     private void dropSelectedSection() {
         int row = scheduleTable.getSelectedRow();
         if (row == -1) {
@@ -627,44 +682,36 @@ public class SimpleGui extends JFrame {
         if (sections.size() == 1) {
             chosen = sections.get(0);
         } else {
-            String[] displayOptions = new String[sections.size()];
-            for (int i = 0; i < sections.size(); i++) {
-                Section s = sections.get(i);
-                StringBuilder meetingInfo = new StringBuilder();
-                for (TimeSlot ts : s.getMeetingTimes()) {
-                    if (meetingInfo.length() > 0) meetingInfo.append(", ");
-                    meetingInfo.append(ts.getDayOfWeek()).append(" ")
-                              .append(ts.getStartTime()).append("-").append(ts.getEndTime());
-                }
-                int enrolled = 0;
-                for (Enrollment e : s.getRoster()) {
-                    if (e.getStatus() == Enrollment.EnrollmentStatus.ENROLLED) enrolled++;
-                }
-                displayOptions[i] = String.format("%s [%s] - %s (%d/%d enrolled)", 
-                    s.getId(), s.getTerm(), 
-                    meetingInfo.length() > 0 ? meetingInfo.toString() : "TBA",
-                    enrolled, s.getCapacity());
+            DefaultListModel<String> options = new DefaultListModel<>();
+            for (Section s : sections) {
+                options.addElement(sectionOption(s, s.getEnrolledCount(), s.getCapacity()));
             }
-            
-            String selectedDisplay = (String) JOptionPane.showInputDialog(
-                    this,
-                    "Choose section to enroll:",
-                    "Select Section",
-                    JOptionPane.PLAIN_MESSAGE,
-                    null,
-                    displayOptions,
-                    displayOptions[0]
-            );
-            if (selectedDisplay == null) return;
-            
-            // Find the section by matching the selected display string with our options
-            chosen = null;
-            for (int i = 0; i < displayOptions.length; i++) {
-                if (displayOptions[i].equals(selectedDisplay)) {
-                    chosen = sections.get(i);
-                    break;
-                }
+            JList<String> picker = new JList<>(options);
+            picker.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+            picker.setSelectedIndex(0);
+            // The counts keep moving while the dialog is open; this watch is separate from the
+            // dashboard's so closing the dialog leaves the schedule table subscribed.
+            SeatAvailabilityHub.Subscription pickerWatch = seatHub == null ? null
+                    : seatHub.subscribe(sections, updates -> SwingUtilities.invokeLater(() -> {
+                        for (SeatUpdate u : updates) {
+                            for (int i = 0; i < sections.size(); i++) {
+                                if (u.getSectionId().equals(sections.get(i).getId())) {
+                                    options.set(i, sectionOption(sections.get(i), u.getEnrolled(), u.getCapacity()));
+                                }
+                            }
+                        }
+                    }));
+            int answer;
+            try {
+                answer = JOptionPane.showConfirmDialog(this,
+                        new Object[]{"Choose section to enroll:", new JScrollPane(picker)},
+                        "Select Section", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+            } finally {
+                if (pickerWatch != null) pickerWatch.close();
             }
+            if (answer != JOptionPane.OK_OPTION) return;
+            int selected = picker.getSelectedIndex();
+            chosen = selected < 0 ? null : sections.get(selected);
         }
 
         if (chosen == null) {
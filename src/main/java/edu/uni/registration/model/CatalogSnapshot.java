@@ -0,0 +1,106 @@
+package edu.uni.registration.model;
+
+import edu.uni.registration.util.PersistentHashMap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * One immutable version of the course catalog: frozen {@link Course} copies and
+ * {@link SectionListing}s in persistent maps. Each edit produces a new snapshot that shares
+ * everything it did not touch, so readers holding an older one are never blocked and never see
+ * a half-applied change.
+ */
+public final class CatalogSnapshot {
+
+    public static final CatalogSnapshot EMPTY = new CatalogSnapshot(0, PersistentHashMap.empty(),
+            PersistentHashMap.empty(), PersistentHashMap.empty());
+
+    private final long version;
+    private final PersistentHashMap<String, Course> courses;
+    private final PersistentHashMap<String, SectionListing> sections;
+    private final PersistentHashMap<String, List<String>> sectionIdsByCourse;
+    // Derived lazily; a racing duplicate computation is harmless.
+    private volatile List<Course> courseList;
+
+    private CatalogSnapshot(long version, PersistentHashMap<String, Course> courses,
+                            PersistentHashMap<String, SectionListing> sections,
+                            PersistentHashMap<String, List<String>> sectionIdsByCourse) {
+        this.version = version;
+        this.courses = courses;
+        this.sections = sections;
+        this.sectionIdsByCourse = sectionIdsByCourse;
+    }
+
+    /** Incremented by every published edit. */
+    public long getVersion() {
+        return version;
+    }
+
+    public Course findCourse(String code) {
+        return code == null ? null : courses.get(code);
+    }
+
+    public SectionListing findSection(String id) {
+        return id == null ? null : sections.get(id);
+    }
+
+    /** All courses in catalog (dense index) order; the list is shared and read-only. */
+    public List<Course> courses() {
+        List<Course> list = courseList;
+        if (list == null) {
+            List<Course> sorted = courses.values();
+            sorted.sort(Comparator.comparingInt(Course::getIndex));
+            courseList = list = List.copyOf(sorted);
+        }
+        return list;
+    }
+
+    /** Listings of the course's sections; the code is matched ignoring case. */
+    public List<SectionListing> sectionsOf(String courseCode) {
+        List<String> ids = courseCode == null ? null : sectionIdsByCourse.get(indexKey(courseCode));
+        if (ids == null) {
+            return List.of();
+        }
+        List<SectionListing> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            result.add(sections.get(id));
+        }
+        return result;
+    }
+
+    public int courseCount() {
+        return courses.size();
+    }
+
+    public int sectionCount() {
+        return sections.size();
+    }
+
+    /** Adds or replaces the course with a frozen copy of its current state. */
+    public CatalogSnapshot withCourse(Course course) {
+        Course frozen = course.isFrozen() ? course : course.frozenCopy();
+        return new CatalogSnapshot(version + 1, courses.plus(course.getCode(), frozen), sections, sectionIdsByCourse);
+    }
+
+    /** Adds or replaces the listing of the section's current state. */
+    public CatalogSnapshot withSection(Section section) {
+        SectionListing listing = SectionListing.of(section);
+        PersistentHashMap<String, List<String>> index = sectionIdsByCourse;
+        if (!sections.containsKey(listing.getId())) {
+            // A section never changes course, so only a new section touches the index.
+            String key = indexKey(listing.getCourseCode());
+            List<String> ids = index.get(key);
+            List<String> grown = new ArrayList<>(ids == null ? List.of() : ids);
+            grown.add(listing.getId());
+            index = index.plus(key, List.copyOf(grown));
+        }
+        return new CatalogSnapshot(version + 1, courses, sections.plus(listing.getId(), listing), index);
+    }
+
+    private static String indexKey(String courseCode) {
+        return courseCode.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -1,26 +1,33 @@
 package edu.uni.registration.model;
 
+import edu.uni.registration.util.IdDictionary;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Collections;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Course entity. Has code, title, credits, and prerequisites.
  * Implements Searchable for keyword searching.
  */
-public class Course implements Searchable {
+public class Course implements Searchable, Versioned {
 
     private final String code;
+    private final int index;
     private String title;
     private int credits;
     private List<String> prerequisites;
+    private boolean frozen;
+    private final AtomicLong version = new AtomicLong();
 
     public Course(String code, String title, int credits) {
         if (credits <= 0) {
             throw new IllegalArgumentException("Credits must be positive");
         }
         this.code = code;
+        this.index = IdDictionary.COURSES.intern(code);
         this.title = title;
         this.credits = credits;
         this.prerequisites = new ArrayList<>();
@@ -31,6 +38,11 @@ public class Course implements Searchable {
         return code;
     }
 
+    /** Dense index of the code in {@link IdDictionary#COURSES}. */
+    public int getIndex() {
+        return index;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -43,26 +55,62 @@ public class Course implements Searchable {
         return Collections.unmodifiableList(prerequisites);
     }
 
+    /**
+     * Read-only copy for a {@link CatalogSnapshot}: same code and index, current title, credits
+     * and prerequisites, and every setter throws. Later edits to this course do not reach it.
+     */
+    public Course frozenCopy() {
+        Course copy = new Course(code, title, credits);
+        copy.prerequisites = List.copyOf(prerequisites);
+        copy.frozen = true;
+        copy.version.set(version.get());
+        return copy;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /** Bumped by every edit; a frozen copy keeps the version it was taken at. */
+    @Override
+    public long getVersion() {
+        return version.get();
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException("Course " + code + " is a read-only snapshot");
+        }
+    }
+
     public void setTitle(String title) {
+        checkMutable();
         this.title = title;
+        version.incrementAndGet();
     }
 
     public void setCredits(int credits) {
+        checkMutable();
         if (credits <= 0) {
             throw new IllegalArgumentException("Credits must be positive");
         }
         this.credits = credits;
+        version.incrementAndGet();
     }
 
     public void addPrerequisite(String courseCode) {
+        checkMutable();
         if (courseCode == null || courseCode.isBlank()) {
             throw new IllegalArgumentException("Prerequisite course code cannot be null or blank");
         }
         prerequisites.add(courseCode);
+        version.incrementAndGet();
     }
 
     public void removePrerequisite(String courseCode) {
+        checkMutable();
         prerequisites.remove(courseCode);
+        version.incrementAndGet();
     }
 
     @Override
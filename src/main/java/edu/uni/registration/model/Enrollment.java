@@ -1,15 +1,27 @@
 package edu.uni.registration.model;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
 /**
  * Links a Student to a Section with status and optional grade.
+ * Until it is added to a section's roster the status and grade are held locally;
+ * afterwards this object is a view over its row in the section's columnar roster.
+ * Dropping detaches it again, leaving a self-contained record for the enrollment history.
+ * Row, status and grade are read and written under the section's monitor.
  */
-public class Enrollment implements Gradable {
+public class Enrollment implements Gradable, Versioned {
     private final Student student;
     private final Section section;
 
+    private int row = -1;
     private EnrollmentStatus status;
-    private Optional<Grade> grade;
+    private byte grade = Roster.NO_GRADE;
+    /** Ticket of the latest waitlist entry; older queue entries for this enrollment are stale. */
+    long waitlistSeq = -1;
+    // A plain field behind an updater rather than an AtomicLong: one object per roster row, not two.
+    private static final AtomicLongFieldUpdater<Enrollment> VERSION =
+            AtomicLongFieldUpdater.newUpdater(Enrollment.class, "version");
+    private volatile long version;
 
     public enum EnrollmentStatus {
         ENROLLED,
@@ -23,8 +35,13 @@ public class Enrollment implements Gradable {
         this.student = student;
         this.section = section;
         this.status = EnrollmentStatus.ENROLLED;
-        this.grade = Optional.empty();
     }
+    /** Bumped on every status or grade change; status changes also bump the section's version. */
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
     public Student getStudent() {
         return student;
     }
@@ -34,34 +51,85 @@ public class Enrollment implements Gradable {
     }
 
     public EnrollmentStatus getStatus() {
-        return status;
+        synchronized (section) {
+            return row < 0 ? status : section.roster().status(row);
+        }
     }
 
     public Optional<Grade> getGrade() {
-        return grade;
+        synchronized (section) {
+            if (row < 0) {
+                return grade == Roster.NO_GRADE ? Optional.empty() : Optional.of(Grade.values()[grade]);
+            }
+            return Optional.ofNullable(section.roster().grade(row));
+        }
     }
 
     public void setStatus(EnrollmentStatus status) {
         if(status == null) {
             throw new IllegalArgumentException("Status cannot be null.");
         }
-        this.status = status;
+        synchronized (section) {
+            if (row < 0) {
+                this.status = status;
+            } else {
+                EnrollmentStatus previous = getStatus();
+                section.roster().setStatus(row, status);
+                section.touch();
+                if (previous != status) {
+                    section.fireStatusChanged(this, previous, status);
+                }
+            }
+            VERSION.incrementAndGet(this);
+        }
     }
 
     public void assignGrade(Grade grade) {
-        this.grade = Optional.ofNullable(grade);
+        synchronized (section) {
+            if (row < 0) {
+                this.grade = grade == null ? Roster.NO_GRADE : (byte) grade.ordinal();
+            } else {
+                section.roster().setGrade(row, grade);
+            }
+            VERSION.incrementAndGet(this);
+            section.fireGradeAssigned(this, grade);
+        }
     }
 
     public boolean hasGrade() {
-        return grade.isPresent();
+        return getGrade().isPresent();
+    }
+
+    /** Caller holds the section's monitor, as do attach, detach and moveTo. */
+    boolean isAttached() {
+        return row >= 0;
+    }
+
+    /** Moves the locally held state into the section's roster columns. */
+    void attach() {
+        row = section.roster().add(this, status, grade);
+        VERSION.incrementAndGet(this);
+        section.touch();
     }
+
+    /** Called by the roster when this row leaves it; state is held locally again. */
+    void detach(EnrollmentStatus status, byte grade) {
+        this.status = status;
+        this.grade = grade;
+        this.row = -1;
+    }
+
+    void moveTo(int row) {
+        this.row = row;
+    }
+
     @Override
     public String toString() {
         return "Enrollment{" +
                 "student=" + (student != null ? student.getId() : "N/A") +
                 ", section=" + (section != null ? section.getId() : "N/A") +
-                ", status=" + status +
-                ", grade=" + grade.orElse(null) +
+                ", status=" + getStatus() +
+                ", grade=" + getGrade().orElse(null) +
                 '}';
     }
 }
@@ -0,0 +1,17 @@
+package edu.uni.registration.model;
+
+import edu.uni.registration.model.Enrollment.EnrollmentStatus;
+
+/**
+ * Notified of changes made directly on an {@link Enrollment} of a section, which no repository
+ * call sees (status transitions on the roster, grades). Installed per section with
+ * {@link Section#setEnrollmentListener}; called on the writer's thread, so keep it cheap.
+ */
+public interface EnrollmentListener {
+
+    /** Only for enrollments already on the roster; new records are reported when saved. */
+    void statusChanged(Enrollment enrollment, EnrollmentStatus from, EnrollmentStatus to);
+
+    /** {@code grade} is null when a grade is cleared. */
+    void gradeAssigned(Enrollment enrollment, Grade grade);
+}
@@ -58,7 +58,9 @@ public class Instructor extends Person {
         if (section == null) {
             throw new IllegalArgumentException("Section cannot be null");
         }
-        assignedSections.add(section);
+        if (!assignedSections.contains(section)) {
+            assignedSections.add(section);
+        }
     }
 
     public boolean removeAssignedSection(Section section) {
@@ -1,17 +1,21 @@
 package edu.uni.registration.model;
 
+import edu.uni.registration.util.IdDictionary;
+
 /**
  * Abstract base for Student, Instructor, Admin.
  */
 public abstract class Person {
 
     private final String id;
+    private final int index;
     private String firstName;
     private String lastName;
     private String email;
 
     public Person(String id, String firstName, String lastName, String email) {
         this.id = id;
+        this.index = IdDictionary.PEOPLE.intern(id);
         this.firstName = firstName;
         this.lastName = lastName;
         this.email = email;
@@ -25,6 +29,11 @@ public abstract class Person {
         return id;
     }
 
+    /** Dense index of the id in {@link IdDictionary#PEOPLE}; -1 if the id is null. */
+    public int getIndex() {
+        return index;
+    }
+
     public String getFirstName() {
         return firstName;
     }
@@ -0,0 +1,165 @@
+package edu.uni.registration.model;
+
+import edu.uni.registration.model.Enrollment.EnrollmentStatus;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+
+/**
+ * Struct-of-arrays storage behind a Section's roster.
+ * One row per enrollment: student index, status ordinal and grade ordinal live in
+ * parallel primitive arrays, so counts and student lookups are tight primitive loops.
+ * The Enrollment objects handed out are views that read and write these columns. A view is kept
+ * per row, not made per read, because it is the enrollment's identity: the repository indexes,
+ * seat offers and the history hold on to it, and it takes the row's values with it when detached.
+ * The columns hold the data, so a view is only its student, section and row.
+ * Only live (ENROLLED/WAITLISTED) rows are kept: a row that becomes DROPPED is swapped out
+ * with the last row and its view detached, so the roster stays as large as its live seats.
+ * Row order therefore carries no meaning; waitlist order is kept by {@link Waitlist}.
+ * {@link Section#getRoster()} copies it out as a snapshot, since a drop reorders the rows;
+ * {@link Section#forEachRosterEntry} walks it in place under the section's monitor.
+ */
+final class Roster extends AbstractList<Enrollment> {
+
+    static final byte NO_GRADE = -1;
+    private static final EnrollmentStatus[] STATUSES = EnrollmentStatus.values();
+    private static final Grade[] GRADES = Grade.values();
+
+    private int[] students = new int[8];
+    private byte[] statuses = new byte[8];
+    private byte[] grades = new byte[8];
+    private Enrollment[] views = new Enrollment[8];
+    private int size;
+
+    private final Waitlist waitlist;
+
+    private int enrolledCount;
+    private int waitlistedCount;
+
+    Roster(Waitlist waitlist) {
+        this.waitlist = waitlist;
+    }
+
+    /** Appends a row and returns its index, or -1 for a DROPPED enrollment (not kept). */
+    int add(Enrollment view, EnrollmentStatus status, byte grade) {
+        if (status == EnrollmentStatus.DROPPED) {
+            return -1;
+        }
+        if (size == students.length) {
+            int capacity = size * 2;
+            students = Arrays.copyOf(students, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            grades = Arrays.copyOf(grades, capacity);
+            views = Arrays.copyOf(views, capacity);
+        }
+        int row = size++;
+        students[row] = view.getStudent().getIndex();
+        statuses[row] = (byte) status.ordinal();
+        grades[row] = grade;
+        views[row] = view;
+        adjustCounts(status, 1);
+        if (status == EnrollmentStatus.WAITLISTED) {
+            waitlist.offer(view);
+        }
+        return row;
+    }
+
+    EnrollmentStatus status(int row) {
+        return STATUSES[statuses[row]];
+    }
+
+    void setStatus(int row, EnrollmentStatus status) {
+        EnrollmentStatus old = STATUSES[statuses[row]];
+        if (old == status) {
+            return;
+        }
+        adjustCounts(old, -1);
+        if (status == EnrollmentStatus.DROPPED) {
+            removeRow(row);
+            return;
+        }
+        statuses[row] = (byte) status.ordinal();
+        adjustCounts(status, 1);
+        if (status == EnrollmentStatus.WAITLISTED) {
+            waitlist.offer(views[row]);
+        }
+    }
+
+    /** Detaches the row's view (it keeps its grade, status becomes DROPPED) and fills the gap with the last row. */
+    private void removeRow(int row) {
+        views[row].detach(EnrollmentStatus.DROPPED, grades[row]);
+        int last = --size;
+        if (row != last) {
+            students[row] = students[last];
+            statuses[row] = statuses[last];
+            grades[row] = grades[last];
+            views[row] = views[last];
+            views[row].moveTo(row);
+        }
+        views[last] = null;
+    }
+
+    Grade grade(int row) {
+        byte g = grades[row];
+        return g == NO_GRADE ? null : GRADES[g];
+    }
+
+    void setGrade(int row, Grade grade) {
+        grades[row] = grade == null ? NO_GRADE : (byte) grade.ordinal();
+    }
+
+    private void adjustCounts(EnrollmentStatus status, int delta) {
+        if (status == EnrollmentStatus.ENROLLED) {
+            enrolledCount += delta;
+        } else if (status == EnrollmentStatus.WAITLISTED) {
+            waitlistedCount += delta;
+        }
+    }
+
+    int enrolledCount() {
+        return enrolledCount;
+    }
+
+    int waitlistedCount() {
+        return waitlistedCount;
+    }
+
+    /** Row of the student's ENROLLED or WAITLISTED entry, or -1. */
+    int findActiveRow(int studentIndex) {
+        byte enrolled = (byte) EnrollmentStatus.ENROLLED.ordinal();
+        byte waitlisted = (byte) EnrollmentStatus.WAITLISTED.ordinal();
+        for (int row = 0; row < size; row++) {
+            if (students[row] == studentIndex) {
+                byte st = statuses[row];
+                if (st == enrolled || st == waitlisted) {
+                    return row;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /** Row of the student's entry with the given status, or -1. */
+    int findRow(int studentIndex, EnrollmentStatus status) {
+        byte wanted = (byte) status.ordinal();
+        for (int row = 0; row < size; row++) {
+            if (students[row] == studentIndex && statuses[row] == wanted) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Enrollment get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return views[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
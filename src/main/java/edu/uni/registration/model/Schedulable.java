@@ -4,6 +4,11 @@ import java.util.List;
 
 public interface Schedulable {
     List<TimeSlot> getMeetingTimes();
+
+    /** Weekly occupancy bitmap of the meeting times. Implementations may cache it. */
+    default WeeklyOccupancy getOccupancy() {
+        return WeeklyOccupancy.of(getMeetingTimes());
+    }
 }
 
 
@@ -0,0 +1,43 @@
+package edu.uni.registration.model;
+
+/**
+ * A seat reserved for a student in a section until {@link #getExpiresAtMillis()}.
+ * Confirming the hold turns it into an enrollment; otherwise the seat returns to the section.
+ */
+public class SeatHold {
+    private final String id;
+    private final Student student;
+    private final Section section;
+    private final long expiresAtMillis;
+
+    public SeatHold(String id, Student student, Section section, long expiresAtMillis) {
+        if (id == null || student == null || section == null) {
+            throw new IllegalArgumentException("Hold needs an id, a student and a section");
+        }
+        this.id = id;
+        this.student = student;
+        this.section = section;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Student getStudent() {
+        return student;
+    }
+
+    public Section getSection() {
+        return section;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "Hold " + id + " on " + section.getId() + " for " + student.getId();
+    }
+}
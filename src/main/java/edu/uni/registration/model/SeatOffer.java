@@ -0,0 +1,45 @@
+package edu.uni.registration.model;
+
+/**
+ * A freed seat offered to the next waitlisted student until {@link #getExpiresAtMillis()}.
+ * The seat is held for the offer; the enrollment stays WAITLISTED until the student accepts.
+ */
+public class SeatOffer {
+    private final String id;
+    private final Enrollment enrollment;
+    private final long expiresAtMillis;
+
+    public SeatOffer(String id, Enrollment enrollment, long expiresAtMillis) {
+        if (id == null || enrollment == null) {
+            throw new IllegalArgumentException("Offer needs an id and an enrollment");
+        }
+        this.id = id;
+        this.enrollment = enrollment;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Enrollment getEnrollment() {
+        return enrollment;
+    }
+
+    public Student getStudent() {
+        return enrollment.getStudent();
+    }
+
+    public Section getSection() {
+        return enrollment.getSection();
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "Offer " + id + ": seat in " + getSection().getId() + " for " + getStudent().getId();
+    }
+}
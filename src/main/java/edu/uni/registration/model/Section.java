@@ -1,31 +1,52 @@
 package edu.uni.registration.model;
 
+import edu.uni.registration.util.IdDictionary;
+
+import edu.uni.registration.model.Enrollment.EnrollmentStatus;
+
 import java.util.Collections;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * A specific offering of a Course in a given term.
+ * The roster and waitlist are read and changed only under the section's monitor, the same lock
+ * the services and {@code compareAndSave} commit under, so a reader never sees a half-grown column.
  */
-public class Section implements Schedulable {
+public class Section implements Schedulable, Versioned {
     private final String id;
+    private final int index;
     private final Course course;
     private final String term;
 
     private Instructor instructor;
-    private int capacity;
+    private volatile int capacity;
     private int waitlistCapacity = 10;
 
     private final List<TimeSlot> meetingTimes;
-    private final List<Enrollment> roster;
+    private WeeklyOccupancy occupancy = WeeklyOccupancy.EMPTY;
+    private final Roster roster;
+    private final Waitlist waitlist;
+    // Seats reserved by unconfirmed holds and open offers; guarded by the monitor like the roster
+    // counts it is compared with, and one counter per section so holds never contend across sections.
+    private int heldSeats;
+    // Bumped by every change to capacity, instructor, times, roster or holds.
+    private final AtomicLong version = new AtomicLong();
+    private volatile EnrollmentListener enrollmentListener;
+    private final List<SectionChangeListener> changeListeners = new CopyOnWriteArrayList<>();
 
     public Section(String id, Course course, String term, int capacity){
         this.id = id;
+        this.index = IdDictionary.SECTIONS.intern(id);
         this.course = course;
         this.term = term;
         this.capacity = capacity;
         this.meetingTimes = new ArrayList<>();
-        this.roster = new ArrayList<>();
+        this.waitlist = new Waitlist();
+        this.roster = new Roster(waitlist);
     }
 
     public void setWaitlistCapacity(int waitlistCapacity) {
@@ -40,6 +61,11 @@ public class Section implements Schedulable {
         return id;
     }
 
+    /** Dense index of the id in {@link IdDictionary#SECTIONS}. */
+    public int getIndex() {
+        return index;
+    }
+
     public Course getCourse() {
         return course;
     }
@@ -60,36 +86,170 @@ public class Section implements Schedulable {
         return Collections.unmodifiableList(meetingTimes);
     }
 
-    public List<Enrollment> getRoster() {
-        return Collections.unmodifiableList(roster);
+    /**
+     * Read-only snapshot of the roster, taken under the section's monitor. Dropping a row swaps
+     * the last row into its place, so callers that drop while iterating must not walk the live columns.
+     * For sizes use {@link #getEnrolledCount()}/{@link #getWaitlistedCount()}; to look rows over
+     * without a copy use {@link #forEachRosterEntry}.
+     */
+    public synchronized List<Enrollment> getRoster() {
+        return List.copyOf(roster);
+    }
+
+    /**
+     * Visits every live row in roster order under the section's monitor, without copying. The
+     * action must not change enrollments of this section (a drop reorders the rows) and should be short.
+     */
+    public synchronized void forEachRosterEntry(Consumer<? super Enrollment> action) {
+        for (int row = 0, n = roster.size(); row < n; row++) {
+            action.accept(roster.get(row));
+        }
+    }
+
+    Roster roster() {
+        return roster;
+    }
+
+    @Override
+    public long getVersion() {
+        return version.get();
+    }
+
+    void touch() {
+        version.incrementAndGet();
+        for (SectionChangeListener l : changeListeners) {
+            l.sectionChanged(this);
+        }
+    }
+
+    /** Calls {@code listener} after every change that bumps the version. */
+    public void addChangeListener(SectionChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(SectionChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    /** Receives status and grade changes of this section's enrollments; null to stop. */
+    public void setEnrollmentListener(EnrollmentListener listener) {
+        this.enrollmentListener = listener;
+    }
+
+    void fireStatusChanged(Enrollment e, EnrollmentStatus from, EnrollmentStatus to) {
+        EnrollmentListener l = enrollmentListener;
+        if (l != null) l.statusChanged(e, from, to);
+    }
+
+    void fireGradeAssigned(Enrollment e, Grade grade) {
+        EnrollmentListener l = enrollmentListener;
+        if (l != null) l.gradeAssigned(e, grade);
+    }
+
+    public synchronized int getEnrolledCount() {
+        return roster.enrolledCount();
+    }
+
+    public synchronized int getWaitlistedCount() {
+        return roster.waitlistedCount();
+    }
+
+    /**
+     * Returns the student's ENROLLED or WAITLISTED entry, or null.
+     */
+    public synchronized Enrollment findActiveEnrollment(Student student) {
+        if (student == null) {
+            return null;
+        }
+        int row = roster.findActiveRow(student.getIndex());
+        return row < 0 ? null : roster.get(row);
+    }
+
+    /** As {@link #findActiveEnrollment(Student)}, by student id; null for an unknown id. */
+    public synchronized Enrollment findActiveEnrollment(String studentId) {
+        int studentIndex = IdDictionary.PEOPLE.indexOf(studentId);
+        if (studentIndex < 0) {
+            return null;
+        }
+        int row = roster.findActiveRow(studentIndex);
+        return row < 0 ? null : roster.get(row);
+    }
+
+    public synchronized boolean isEnrolled(Student student) {
+        return student != null
+                && roster.findRow(student.getIndex(), EnrollmentStatus.ENROLLED) >= 0;
+    }
+
+    public synchronized WaitlistPolicy getWaitlistPolicy() {
+        return waitlist.policy();
+    }
+
+    /** Reorders the current waitlist under the new policy. */
+    public synchronized void setWaitlistPolicy(WaitlistPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Waitlist policy cannot be null");
+        }
+        waitlist.setPolicy(policy);
+        touch();
+    }
+
+    /** Next waitlisted entry in promotion order, or null. */
+    public synchronized Enrollment peekWaitlist() {
+        return waitlist.peek();
+    }
+
+    /**
+     * Takes the next student off the waitlist order without changing their status, or null if nobody waits.
+     * Used to offer a seat; the enrollment stays WAITLISTED until the offer is accepted.
+     */
+    public synchronized Enrollment pollWaitlist() {
+        Enrollment next = waitlist.poll();
+        if (next != null) touch();
+        return next;
     }
 
     public void setInstructor(Instructor instructor) {
         this.instructor = instructor;
+        touch();
     }
 
     public void setCapacity(int capacity) {
         this.capacity = capacity;
+        touch();
+    }
+
+    /** Full when enrolled students plus outstanding seat holds reach capacity. */
+    public synchronized boolean isFull() {
+        return roster.enrolledCount() + heldSeats >= capacity;
     }
 
-    public boolean isFull() {
-        int enrolledCount = 0;
-        for (Enrollment e : roster) {
-            if (e.getStatus() == Enrollment.EnrollmentStatus.ENROLLED) {
-                enrolledCount++;
-            }
+    public synchronized int getHeldSeats() {
+        return heldSeats;
+    }
+
+    /** Reserves one seat if any is free; under the monitor, so a hold and an enroll commit never both take the last seat. */
+    public synchronized boolean tryHoldSeat() {
+        if (roster.enrolledCount() + heldSeats >= capacity) {
+            return false;
         }
-        return enrolledCount >= capacity;
+        heldSeats++;
+        touch();
+        return true;
     }
 
-    public boolean isWaitlistFull() {
-        int waitlistedCount = 0;
-        for (Enrollment e : roster) {
-            if (e.getStatus() == Enrollment.EnrollmentStatus.WAITLISTED) {
-                waitlistedCount++;
-            }
+    public synchronized void releaseHeldSeat() {
+        if (heldSeats == 0) {
+            throw new IllegalStateException("No held seat to release in " + id);
         }
-        return waitlistedCount >= waitlistCapacity;
+        heldSeats--;
+        touch();
+    }
+
+    public synchronized boolean isWaitlistFull() {
+        return roster.waitlistedCount() >= waitlistCapacity;
     }
 
     public void addMeetingTime(TimeSlot timeSlot) {
@@ -97,17 +257,36 @@ public class Section implements Schedulable {
             throw new IllegalArgumentException("TimeSlot cannot be null");
         }
         meetingTimes.add(timeSlot);
+        occupancy = WeeklyOccupancy.of(meetingTimes);
+        touch();
+    }
+
+    /** Precomputed bitmap, rebuilt whenever a meeting time is added. */
+    @Override
+    public WeeklyOccupancy getOccupancy() {
+        return occupancy;
     }
 
-    public void addEnrollment(Enrollment enrollment) {
+    public synchronized void addEnrollment(Enrollment enrollment) {
         if(enrollment == null) {
             throw new IllegalArgumentException("Enrollment cannot be null");
         }
-        roster.add(enrollment);
+        if (enrollment.getSection() != this) {
+            throw new IllegalArgumentException("Enrollment belongs to another section");
+        }
+        if (enrollment.isAttached()) {
+            return; // already on this roster
+        }
+        Enrollment active = findActiveEnrollment(enrollment.getStudent());
+        if (active != null && enrollment.getStatus() != EnrollmentStatus.DROPPED) {
+            throw new IllegalArgumentException("Student " + enrollment.getStudent().getId()
+                    + " already active in " + id);
+        }
+        enrollment.attach();
     }
 
     @Override
-    public String toString() {
+    public synchronized String toString() {
         return "Section{" +
                 "id='" + id + '\'' +
                 ", course=" + (course != null ? course.getCode() : "N/A") +
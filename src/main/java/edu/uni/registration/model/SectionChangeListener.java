@@ -0,0 +1,12 @@
+package edu.uni.registration.model;
+
+/**
+ * Notified whenever a section's version moves: capacity, instructor, meeting times, roster,
+ * waitlist or held seats. Installed with {@link Section#addChangeListener}. Called on the writer's
+ * thread, often while it holds the section's monitor, so it must be cheap and take no other lock.
+ */
+@FunctionalInterface
+public interface SectionChangeListener {
+
+    void sectionChanged(Section section);
+}
@@ -0,0 +1,47 @@
+package edu.uni.registration.model;
+
+import java.util.List;
+
+/**
+ * Immutable catalog view of a {@link Section}: what a search or listing needs (course, term,
+ * instructor, meeting times, capacity), without the live roster and waitlist.
+ */
+public final class SectionListing implements Schedulable {
+
+    private final String id;
+    private final String courseCode;
+    private final String term;
+    private final int capacity;
+    private final String instructorId;
+    private final String instructorName;
+    private final List<TimeSlot> meetingTimes;
+
+    private SectionListing(Section section) {
+        this.id = section.getId();
+        this.courseCode = section.getCourse().getCode();
+        this.term = section.getTerm();
+        this.capacity = section.getCapacity();
+        Instructor ins = section.getInstructor();
+        this.instructorId = ins == null ? null : ins.getId();
+        this.instructorName = ins == null ? null : ins.getFullName();
+        this.meetingTimes = List.copyOf(section.getMeetingTimes());
+    }
+
+    public static SectionListing of(Section section) {
+        return new SectionListing(section);
+    }
+
+    public String getId() { return id; }
+    public String getCourseCode() { return courseCode; }
+    public String getTerm() { return term; }
+    public int getCapacity() { return capacity; }
+
+    /** Null while no instructor is assigned. */
+    public String getInstructorId() { return instructorId; }
+    public String getInstructorName() { return instructorName; }
+
+    @Override
+    public List<TimeSlot> getMeetingTimes() {
+        return meetingTimes;
+    }
+}
@@ -10,6 +10,9 @@ public class TimeSlot implements Comparable<TimeSlot> {
     private final LocalTime start;
     private final LocalTime end;
     private final String room;
+    private final int startBucket;
+    private final int endBucket;
+    private final boolean bucketAligned;
 
     public TimeSlot(DayOfWeek dayOfWeek, LocalTime start, LocalTime end, String room) {
         if (dayOfWeek == null) {
@@ -28,6 +31,13 @@ public class TimeSlot implements Comparable<TimeSlot> {
         this.start = start;
         this.end = end;
         this.room = room;
+
+        long bucketNanos = WeeklyOccupancy.BUCKET_MINUTES * 60_000_000_000L;
+        long startNanos = start.toNanoOfDay();
+        long endNanos = end.toNanoOfDay();
+        this.startBucket = (int) (startNanos / bucketNanos);
+        this.endBucket = (int) ((endNanos + bucketNanos - 1) / bucketNanos);
+        this.bucketAligned = startNanos % bucketNanos == 0 && endNanos % bucketNanos == 0;
     }
     public DayOfWeek getDayOfWeek() {
         return dayOfWeek;
@@ -45,6 +55,20 @@ public class TimeSlot implements Comparable<TimeSlot> {
         return room;
     }
 
+    /** First 5-minute bucket of the day this slot touches. */
+    int getStartBucket() {
+        return startBucket;
+    }
+
+    /** Bucket after the last one this slot touches (exclusive). */
+    int getEndBucket() {
+        return endBucket;
+    }
+
+    boolean isBucketAligned() {
+        return bucketAligned;
+    }
+
     public boolean overlaps(TimeSlot other) {
         if(other == null) {
             return false;
@@ -0,0 +1,10 @@
+package edu.uni.registration.model;
+
+/**
+ * An entity with a monotonic version stamp. Every state change increments it, so a writer can
+ * read the version, do its validation without locks, and commit only if nothing changed meanwhile
+ * (see the repositories' {@code compareAndSave}).
+ */
+public interface Versioned {
+    long getVersion();
+}
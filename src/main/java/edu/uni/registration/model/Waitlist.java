@@ -0,0 +1,83 @@
+package edu.uni.registration.model;
+
+import edu.uni.registration.model.Enrollment.EnrollmentStatus;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Explicit waitlist queue of a Section. Entries are added when an enrollment becomes
+ * WAITLISTED and polled in policy order, so promotion is O(log n) instead of a roster scan.
+ * Entries whose enrollment has since left the waitlist are skipped lazily on poll.
+ */
+final class Waitlist {
+
+    /** Queue entry; {@code seq} must still match the enrollment's ticket to be live. */
+    private static final class Ticket {
+        final Enrollment enrollment;
+        final long seq;
+        final int year;
+
+        Ticket(Enrollment enrollment, long seq, int year) {
+            this.enrollment = enrollment;
+            this.seq = seq;
+            this.year = year;
+        }
+    }
+
+    private static final Comparator<Ticket> FIFO_ORDER = Comparator.comparingLong(t -> t.seq);
+    private static final Comparator<Ticket> SENIORITY_ORDER =
+            Comparator.<Ticket>comparingInt(t -> -t.year).thenComparingLong(t -> t.seq);
+
+    private WaitlistPolicy policy = WaitlistPolicy.FIFO;
+    private PriorityQueue<Ticket> queue = new PriorityQueue<>(FIFO_ORDER);
+    private long nextSeq;
+
+    WaitlistPolicy policy() {
+        return policy;
+    }
+
+    void setPolicy(WaitlistPolicy policy) {
+        if (policy == this.policy) {
+            return;
+        }
+        PriorityQueue<Ticket> reordered = new PriorityQueue<>(Math.max(1, queue.size()),
+                policy == WaitlistPolicy.SENIORITY ? SENIORITY_ORDER : FIFO_ORDER);
+        for (Ticket t : queue) {
+            if (isLive(t)) {
+                reordered.add(t);
+            }
+        }
+        this.policy = policy;
+        this.queue = reordered;
+    }
+
+    void offer(Enrollment enrollment) {
+        long seq = nextSeq++;
+        enrollment.waitlistSeq = seq;
+        queue.add(new Ticket(enrollment, seq, enrollment.getStudent().getYear()));
+    }
+
+    /** Next live entry without removing it, or null. */
+    Enrollment peek() {
+        Ticket t;
+        while ((t = queue.peek()) != null && !isLive(t)) {
+            queue.poll();
+        }
+        return t == null ? null : t.enrollment;
+    }
+
+    /** Removes and returns the next live entry, or null. */
+    Enrollment poll() {
+        Enrollment next = peek();
+        if (next != null) {
+            queue.poll();
+        }
+        return next;
+    }
+
+    private static boolean isLive(Ticket t) {
+        return t.enrollment.waitlistSeq == t.seq
+                && t.enrollment.getStatus() == EnrollmentStatus.WAITLISTED;
+    }
+}
@@ -0,0 +1,11 @@
+package edu.uni.registration.model;
+
+/**
+ * Order in which a section's waitlist receives seat offers; set through {@code CatalogService#setWaitlistPolicy}.
+ */
+public enum WaitlistPolicy {
+    /** First come, first served. */
+    FIFO,
+    /** Higher {@link Student#getYear()} first; FIFO among students of the same year. */
+    SENIORITY
+}
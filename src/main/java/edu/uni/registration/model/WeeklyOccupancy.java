@@ -0,0 +1,119 @@
+package edu.uni.registration.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable bitmap of the week in 5-minute buckets (7 days x 288 buckets = 32 longs).
+ * A bucket is set when any meeting time touches it, so two schedules can only conflict
+ * if their bitmaps intersect. When every meeting time starts and ends on a bucket boundary
+ * the bitmap is exact and an intersection is a real conflict; otherwise callers fall back to
+ * {@link TimeSlot#overlaps(TimeSlot)} for the final answer.
+ */
+public final class WeeklyOccupancy {
+
+    public static final int BUCKET_MINUTES = 5;
+    public static final int BUCKETS_PER_DAY = 24 * 60 / BUCKET_MINUTES;
+    public static final int BUCKETS_PER_WEEK = 7 * BUCKETS_PER_DAY;
+    private static final int WORDS = (BUCKETS_PER_WEEK + 63) / 64;
+
+    public static final WeeklyOccupancy EMPTY = new WeeklyOccupancy(new long[WORDS], true);
+
+    private final long[] bits;
+    private final boolean exact;
+
+    private WeeklyOccupancy(long[] bits, boolean exact) {
+        this.bits = bits;
+        this.exact = exact;
+    }
+
+    public static WeeklyOccupancy of(List<TimeSlot> slots) {
+        if (slots == null || slots.isEmpty()) {
+            return EMPTY;
+        }
+        long[] bits = new long[WORDS];
+        boolean exact = true;
+        for (TimeSlot slot : slots) {
+            int base = (slot.getDayOfWeek().getValue() - 1) * BUCKETS_PER_DAY;
+            setRange(bits, base + slot.getStartBucket(), base + slot.getEndBucket());
+            exact &= slot.isBucketAligned();
+        }
+        return new WeeklyOccupancy(bits, exact);
+    }
+
+    /** Sets bits [from, to). */
+    private static void setRange(long[] bits, int from, int to) {
+        for (int i = from; i < to; ) {
+            int word = i >>> 6;
+            int end = Math.min(to, (word + 1) << 6);
+            int len = end - i;
+            long mask = (len == 64 ? -1L : ((1L << len) - 1)) << (i & 63);
+            bits[word] |= mask;
+            i = end;
+        }
+    }
+
+    public boolean intersects(WeeklyOccupancy other) {
+        long[] o = other.bits;
+        for (int i = 0; i < WORDS; i++) {
+            if ((bits[i] & o[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public WeeklyOccupancy union(WeeklyOccupancy other) {
+        if (other == EMPTY || other == this) {
+            return this;
+        }
+        if (this == EMPTY) {
+            return other;
+        }
+        long[] merged = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            merged[i] = bits[i] | other.bits[i];
+        }
+        return new WeeklyOccupancy(merged, exact && other.exact);
+    }
+
+    /** True when the bitmap matches the meeting times exactly (all on 5-minute boundaries). */
+    public boolean isExact() {
+        return exact;
+    }
+
+    public boolean isEmpty() {
+        for (long word : bits) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isOccupied(int bucket) {
+        return (bits[bucket >>> 6] & (1L << (bucket & 63))) != 0;
+    }
+
+    /** Number of occupied buckets. */
+    public int cardinality() {
+        int n = 0;
+        for (long word : bits) {
+            n += Long.bitCount(word);
+        }
+        return n;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof WeeklyOccupancy)) return false;
+        WeeklyOccupancy other = (WeeklyOccupancy) o;
+        return exact == other.exact && Arrays.equals(bits, other.bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bits) * 31 + (exact ? 1 : 0);
+    }
+}
@@ -1,55 +1,80 @@
 package edu.uni.registration.repository;
 
+import edu.uni.registration.events.ChangeEvent;
 import edu.uni.registration.model.Course;
+import edu.uni.registration.util.ContentionCounter;
+import edu.uni.registration.util.IdDictionary;
+import edu.uni.registration.util.IntObjectMap;
+
 import java.util.*;
+import java.util.function.Consumer;
 
-public class CourseRepository implements Repository<Course, String> {
+/** Thread-safe: the map is guarded by the repository's monitor. */
+public class CourseRepository extends EventPublishingRepository implements Repository<Course, String> {
 
-    private final Map<String, Course> storage = new HashMap<>();
+    private final IntObjectMap<Course> storage = new IntObjectMap<>();
+    private final ContentionCounter contention = new ContentionCounter();
 
     @Override
-    public Optional<Course> findById(String code) {
+    public synchronized Optional<Course> findById(String code) {
         if (code == null || code.isBlank()) {
             return Optional.empty();
         }
-        return Optional.ofNullable(storage.get(code));
+        return Optional.ofNullable(storage.get(IdDictionary.COURSES.indexOf(code)));
     }
 
     @Override
-    public List<Course> findAll() {
-        return new ArrayList<>(storage.values());
+    public synchronized List<Course> findAll() {
+        return storage.values();
     }
 
     @Override
-    public Course save(Course course) {
+    public synchronized Course save(Course course) {
         if (course == null) {
             throw new IllegalArgumentException("Course cannot be null");
         }
         if (course.getCode() == null || course.getCode().isBlank()) {
             throw new IllegalArgumentException("Course code cannot be null or blank");
         }
-        storage.put(course.getCode(), course);
+        storage.put(course.getIndex(), course);
+        publish(ChangeEvent.Type.COURSE_SAVED, course.getCode(), null);
         return course;
     }
 
+    /** Applies {@code change} and saves only if the course is still at {@code expectedVersion}. */
+    public boolean compareAndSave(Course course, long expectedVersion, Consumer<? super Course> change) {
+        if (!OptimisticWrites.apply(course, course.getCode(), expectedVersion, change, contention)) {
+            return false;
+        }
+        save(course);
+        return true;
+    }
+
+    /** Failed compare-and-save attempts per course code. */
+    public ContentionCounter getContention() {
+        return contention;
+    }
+
     @Override
-    public void deleteById(String code) {
+    public synchronized void deleteById(String code) {
         if (code == null || code.isBlank()) {
             return; // Silently ignore if code is null or blank
         }
-        storage.remove(code);
+        if (storage.remove(IdDictionary.COURSES.indexOf(code)) != null) {
+            publish(ChangeEvent.Type.COURSE_DELETED, code, null);
+        }
     }
 
     // Helper methods
-    public boolean existsByCode(String code) {
-        return code != null && storage.containsKey(code);
+    public synchronized boolean existsByCode(String code) {
+        return code != null && storage.containsKey(IdDictionary.COURSES.indexOf(code));
     }
 
-    public long count() {
+    public synchronized long count() {
         return storage.size();
     }
 
-    public List<Course> findByTitleContaining(String titleFragment) {
+    public synchronized List<Course> findByTitleContaining(String titleFragment) {
         if (titleFragment == null || titleFragment.isBlank()) {
             return List.of();
         }
@@ -67,7 +92,7 @@ public class CourseRepository implements Repository<Course, String> {
         return result;
     }
 
-    void clear() {
+    synchronized void clear() {
         storage.clear();
     }
 }
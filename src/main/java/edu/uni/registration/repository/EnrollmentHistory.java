@@ -0,0 +1,58 @@
+package edu.uni.registration.repository;
+
+import edu.uni.registration.model.Enrollment;
+import edu.uni.registration.util.IdDictionary;
+import edu.uni.registration.util.IntObjectMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only store of enrollments that left the live tables (dropped).
+ * Kept apart from rosters and {@link EnrollmentRepository} so add/drop churn does not
+ * slow down capacity, drop and conflict checks; audit and reporting read it from here.
+ * Thread-safe; reads return copies, so a reader never iterates a list that is being appended to.
+ */
+public class EnrollmentHistory {
+
+    private final List<Enrollment> records = new ArrayList<>();
+    private final IntObjectMap<List<Enrollment>> byStudent = new IntObjectMap<>();
+    private final IntObjectMap<List<Enrollment>> bySection = new IntObjectMap<>();
+
+    public synchronized void append(Enrollment enrollment) {
+        if (enrollment == null) {
+            throw new IllegalArgumentException("Enrollment cannot be null");
+        }
+        records.add(enrollment);
+        indexInto(byStudent, enrollment.getStudent().getIndex(), enrollment);
+        indexInto(bySection, enrollment.getSection().getIndex(), enrollment);
+    }
+
+    private static void indexInto(IntObjectMap<List<Enrollment>> index, int key, Enrollment e) {
+        List<Enrollment> list = index.get(key);
+        if (list == null) {
+            list = new ArrayList<>(2);
+            index.put(key, list);
+        }
+        list.add(e);
+    }
+
+    /** All records in the order they were archived. */
+    public synchronized List<Enrollment> findAll() {
+        return List.copyOf(records);
+    }
+
+    public synchronized List<Enrollment> findByStudent(String studentId) {
+        List<Enrollment> list = byStudent.get(IdDictionary.PEOPLE.indexOf(studentId));
+        return list == null ? List.of() : List.copyOf(list);
+    }
+
+    public synchronized List<Enrollment> findBySection(String sectionId) {
+        List<Enrollment> list = bySection.get(IdDictionary.SECTIONS.indexOf(sectionId));
+        return list == null ? List.of() : List.copyOf(list);
+    }
+
+    public synchronized int size() {
+        return records.size();
+    }
+}
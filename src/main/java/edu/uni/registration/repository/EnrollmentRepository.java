@@ -1,95 +1,267 @@
 package edu.uni.registration.repository;
 
+import edu.uni.registration.events.ChangeEvent;
+import edu.uni.registration.events.ChangeEventBus;
 import edu.uni.registration.model.Enrollment;
+import edu.uni.registration.model.EnrollmentListener;
+import edu.uni.registration.model.Grade;
 import edu.uni.registration.model.Section;
 import edu.uni.registration.model.Student;
 import edu.uni.registration.model.Enrollment.EnrollmentStatus;
+import edu.uni.registration.util.ContentionCounter;
+import edu.uni.registration.util.IdDictionary;
+import edu.uni.registration.util.IntObjectMap;
+import edu.uni.registration.util.LongObjectMap;
 
 import java.util.*;
+import java.util.function.Consumer;
 
-public class EnrollmentRepository implements Repository<Enrollment, String> {
+/**
+ * Single entry point for enrollment writes. One enrollment table, three indexes over it:
+ * <ul>
+ *   <li>primary key: packed (studentIndex, sectionIndex) long,</li>
+ *   <li>by section: the section's columnar roster,</li>
+ *   <li>by student: the student's live schedule.</li>
+ * </ul>
+ * {@link #save} and {@link #archive} update each index exactly once, so callers never
+ * touch {@link Section#addEnrollment} themselves. Dropped enrollments move to the
+ * {@link EnrollmentHistory}.
+ * <p>
+ * Thread-safe. The key and student indexes are shared by every section, so a per-section
+ * monitor does not cover them; they are guarded by one repository lock instead. That lock is
+ * held only for the map work and never while reading an enrollment or roster, which take the
+ * section's monitor: callers commit under a section monitor and then reach this lock, never the
+ * other way round.
+ */
+public class EnrollmentRepository extends EventPublishingRepository implements Repository<Enrollment, String> {
 
-    private final Map<String, Enrollment> storage = new HashMap<>();
+    // Guards storage, byStudent, sections and history.
+    private final Object lock = new Object();
+    private final LongObjectMap<Enrollment> storage = new LongObjectMap<>();
+    private final IntObjectMap<List<Enrollment>> byStudent = new IntObjectMap<>();
+    private final IntObjectMap<Section> sections = new IntObjectMap<>();
+    private final EnrollmentHistory history = new EnrollmentHistory();
+    private final ContentionCounter contention = new ContentionCounter();
 
-    private String keyOf(Enrollment e) {
-        return e.getStudent().getId() + ":" + e.getSection().getId();
+    /** Forwards roster status transitions and grades of saved enrollments to the event bus. */
+    private final EnrollmentListener eventForwarder = new EnrollmentListener() {
+        @Override
+        public void statusChanged(Enrollment e, EnrollmentStatus from, EnrollmentStatus to) {
+            publish(ChangeEvent.Type.ENROLLMENT_STATUS_CHANGED, e, from + "->" + to);
+        }
+
+        @Override
+        public void gradeAssigned(Enrollment e, Grade grade) {
+            publish(ChangeEvent.Type.GRADE_ASSIGNED, e, grade == null ? null : grade.name());
+        }
+    };
+
+    static long keyOf(int studentIndex, int sectionIndex) {
+        return ((long) studentIndex << 32) | (sectionIndex & 0xFFFFFFFFL);
     }
 
-    private String keyOf(String studentId, String sectionId) {
-        return studentId + ":" + sectionId;
+    private static long keyOf(Enrollment e) {
+        return keyOf(e.getStudent().getIndex(), e.getSection().getIndex());
     }
 
+    /** Key format kept from the string-keyed version: "studentId:sectionId". */
     @Override
     public Optional<Enrollment> findById(String key) {
         if (key == null || key.isBlank()) {
             return Optional.empty();
         }
-        return Optional.ofNullable(storage.get(key));
+        int sep = key.indexOf(':');
+        if (sep < 0) {
+            return Optional.empty();
+        }
+        int studentIndex = IdDictionary.PEOPLE.indexOf(key.substring(0, sep));
+        int sectionIndex = IdDictionary.SECTIONS.indexOf(key.substring(sep + 1));
+        if (studentIndex < 0 || sectionIndex < 0) {
+            return Optional.empty();
+        }
+        synchronized (lock) {
+            return Optional.ofNullable(storage.get(keyOf(studentIndex, sectionIndex)));
+        }
     }
 
     @Override
     public List<Enrollment> findAll() {
-        return new ArrayList<>(storage.values());
+        synchronized (lock) {
+            return storage.values();
+        }
     }
 
+    /**
+     * Stores the enrollment and puts it on its section's roster (a no-op if it is already there).
+     * A previous live enrollment for the same student and section is replaced and archived.
+     */
     @Override
     public Enrollment save(Enrollment enrollment) {
         if (enrollment == null) {
             throw new IllegalArgumentException("Enrollment cannot be null");
         }
-        String key = keyOf(enrollment);
-        storage.put(key, enrollment);
+        Section section = enrollment.getSection();
+        section.addEnrollment(enrollment);
+        boolean newSection;
+        Enrollment previous;
+        synchronized (lock) {
+            newSection = sections.put(section.getIndex(), section) == null;
+            previous = storage.put(keyOf(enrollment), enrollment);
+            if (previous != enrollment) {
+                List<Enrollment> schedule = byStudent.get(enrollment.getStudent().getIndex());
+                if (schedule == null) {
+                    schedule = new ArrayList<>(4);
+                    byStudent.put(enrollment.getStudent().getIndex(), schedule);
+                }
+                if (previous != null) {
+                    schedule.remove(previous);
+                }
+                schedule.add(enrollment);
+            }
+        }
+        if (newSection && hasEventBus()) {
+            section.setEnrollmentListener(eventForwarder);
+        }
+        if (previous != enrollment) {
+            publish(ChangeEvent.Type.ENROLLMENT_SAVED, enrollment, enrollment.getStatus().name());
+            // A replaced row still on the roster would keep counting against the section.
+            if (previous != null && previous.getStatus() != EnrollmentStatus.DROPPED) {
+                archive(previous);
+            }
+        }
         return enrollment;
     }
 
     @Override
     public void deleteById(String key) {
-        if (key == null || key.isBlank()) {
-            return;
+        findById(key).ifPresent(e -> {
+            synchronized (lock) {
+                unindex(e);
+            }
+            publish(ChangeEvent.Type.ENROLLMENT_DELETED, e, null);
+        });
+    }
+
+    /**
+     * Drops the enrollment: marks it DROPPED (which takes it off the roster), removes it from
+     * the live indexes and appends it to the history store.
+     */
+    public void archive(Enrollment enrollment) {
+        if (enrollment == null) {
+            throw new IllegalArgumentException("Enrollment cannot be null");
+        }
+        if (enrollment.getStatus() != EnrollmentStatus.DROPPED) {
+            enrollment.setStatus(EnrollmentStatus.DROPPED);
+        }
+        synchronized (lock) {
+            if (storage.get(keyOf(enrollment)) == enrollment) {
+                unindex(enrollment);
+            }
+            history.append(enrollment);
+        }
+        publish(ChangeEvent.Type.ENROLLMENT_ARCHIVED, enrollment, null);
+    }
+
+    /**
+     * Applies {@code change} only if the enrollment is still at {@code expectedVersion}, then
+     * saves it unless the change archived it. Conflicts are counted per section id.
+     */
+    public boolean compareAndSave(Enrollment enrollment, long expectedVersion, Consumer<? super Enrollment> change) {
+        if (!OptimisticWrites.apply(enrollment, enrollment.getSection().getId(), expectedVersion, change,
+                contention)) {
+            return false;
+        }
+        if (enrollment.getStatus() != EnrollmentStatus.DROPPED) {
+            save(enrollment);
         }
-        storage.remove(key);
+        return true;
+    }
+
+    /**
+     * Publishes every change made through this repository to {@code bus}, including status and
+     * grade changes made on saved enrollments; null turns it off.
+     */
+    @Override
+    public void setEventBus(ChangeEventBus bus) {
+        super.setEventBus(bus);
+        List<Section> known;
+        synchronized (lock) {
+            known = sections.values();
+        }
+        for (Section s : known) {
+            s.setEnrollmentListener(bus == null ? null : eventForwarder);
+        }
+    }
+
+    private void publish(ChangeEvent.Type type, Enrollment e, String detail) {
+        if (hasEventBus()) {
+            publish(type, e.getStudent().getId() + ":" + e.getSection().getId(), detail);
+        }
+    }
+
+    /** Failed compare-and-save attempts, keyed by section id. */
+    public ContentionCounter getContention() {
+        return contention;
+    }
+
+    /** Caller holds {@code lock}. */
+    private void unindex(Enrollment enrollment) {
+        storage.remove(keyOf(enrollment));
+        List<Enrollment> schedule = byStudent.get(enrollment.getStudent().getIndex());
+        if (schedule != null) {
+            schedule.remove(enrollment);
+        }
+    }
+
+    public EnrollmentHistory getHistory() {
+        return history;
     }
 
-    
     public Optional<Enrollment> findByStudentAndSection(Student student, Section section) {
         if (student == null || section == null) {
             return Optional.empty();
         }
-        return findById(keyOf(student.getId(), section.getId()));
+        synchronized (lock) {
+            return Optional.ofNullable(storage.get(keyOf(student.getIndex(), section.getIndex())));
+        }
     }
 
+    /** The student's live enrollments, from the per-student index. */
     public List<Enrollment> findByStudent(String studentId) {
         if (studentId == null || studentId.isBlank()) {
             return List.of();
         }
-        List<Enrollment> result = new ArrayList<>();
-        for (Enrollment e : storage.values()) {
-            if (studentId.equals(e.getStudent().getId())) {
-                result.add(e);
-            }
+        synchronized (lock) {
+            List<Enrollment> schedule = byStudent.get(IdDictionary.PEOPLE.indexOf(studentId));
+            return schedule == null ? List.of() : new ArrayList<>(schedule);
         }
-        return result;
     }
 
+    /** The section's live enrollments: a read-only snapshot of its roster. */
     public List<Enrollment> findBySection(String sectionId) {
         if (sectionId == null || sectionId.isBlank()) {
             return List.of();
         }
-        List<Enrollment> result = new ArrayList<>();
-        for (Enrollment e : storage.values()) {
-            if (sectionId.equals(e.getSection().getId())) {
-                result.add(e);
-            }
+        Section section;
+        synchronized (lock) {
+            section = sections.get(IdDictionary.SECTIONS.indexOf(sectionId));
         }
-        return result;
+        return section == null ? List.of() : section.getRoster();
     }
 
     public List<Enrollment> findByStatus(EnrollmentStatus status) {
         if (status == null) {
             return List.of();
         }
+        List<Enrollment> live;
+        synchronized (lock) {
+            if (status == EnrollmentStatus.DROPPED) {
+                return new ArrayList<>(history.findAll());
+            }
+            live = storage.values();
+        }
         List<Enrollment> result = new ArrayList<>();
-        for (Enrollment e : storage.values()) {
+        for (Enrollment e : live) {
             if (status == e.getStatus()) {
                 result.add(e);
             }
@@ -97,5 +269,3 @@ public class EnrollmentRepository implements Repository<Enrollment, String> {
         return result;
     }
 }
-
-
@@ -0,0 +1,27 @@
+package edu.uni.registration.repository;
+
+import edu.uni.registration.events.ChangeEvent;
+import edu.uni.registration.events.ChangeEventBus;
+
+/**
+ * Base of the repositories that report their changes to a {@link ChangeEventBus}. With no bus
+ * attached, publishing costs one volatile read.
+ */
+public abstract class EventPublishingRepository {
+
+    private volatile ChangeEventBus events;
+
+    /** Publishes every change made through this repository to {@code bus}; null turns it off. */
+    public void setEventBus(ChangeEventBus bus) {
+        this.events = bus;
+    }
+
+    protected final boolean hasEventBus() {
+        return events != null;
+    }
+
+    protected final void publish(ChangeEvent.Type type, String id, String detail) {
+        ChangeEventBus bus = events;
+        if (bus != null) bus.publish(type, id, detail);
+    }
+}
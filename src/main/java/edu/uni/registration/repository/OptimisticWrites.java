@@ -0,0 +1,34 @@
+package edu.uni.registration.repository;
+
+import edu.uni.registration.model.Versioned;
+import edu.uni.registration.util.ContentionCounter;
+
+import java.util.function.Consumer;
+
+/**
+ * Shared compare-and-save step. The version check and the change run under the entity's monitor
+ * (the same one the services already use for sections), so the lock is held only for the commit;
+ * validation happens before, against the version the caller read. The entity's monitor covers
+ * only that entity: repository-wide indexes the change writes to are guarded by the repositories'
+ * own locks, taken inside this one.
+ */
+final class OptimisticWrites {
+
+    private OptimisticWrites() {
+    }
+
+    static <T extends Versioned> boolean apply(T entity, String id, long expectedVersion,
+                                               Consumer<? super T> change, ContentionCounter contention) {
+        if (entity == null || change == null) {
+            throw new IllegalArgumentException("Entity and change cannot be null");
+        }
+        synchronized (entity) {
+            if (entity.getVersion() != expectedVersion) {
+                contention.record(id);
+                return false;
+            }
+            change.accept(entity);
+            return true;
+        }
+    }
+}
@@ -1,47 +1,51 @@
 package edu.uni.registration.repository;
 
+import edu.uni.registration.events.ChangeEvent;
 import edu.uni.registration.model.Person;
+import edu.uni.registration.util.IdDictionary;
+import edu.uni.registration.util.IntObjectMap;
 
 import java.util.*;
 
-public class PersonRepository implements Repository<Person, String> {
+/** Thread-safe: the map is guarded by the repository's monitor. */
+public class PersonRepository extends EventPublishingRepository implements Repository<Person, String> {
 
-    private final Map<String, Person> storage = new HashMap<>();
+    private final IntObjectMap<Person> storage = new IntObjectMap<>();
 
     @Override
-    public Optional<Person> findById(String id) {
+    public synchronized Optional<Person> findById(String id) {
         if (id == null || id.isBlank()) {
             return Optional.empty();
         }
-        return Optional.ofNullable(storage.get(id));
+        return Optional.ofNullable(storage.get(IdDictionary.PEOPLE.indexOf(id)));
     }
 
     @Override
-    public List<Person> findAll() {
-        return new ArrayList<>(storage.values());
+    public synchronized List<Person> findAll() {
+        return storage.values();
     }
 
     @Override
-    public Person save(Person person) {
+    public synchronized Person save(Person person) {
         if (person == null) {
             throw new IllegalArgumentException("Person cannot be null");
         }
         if (person.getId() == null || person.getId().isBlank()) {
             throw new IllegalArgumentException("Person id cannot be null or blank");
         }
-        storage.put(person.getId(), person);
+        storage.put(person.getIndex(), person);
+        publish(ChangeEvent.Type.PERSON_SAVED, person.getId(), null);
         return person;
     }
 
     @Override
-    public void deleteById(String id) {
+    public synchronized void deleteById(String id) {
         if (id == null || id.isBlank()) {
             return;
         }
-        storage.remove(id);
+        if (storage.remove(IdDictionary.PEOPLE.indexOf(id)) != null) {
+            publish(ChangeEvent.Type.PERSON_DELETED, id, null);
+        }
     }
 
-    
 }
-
-
@@ -1,49 +1,88 @@
 package edu.uni.registration.repository;
+import edu.uni.registration.events.ChangeEvent;
 import edu.uni.registration.model.Section;
+import edu.uni.registration.util.ContentionCounter;
+import edu.uni.registration.util.IdDictionary;
+import edu.uni.registration.util.IntObjectMap;
 import java.util.*;
+import java.util.function.Consumer;
 
-public class SectionRepository implements Repository<Section, String> {
-    private final Map<String, Section> storage = new HashMap<>();
+/**
+ * Thread-safe: the map is guarded by the repository's monitor. {@link #compareAndSave} takes it
+ * only after the section's monitor is released, so the two are never held in the opposite order.
+ */
+public class SectionRepository extends EventPublishingRepository implements Repository<Section, String> {
+    private final IntObjectMap<Section> storage = new IntObjectMap<>();
+    private final ContentionCounter contention = new ContentionCounter();
 
     @Override
-    public Optional<Section> findById(String id) {
+    public synchronized Optional<Section> findById(String id) {
         if(id == null ||  id.isBlank()){
             return Optional.empty();
         }
-        return Optional.ofNullable(storage.get(id));
+        return Optional.ofNullable(storage.get(IdDictionary.SECTIONS.indexOf(id)));
     }
 
     @Override
-    public List<Section> findAll() {
-        return new ArrayList<>(storage.values());
+    public synchronized List<Section> findAll() {
+        return storage.values();
     }
 
     @Override
-    public Section save(Section section) {
+    public synchronized Section save(Section section) {
         if(section == null){
             throw new IllegalArgumentException("Section cannot be null");
         }
         if(section.getId() == null || section.getId().isBlank()){
             throw new IllegalArgumentException("Section ID cannot be null");
         }
-        storage.put(section.getId(), section);
+        storage.put(section.getIndex(), section);
+        publish(ChangeEvent.Type.SECTION_SAVED, section.getId(), null);
         return section;
     }
 
+    /**
+     * Applies {@code change} and saves the section only if its version is still
+     * {@code expectedVersion}. On a conflict nothing is applied, the conflict is counted against
+     * the section, and the caller re-reads and retries.
+     */
+    public boolean compareAndSave(Section section, long expectedVersion, Consumer<? super Section> change) {
+        int capacityBefore = section.getCapacity();
+        if (!OptimisticWrites.apply(section, section.getId(), expectedVersion, change, contention)) {
+            return false;
+        }
+        int capacityAfter = section.getCapacity();
+        if (capacityAfter != capacityBefore) {
+            publish(ChangeEvent.Type.CAPACITY_CHANGED, section.getId(), capacityBefore + "->" + capacityAfter);
+        }
+        // Roster changes inside the commit report themselves; no SECTION_SAVED per enrollment.
+        synchronized (this) {
+            storage.put(section.getIndex(), section);
+        }
+        return true;
+    }
+
+    /** Failed compare-and-save attempts per section id. */
+    public ContentionCounter getContention() {
+        return contention;
+    }
+
     @Override
-    public void deleteById(String id) {
+    public synchronized void deleteById(String id) {
         if(id == null ||  id.isBlank()){
             return;
         }
-        storage.remove(id);
+        if (storage.remove(IdDictionary.SECTIONS.indexOf(id)) != null) {
+            publish(ChangeEvent.Type.SECTION_DELETED, id, null);
+        }
     }
 
     //Helper method(s)
-    public boolean existsById(String id) {
-        return id != null & storage.containsKey(id);
+    public synchronized boolean existsById(String id) {
+        return id != null & storage.containsKey(IdDictionary.SECTIONS.indexOf(id));
     }
 
-    public List<Section> findByCourseCode(String courseCode){
+    public synchronized List<Section> findByCourseCode(String courseCode){
         if(courseCode == null || courseCode.isBlank()){
             return List.of();
         }
@@ -57,7 +96,7 @@ public class SectionRepository implements Repository<Section, String> {
         return result;
     }
 
-    public List<Section> findByTerm(String term){
+    public synchronized List<Section> findByTerm(String term){
         if(term == null || term.isBlank()){
             return List.of();
         }
@@ -71,7 +110,7 @@ public class SectionRepository implements Repository<Section, String> {
         return result;
     }
 
-    void clear(){
+    synchronized void clear(){
         storage.clear();
     }
 }
@@ -1,55 +1,61 @@
 package edu.uni.registration.repository;
+import edu.uni.registration.events.ChangeEvent;
 import edu.uni.registration.model.Student;
+import edu.uni.registration.util.IdDictionary;
+import edu.uni.registration.util.IntObjectMap;
 import java.util.*;
 
-public class StudentRepository implements Repository<Student,String> {
-    private final Map<String,Student> storage = new HashMap<>();
+/** Thread-safe: the map is guarded by the repository's monitor. */
+public class StudentRepository extends EventPublishingRepository implements Repository<Student,String> {
+    private final IntObjectMap<Student> storage = new IntObjectMap<>();
 
     @Override
-    public Optional<Student> findById(String id) {
+    public synchronized Optional<Student> findById(String id) {
         if(id == null || id.isBlank()){
             return Optional.empty();
         }
-        return Optional.ofNullable(storage.get(id));
+        return Optional.ofNullable(storage.get(IdDictionary.PEOPLE.indexOf(id)));
     }
 
     @Override
-    public List<Student> findAll() {
-        return new ArrayList<>(storage.values());
+    public synchronized List<Student> findAll() {
+        return storage.values();
     }
 
     @Override
-    public Student save(Student student) {
+    public synchronized Student save(Student student) {
         if(student == null){
             throw new IllegalArgumentException("Student cannot be null");
         }
         if(student.getId() == null || student.getId().isBlank()){
             throw new IllegalArgumentException("Student ID cannot be null");
         }
-        storage.put(student.getId(),student);
+        storage.put(student.getIndex(),student);
+        publish(ChangeEvent.Type.STUDENT_SAVED, student.getId(), null);
         return student;
     }
 
     @Override
-    public void deleteById(String id) {
+    public synchronized void deleteById(String id) {
         if(id == null || id.isBlank()){
             return;
         }
-        storage.remove(id);
+        if (storage.remove(IdDictionary.PEOPLE.indexOf(id)) != null) {
+            publish(ChangeEvent.Type.STUDENT_DELETED, id, null);
+        }
     }
 
     //helper methods for testing
-    public boolean existsById(String id) {
-        return id != null && storage.containsKey(id);
+    public synchronized boolean existsById(String id) {
+        return id != null && storage.containsKey(IdDictionary.PEOPLE.indexOf(id));
     }
 
-    public long count() {
+    public synchronized long count() {
         return storage.size();
     }
 
-    void clear() {
+    synchronized void clear() {
         storage.clear();
         }
 
-
 }
@@ -1,32 +1,39 @@
 package edu.uni.registration.repository;
 
+import edu.uni.registration.events.ChangeEvent;
 import edu.uni.registration.model.Transcript;
+import edu.uni.registration.util.IdDictionary;
+import edu.uni.registration.util.IntObjectMap;
 import java.util.*;
 
-public class TranscriptRepository implements Repository<Transcript, String> {
+/** Thread-safe: the map is guarded by the repository's monitor. */
+public class TranscriptRepository extends EventPublishingRepository implements Repository<Transcript, String> {
 
-    private final Map<String, Transcript> storage = new HashMap<>();
+    private final IntObjectMap<Transcript> storage = new IntObjectMap<>();
 
     @Override
-    public Optional<Transcript> findById(String studentId) {
+    public synchronized Optional<Transcript> findById(String studentId) {
         if (studentId == null || studentId.isBlank()) return Optional.empty();
-        return Optional.ofNullable(storage.get(studentId));
+        return Optional.ofNullable(storage.get(IdDictionary.PEOPLE.indexOf(studentId)));
     }
 
     @Override
-    public List<Transcript> findAll() {
-        return new ArrayList<>(storage.values());
+    public synchronized List<Transcript> findAll() {
+        return storage.values();
     }
 
     @Override
-    public Transcript save(Transcript transcript) {
+    public synchronized Transcript save(Transcript transcript) {
         if (transcript == null) throw new IllegalArgumentException("Transcript cannot be null");
-        storage.put(transcript.getStudent().getId(), transcript);
+        storage.put(transcript.getStudent().getIndex(), transcript);
+        publish(ChangeEvent.Type.TRANSCRIPT_SAVED, transcript.getStudent().getId(), null);
         return transcript;
     }
 
     @Override
-    public void deleteById(String studentId) {
-        if (studentId != null) storage.remove(studentId);
+    public synchronized void deleteById(String studentId) {
+        if (studentId != null && storage.remove(IdDictionary.PEOPLE.indexOf(studentId)) != null) {
+            publish(ChangeEvent.Type.TRANSCRIPT_DELETED, studentId, null);
+        }
     }
 }
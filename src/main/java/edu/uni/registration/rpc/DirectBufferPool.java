@@ -0,0 +1,65 @@
+package edu.uni.registration.rpc;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed-size direct buffers handed out and taken back, so socket I/O neither copies through a
+ * temporary native buffer (as heap buffers do) nor pays for allocating and freeing direct memory
+ * per message. At most {@code maxPooled} idle buffers are kept; extras are left to the GC.
+ */
+public class DirectBufferPool {
+
+    private final int bufferSize;
+    private final int maxPooled;
+    private final Queue<ByteBuffer> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final AtomicLong allocated = new AtomicLong();
+
+    public DirectBufferPool(int bufferSize, int maxPooled) {
+        if (bufferSize < 1 || maxPooled < 0) {
+            throw new IllegalArgumentException("Buffer size must be positive and pool size non-negative");
+        }
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    /** A cleared buffer of {@link #bufferSize()} bytes. */
+    public ByteBuffer acquire() {
+        ByteBuffer buf = idle.poll();
+        if (buf == null) {
+            allocated.incrementAndGet();
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+        idleCount.decrementAndGet();
+        return buf.clear();
+    }
+
+    /** Returns a buffer for reuse; buffers of another size (grown for a big frame) are dropped. */
+    public void release(ByteBuffer buf) {
+        if (buf == null || buf.capacity() != bufferSize || !buf.isDirect()) {
+            return;
+        }
+        if (idleCount.incrementAndGet() <= maxPooled) {
+            idle.offer(buf);
+        } else {
+            idleCount.decrementAndGet();
+        }
+    }
+
+    public int bufferSize() {
+        return bufferSize;
+    }
+
+    public int idleCount() {
+        return idleCount.get();
+    }
+
+    /** Buffers allocated over the pool's lifetime; flat under steady load means reuse is working. */
+    public long allocatedCount() {
+        return allocated.get();
+    }
+}
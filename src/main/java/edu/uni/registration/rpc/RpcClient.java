@@ -0,0 +1,320 @@
+package edu.uni.registration.rpc;
+
+import edu.uni.registration.rpc.RpcViews.CourseView;
+import edu.uni.registration.rpc.RpcViews.EnrollmentView;
+import edu.uni.registration.rpc.RpcViews.HoldView;
+import edu.uni.registration.rpc.RpcViews.SectionView;
+import edu.uni.registration.rpc.RpcViews.TranscriptView;
+import edu.uni.registration.util.Result;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static edu.uni.registration.rpc.RpcProtocol.*;
+
+/**
+ * Client for {@link RpcServer}. Every call returns a future of the same {@link Result} the service
+ * would have returned, with model objects replaced by {@link RpcViews}. Calls are thread-safe and
+ * share one connection; a background thread reads replies and completes the futures in order.
+ * <p>
+ * A call is written to the socket immediately unless it is made inside {@link #pipelined}, which
+ * buffers every request the block issues and sends them in one write:
+ * <pre>
+ *   List&lt;CompletableFuture&lt;Result&lt;EnrollmentView&gt;&gt;&gt; replies = new ArrayList&lt;&gt;();
+ *   client.pipelined(() -&gt; cart.forEach(id -&gt; replies.add(client.enrollStudentInSection(null, sid, id))));
+ * </pre>
+ * Do not wait on a future inside the block that issued it; it has not been sent yet. Writes take
+ * a request id first: pass one to make retries idempotent, or null.
+ */
+public class RpcClient implements Closeable {
+
+    private static final class Pending<T> {
+        final int correlationId;
+        final Function<ByteBuffer, T> decoder;
+        final CompletableFuture<Result<T>> future = new CompletableFuture<>();
+
+        Pending(int correlationId, Function<ByteBuffer, T> decoder) {
+            this.correlationId = correlationId;
+            this.decoder = decoder;
+        }
+
+        void complete(byte status, ByteBuffer payload) {
+            if (status == STATUS_OK) {
+                future.complete(Result.ok(decoder == null ? null : decoder.apply(payload)));
+            } else if (status == STATUS_FAIL) {
+                future.complete(Result.fail(getString(payload)));
+            } else {
+                future.complete(Result.fail("Bad request: " + getString(payload)));
+            }
+        }
+    }
+
+    private final SocketChannel channel;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Guarded by writeLock, as are nextId and the order of awaiting.
+    private final ByteBuffer out = ByteBuffer.allocateDirect(MAX_REQUEST_BYTES);
+    private int nextId;
+    private final Queue<Pending<?>> awaiting = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<int[]> pipelineDepth = ThreadLocal.withInitial(() -> new int[1]);
+    private final Thread reader;
+    private volatile IOException failure;
+
+    private RpcClient(SocketChannel channel) {
+        this.channel = channel;
+        this.reader = new Thread(this::readLoop, "rpc-client-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    public static RpcClient connect(InetSocketAddress address) throws IOException {
+        SocketChannel channel = SocketChannel.open(address);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        return new RpcClient(channel);
+    }
+
+    /**
+     * Runs {@code calls}, holding back every request they make on this thread, then sends them all
+     * in one write. Nested blocks send when the outermost one ends.
+     */
+    public void pipelined(Runnable calls) {
+        int[] depth = pipelineDepth.get();
+        depth[0]++;
+        try {
+            calls.run();
+        } finally {
+            if (--depth[0] == 0) {
+                writeLock.lock();
+                try {
+                    flushLocked();
+                } finally {
+                    writeLock.unlock();
+                }
+            }
+        }
+    }
+
+    // --- RegistrationService ---
+
+    public CompletableFuture<Result<Void>> ping() {
+        return call(PING, null, null);
+    }
+
+    public CompletableFuture<Result<EnrollmentView>> enrollStudentInSection(String requestId, String studentId,
+                                                                            String sectionId) {
+        return call(ENROLL, b -> strings(b, requestId, studentId, sectionId), EnrollmentView::read);
+    }
+
+    public CompletableFuture<Result<Void>> dropStudentInSection(String requestId, String studentId, String sectionId) {
+        return call(DROP, b -> strings(b, requestId, studentId, sectionId), null);
+    }
+
+    public CompletableFuture<Result<EnrollmentView>> swapSection(String requestId, String studentId,
+                                                                 String fromSectionId, String toSectionId) {
+        return call(SWAP, b -> strings(b, requestId, studentId, fromSectionId, toSectionId), EnrollmentView::read);
+    }
+
+    public CompletableFuture<Result<HoldView>> holdSeat(String requestId, String studentId, String sectionId) {
+        return call(HOLD_SEAT, b -> strings(b, requestId, studentId, sectionId), HoldView::read);
+    }
+
+    public CompletableFuture<Result<EnrollmentView>> confirmHold(String requestId, String studentId, String holdId) {
+        return call(CONFIRM_HOLD, b -> strings(b, requestId, studentId, holdId), EnrollmentView::read);
+    }
+
+    public CompletableFuture<Result<Void>> releaseHold(String studentId, String holdId) {
+        return call(RELEASE_HOLD, b -> strings(b, studentId, holdId), null);
+    }
+
+    public CompletableFuture<Result<List<HoldView>>> getPendingOffers(String studentId) {
+        return call(PENDING_OFFERS, b -> strings(b, studentId), HoldView::readList);
+    }
+
+    public CompletableFuture<Result<EnrollmentView>> acceptOffer(String requestId, String studentId, String offerId) {
+        return call(ACCEPT_OFFER, b -> strings(b, requestId, studentId, offerId), EnrollmentView::read);
+    }
+
+    public CompletableFuture<Result<Void>> declineOffer(String studentId, String offerId) {
+        return call(DECLINE_OFFER, b -> strings(b, studentId, offerId), null);
+    }
+
+    public CompletableFuture<Result<List<SectionView>>> getCurrentSchedule(String studentId, String term) {
+        return call(CURRENT_SCHEDULE, b -> strings(b, studentId, term), SectionView::readList);
+    }
+
+    public CompletableFuture<Result<TranscriptView>> getTranscript(String studentId) {
+        return call(TRANSCRIPT, b -> strings(b, studentId), TranscriptView::read);
+    }
+
+    // --- CatalogService ---
+
+    /** Course search; null arguments are not filtered on. */
+    public CompletableFuture<Result<List<CourseView>>> search(String code, String title, Integer minCredits,
+                                                             Integer maxCredits, String instructorName) {
+        return call(SEARCH_COURSES, b -> {
+            putString(b, code);
+            putString(b, title);
+            putOptionalInt(b, minCredits);
+            putOptionalInt(b, maxCredits);
+            putString(b, instructorName);
+        }, RpcClient::readCourses);
+    }
+
+    public CompletableFuture<Result<List<SectionView>>> getSectionsByCourseCode(String courseCode) {
+        return call(SECTIONS_BY_COURSE, b -> strings(b, courseCode), SectionView::readList);
+    }
+
+    public CompletableFuture<Result<List<SectionView>>> getInstructorSections(String instructorId) {
+        return call(INSTRUCTOR_SECTIONS, b -> strings(b, instructorId), SectionView::readList);
+    }
+
+    public CompletableFuture<Result<Void>> adminOverrideCapacity(String sectionId, int newCapacity, String adminId,
+                                                                 String reason) {
+        return call(OVERRIDE_CAPACITY, b -> {
+            putString(b, sectionId);
+            b.putInt(newCapacity);
+            strings(b, adminId, reason);
+        }, null);
+    }
+
+    /** Requests sent but not yet answered. */
+    public int inFlight() {
+        return awaiting.size();
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Closing anyway.
+        }
+    }
+
+    private <T> CompletableFuture<Result<T>> call(byte opcode, Consumer<ByteBuffer> args, Function<ByteBuffer, T> decoder) {
+        Pending<T> pending;
+        writeLock.lock();
+        try {
+            if (failure != null || !channel.isOpen()) {
+                return CompletableFuture.failedFuture(failure != null ? failure : new IOException("Client closed"));
+            }
+            pending = new Pending<>(nextId++, decoder);
+            if (!frame(pending.correlationId, opcode, args)) {
+                flushLocked();
+                if (!frame(pending.correlationId, opcode, args)) {
+                    return CompletableFuture.completedFuture(Result.fail("Request too large"));
+                }
+            }
+            awaiting.add(pending);
+            if (pipelineDepth.get()[0] == 0) {
+                flushLocked();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        return pending.future;
+    }
+
+    private boolean frame(int correlationId, byte opcode, Consumer<ByteBuffer> args) {
+        int start = out.position();
+        try {
+            out.position(start + LENGTH_BYTES);
+            out.putInt(correlationId);
+            out.put(opcode);
+            if (args != null) args.accept(out);
+            out.putInt(start, out.position() - start - LENGTH_BYTES);
+            return true;
+        } catch (BufferOverflowException e) {
+            out.position(start);
+            return false;
+        }
+    }
+
+    private void flushLocked() {
+        if (out.position() == 0) return;
+        out.flip();
+        try {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        } catch (IOException e) {
+            fail(e);
+        } finally {
+            out.clear();
+        }
+    }
+
+    private void readLoop() {
+        ByteBuffer in = ByteBuffer.allocateDirect(MAX_REQUEST_BYTES);
+        try {
+            while (true) {
+                if (channel.read(in) < 0) {
+                    throw new IOException("Server closed the connection");
+                }
+                in.flip();
+                while (in.remaining() >= LENGTH_BYTES) {
+                    int start = in.position();
+                    int length = in.getInt(start);
+                    if (in.remaining() < LENGTH_BYTES + length) {
+                        if (LENGTH_BYTES + length > in.capacity()) {
+                            if (length > MAX_RESPONSE_BYTES) throw new IOException("Frame too large: " + length);
+                            ByteBuffer bigger = ByteBuffer.allocateDirect(LENGTH_BYTES + length);
+                            bigger.put(in);
+                            bigger.flip();
+                            in = bigger;
+                        }
+                        break;
+                    }
+                    int end = start + LENGTH_BYTES + length;
+                    int limit = in.limit();
+                    in.position(start + LENGTH_BYTES).limit(end);
+                    int correlationId = in.getInt();
+                    byte status = in.get();
+                    Pending<?> pending = awaiting.poll();
+                    if (pending == null || pending.correlationId != correlationId) {
+                        throw new IOException("Reply " + correlationId + " out of order");
+                    }
+                    pending.complete(status, in);
+                    in.limit(limit).position(end);
+                }
+                in.compact();
+            }
+        } catch (IOException e) {
+            fail(e);
+        } catch (RuntimeException e) {
+            fail(new IOException("Undecodable reply", e));
+        }
+    }
+
+    private void fail(IOException e) {
+        if (failure == null) failure = e;
+        close();
+        Pending<?> p;
+        while ((p = awaiting.poll()) != null) {
+            p.future.completeExceptionally(e);
+        }
+    }
+
+    private static void strings(ByteBuffer b, String... values) {
+        for (String v : values) putString(b, v);
+    }
+
+    private static List<CourseView> readCourses(ByteBuffer b) {
+        int n = getCount(b);
+        List<CourseView> courses = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) courses.add(CourseView.read(b));
+        return courses;
+    }
+}
@@ -0,0 +1,125 @@
+package edu.uni.registration.rpc;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Wire format shared by {@link RpcServer} and {@link RpcClient}. Every frame is a 4-byte
+ * big-endian length followed by that many bytes:
+ * <pre>
+ *   request:  [length][int correlation id][byte opcode][arguments]
+ *   response: [length][int correlation id][byte status][payload]
+ * </pre>
+ * Strings are a 2-byte length and UTF-8 bytes, with length -1 for null; lists are an unsigned
+ * 2-byte count followed by the elements. A failed call has status {@link #STATUS_FAIL} and the
+ * error string as payload. Responses on a connection come back in request order, so a client may send many
+ * requests before reading any reply (pipelining); the correlation id is echoed regardless.
+ */
+public final class RpcProtocol {
+
+    public static final int LENGTH_BYTES = 4;
+    /** Correlation id plus opcode or status. */
+    public static final int HEADER_BYTES = 5;
+    /** Largest request frame a server accepts; also the size of pooled buffers. */
+    public static final int MAX_REQUEST_BYTES = 64 * 1024;
+    /** Largest response frame; a bigger result fails with {@link #RESPONSE_TOO_LARGE}. */
+    public static final int MAX_RESPONSE_BYTES = 16 * 1024 * 1024;
+
+    public static final byte STATUS_OK = 0;
+    public static final byte STATUS_FAIL = 1;
+    public static final byte STATUS_BAD_REQUEST = 2;
+
+    public static final String RESPONSE_TOO_LARGE = "Response too large";
+
+    // Opcodes. Writes take a nullable request id first, mapped to the idempotent service overloads.
+    public static final byte PING = 0;
+    public static final byte ENROLL = 1;
+    public static final byte DROP = 2;
+    public static final byte SWAP = 3;
+    public static final byte HOLD_SEAT = 4;
+    public static final byte CONFIRM_HOLD = 5;
+    public static final byte RELEASE_HOLD = 6;
+    public static final byte PENDING_OFFERS = 7;
+    public static final byte ACCEPT_OFFER = 8;
+    public static final byte DECLINE_OFFER = 9;
+    public static final byte CURRENT_SCHEDULE = 10;
+    public static final byte TRANSCRIPT = 11;
+    public static final byte SEARCH_COURSES = 20;
+    public static final byte SECTIONS_BY_COURSE = 21;
+    public static final byte INSTRUCTOR_SECTIONS = 22;
+    // 23-25 were catalog edits with no admin check (create/update course, assign instructor). They
+    // are retired, not reused, so an old client gets STATUS_BAD_REQUEST instead of another call.
+    public static final byte OVERRIDE_CAPACITY = 26;
+
+    public static final int MAX_COUNT = 0xFFFF;
+
+    /** Marks an absent optional int (credits filters, new credits). */
+    public static final int NO_INT = Integer.MIN_VALUE;
+
+    private RpcProtocol() {
+    }
+
+    public static void putString(ByteBuffer buf, String s) {
+        if (s == null) {
+            buf.putShort((short) -1);
+            return;
+        }
+        int n = s.length();
+        if (n > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("String longer than " + Short.MAX_VALUE + " bytes");
+        }
+        int lengthAt = buf.position();
+        buf.position(lengthAt + 2);
+        // ASCII goes byte by byte with no temporary array; anything else takes the general path.
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                buf.position(lengthAt + 2);
+                byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+                if (utf8.length > Short.MAX_VALUE) {
+                    throw new IllegalArgumentException("String longer than " + Short.MAX_VALUE + " bytes");
+                }
+                buf.put(utf8);
+                buf.putShort(lengthAt, (short) utf8.length);
+                return;
+            }
+            buf.put((byte) c);
+        }
+        buf.putShort(lengthAt, (short) n);
+    }
+
+    public static String getString(ByteBuffer buf) {
+        int n = buf.getShort();
+        if (n < 0) {
+            return null;
+        }
+        if (buf.hasArray()) {
+            String s = new String(buf.array(), buf.arrayOffset() + buf.position(), n, StandardCharsets.UTF_8);
+            buf.position(buf.position() + n);
+            return s;
+        }
+        byte[] bytes = new byte[n];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static void putCount(ByteBuffer buf, int count) {
+        if (count > MAX_COUNT) {
+            throw new IllegalArgumentException("List longer than " + MAX_COUNT);
+        }
+        buf.putShort((short) count);
+    }
+
+    public static int getCount(ByteBuffer buf) {
+        return buf.getShort() & 0xFFFF;
+    }
+
+    public static void putOptionalInt(ByteBuffer buf, Integer value) {
+        buf.putInt(value == null ? NO_INT : value);
+    }
+
+    public static Integer getOptionalInt(ByteBuffer buf) {
+        int v = buf.getInt();
+        return v == NO_INT ? null : v;
+    }
+}
@@ -0,0 +1,544 @@
+package edu.uni.registration.rpc;
+
+import edu.uni.registration.model.Course;
+import edu.uni.registration.model.Enrollment;
+import edu.uni.registration.model.SeatHold;
+import edu.uni.registration.model.SeatOffer;
+import edu.uni.registration.model.Section;
+import edu.uni.registration.model.Transcript;
+import edu.uni.registration.service.CatalogService;
+import edu.uni.registration.service.RegistrationService;
+import edu.uni.registration.util.CourseQuery;
+import edu.uni.registration.util.Result;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static edu.uni.registration.rpc.RpcProtocol.*;
+
+/**
+ * Serves {@link RpcProtocol} frames over non-blocking {@link SocketChannel}s. A few event-loop
+ * threads each own a {@link Selector} and a share of the connections; a loop reads whatever has
+ * arrived, runs every complete request in it straight through the service, encodes the replies
+ * back to back into one buffer and writes them with a single call. The service work is
+ * in-memory and short, so running it on the loop is cheaper than a hand-off, and a client that
+ * pipelines 50 requests costs one read and one write instead of 50 of each. Loops call the
+ * service concurrently with no lock of their own; the services and repositories behind it must be
+ * safe for concurrent callers.
+ * <p>
+ * Read and write buffers come from a {@link DirectBufferPool} and go back as soon as a
+ * connection has nothing buffered, so thousands of idle kiosks hold no buffers at all. When a
+ * client stops reading, its connection stops being read too until the backlog drains.
+ */
+public class RpcServer implements Closeable {
+
+    private static final String INTERNAL_ERROR = "Internal error";
+
+    /** One executed request waiting to be encoded. */
+    private static final class Reply {
+        final int correlationId;
+        final byte opcode;
+        final byte status;
+        final Object value;
+
+        Reply(int correlationId, byte opcode, byte status, Object value) {
+            this.correlationId = correlationId;
+            this.opcode = opcode;
+            this.status = status;
+            this.value = value;
+        }
+    }
+
+    private final RegistrationService registration;
+    private final CatalogService catalog;
+    private final DirectBufferPool pool;
+    private final ServerSocketChannel acceptor;
+    private final EventLoop[] loops;
+    private final AtomicInteger nextLoop = new AtomicInteger();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder reads = new LongAdder();
+
+    public RpcServer(InetSocketAddress address, RegistrationService registration, CatalogService catalog,
+                     int ioThreads) throws IOException {
+        if (registration == null || catalog == null) {
+            throw new IllegalArgumentException("Services cannot be null");
+        }
+        if (ioThreads < 1) {
+            throw new IllegalArgumentException("Need at least one I/O thread");
+        }
+        this.registration = registration;
+        this.catalog = catalog;
+        this.pool = new DirectBufferPool(MAX_REQUEST_BYTES, 1024);
+        this.acceptor = ServerSocketChannel.open();
+        acceptor.bind(address, 1024);
+        acceptor.configureBlocking(false);
+        this.loops = new EventLoop[ioThreads];
+        for (int i = 0; i < ioThreads; i++) {
+            loops[i] = new EventLoop(i);
+        }
+        acceptor.register(loops[0].selector, SelectionKey.OP_ACCEPT);
+    }
+
+    public void start() {
+        for (EventLoop loop : loops) {
+            loop.thread.start();
+        }
+    }
+
+    @Override
+    public void close() {
+        for (EventLoop loop : loops) {
+            loop.shutdown();
+        }
+        try {
+            acceptor.close();
+        } catch (IOException ignored) {
+            // Already closing.
+        }
+    }
+
+    /** Bound port; useful when started on port 0. */
+    public int getPort() {
+        return acceptor.socket().getLocalPort();
+    }
+
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /** Average requests handled per socket read; above 1 means clients are pipelining. */
+    public double getRequestsPerRead() {
+        long r = reads.sum();
+        return r == 0 ? 0 : (double) requests.sum() / r;
+    }
+
+    public DirectBufferPool getBufferPool() {
+        return pool;
+    }
+
+    private final class EventLoop implements Runnable {
+        final Selector selector;
+        final Thread thread;
+        final Queue<SocketChannel> incoming = new ConcurrentLinkedQueue<>();
+        volatile boolean running = true;
+
+        EventLoop(int index) throws IOException {
+            this.selector = Selector.open();
+            this.thread = new Thread(this, "rpc-io-" + index);
+            thread.setDaemon(true);
+        }
+
+        void adopt(SocketChannel channel) {
+            incoming.add(channel);
+            selector.wakeup();
+        }
+
+        void shutdown() {
+            running = false;
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    selector.select();
+                    SocketChannel adopted;
+                    while ((adopted = incoming.poll()) != null) {
+                        register(adopted);
+                    }
+                    Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                    while (it.hasNext()) {
+                        SelectionKey key = it.next();
+                        it.remove();
+                        if (!key.isValid()) continue;
+                        if (key.isAcceptable()) {
+                            try {
+                                accept();
+                            } catch (IOException e) {
+                                // Out of descriptors or similar; the next select retries.
+                            }
+                            continue;
+                        }
+                        Connection c = (Connection) key.attachment();
+                        if (key.isWritable()) c.onWritable();
+                        if (key.isValid() && key.isReadable()) c.onReadable();
+                    }
+                }
+            } catch (IOException | ClosedSelectorException e) {
+                // Fall through to close everything this loop owns.
+            } finally {
+                for (SelectionKey key : selector.keys()) {
+                    if (key.attachment() instanceof Connection) {
+                        ((Connection) key.attachment()).close();
+                    }
+                }
+                try {
+                    selector.close();
+                } catch (IOException ignored) {
+                    // Nothing left to release.
+                }
+            }
+        }
+
+        private void accept() throws IOException {
+            SocketChannel channel;
+            while ((channel = acceptor.accept()) != null) {
+                EventLoop target = loops[Math.floorMod(nextLoop.getAndIncrement(), loops.length)];
+                if (target == this) {
+                    register(channel);
+                } else {
+                    target.adopt(channel);
+                }
+            }
+        }
+
+        private void register(SocketChannel channel) {
+            try {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                Connection c = new Connection(channel);
+                c.key = channel.register(selector, SelectionKey.OP_READ, c);
+                connections.incrementAndGet();
+            } catch (IOException e) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // Never got going.
+                }
+            }
+        }
+    }
+
+    private final class Connection {
+        final SocketChannel channel;
+        SelectionKey key;
+        ByteBuffer in;
+        // Always in write mode: position is the end of the bytes still to send.
+        ByteBuffer out;
+        // A reply that did not fit while the socket was full; sent before reading anything else.
+        Reply parked;
+        boolean closed;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        void onReadable() {
+            if (in == null) {
+                in = pool.acquire();
+            }
+            int n;
+            try {
+                n = channel.read(in);
+            } catch (IOException e) {
+                close();
+                return;
+            }
+            if (n < 0) {
+                close();
+                return;
+            }
+            reads.increment();
+            drain();
+        }
+
+        void onWritable() {
+            if (!flush()) return;
+            if (parked != null) {
+                Reply r = parked;
+                parked = null;
+                if (!buffer(r)) {
+                    parked = r;
+                    return;
+                }
+            }
+            if (in != null && in.position() > 0) {
+                drain();
+            } else {
+                updateInterest();
+            }
+        }
+
+        /** Runs every complete frame in {@code in}, then flushes; stops early if replies back up. */
+        private void drain() {
+            in.flip();
+            while (parked == null && in.remaining() >= LENGTH_BYTES) {
+                int start = in.position();
+                int length = in.getInt(start);
+                if (length < HEADER_BYTES || length > MAX_REQUEST_BYTES - LENGTH_BYTES) {
+                    close();
+                    return;
+                }
+                if (in.remaining() < LENGTH_BYTES + length) break;
+                int end = start + LENGTH_BYTES + length;
+                int limit = in.limit();
+                in.position(start + LENGTH_BYTES).limit(end);
+                Reply reply = execute(in);
+                in.limit(limit).position(end);
+                requests.increment();
+                if (!buffer(reply)) {
+                    if (closed) return;
+                    parked = reply;
+                }
+            }
+            in.compact();
+            if (in.position() == 0) {
+                pool.release(in);
+                in = null;
+            }
+            flush();
+            updateInterest();
+        }
+
+        /** Encodes a reply into {@code out}; false if it must wait for the socket to drain. */
+        private boolean buffer(Reply reply) {
+            if (out == null) {
+                out = pool.acquire();
+            }
+            if (encode(out, reply)) return true;
+            if (out.position() > 0) {
+                if (!flush()) return false;
+                if (out == null) out = pool.acquire();
+                if (encode(out, reply)) return true;
+            }
+            // Alone and still too big for a pooled buffer: grow, up to the protocol limit.
+            for (int size = out.capacity() * 4; size <= MAX_RESPONSE_BYTES; size *= 4) {
+                ByteBuffer bigger = ByteBuffer.allocateDirect(size);
+                if (encode(bigger, reply)) {
+                    pool.release(out);
+                    out = bigger;
+                    return true;
+                }
+            }
+            return encode(out, new Reply(reply.correlationId, reply.opcode, STATUS_FAIL, RESPONSE_TOO_LARGE));
+        }
+
+        /** Writes what it can; true once {@code out} is empty (and returned to the pool). */
+        private boolean flush() {
+            if (out == null) return true;
+            if (out.position() > 0) {
+                out.flip();
+                try {
+                    channel.write(out);
+                } catch (IOException e) {
+                    close();
+                    return false;
+                }
+                out.compact();
+                if (out.position() > 0) return false;
+            }
+            pool.release(out);
+            out = null;
+            return true;
+        }
+
+        private void updateInterest() {
+            if (closed) return;
+            boolean backedUp = out != null && out.position() > 0;
+            key.interestOps(backedUp ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        }
+
+        void close() {
+            if (closed) return;
+            closed = true;
+            connections.decrementAndGet();
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Peer already gone.
+            }
+            pool.release(in);
+            pool.release(out);
+            in = null;
+            out = null;
+            parked = null;
+        }
+    }
+
+    /** Decodes one request (positioned after the length) and runs it. */
+    private Reply execute(ByteBuffer in) {
+        int correlationId = in.getInt();
+        byte opcode = in.get();
+        try {
+            Result<?> result = call(opcode, in);
+            if (result == null) {
+                return new Reply(correlationId, opcode, STATUS_BAD_REQUEST, "Unknown opcode " + opcode);
+            }
+            return result.isOk()
+                    ? new Reply(correlationId, opcode, STATUS_OK, result.get())
+                    : new Reply(correlationId, opcode, STATUS_FAIL, result.getError());
+        } catch (BufferUnderflowException e) {
+            return new Reply(correlationId, opcode, STATUS_BAD_REQUEST, "Malformed arguments");
+        } catch (IllegalArgumentException e) {
+            return new Reply(correlationId, opcode, STATUS_FAIL, String.valueOf(e.getMessage()));
+        } catch (RuntimeException e) {
+            return new Reply(correlationId, opcode, STATUS_FAIL, INTERNAL_ERROR);
+        }
+    }
+
+    /** Null for an unknown opcode. */
+    private Result<?> call(byte opcode, ByteBuffer a) {
+        switch (opcode) {
+            case PING:
+                return Result.ok(null);
+            case ENROLL: {
+                String requestId = getString(a);
+                String student = getString(a);
+                String section = getString(a);
+                return requestId == null
+                        ? registration.enrollStudentInSection(student, section)
+                        : registration.enrollStudentInSection(requestId, student, section);
+            }
+            case DROP: {
+                String requestId = getString(a);
+                String student = getString(a);
+                String section = getString(a);
+                return requestId == null
+                        ? registration.dropStudentInSection(student, section)
+                        : registration.dropStudentInSection(requestId, student, section);
+            }
+            case SWAP: {
+                String requestId = getString(a);
+                String student = getString(a);
+                String from = getString(a);
+                String to = getString(a);
+                return requestId == null
+                        ? registration.swapSection(student, from, to)
+                        : registration.swapSection(requestId, student, from, to);
+            }
+            case HOLD_SEAT: {
+                String requestId = getString(a);
+                String student = getString(a);
+                String section = getString(a);
+                return requestId == null
+                        ? registration.holdSeat(student, section)
+                        : registration.holdSeat(requestId, student, section);
+            }
+            case CONFIRM_HOLD: {
+                String requestId = getString(a);
+                String student = getString(a);
+                String hold = getString(a);
+                return requestId == null
+                        ? registration.confirmHold(student, hold)
+                        : registration.confirmHold(requestId, student, hold);
+            }
+            case RELEASE_HOLD:
+                return registration.releaseHold(getString(a), getString(a));
+            case PENDING_OFFERS:
+                return registration.getPendingOffers(getString(a));
+            case ACCEPT_OFFER: {
+                String requestId = getString(a);
+                String student = getString(a);
+                String offer = getString(a);
+                return requestId == null
+                        ? registration.acceptOffer(student, offer)
+                        : registration.acceptOffer(requestId, student, offer);
+            }
+            case DECLINE_OFFER:
+                return registration.declineOffer(getString(a), getString(a));
+            case CURRENT_SCHEDULE:
+                return registration.getCurrentSchedule(getString(a), getString(a));
+            case TRANSCRIPT:
+                return registration.getTranscript(getString(a));
+            case SEARCH_COURSES: {
+                CourseQuery q = new CourseQuery();
+                q.setCode(getString(a));
+                q.setTitle(getString(a));
+                q.setMinCredits(getOptionalInt(a));
+                q.setMaxCredits(getOptionalInt(a));
+                q.setInstructorName(getString(a));
+                return catalog.search(q);
+            }
+            case SECTIONS_BY_COURSE:
+                return catalog.getSectionsByCourseCode(getString(a));
+            case INSTRUCTOR_SECTIONS:
+                return catalog.getInstructorSections(getString(a));
+            case OVERRIDE_CAPACITY:
+                return catalog.adminOverrideCapacity(getString(a), a.getInt(), getString(a), getString(a));
+            default:
+                return null;
+        }
+    }
+
+    /** Frames {@code reply} at the end of {@code out}; false (and {@code out} untouched) if it does not fit. */
+    private static boolean encode(ByteBuffer out, Reply reply) {
+        int start = out.position();
+        try {
+            out.position(start + LENGTH_BYTES);
+            out.putInt(reply.correlationId);
+            out.put(reply.status);
+            if (reply.status != STATUS_OK) {
+                putString(out, (String) reply.value);
+            } else {
+                writePayload(out, reply.opcode, reply.value);
+            }
+            out.putInt(start, out.position() - start - LENGTH_BYTES);
+            return true;
+        } catch (BufferOverflowException | IllegalArgumentException e) {
+            out.position(start);
+            if (e instanceof IllegalArgumentException && reply.status == STATUS_OK) {
+                // Unencodable (an over-long string or list): report it rather than retry forever.
+                return encode(out, new Reply(reply.correlationId, reply.opcode, STATUS_FAIL, RESPONSE_TOO_LARGE));
+            }
+            return false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writePayload(ByteBuffer out, byte opcode, Object value) {
+        switch (opcode) {
+            case ENROLL:
+            case SWAP:
+            case CONFIRM_HOLD:
+            case ACCEPT_OFFER:
+                RpcViews.EnrollmentView.write(out, (Enrollment) value);
+                break;
+            case HOLD_SEAT:
+                RpcViews.HoldView.write(out, (SeatHold) value);
+                break;
+            case PENDING_OFFERS:
+                RpcViews.HoldView.writeOffers(out, (List<SeatOffer>) value);
+                break;
+            case CURRENT_SCHEDULE:
+            case SECTIONS_BY_COURSE:
+            case INSTRUCTOR_SECTIONS:
+                RpcViews.SectionView.writeList(out, (List<Section>) value);
+                break;
+            case TRANSCRIPT:
+                RpcViews.TranscriptView.write(out, (Transcript) value);
+                break;
+            case SEARCH_COURSES: {
+                List<Course> courses = (List<Course>) value;
+                putCount(out, courses.size());
+                for (Course c : courses) RpcViews.CourseView.write(out, c);
+                break;
+            }
+            default:
+                // Void results carry no payload.
+                break;
+        }
+    }
+}
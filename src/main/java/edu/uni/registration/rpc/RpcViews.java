@@ -0,0 +1,305 @@
+package edu.uni.registration.rpc;
+
+import edu.uni.registration.model.Course;
+import edu.uni.registration.model.Enrollment;
+import edu.uni.registration.model.Instructor;
+import edu.uni.registration.model.SeatHold;
+import edu.uni.registration.model.SeatOffer;
+import edu.uni.registration.model.Section;
+import edu.uni.registration.model.Transcript;
+import edu.uni.registration.model.TranscriptEntry;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static edu.uni.registration.rpc.RpcProtocol.getCount;
+import static edu.uni.registration.rpc.RpcProtocol.getString;
+import static edu.uni.registration.rpc.RpcProtocol.putCount;
+import static edu.uni.registration.rpc.RpcProtocol.putString;
+
+/**
+ * Wire encoding of each result type, written from the model on the server and read back into
+ * these immutable views on the client. Keeping both directions side by side means a field added
+ * on one end cannot be forgotten on the other.
+ */
+public final class RpcViews {
+
+    private RpcViews() {
+    }
+
+    public static final class CourseView {
+        private final String code;
+        private final String title;
+        private final int credits;
+        private final List<String> prerequisites;
+
+        CourseView(String code, String title, int credits, List<String> prerequisites) {
+            this.code = code;
+            this.title = title;
+            this.credits = credits;
+            this.prerequisites = prerequisites;
+        }
+
+        public String getCode() { return code; }
+        public String getTitle() { return title; }
+        public int getCredits() { return credits; }
+        public List<String> getPrerequisites() { return prerequisites; }
+
+        static void write(ByteBuffer buf, Course c) {
+            putString(buf, c.getCode());
+            putString(buf, c.getTitle());
+            buf.putInt(c.getCredits());
+            List<String> prereqs = c.getPrerequisites();
+            putCount(buf, prereqs.size());
+            for (String p : prereqs) putString(buf, p);
+        }
+
+        static CourseView read(ByteBuffer buf) {
+            String code = getString(buf);
+            String title = getString(buf);
+            int credits = buf.getInt();
+            int n = getCount(buf);
+            List<String> prereqs = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) prereqs.add(getString(buf));
+            return new CourseView(code, title, credits, Collections.unmodifiableList(prereqs));
+        }
+
+        @Override
+        public String toString() {
+            return code + " - " + title + " (" + credits + " cr)";
+        }
+    }
+
+    public static final class SectionView {
+        private final String id;
+        private final String courseCode;
+        private final String courseTitle;
+        private final String term;
+        private final int capacity;
+        private final int enrolled;
+        private final int held;
+        private final int waitlisted;
+        private final String instructor;
+
+        SectionView(String id, String courseCode, String courseTitle, String term, int capacity,
+                    int enrolled, int held, int waitlisted, String instructor) {
+            this.id = id;
+            this.courseCode = courseCode;
+            this.courseTitle = courseTitle;
+            this.term = term;
+            this.capacity = capacity;
+            this.enrolled = enrolled;
+            this.held = held;
+            this.waitlisted = waitlisted;
+            this.instructor = instructor;
+        }
+
+        public String getId() { return id; }
+        public String getCourseCode() { return courseCode; }
+        public String getCourseTitle() { return courseTitle; }
+        public String getTerm() { return term; }
+        public int getCapacity() { return capacity; }
+        public int getEnrolled() { return enrolled; }
+        public int getHeld() { return held; }
+        public int getWaitlisted() { return waitlisted; }
+        /** Instructor's full name, or null if unassigned. */
+        public String getInstructor() { return instructor; }
+
+        static void write(ByteBuffer buf, Section s) {
+            Instructor instructor = s.getInstructor();
+            putString(buf, s.getId());
+            putString(buf, s.getCourse().getCode());
+            putString(buf, s.getCourse().getTitle());
+            putString(buf, s.getTerm());
+            buf.putInt(s.getCapacity());
+            buf.putInt(s.getEnrolledCount());
+            buf.putInt(s.getHeldSeats());
+            buf.putInt(s.getWaitlistedCount());
+            putString(buf, instructor == null ? null : instructor.getFullName());
+        }
+
+        static void writeList(ByteBuffer buf, List<Section> sections) {
+            putCount(buf, sections.size());
+            for (Section s : sections) write(buf, s);
+        }
+
+        static SectionView read(ByteBuffer buf) {
+            return new SectionView(getString(buf), getString(buf), getString(buf), getString(buf),
+                    buf.getInt(), buf.getInt(), buf.getInt(), buf.getInt(), getString(buf));
+        }
+
+        static List<SectionView> readList(ByteBuffer buf) {
+            int n = getCount(buf);
+            List<SectionView> list = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) list.add(read(buf));
+            return list;
+        }
+
+        @Override
+        public String toString() {
+            return id + " " + courseCode + " (" + term + ") " + enrolled + "/" + capacity;
+        }
+    }
+
+    public static final class EnrollmentView {
+        private final String studentId;
+        private final String sectionId;
+        private final Enrollment.EnrollmentStatus status;
+        private final String grade;
+
+        EnrollmentView(String studentId, String sectionId, Enrollment.EnrollmentStatus status, String grade) {
+            this.studentId = studentId;
+            this.sectionId = sectionId;
+            this.status = status;
+            this.grade = grade;
+        }
+
+        public String getStudentId() { return studentId; }
+        public String getSectionId() { return sectionId; }
+        public Enrollment.EnrollmentStatus getStatus() { return status; }
+        /** Letter grade, or null if not graded yet. */
+        public String getGrade() { return grade; }
+
+        static void write(ByteBuffer buf, Enrollment e) {
+            putString(buf, e.getStudent().getId());
+            putString(buf, e.getSection().getId());
+            buf.put((byte) e.getStatus().ordinal());
+            putString(buf, e.getGrade().map(Enum::name).orElse(null));
+        }
+
+        static EnrollmentView read(ByteBuffer buf) {
+            return new EnrollmentView(getString(buf), getString(buf),
+                    Enrollment.EnrollmentStatus.values()[buf.get()], getString(buf));
+        }
+
+        @Override
+        public String toString() {
+            return studentId + " in " + sectionId + " [" + status + "]";
+        }
+    }
+
+    /** A seat hold or a waitlist offer: both are an id, a student, a section and an expiry. */
+    public static final class HoldView {
+        private final String id;
+        private final String studentId;
+        private final String sectionId;
+        private final long expiresAtMillis;
+
+        HoldView(String id, String studentId, String sectionId, long expiresAtMillis) {
+            this.id = id;
+            this.studentId = studentId;
+            this.sectionId = sectionId;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        public String getId() { return id; }
+        public String getStudentId() { return studentId; }
+        public String getSectionId() { return sectionId; }
+        public long getExpiresAtMillis() { return expiresAtMillis; }
+
+        static void write(ByteBuffer buf, SeatHold h) {
+            write(buf, h.getId(), h.getStudent().getId(), h.getSection().getId(), h.getExpiresAtMillis());
+        }
+
+        static void writeOffers(ByteBuffer buf, List<SeatOffer> offers) {
+            putCount(buf, offers.size());
+            for (SeatOffer o : offers) {
+                write(buf, o.getId(), o.getStudent().getId(), o.getSection().getId(), o.getExpiresAtMillis());
+            }
+        }
+
+        private static void write(ByteBuffer buf, String id, String student, String section, long expiresAt) {
+            putString(buf, id);
+            putString(buf, student);
+            putString(buf, section);
+            buf.putLong(expiresAt);
+        }
+
+        static HoldView read(ByteBuffer buf) {
+            return new HoldView(getString(buf), getString(buf), getString(buf), buf.getLong());
+        }
+
+        static List<HoldView> readList(ByteBuffer buf) {
+            int n = getCount(buf);
+            List<HoldView> list = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) list.add(read(buf));
+            return list;
+        }
+
+        @Override
+        public String toString() {
+            return id + " " + studentId + " -> " + sectionId;
+        }
+    }
+
+    public static final class TranscriptView {
+        /** One graded course: code, section, term, credits and letter grade. */
+        public static final class Entry {
+            private final String courseCode;
+            private final String sectionId;
+            private final String term;
+            private final int credits;
+            private final String grade;
+
+            Entry(String courseCode, String sectionId, String term, int credits, String grade) {
+                this.courseCode = courseCode;
+                this.sectionId = sectionId;
+                this.term = term;
+                this.credits = credits;
+                this.grade = grade;
+            }
+
+            public String getCourseCode() { return courseCode; }
+            public String getSectionId() { return sectionId; }
+            public String getTerm() { return term; }
+            public int getCredits() { return credits; }
+            public String getGrade() { return grade; }
+        }
+
+        private final String studentId;
+        private final double gpa;
+        private final int totalCredits;
+        private final List<Entry> entries;
+
+        TranscriptView(String studentId, double gpa, int totalCredits, List<Entry> entries) {
+            this.studentId = studentId;
+            this.gpa = gpa;
+            this.totalCredits = totalCredits;
+            this.entries = entries;
+        }
+
+        public String getStudentId() { return studentId; }
+        public double getGpa() { return gpa; }
+        public int getTotalCredits() { return totalCredits; }
+        public List<Entry> getEntries() { return entries; }
+
+        static void write(ByteBuffer buf, Transcript t) {
+            putString(buf, t.getStudent().getId());
+            buf.putDouble(t.getGpa());
+            buf.putInt(t.getTotalCredits());
+            List<TranscriptEntry> entries = t.getEntries();
+            putCount(buf, entries.size());
+            for (TranscriptEntry e : entries) {
+                putString(buf, e.getSection().getCourse().getCode());
+                putString(buf, e.getSection().getId());
+                putString(buf, e.getSection().getTerm());
+                buf.putInt(e.getCredits());
+                putString(buf, e.getGrade().name());
+            }
+        }
+
+        static TranscriptView read(ByteBuffer buf) {
+            String student = getString(buf);
+            double gpa = buf.getDouble();
+            int credits = buf.getInt();
+            int n = getCount(buf);
+            List<Entry> entries = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                entries.add(new Entry(getString(buf), getString(buf), getString(buf), buf.getInt(), getString(buf)));
+            }
+            return new TranscriptView(student, gpa, credits, Collections.unmodifiableList(entries));
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package edu.uni.registration.scheduling;
+
+import java.util.SplittableRandom;
+import java.util.function.LongConsumer;
+
+/**
+ * One simulated-annealing walk. Keeps per-room and per-instructor pattern counts so a move's
+ * cost change is computed from the moved section's overlapping patterns and co-enrollment
+ * neighbours only, never by re-scoring the whole timetable.
+ */
+final class AnnealingRun {
+
+    static final long HARD_WEIGHT = 1000;
+    private static final int INITIAL_CANDIDATES = 32;
+    private static final int CLOCK_CHECK_MASK = 255;
+    private static final double FINAL_TEMPERATURE = 0.5;
+
+    static long cost(long hard, long soft) {
+        return hard * HARD_WEIGHT + soft;
+    }
+
+    private final TimetableProblem problem;
+    private final SplittableRandom random;
+    private final int[] pattern;
+    private final int[] room;
+    private final int[][] roomLoad;
+    private final int[][] instructorLoad;
+    private long hard;
+    private long soft;
+
+    private int[] bestPattern;
+    private int[] bestRoom;
+    private long bestHard;
+    private long bestSoft;
+
+    // Scratch results of contribution(); hard pairs and soft weight involving one section.
+    private long partHard;
+    private long partSoft;
+
+    AnnealingRun(TimetableProblem problem, long seed) {
+        this.problem = problem;
+        this.random = new SplittableRandom(seed);
+        int n = problem.sectionCount();
+        this.pattern = new int[n];
+        this.room = new int[n];
+        this.roomLoad = new int[problem.roomCount()][problem.patternCount()];
+        this.instructorLoad = new int[problem.instructorCount()][problem.patternCount()];
+    }
+
+    /**
+     * Runs until the deadline or a zero-cost timetable. Each new best cost is reported to {@code onImprovement}.
+     */
+    Timetable solve(long deadlineNanos, LongConsumer onImprovement) {
+        construct();
+        snapshot();
+        onImprovement.accept(cost(bestHard, bestSoft));
+
+        long start = System.nanoTime();
+        long span = Math.max(1, deadlineNanos - start);
+        double t0 = initialTemperature();
+        double temperature = t0;
+        int n = problem.sectionCount();
+        int patterns = problem.patternCount();
+        int rooms = problem.roomCount();
+
+        for (long iter = 0; cost(hard, soft) > 0; iter++) {
+            if ((iter & CLOCK_CHECK_MASK) == 0) {
+                long now = System.nanoTime();
+                if (now >= deadlineNanos) break;
+                double progress = (double) (now - start) / span;
+                temperature = t0 * Math.pow(FINAL_TEMPERATURE / t0, progress);
+            }
+            int i = random.nextInt(n);
+            int move = random.nextInt(10);
+            int p = move < 7 ? random.nextInt(patterns) : pattern[i];
+            int r = move >= 4 ? random.nextInt(rooms) : room[i];
+            if (p == pattern[i] && r == room[i]) continue;
+
+            unplace(i);
+            contribution(i, pattern[i], room[i]);
+            long oldHard = partHard, oldSoft = partSoft;
+            contribution(i, p, r);
+            long delta = cost(partHard - oldHard, partSoft - oldSoft);
+            if (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature)) {
+                hard += partHard - oldHard;
+                soft += partSoft - oldSoft;
+                pattern[i] = p;
+                room[i] = r;
+            }
+            place(i);
+
+            if (cost(hard, soft) < cost(bestHard, bestSoft)) {
+                snapshot();
+                onImprovement.accept(cost(bestHard, bestSoft));
+            }
+        }
+        return new Timetable(problem, bestPattern, bestRoom, (int) bestHard, bestSoft);
+    }
+
+    /** Greedy start: sections in random order, each placed at the cheapest of a few random candidates. */
+    private void construct() {
+        int n = problem.sectionCount();
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        boolean[] placed = new boolean[n];
+        for (int i : order) {
+            long bestCost = Long.MAX_VALUE;
+            int bestP = 0, bestR = 0;
+            for (int c = 0; c < INITIAL_CANDIDATES; c++) {
+                int p = random.nextInt(problem.patternCount());
+                int r = random.nextInt(problem.roomCount());
+                long h = hardAt(i, p, r);
+                long s = softAt(i, p, placed);
+                if (cost(h, s) < bestCost) {
+                    bestCost = cost(h, s);
+                    bestP = p;
+                    bestR = r;
+                }
+            }
+            pattern[i] = bestP;
+            room[i] = bestR;
+            hard += hardAt(i, bestP, bestR);
+            soft += softAt(i, bestP, placed);
+            placed[i] = true;
+            place(i);
+        }
+    }
+
+    private double initialTemperature() {
+        int n = problem.sectionCount();
+        long sum = 0;
+        int samples = 0;
+        for (int k = 0; k < 200; k++) {
+            int i = random.nextInt(n);
+            int p = random.nextInt(problem.patternCount());
+            int r = random.nextInt(problem.roomCount());
+            unplace(i);
+            contribution(i, pattern[i], room[i]);
+            long before = cost(partHard, partSoft);
+            contribution(i, p, r);
+            long delta = cost(partHard, partSoft) - before;
+            place(i);
+            if (delta > 0) {
+                sum += delta;
+                samples++;
+            }
+        }
+        return samples == 0 ? 1.0 : Math.max(1.0, (double) sum / samples);
+    }
+
+    /** Conflicts and penalty section i would have at (p, r); i must be unplaced. */
+    private void contribution(int i, int p, int r) {
+        partHard = hardAt(i, p, r);
+        partSoft = softAt(i, p, null);
+    }
+
+    private long hardAt(int i, int p, int r) {
+        long h = 0;
+        int ins = problem.instructorOf(i);
+        int[] roomRow = roomLoad[r];
+        for (int q : problem.overlappingPatterns(p)) {
+            h += roomRow[q];
+            if (ins >= 0) h += instructorLoad[ins][q];
+        }
+        return h;
+    }
+
+    private long softAt(int i, int p, boolean[] placedOnly) {
+        CoEnrollmentGraph graph = problem.getCoEnrollment();
+        int[] nb = graph.neighboursOf(i);
+        int[] w = graph.weightsOf(i);
+        long s = 0;
+        for (int k = 0; k < nb.length; k++) {
+            int j = nb[k];
+            if (placedOnly != null && !placedOnly[j]) continue;
+            if (problem.overlaps(p, pattern[j])) s += w[k];
+        }
+        return s;
+    }
+
+    private void place(int i) {
+        roomLoad[room[i]][pattern[i]]++;
+        int ins = problem.instructorOf(i);
+        if (ins >= 0) instructorLoad[ins][pattern[i]]++;
+    }
+
+    private void unplace(int i) {
+        roomLoad[room[i]][pattern[i]]--;
+        int ins = problem.instructorOf(i);
+        if (ins >= 0) instructorLoad[ins][pattern[i]]--;
+    }
+
+    private void snapshot() {
+        bestPattern = pattern.clone();
+        bestRoom = room.clone();
+        bestHard = hard;
+        bestSoft = soft;
+    }
+}
@@ -0,0 +1,206 @@
+package edu.uni.registration.scheduling;
+
+import edu.uni.registration.model.Course;
+import edu.uni.registration.model.Enrollment;
+import edu.uni.registration.model.Section;
+import edu.uni.registration.repository.EnrollmentRepository;
+import edu.uni.registration.util.IdDictionary;
+import edu.uni.registration.util.IntObjectMap;
+import edu.uni.registration.util.LongObjectMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Weighted "likely to be taken together" graph over the sections of a {@link TimetableProblem}.
+ * Stored as adjacency arrays indexed by the section's position in the problem, so the solver
+ * can walk a section's neighbours without hashing.
+ */
+public class CoEnrollmentGraph {
+
+    /** Weight given to two courses that share a direct prerequisite (the same step of a chain). */
+    public static final int PREREQUISITE_WEIGHT = 1;
+
+    private final int[][] neighbours;
+    private final int[][] weights;
+
+    private CoEnrollmentGraph(int[][] neighbours, int[][] weights) {
+        this.neighbours = neighbours;
+        this.weights = weights;
+    }
+
+    public static CoEnrollmentGraph empty(int sectionCount) {
+        return fromEdges(sectionCount, List.of());
+    }
+
+    /**
+     * Builds the graph from explicit course-pair weights (key: "A|B" with A &lt; B by code).
+     * Sections of the same course never get an edge; students only take one of them.
+     */
+    public static CoEnrollmentGraph fromCourseWeights(List<Section> sections, Map<String, Integer> courseWeights) {
+        LongObjectMap<WeightedPair> byCourse = new LongObjectMap<>(courseWeights.size());
+        for (Map.Entry<String, Integer> e : courseWeights.entrySet()) {
+            String key = e.getKey();
+            int sep = key.indexOf('|');
+            Integer w = e.getValue();
+            if (sep < 0 || w == null || w <= 0) continue;
+            int a = IdDictionary.COURSES.indexOf(key.substring(0, sep));
+            int b = IdDictionary.COURSES.indexOf(key.substring(sep + 1));
+            if (a < 0 || b < 0 || a == b) continue;
+            addWeight(byCourse, a, b, w);
+        }
+        return fromCoursePairs(sections, byCourse);
+    }
+
+    /**
+     * Estimates co-enrollment from the repository: every pair of courses one student has taken
+     * (live rows and dropped history) counts once, and courses sharing a direct prerequisite
+     * get {@link #PREREQUISITE_WEIGHT} on top.
+     */
+    public static CoEnrollmentGraph estimate(List<Section> sections, EnrollmentRepository enrollments) {
+        IntObjectMap<Course> courses = new IntObjectMap<>();
+        for (Section s : sections) {
+            courses.put(s.getCourse().getIndex(), s.getCourse());
+        }
+
+        IntObjectMap<List<Integer>> coursesByStudent = new IntObjectMap<>();
+        List<Enrollment> all = new ArrayList<>(enrollments.findAll());
+        all.addAll(enrollments.getHistory().findAll());
+        for (Enrollment e : all) {
+            int course = e.getSection().getCourse().getIndex();
+            if (!courses.containsKey(course)) continue;
+            int student = e.getStudent().getIndex();
+            List<Integer> taken = coursesByStudent.get(student);
+            if (taken == null) {
+                taken = new ArrayList<>(4);
+                coursesByStudent.put(student, taken);
+            }
+            if (!taken.contains(course)) taken.add(course);
+        }
+
+        LongObjectMap<WeightedPair> weights = new LongObjectMap<>();
+        for (List<Integer> taken : coursesByStudent.values()) {
+            addAllPairs(weights, taken, 1);
+        }
+
+        Map<String, List<Integer>> byPrerequisite = new HashMap<>();
+        for (Course c : courses.values()) {
+            for (String pre : c.getPrerequisites()) {
+                byPrerequisite.computeIfAbsent(pre, k -> new ArrayList<>()).add(c.getIndex());
+            }
+        }
+        for (List<Integer> siblings : byPrerequisite.values()) {
+            addAllPairs(weights, siblings, PREREQUISITE_WEIGHT);
+        }
+        return fromCoursePairs(sections, weights);
+    }
+
+    public static String pairKey(String a, String b) {
+        return a.compareTo(b) < 0 ? a + "|" + b : b + "|" + a;
+    }
+
+    /** Weight of one unordered pair of dense indexes; carries the pair so the map can be walked by value. */
+    private static final class WeightedPair {
+        final int low;
+        final int high;
+        int weight;
+
+        WeightedPair(int low, int high) {
+            this.low = low;
+            this.high = high;
+        }
+    }
+
+    private static void addWeight(LongObjectMap<WeightedPair> pairs, int a, int b, int weight) {
+        int low = Math.min(a, b);
+        int high = Math.max(a, b);
+        long key = ((long) low << 32) | high;
+        WeightedPair p = pairs.get(key);
+        if (p == null) {
+            p = new WeightedPair(low, high);
+            pairs.put(key, p);
+        }
+        p.weight += weight;
+    }
+
+    private static void addAllPairs(LongObjectMap<WeightedPair> pairs, List<Integer> indexes, int weight) {
+        for (int a = 0; a < indexes.size(); a++) {
+            for (int b = a + 1; b < indexes.size(); b++) {
+                addWeight(pairs, indexes.get(a), indexes.get(b), weight);
+            }
+        }
+    }
+
+    /**
+     * Expands course-pair weights to section edges. Only pairs that carry a weight are visited,
+     * each crossing the sections of one course with the sections of the other.
+     */
+    private static CoEnrollmentGraph fromCoursePairs(List<Section> sections, LongObjectMap<WeightedPair> byCourse) {
+        IntObjectMap<List<Integer>> positions = new IntObjectMap<>();
+        for (int i = 0; i < sections.size(); i++) {
+            int course = sections.get(i).getCourse().getIndex();
+            List<Integer> list = positions.get(course);
+            if (list == null) {
+                list = new ArrayList<>(2);
+                positions.put(course, list);
+            }
+            list.add(i);
+        }
+        LongObjectMap<WeightedPair> edges = new LongObjectMap<>();
+        for (WeightedPair p : byCourse.values()) {
+            List<Integer> from = positions.get(p.low);
+            List<Integer> to = positions.get(p.high);
+            if (from == null || to == null) continue;
+            for (int i : from) {
+                for (int j : to) {
+                    addWeight(edges, i, j, p.weight);
+                }
+            }
+        }
+        return fromEdges(sections.size(), edges.values());
+    }
+
+    private static CoEnrollmentGraph fromEdges(int n, List<WeightedPair> edges) {
+        int[] degree = new int[n];
+        for (WeightedPair e : edges) {
+            degree[e.low]++;
+            degree[e.high]++;
+        }
+        int[][] nb = new int[n][];
+        int[][] w = new int[n][];
+        for (int i = 0; i < n; i++) {
+            nb[i] = new int[degree[i]];
+            w[i] = new int[degree[i]];
+            degree[i] = 0;
+        }
+        for (WeightedPair e : edges) {
+            int i = e.low;
+            int j = e.high;
+            nb[i][degree[i]] = j;
+            w[i][degree[i]++] = e.weight;
+            nb[j][degree[j]] = i;
+            w[j][degree[j]++] = e.weight;
+        }
+        return new CoEnrollmentGraph(nb, w);
+    }
+
+    int[] neighboursOf(int section) {
+        return neighbours[section];
+    }
+
+    int[] weightsOf(int section) {
+        return weights[section];
+    }
+
+    public int size() {
+        return neighbours.length;
+    }
+
+    public int edgeCount() {
+        int sum = 0;
+        for (int[] n : neighbours) sum += n.length;
+        return sum / 2;
+    }
+}
@@ -0,0 +1,170 @@
+package edu.uni.registration.scheduling;
+
+import edu.uni.registration.model.Enrollment;
+import edu.uni.registration.model.Enrollment.EnrollmentStatus;
+import edu.uni.registration.model.Section;
+import edu.uni.registration.repository.EnrollmentRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Sections as vertices, an edge wherever two sections share at least one ENROLLED student.
+ * Built in parallel from student/section arrays; each worker dedupes neighbours with its own
+ * bitset over the vertex range, so no hashing is involved. Adjacency is kept as one sorted
+ * {@code int[]} per vertex.
+ */
+public class ExamConflictGraph {
+
+    private static final int BUILD_CHUNK = 512;
+
+    private final List<Section> sections;
+    private final int[][] adjacency;
+    private final int maxDegree;
+
+    ExamConflictGraph(List<Section> sections, int[][] adjacency) {
+        this.sections = Collections.unmodifiableList(sections);
+        this.adjacency = adjacency;
+        int max = 0;
+        for (int[] nb : adjacency) max = Math.max(max, nb.length);
+        this.maxDegree = max;
+    }
+
+    /** Builds the graph of one term's ENROLLED sections (all terms if {@code term} is null) on the common pool. */
+    public static ExamConflictGraph build(EnrollmentRepository enrollments, String term) {
+        return build(enrollments, term, ForkJoinPool.commonPool());
+    }
+
+    public static ExamConflictGraph build(EnrollmentRepository enrollments, String term, ForkJoinPool pool) {
+        List<Enrollment> rows = new ArrayList<>();
+        for (Enrollment e : enrollments.findByStatus(EnrollmentStatus.ENROLLED)) {
+            if (term == null || term.equals(e.getSection().getTerm())) {
+                rows.add(e);
+            }
+        }
+
+        // Dense global indexes -> local vertex / student numbers.
+        int maxSection = -1, maxStudent = -1;
+        for (Enrollment e : rows) {
+            maxSection = Math.max(maxSection, e.getSection().getIndex());
+            maxStudent = Math.max(maxStudent, e.getStudent().getIndex());
+        }
+        int[] vertexOf = new int[maxSection + 1];
+        Arrays.fill(vertexOf, -1);
+        List<Section> sections = new ArrayList<>();
+        int m = rows.size();
+        int[] rowVertex = new int[m];
+        int[] rowStudent = new int[m];
+        for (int k = 0; k < m; k++) {
+            Enrollment e = rows.get(k);
+            int g = e.getSection().getIndex();
+            if (vertexOf[g] < 0) {
+                vertexOf[g] = sections.size();
+                sections.add(e.getSection());
+            }
+            rowVertex[k] = vertexOf[g];
+            rowStudent[k] = e.getStudent().getIndex();
+        }
+
+        int n = sections.size();
+        int[][] studentSections = group(rowStudent, rowVertex, maxStudent + 1);
+        int[][] sectionStudents = group(rowVertex, rowStudent, n);
+        int[][] adjacency = new int[n][];
+        pool.invoke(new BuildAdjacency(adjacency, sectionStudents, studentSections, 0, n));
+        return new ExamConflictGraph(sections, adjacency);
+    }
+
+    /** Counting-sort grouping: for each key, the values of the rows carrying it. */
+    private static int[][] group(int[] keys, int[] values, int keyCount) {
+        int[] counts = new int[keyCount];
+        for (int k : keys) counts[k]++;
+        int[][] out = new int[keyCount][];
+        for (int i = 0; i < keyCount; i++) out[i] = new int[counts[i]];
+        Arrays.fill(counts, 0);
+        for (int r = 0; r < keys.length; r++) {
+            out[keys[r]][counts[keys[r]]++] = values[r];
+        }
+        return out;
+    }
+
+    private static final class BuildAdjacency extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[][] adjacency;
+        private final int[][] sectionStudents;
+        private final int[][] studentSections;
+        private final int from;
+        private final int to;
+
+        BuildAdjacency(int[][] adjacency, int[][] sectionStudents, int[][] studentSections, int from, int to) {
+            this.adjacency = adjacency;
+            this.sectionStudents = sectionStudents;
+            this.studentSections = studentSections;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > BUILD_CHUNK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new BuildAdjacency(adjacency, sectionStudents, studentSections, from, mid),
+                        new BuildAdjacency(adjacency, sectionStudents, studentSections, mid, to));
+                return;
+            }
+            int n = adjacency.length;
+            long[] seen = new long[(n + 63) >>> 6];
+            int[] buffer = new int[16];
+            for (int v = from; v < to; v++) {
+                int size = 0;
+                for (int student : sectionStudents[v]) {
+                    for (int u : studentSections[student]) {
+                        long bit = 1L << u;
+                        if (u == v || (seen[u >>> 6] & bit) != 0) continue;
+                        seen[u >>> 6] |= bit;
+                        if (size == buffer.length) buffer = Arrays.copyOf(buffer, size * 2);
+                        buffer[size++] = u;
+                    }
+                }
+                int[] nb = Arrays.copyOf(buffer, size);
+                for (int u : nb) seen[u >>> 6] = 0;
+                Arrays.sort(nb);
+                adjacency[v] = nb;
+            }
+        }
+    }
+
+    public int vertexCount() {
+        return adjacency.length;
+    }
+
+    public long edgeCount() {
+        long sum = 0;
+        for (int[] nb : adjacency) sum += nb.length;
+        return sum / 2;
+    }
+
+    public int maxDegree() {
+        return maxDegree;
+    }
+
+    public Section sectionAt(int vertex) {
+        return sections.get(vertex);
+    }
+
+    public List<Section> getSections() {
+        return sections;
+    }
+
+    int[] neighbours(int vertex) {
+        return adjacency[vertex];
+    }
+
+    public boolean adjacent(int a, int b) {
+        return Arrays.binarySearch(adjacency[a], b) >= 0;
+    }
+}
@@ -0,0 +1,61 @@
+package edu.uni.registration.scheduling;
+
+import edu.uni.registration.model.Section;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Exam slot per section: sections in the same slot share no ENROLLED student.
+ */
+public class ExamSchedule {
+
+    private final ExamConflictGraph graph;
+    private final int[] slotOf;
+    private final int slotCount;
+    private final int rounds;
+
+    ExamSchedule(ExamConflictGraph graph, int[] slotOf, int rounds) {
+        this.graph = graph;
+        this.slotOf = slotOf;
+        int max = -1;
+        for (int c : slotOf) max = Math.max(max, c);
+        this.slotCount = max + 1;
+        this.rounds = rounds;
+    }
+
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    /** Speculative rounds the parallel colorer needed (1 for the sequential path). */
+    public int getRounds() {
+        return rounds;
+    }
+
+    public int slotOf(int vertex) {
+        return slotOf[vertex];
+    }
+
+    /** Sections grouped by exam slot, slot 0 first. */
+    public List<List<Section>> getSlots() {
+        List<List<Section>> slots = new ArrayList<>(slotCount);
+        for (int c = 0; c < slotCount; c++) slots.add(new ArrayList<>());
+        for (int v = 0; v < slotOf.length; v++) {
+            slots.get(slotOf[v]).add(graph.sectionAt(v));
+        }
+        return Collections.unmodifiableList(slots);
+    }
+
+    /** True when no two adjacent sections share a slot. */
+    public boolean isValid() {
+        for (int v = 0; v < slotOf.length; v++) {
+            if (slotOf[v] < 0) return false;
+            for (int u : graph.neighbours(v)) {
+                if (slotOf[u] == slotOf[v]) return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,217 @@
+package edu.uni.registration.scheduling;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Colors an {@link ExamConflictGraph}; each color is an exam slot.
+ * Small graphs use sequential DSatur, which usually needs the fewest slots. Larger graphs use
+ * speculative parallel greedy coloring: every pending vertex takes its smallest free color
+ * against whatever its neighbours currently hold, then a parallel check sends the lower
+ * priority end of each same-colored edge back for another round. Priority is largest degree
+ * first, which keeps the color count close to the sequential greedy order.
+ */
+public class ExamSlotColorer {
+
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 2_000;
+    private static final int CHUNK = 256;
+
+    private final ForkJoinPool pool;
+    private final int sequentialThreshold;
+
+    public ExamSlotColorer() {
+        this(ForkJoinPool.commonPool(), DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    public ExamSlotColorer(ForkJoinPool pool, int sequentialThreshold) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        this.pool = pool;
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    public ExamSchedule color(ExamConflictGraph graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph cannot be null");
+        }
+        if (graph.vertexCount() <= sequentialThreshold) {
+            return new ExamSchedule(graph, dsatur(graph), 1);
+        }
+        return speculative(graph);
+    }
+
+    // ---- sequential DSatur ----
+
+    private static int[] dsatur(ExamConflictGraph graph) {
+        int n = graph.vertexCount();
+        int words = (graph.maxDegree() + 1 + 63) >>> 6;
+        long[][] neighbourColors = new long[n][words];
+        int[] saturation = new int[n];
+        int[] color = new int[n];
+        Arrays.fill(color, -1);
+
+        // Lazy heap entries: {saturation, degree, vertex}; stale ones are skipped on poll.
+        PriorityQueue<int[]> heap = new PriorityQueue<>((a, b) -> a[0] != b[0] ? b[0] - a[0]
+                : a[1] != b[1] ? b[1] - a[1] : a[2] - b[2]);
+        for (int v = 0; v < n; v++) {
+            heap.add(new int[]{0, graph.neighbours(v).length, v});
+        }
+        while (!heap.isEmpty()) {
+            int[] top = heap.poll();
+            int v = top[2];
+            if (color[v] >= 0 || top[0] != saturation[v]) continue;
+
+            int c = firstClear(neighbourColors[v]);
+            color[v] = c;
+            for (int u : graph.neighbours(v)) {
+                if (color[u] >= 0) continue;
+                long[] bits = neighbourColors[u];
+                if ((bits[c >>> 6] & (1L << c)) == 0) {
+                    bits[c >>> 6] |= 1L << c;
+                    saturation[u]++;
+                    heap.add(new int[]{saturation[u], graph.neighbours(u).length, u});
+                }
+            }
+        }
+        return color;
+    }
+
+    private static int firstClear(long[] bits) {
+        for (int w = 0; w < bits.length; w++) {
+            if (bits[w] != -1L) {
+                return (w << 6) + Long.numberOfTrailingZeros(~bits[w]);
+            }
+        }
+        return bits.length << 6;
+    }
+
+    // ---- speculative parallel greedy ----
+
+    private ExamSchedule speculative(ExamConflictGraph graph) {
+        int n = graph.vertexCount();
+        Integer[] boxed = new Integer[n];
+        for (int v = 0; v < n; v++) boxed[v] = v;
+        Arrays.sort(boxed, (a, b) -> graph.neighbours(b).length != graph.neighbours(a).length
+                ? graph.neighbours(b).length - graph.neighbours(a).length : a - b);
+        int[] rank = new int[n];
+        int[] pending = new int[n];
+        for (int i = 0; i < n; i++) {
+            pending[i] = boxed[i];
+            rank[boxed[i]] = i;
+        }
+
+        int[] color = new int[n];
+        Arrays.fill(color, -1);
+        int pendingCount = n;
+        int rounds = 0;
+        while (pendingCount > 0) {
+            rounds++;
+            pool.invoke(new Tentative(graph, color, pending, 0, pendingCount));
+            int[] next = new int[pendingCount];
+            AtomicInteger nextCount = new AtomicInteger();
+            pool.invoke(new Detect(graph, color, rank, pending, 0, pendingCount, next, nextCount));
+            pending = next;
+            pendingCount = nextCount.get();
+            // Keep priority order so the highest ranked vertices settle first next round.
+            sortByRank(pending, pendingCount, rank);
+        }
+        return new ExamSchedule(graph, color, rounds);
+    }
+
+    private static void sortByRank(int[] vertices, int count, int[] rank) {
+        long[] keyed = new long[count];
+        for (int i = 0; i < count; i++) keyed[i] = ((long) rank[vertices[i]] << 32) | vertices[i];
+        Arrays.sort(keyed);
+        for (int i = 0; i < count; i++) vertices[i] = (int) keyed[i];
+    }
+
+    private static final class Tentative extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ExamConflictGraph graph;
+        private final int[] color;
+        private final int[] pending;
+        private final int from;
+        private final int to;
+
+        Tentative(ExamConflictGraph graph, int[] color, int[] pending, int from, int to) {
+            this.graph = graph;
+            this.color = color;
+            this.pending = pending;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Tentative(graph, color, pending, from, mid),
+                        new Tentative(graph, color, pending, mid, to));
+                return;
+            }
+            // Stamp array instead of clearing a forbidden set per vertex.
+            int[] forbidden = new int[graph.maxDegree() + 2];
+            int stamp = 0;
+            for (int i = from; i < to; i++) {
+                int v = pending[i];
+                stamp++;
+                for (int u : graph.neighbours(v)) {
+                    int c = color[u];
+                    if (c >= 0 && c < forbidden.length) forbidden[c] = stamp;
+                }
+                int c = 0;
+                while (forbidden[c] == stamp) c++;
+                color[v] = c;
+            }
+        }
+    }
+
+    private static final class Detect extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ExamConflictGraph graph;
+        private final int[] color;
+        private final int[] rank;
+        private final int[] pending;
+        private final int from;
+        private final int to;
+        private final int[] next;
+        private final AtomicInteger nextCount;
+
+        Detect(ExamConflictGraph graph, int[] color, int[] rank, int[] pending, int from, int to,
+               int[] next, AtomicInteger nextCount) {
+            this.graph = graph;
+            this.color = color;
+            this.rank = rank;
+            this.pending = pending;
+            this.from = from;
+            this.to = to;
+            this.next = next;
+            this.nextCount = nextCount;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Detect(graph, color, rank, pending, from, mid, next, nextCount),
+                        new Detect(graph, color, rank, pending, mid, to, next, nextCount));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                int v = pending[i];
+                for (int u : graph.neighbours(v)) {
+                    if (color[u] == color[v] && rank[u] < rank[v]) {
+                        next[nextCount.getAndIncrement()] = v;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package edu.uni.registration.scheduling;
+
+import edu.uni.registration.model.Section;
+import edu.uni.registration.model.TimeSlot;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Enumerates conflict-free section combinations, one section per requested course.
+ * The search is a backtracking {@link java.util.Spliterator}: schedules are produced lazily
+ * as the walk reaches a leaf, and {@code trySplit} hands half of the shallowest unexplored
+ * branch to another worker, so a parallel stream searches disjoint subtrees.
+ */
+public class ScheduleGenerator {
+
+    /** Course lists at least this long are searched with a parallel stream. */
+    public static final int PARALLEL_COURSES = 6;
+
+    /** Most open seats first, then least idle time between classes on the same day. */
+    public static final Comparator<List<Section>> RANKING =
+            Comparator.comparingInt(ScheduleGenerator::openSeats).reversed()
+                    .thenComparingLong(ScheduleGenerator::idleMinutes);
+
+    /**
+     * Streams every combination of one section per option list with no time conflict.
+     * Sections inside a course are tried in order of open seats, so early results already
+     * favour available seats; sort with {@link #RANKING} when a complete ranking is needed.
+     */
+    public Stream<List<Section>> generate(List<List<Section>> options) {
+        if (options == null || options.isEmpty()) {
+            return Stream.empty();
+        }
+        for (List<Section> o : options) {
+            if (o == null || o.isEmpty()) {
+                return Stream.empty();
+            }
+        }
+        return StreamSupport.stream(new ScheduleSpliterator(options), options.size() >= PARALLEL_COURSES);
+    }
+
+    public static int openSeats(List<Section> schedule) {
+        int seats = 0;
+        for (Section s : schedule) {
+            seats += openSeatsOf(s);
+        }
+        return seats;
+    }
+
+    static int openSeatsOf(Section s) {
+        return Math.max(0, s.getCapacity() - s.getEnrolledCount());
+    }
+
+    /** Total minutes between consecutive classes on each day; lower is more compact. */
+    public static long idleMinutes(List<Section> schedule) {
+        Map<DayOfWeek, List<TimeSlot>> byDay = new EnumMap<>(DayOfWeek.class);
+        for (Section s : schedule) {
+            for (TimeSlot t : s.getMeetingTimes()) {
+                byDay.computeIfAbsent(t.getDayOfWeek(), d -> new ArrayList<>()).add(t);
+            }
+        }
+        long idle = 0;
+        for (List<TimeSlot> day : byDay.values()) {
+            day.sort(null);
+            for (int i = 1; i < day.size(); i++) {
+                long gap = day.get(i).getStartTime().toSecondOfDay() - day.get(i - 1).getEndTime().toSecondOfDay();
+                if (gap > 0) idle += gap / 60;
+            }
+        }
+        return idle;
+    }
+}
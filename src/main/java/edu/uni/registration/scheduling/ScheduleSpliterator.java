@@ -0,0 +1,155 @@
+package edu.uni.registration.scheduling;
+
+import edu.uni.registration.model.Section;
+import edu.uni.registration.model.WeeklyOccupancy;
+import edu.uni.registration.validation.ScheduleConflictChecker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Iterative depth-first search over course levels. Level order is fewest candidates first
+ * (fail early); a candidate is pruned with one bitmap test against the union of the sections
+ * already on the path, falling back to exact slot comparison only for off-grid times.
+ */
+final class ScheduleSpliterator implements Spliterator<List<Section>> {
+
+    private final Shared shared;
+    private final int[] next;
+    private final int[] limit;
+    private final int[] path;
+    private final WeeklyOccupancy[] busy;
+    private int depth;
+
+    /** Candidate tables shared by every split of one search. */
+    private static final class Shared {
+        final Section[][] candidates;
+        final WeeklyOccupancy[][] occupancy;
+        final int[] outputPosition;
+        final ScheduleConflictChecker checker = new ScheduleConflictChecker();
+
+        Shared(List<List<Section>> options) {
+            int k = options.size();
+            Integer[] order = new Integer[k];
+            for (int i = 0; i < k; i++) order[i] = i;
+            Arrays.sort(order, Comparator.comparingInt(i -> options.get(i).size()));
+
+            candidates = new Section[k][];
+            occupancy = new WeeklyOccupancy[k][];
+            outputPosition = new int[k];
+            for (int level = 0; level < k; level++) {
+                List<Section> sorted = new ArrayList<>(options.get(order[level]));
+                sorted.sort(Comparator.comparingInt(ScheduleGenerator::openSeatsOf).reversed());
+                candidates[level] = sorted.toArray(new Section[0]);
+                occupancy[level] = new WeeklyOccupancy[sorted.size()];
+                for (int c = 0; c < sorted.size(); c++) {
+                    occupancy[level][c] = sorted.get(c).getOccupancy();
+                }
+                outputPosition[level] = order[level];
+            }
+        }
+    }
+
+    ScheduleSpliterator(List<List<Section>> options) {
+        this.shared = new Shared(options);
+        int k = shared.candidates.length;
+        this.next = new int[k];
+        this.limit = new int[k];
+        this.path = new int[k];
+        this.busy = new WeeklyOccupancy[k + 1];
+        this.busy[0] = WeeklyOccupancy.EMPTY;
+        this.limit[0] = shared.candidates[0].length;
+    }
+
+    private ScheduleSpliterator(ScheduleSpliterator parent, int level, int from, int to) {
+        this.shared = parent.shared;
+        int k = shared.candidates.length;
+        this.next = new int[k];
+        this.limit = new int[k];
+        this.path = Arrays.copyOf(parent.path, k);
+        this.busy = Arrays.copyOf(parent.busy, k + 1);
+        // Levels above the split point are fixed to the parent's path: nothing left to try there.
+        this.depth = level;
+        this.next[level] = from;
+        this.limit[level] = to;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super List<Section>> action) {
+        int k = shared.candidates.length;
+        while (depth >= 0) {
+            if (next[depth] >= limit[depth]) {
+                depth--;
+                continue;
+            }
+            int c = next[depth]++;
+            WeeklyOccupancy occ = shared.occupancy[depth][c];
+            if (!fits(occ, c)) {
+                continue;
+            }
+            path[depth] = c;
+            if (depth == k - 1) {
+                action.accept(emit());
+                return true;
+            }
+            busy[depth + 1] = busy[depth].union(occ);
+            depth++;
+            next[depth] = 0;
+            limit[depth] = shared.candidates[depth].length;
+        }
+        return false;
+    }
+
+    private boolean fits(WeeklyOccupancy occ, int candidate) {
+        WeeklyOccupancy used = busy[depth];
+        if (!used.intersects(occ)) {
+            return true;
+        }
+        if (used.isExact() && occ.isExact()) {
+            return false;
+        }
+        Section s = shared.candidates[depth][candidate];
+        for (int level = 0; level < depth; level++) {
+            if (shared.checker.conflicts(shared.candidates[level][path[level]], s)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<Section> emit() {
+        Section[] out = new Section[path.length];
+        for (int level = 0; level < path.length; level++) {
+            out[shared.outputPosition[level]] = shared.candidates[level][path[level]];
+        }
+        return Arrays.asList(out);
+    }
+
+    @Override
+    public Spliterator<List<Section>> trySplit() {
+        for (int level = 0; level <= depth && level < path.length; level++) {
+            int remaining = limit[level] - next[level];
+            if (remaining >= 2) {
+                int mid = next[level] + remaining / 2;
+                ScheduleSpliterator half = new ScheduleSpliterator(this, level, mid, limit[level]);
+                limit[level] = mid;
+                return half;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return NONNULL | IMMUTABLE;
+    }
+}
@@ -0,0 +1,63 @@
+package edu.uni.registration.scheduling;
+
+import edu.uni.registration.model.TimeSlot;
+import edu.uni.registration.model.WeeklyOccupancy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A candidate weekly meeting pattern (e.g. Mon/Wed/Fri 09:00-09:50) without a room.
+ * The solver picks one pattern and one room per section.
+ */
+public class TimePattern {
+    private final String name;
+    private final List<TimeSlot> slots;
+    private final WeeklyOccupancy occupancy;
+
+    public TimePattern(String name, List<TimeSlot> slots) {
+        if (slots == null || slots.isEmpty()) {
+            throw new IllegalArgumentException("Pattern needs at least one slot");
+        }
+        this.name = name;
+        this.slots = List.copyOf(slots);
+        this.occupancy = WeeklyOccupancy.of(this.slots);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<TimeSlot> getSlots() {
+        return slots;
+    }
+
+    public boolean overlaps(TimePattern other) {
+        if (!occupancy.intersects(other.occupancy)) {
+            return false;
+        }
+        for (TimeSlot a : slots) {
+            for (TimeSlot b : other.slots) {
+                if (a.overlaps(b)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /** The pattern's slots placed in the given room. */
+    public List<TimeSlot> inRoom(String room) {
+        List<TimeSlot> out = new ArrayList<>(slots.size());
+        for (TimeSlot s : slots) {
+            out.add(new TimeSlot(s.getDayOfWeek(), s.getStartTime(), s.getEndTime(), room));
+        }
+        return Collections.unmodifiableList(out);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,98 @@
+package edu.uni.registration.scheduling;
+
+import edu.uni.registration.model.Section;
+import edu.uni.registration.model.TimeSlot;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A solver result: one pattern and one room per section, with its cost split into
+ * hard conflicts (room or instructor double-bookings) and the soft co-enrollment penalty.
+ */
+public class Timetable {
+
+    /** Best cost known at some wall-clock point of the search. */
+    public static final class Progress {
+        private final long elapsedMillis;
+        private final long cost;
+
+        Progress(long elapsedMillis, long cost) {
+            this.elapsedMillis = elapsedMillis;
+            this.cost = cost;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public long getCost() {
+            return cost;
+        }
+
+        @Override
+        public String toString() {
+            return elapsedMillis + "ms: " + cost;
+        }
+    }
+
+    private final TimetableProblem problem;
+    private final int[] patternOf;
+    private final int[] roomOf;
+    private final int hardConflicts;
+    private final long softPenalty;
+    private List<Progress> progress = List.of();
+
+    Timetable(TimetableProblem problem, int[] patternOf, int[] roomOf, int hardConflicts, long softPenalty) {
+        this.problem = problem;
+        this.patternOf = patternOf;
+        this.roomOf = roomOf;
+        this.hardConflicts = hardConflicts;
+        this.softPenalty = softPenalty;
+    }
+
+    public int getHardConflicts() {
+        return hardConflicts;
+    }
+
+    public long getSoftPenalty() {
+        return softPenalty;
+    }
+
+    /** Combined objective the solver minimizes. */
+    public long getCost() {
+        return AnnealingRun.cost(hardConflicts, softPenalty);
+    }
+
+    public boolean isFeasible() {
+        return hardConflicts == 0;
+    }
+
+    public TimePattern patternOf(int section) {
+        return problem.getPatterns().get(patternOf[section]);
+    }
+
+    public String roomOf(int section) {
+        return problem.getRooms().get(roomOf[section]);
+    }
+
+    /** Meeting times to give each section, in problem order. */
+    public Map<Section, List<TimeSlot>> toMeetingTimes() {
+        Map<Section, List<TimeSlot>> out = new LinkedHashMap<>();
+        for (int i = 0; i < patternOf.length; i++) {
+            out.put(problem.getSections().get(i), patternOf(i).inRoom(roomOf(i)));
+        }
+        return out;
+    }
+
+    /** Best-so-far cost over wall-clock time, merged across parallel restarts. */
+    public List<Progress> getProgress() {
+        return progress;
+    }
+
+    void setProgress(List<Progress> progress) {
+        this.progress = Collections.unmodifiableList(progress);
+    }
+}
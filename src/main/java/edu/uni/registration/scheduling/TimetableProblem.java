@@ -0,0 +1,113 @@
+package edu.uni.registration.scheduling;
+
+import edu.uni.registration.model.Instructor;
+import edu.uni.registration.model.Section;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Input to {@link TimetableSolver}: the sections to place, the candidate patterns and rooms,
+ * and the co-enrollment graph. Everything the inner loop touches is precomputed into arrays
+ * indexed by position (section i, pattern p, room r, instructor k).
+ */
+public class TimetableProblem {
+
+    private final List<Section> sections;
+    private final List<TimePattern> patterns;
+    private final List<String> rooms;
+    private final CoEnrollmentGraph coEnrollment;
+
+    private final boolean[][] patternOverlap;
+    private final int[][] overlappingPatterns;
+    private final int[] instructorOf;
+    private final int instructorCount;
+
+    public TimetableProblem(List<Section> sections, List<TimePattern> patterns, List<String> rooms,
+                            CoEnrollmentGraph coEnrollment) {
+        if (sections == null || sections.isEmpty()) {
+            throw new IllegalArgumentException("No sections to schedule");
+        }
+        if (patterns == null || patterns.isEmpty()) {
+            throw new IllegalArgumentException("No time patterns");
+        }
+        if (rooms == null || rooms.isEmpty()) {
+            throw new IllegalArgumentException("No rooms");
+        }
+        if (coEnrollment != null && coEnrollment.size() != sections.size()) {
+            throw new IllegalArgumentException("Co-enrollment graph does not match sections");
+        }
+        this.sections = List.copyOf(sections);
+        this.patterns = List.copyOf(patterns);
+        this.rooms = List.copyOf(rooms);
+        this.coEnrollment = coEnrollment != null ? coEnrollment : CoEnrollmentGraph.empty(sections.size());
+
+        int p = patterns.size();
+        this.patternOverlap = new boolean[p][p];
+        this.overlappingPatterns = new int[p][];
+        for (int a = 0; a < p; a++) {
+            List<Integer> hits = new ArrayList<>();
+            for (int b = 0; b < p; b++) {
+                if (patterns.get(a).overlaps(patterns.get(b))) {
+                    patternOverlap[a][b] = true;
+                    hits.add(b);
+                }
+            }
+            overlappingPatterns[a] = hits.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        Map<Instructor, Integer> instructors = new HashMap<>();
+        this.instructorOf = new int[sections.size()];
+        for (int i = 0; i < sections.size(); i++) {
+            Instructor ins = sections.get(i).getInstructor();
+            instructorOf[i] = ins == null ? -1 : instructors.computeIfAbsent(ins, k -> instructors.size());
+        }
+        this.instructorCount = instructors.size();
+    }
+
+    public List<Section> getSections() {
+        return sections;
+    }
+
+    public List<TimePattern> getPatterns() {
+        return patterns;
+    }
+
+    public List<String> getRooms() {
+        return rooms;
+    }
+
+    public CoEnrollmentGraph getCoEnrollment() {
+        return coEnrollment;
+    }
+
+    int sectionCount() {
+        return sections.size();
+    }
+
+    int patternCount() {
+        return patterns.size();
+    }
+
+    int roomCount() {
+        return rooms.size();
+    }
+
+    int instructorCount() {
+        return instructorCount;
+    }
+
+    int instructorOf(int section) {
+        return instructorOf[section];
+    }
+
+    boolean overlaps(int patternA, int patternB) {
+        return patternOverlap[patternA][patternB];
+    }
+
+    int[] overlappingPatterns(int pattern) {
+        return overlappingPatterns[pattern];
+    }
+}
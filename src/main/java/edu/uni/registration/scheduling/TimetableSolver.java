@@ -0,0 +1,125 @@
+package edu.uni.registration.scheduling;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parallel simulated annealing for term timetables.
+ * Independent restarts (each with its own seed) are split across a fork-join pool and the
+ * best timetable wins. All restarts share one wall-clock budget, so more cores buy more
+ * restarts in the same time rather than a longer run.
+ */
+public class TimetableSolver {
+
+    private final ForkJoinPool pool;
+    private int restarts;
+    private long timeBudgetMillis = 2_000;
+    private long seed = 42L;
+
+    public TimetableSolver() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public TimetableSolver(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        this.pool = pool;
+        this.restarts = pool.getParallelism();
+    }
+
+    public int getRestarts() {
+        return restarts;
+    }
+
+    public void setRestarts(int restarts) {
+        if (restarts < 1) {
+            throw new IllegalArgumentException("Need at least one restart");
+        }
+        this.restarts = restarts;
+    }
+
+    public long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+
+    public void setTimeBudgetMillis(long timeBudgetMillis) {
+        if (timeBudgetMillis <= 0) {
+            throw new IllegalArgumentException("Time budget must be positive");
+        }
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public Timetable solve(TimetableProblem problem) {
+        if (problem == null) {
+            throw new IllegalArgumentException("Problem cannot be null");
+        }
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+        ConcurrentLinkedQueue<Timetable.Progress> trace = new ConcurrentLinkedQueue<>();
+
+        Timetable best = pool.invoke(new Restarts(problem, 0, restarts, deadline, start, trace));
+        best.setProgress(bestSoFar(trace));
+        return best;
+    }
+
+    /** Sorts improvements from all restarts by time and keeps the running minimum. */
+    private static List<Timetable.Progress> bestSoFar(ConcurrentLinkedQueue<Timetable.Progress> trace) {
+        List<Timetable.Progress> points = new ArrayList<>(trace);
+        points.sort(Comparator.comparingLong(Timetable.Progress::getElapsedMillis));
+        List<Timetable.Progress> out = new ArrayList<>();
+        long best = Long.MAX_VALUE;
+        for (Timetable.Progress p : points) {
+            if (p.getCost() < best) {
+                best = p.getCost();
+                out.add(p);
+            }
+        }
+        return out;
+    }
+
+    private final class Restarts extends RecursiveTask<Timetable> {
+        private static final long serialVersionUID = 1L;
+
+        private final TimetableProblem problem;
+        private final int from;
+        private final int to;
+        private final long deadline;
+        private final long start;
+        private final ConcurrentLinkedQueue<Timetable.Progress> trace;
+
+        Restarts(TimetableProblem problem, int from, int to, long deadline, long start,
+                 ConcurrentLinkedQueue<Timetable.Progress> trace) {
+            this.problem = problem;
+            this.from = from;
+            this.to = to;
+            this.deadline = deadline;
+            this.start = start;
+            this.trace = trace;
+        }
+
+        @Override
+        protected Timetable compute() {
+            if (to - from == 1) {
+                AnnealingRun run = new AnnealingRun(problem, seed + 0x9E3779B97F4A7C15L * from);
+                return run.solve(deadline, cost -> trace.add(
+                        new Timetable.Progress(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), cost)));
+            }
+            int mid = (from + to) >>> 1;
+            Restarts left = new Restarts(problem, from, mid, deadline, start, trace);
+            left.fork();
+            Timetable right = new Restarts(problem, mid, to, deadline, start, trace).compute();
+            Timetable l = left.join();
+            return l.getCost() <= right.getCost() ? l : right;
+        }
+    }
+}
@@ -0,0 +1,585 @@
+package edu.uni.registration.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import edu.uni.registration.model.Course;
+import edu.uni.registration.model.Enrollment;
+import edu.uni.registration.model.Grade;
+import edu.uni.registration.model.Instructor;
+import edu.uni.registration.model.SeatHold;
+import edu.uni.registration.model.SeatOffer;
+import edu.uni.registration.model.Section;
+import edu.uni.registration.model.TimeSlot;
+import edu.uni.registration.model.Transcript;
+import edu.uni.registration.model.TranscriptEntry;
+import edu.uni.registration.service.CatalogService;
+import edu.uni.registration.service.GradingService;
+import edu.uni.registration.service.RegistrationService;
+import edu.uni.registration.service.impl.AdmissionControlledRegistrationService;
+import edu.uni.registration.service.impl.RateLimitedRegistrationService;
+import edu.uni.registration.util.CourseQuery;
+import edu.uni.registration.util.Result;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Headless HTTP/JSON front end over the three services, on the JDK's built-in
+ * {@code com.sun.net.httpserver}. Each request runs on its own virtual thread when the runtime has
+ * them (Java 21+); on older runtimes a bounded pool of platform threads stands in.
+ * <p>
+ * Reads are {@code GET}s; writes are {@code POST}s taking form or query parameters. An
+ * {@code Idempotency-Key} header on a write is passed to the service as its request id, so a
+ * client retrying after a timeout gets the original answer instead of a second enrollment.
+ * A failed {@link Result} becomes 404 when something was not found, 429 when rate limited and 422
+ * otherwise, with body {@code {"error": "..."}}. {@code GET /metrics} serves Prometheus text.
+ */
+public class ApiServer {
+
+    public static final String IDEMPOTENCY_HEADER = "Idempotency-Key";
+
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final int POOLED_WRITERS = 256;
+    // Writers that grew past this are dropped rather than pooled, so one huge response is not kept forever.
+    private static final int MAX_POOLED_BUFFER = 64 * 1024;
+
+    /** One endpoint: writes its JSON body and returns the status code. */
+    @FunctionalInterface
+    interface Endpoint {
+        int handle(Call call, JsonWriter json);
+    }
+
+    private static final class Route {
+        final String method;
+        final String pattern;
+        final String[] segments;
+        final Endpoint endpoint;
+
+        Route(String method, String pattern, Endpoint endpoint) {
+            this.method = method;
+            this.pattern = pattern;
+            this.segments = pattern.substring(1).split("/");
+            this.endpoint = endpoint;
+        }
+
+        /** Path parameters in order, or null if the path does not match. */
+        String[] match(String[] path) {
+            if (path.length != segments.length) return null;
+            String[] params = null;
+            int p = 0;
+            for (int i = 0; i < path.length; i++) {
+                String s = segments[i];
+                if (s.startsWith("{")) {
+                    if (params == null) params = new String[segments.length];
+                    params[p++] = path[i];
+                } else if (!s.equals(path[i])) {
+                    return null;
+                }
+            }
+            return params == null ? new String[0] : params;
+        }
+    }
+
+    /** The parsed request as seen by an endpoint. */
+    static final class Call {
+        private final String[] pathParams;
+        private final Map<String, String> params;
+        private final String requestId;
+
+        Call(String[] pathParams, Map<String, String> params, String requestId) {
+            this.pathParams = pathParams;
+            this.params = params;
+            this.requestId = requestId;
+        }
+
+        String path(int index) {
+            return pathParams[index];
+        }
+
+        String param(String name) {
+            String v = params.get(name);
+            return v == null || v.isBlank() ? null : v;
+        }
+
+        String require(String name) {
+            String v = param(name);
+            if (v == null) throw new BadRequest("Missing parameter: " + name);
+            return v;
+        }
+
+        Integer intParam(String name) {
+            String v = param(name);
+            if (v == null) return null;
+            try {
+                return Integer.valueOf(v.trim());
+            } catch (NumberFormatException e) {
+                throw new BadRequest("Not a number: " + name);
+            }
+        }
+
+        String requestId() {
+            return requestId;
+        }
+    }
+
+    /** Malformed input, answered before any service is called. */
+    static final class BadRequest extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        BadRequest(String message) {
+            this(400, message);
+        }
+
+        BadRequest(int status, String message) {
+            super(message, null, false, false);
+            this.status = status;
+        }
+    }
+
+    static {
+        // The JDK server writes headers and body separately; with Nagle on, every keep-alive reply
+        // waits out the client's delayed ACK (~40ms). Read once when the server classes load.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final RegistrationService registration;
+    private final CatalogService catalog;
+    private final GradingService grading;
+    private final ServerMetrics metrics;
+    private final List<Route> routes = new ArrayList<>();
+    private final Queue<JsonWriter> writers = new ArrayBlockingQueue<>(POOLED_WRITERS);
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public ApiServer(InetSocketAddress address, RegistrationService registration, CatalogService catalog,
+                     GradingService grading, ServerMetrics metrics) throws IOException {
+        if (registration == null || catalog == null || grading == null || metrics == null) {
+            throw new IllegalArgumentException("Services and metrics cannot be null");
+        }
+        this.registration = registration;
+        this.catalog = catalog;
+        this.grading = grading;
+        this.metrics = metrics;
+        registerRoutes();
+        this.server = HttpServer.create(address, 1024);
+        this.executor = newRequestExecutor();
+        server.setExecutor(executor);
+        server.createContext("/", this::dispatch);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /** Stops accepting, gives in-flight requests up to {@code graceSeconds}, then shuts the executor down. */
+    public void stop(int graceSeconds) {
+        server.stop(graceSeconds);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(graceSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Bound port; useful when started on port 0. */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public ServerMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Virtual-thread-per-task executor when the runtime provides one. Looked up reflectively so
+     * the code still compiles for release 17.
+     */
+    static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            AtomicInteger n = new AtomicInteger();
+            ThreadFactory daemons = r -> {
+                Thread t = new Thread(r, "api-worker-" + n.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            };
+            return Executors.newFixedThreadPool(Math.max(8, Runtime.getRuntime().availableProcessors() * 4), daemons);
+        }
+    }
+
+    private void registerRoutes() {
+        get("/health", (c, json) -> {
+            json.beginObject().field("status", "up").endObject();
+            return 200;
+        });
+
+        // Catalog
+        get("/courses", this::searchCourses);
+        get("/courses/{code}/sections", (c, json) ->
+                reply(catalog.getSectionsByCourseCode(c.path(0)), json, ApiServer::writeSections));
+        get("/instructors/{id}/sections", (c, json) ->
+                reply(catalog.getInstructorSections(c.path(0)), json, ApiServer::writeSections));
+
+        // Registration
+        get("/students/{id}/schedule", (c, json) ->
+                reply(registration.getCurrentSchedule(c.path(0), c.param("term")), json, ApiServer::writeSections));
+        get("/students/{id}/transcript", this::transcript);
+        get("/students/{id}/offers", (c, json) ->
+                reply(registration.getPendingOffers(c.path(0)), json, (offers, w) -> {
+                    w.beginArray();
+                    for (SeatOffer offer : offers) writeOffer(offer, w);
+                    w.endArray();
+                }));
+        post("/students/{id}/enroll", (c, json) -> {
+            String section = c.require("section");
+            Result<Enrollment> r = c.requestId() == null
+                    ? registration.enrollStudentInSection(c.path(0), section)
+                    : registration.enrollStudentInSection(c.requestId(), c.path(0), section);
+            return reply(r, json, ApiServer::writeEnrollment);
+        });
+        post("/students/{id}/drop", (c, json) -> {
+            String section = c.require("section");
+            Result<Void> r = c.requestId() == null
+                    ? registration.dropStudentInSection(c.path(0), section)
+                    : registration.dropStudentInSection(c.requestId(), c.path(0), section);
+            return reply(r, json, null);
+        });
+        post("/students/{id}/swap", (c, json) -> {
+            String from = c.require("from");
+            String to = c.require("to");
+            Result<Enrollment> r = c.requestId() == null
+                    ? registration.swapSection(c.path(0), from, to)
+                    : registration.swapSection(c.requestId(), c.path(0), from, to);
+            return reply(r, json, ApiServer::writeEnrollment);
+        });
+        post("/students/{id}/holds", (c, json) -> {
+            String section = c.require("section");
+            Result<SeatHold> r = c.requestId() == null
+                    ? registration.holdSeat(c.path(0), section)
+                    : registration.holdSeat(c.requestId(), c.path(0), section);
+            return reply(r, json, ApiServer::writeHold);
+        });
+        post("/students/{id}/holds/{hold}/confirm", (c, json) -> {
+            Result<Enrollment> r = c.requestId() == null
+                    ? registration.confirmHold(c.path(0), c.path(1))
+                    : registration.confirmHold(c.requestId(), c.path(0), c.path(1));
+            return reply(r, json, ApiServer::writeEnrollment);
+        });
+        post("/students/{id}/holds/{hold}/release", (c, json) ->
+                reply(registration.releaseHold(c.path(0), c.path(1)), json, null));
+        post("/students/{id}/offers/{offer}/accept", (c, json) -> {
+            Result<Enrollment> r = c.requestId() == null
+                    ? registration.acceptOffer(c.path(0), c.path(1))
+                    : registration.acceptOffer(c.requestId(), c.path(0), c.path(1));
+            return reply(r, json, ApiServer::writeEnrollment);
+        });
+        post("/students/{id}/offers/{offer}/decline", (c, json) ->
+                reply(registration.declineOffer(c.path(0), c.path(1)), json, null));
+
+        // Grading
+        post("/sections/{id}/grades", (c, json) -> {
+            Grade grade;
+            try {
+                grade = Grade.valueOf(c.require("grade").trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequest("Unknown grade: " + c.param("grade"));
+            }
+            return reply(grading.postGrade(c.require("instructor"), c.path(0), c.require("student"), grade), json, null);
+        });
+    }
+
+    private void get(String pattern, Endpoint endpoint) {
+        routes.add(new Route("GET", pattern, endpoint));
+    }
+
+    private void post(String pattern, Endpoint endpoint) {
+        routes.add(new Route("POST", pattern, endpoint));
+    }
+
+    private int searchCourses(Call c, JsonWriter json) {
+        CourseQuery q = new CourseQuery();
+        q.setCode(c.param("code"));
+        q.setTitle(c.param("title"));
+        q.setMinCredits(c.intParam("minCredits"));
+        q.setMaxCredits(c.intParam("maxCredits"));
+        q.setInstructorName(c.param("instructor"));
+        return reply(catalog.search(q), json, (courses, w) -> {
+            w.beginArray();
+            for (Course course : courses) writeCourse(course, w);
+            w.endArray();
+        });
+    }
+
+    private int transcript(Call c, JsonWriter json) {
+        Result<Transcript> r = registration.getTranscript(c.path(0));
+        return reply(r, json, (t, w) -> {
+            w.beginObject()
+                    .field("student", t.getStudent().getId())
+                    .field("gpa", t.getGpa())
+                    .field("credits", t.getTotalCredits())
+                    .name("entries").beginArray();
+            for (TranscriptEntry e : t.getEntries()) {
+                w.beginObject()
+                        .field("course", e.getSection().getCourse().getCode())
+                        .field("section", e.getSection().getId())
+                        .field("term", e.getSection().getTerm())
+                        .field("credits", e.getCredits())
+                        .field("grade", e.getGrade().name())
+                        .endObject();
+            }
+            w.endArray().endObject();
+        });
+    }
+
+    @FunctionalInterface
+    private interface BodyWriter<T> {
+        void write(T value, JsonWriter json);
+    }
+
+    private static <T> int reply(Result<T> result, JsonWriter json, BodyWriter<T> body) {
+        if (result.isFail()) {
+            json.beginObject().field("error", result.getError()).endObject();
+            return statusFor(result.getError());
+        }
+        if (body == null || result.get() == null) {
+            json.beginObject().field("ok", true).endObject();
+        } else {
+            body.write(result.get(), json);
+        }
+        return 200;
+    }
+
+    static int statusFor(String error) {
+        if (RateLimitedRegistrationService.TOO_MANY_REQUESTS.equals(error)) return 429;
+        if (error != null && error.startsWith(AdmissionControlledRegistrationService.NOT_ADMITTED)) return 429;
+        if (error != null && error.toLowerCase(Locale.ROOT).contains("not found")) return 404;
+        return 422;
+    }
+
+    private void dispatch(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        metrics.started();
+        JsonWriter json = borrowWriter();
+        try {
+            String method = exchange.getRequestMethod();
+            String rawPath = exchange.getRequestURI().getRawPath();
+            if ("/metrics".equals(rawPath)) {
+                int status = "GET".equals(method) ? 200 : 405;
+                byte[] text = metrics.render().getBytes(StandardCharsets.UTF_8);
+                metrics.record("/metrics", status, System.nanoTime() - start);
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4");
+                send(exchange, status, text, text.length);
+                return;
+            }
+
+            String routeName = "unmatched";
+            int status;
+            try {
+                Route matched = null;
+                String[] pathParams = null;
+                boolean pathKnown = false;
+                String[] path = splitPath(rawPath);
+                for (Route route : routes) {
+                    String[] params = route.match(path);
+                    if (params == null) continue;
+                    pathKnown = true;
+                    if (route.method.equals(method)) {
+                        matched = route;
+                        pathParams = params;
+                        break;
+                    }
+                }
+                if (matched == null) {
+                    status = pathKnown ? 405 : 404;
+                    json.beginObject().field("error", pathKnown ? "Method not allowed" : "No such endpoint").endObject();
+                } else {
+                    routeName = matched.pattern;
+                    Call call = new Call(pathParams, parameters(exchange),
+                            exchange.getRequestHeaders().getFirst(IDEMPOTENCY_HEADER));
+                    status = matched.endpoint.handle(call, json);
+                }
+            } catch (BadRequest e) {
+                json.reset().beginObject().field("error", e.getMessage()).endObject();
+                status = e.status;
+            } catch (IOException e) {
+                json.reset().beginObject().field("error", "Unreadable request body").endObject();
+                status = 400;
+            } catch (RuntimeException e) {
+                json.reset().beginObject().field("error", "Internal error").endObject();
+                status = 500;
+            }
+            // Recorded before the body goes out, so a client that scrapes right after its reply sees it counted.
+            metrics.record(routeName, status, System.nanoTime() - start);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            send(exchange, status, json);
+        } finally {
+            exchange.close();
+            returnWriter(json);
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, JsonWriter json) throws IOException {
+        exchange.sendResponseHeaders(status, json.size());
+        try (OutputStream out = exchange.getResponseBody()) {
+            json.writeTo(out);
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body, int length) throws IOException {
+        exchange.sendResponseHeaders(status, length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body, 0, length);
+        }
+    }
+
+    private JsonWriter borrowWriter() {
+        JsonWriter w = writers.poll();
+        return w == null ? new JsonWriter() : w.reset();
+    }
+
+    private void returnWriter(JsonWriter w) {
+        if (w.size() <= MAX_POOLED_BUFFER) {
+            writers.offer(w);
+        }
+    }
+
+    private static String[] splitPath(String rawPath) {
+        String trimmed = rawPath.length() > 1 && rawPath.endsWith("/")
+                ? rawPath.substring(1, rawPath.length() - 1) : rawPath.substring(1);
+        String[] parts = trimmed.split("/", -1);
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = decode(parts[i]);
+        }
+        return parts;
+    }
+
+    /** Query parameters, overlaid by a form-encoded body if there is one. */
+    private static Map<String, String> parameters(HttpExchange exchange) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        parseForm(exchange.getRequestURI().getRawQuery(), params);
+        String type = exchange.getRequestHeaders().getFirst("Content-Type");
+        if (type != null && type.startsWith("application/x-www-form-urlencoded")) {
+            parseForm(readBody(exchange.getRequestBody()), params);
+        }
+        return params;
+    }
+
+    private static String readBody(InputStream in) throws IOException {
+        byte[] body = in.readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            throw new BadRequest(413, "Body larger than " + MAX_BODY_BYTES + " bytes");
+        }
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    private static void parseForm(String encoded, Map<String, String> into) {
+        if (encoded == null || encoded.isEmpty()) return;
+        for (String pair : encoded.split("&")) {
+            if (pair.isEmpty()) continue;
+            int eq = pair.indexOf('=');
+            String key = decode(eq < 0 ? pair : pair.substring(0, eq));
+            String value = eq < 0 ? "" : decode(pair.substring(eq + 1));
+            into.put(key, value);
+        }
+    }
+
+    private static String decode(String s) {
+        if (s.indexOf('%') < 0 && s.indexOf('+') < 0) return s;
+        try {
+            return URLDecoder.decode(s, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequest("Malformed encoding");
+        }
+    }
+
+    // --- JSON views. Field names are the API contract; keep them stable. ---
+
+    static void writeCourse(Course course, JsonWriter w) {
+        w.beginObject()
+                .field("code", course.getCode())
+                .field("title", course.getTitle())
+                .field("credits", course.getCredits())
+                .name("prerequisites").beginArray();
+        for (String p : course.getPrerequisites()) w.value(p);
+        w.endArray().endObject();
+    }
+
+    static void writeSections(List<Section> sections, JsonWriter w) {
+        w.beginArray();
+        for (Section s : sections) writeSection(s, w);
+        w.endArray();
+    }
+
+    static void writeSection(Section s, JsonWriter w) {
+        Instructor instructor = s.getInstructor();
+        w.beginObject()
+                .field("id", s.getId())
+                .field("course", s.getCourse().getCode())
+                .field("title", s.getCourse().getTitle())
+                .field("term", s.getTerm())
+                .field("capacity", s.getCapacity())
+                .field("enrolled", s.getEnrolledCount())
+                .field("held", s.getHeldSeats())
+                .field("waitlisted", s.getWaitlistedCount())
+                .field("instructor", instructor == null ? null : instructor.getFullName())
+                .name("meetings").beginArray();
+        for (TimeSlot t : s.getMeetingTimes()) {
+            w.beginObject()
+                    .field("day", t.getDayOfWeek().name())
+                    .field("start", t.getStartTime().toString())
+                    .field("end", t.getEndTime().toString())
+                    .field("room", t.getRoom())
+                    .endObject();
+        }
+        w.endArray().endObject();
+    }
+
+    static void writeEnrollment(Enrollment e, JsonWriter w) {
+        w.beginObject()
+                .field("student", e.getStudent().getId())
+                .field("section", e.getSection().getId())
+                .field("status", e.getStatus().name())
+                .field("grade", e.getGrade().map(Grade::name).orElse(null))
+                .endObject();
+    }
+
+    static void writeHold(SeatHold h, JsonWriter w) {
+        w.beginObject()
+                .field("id", h.getId())
+                .field("student", h.getStudent().getId())
+                .field("section", h.getSection().getId())
+                .field("expiresAt", h.getExpiresAtMillis())
+                .endObject();
+    }
+
+    static void writeOffer(SeatOffer o, JsonWriter w) {
+        w.beginObject()
+                .field("id", o.getId())
+                .field("student", o.getStudent().getId())
+                .field("section", o.getSection().getId())
+                .field("expiresAt", o.getExpiresAtMillis())
+                .endObject();
+    }
+}
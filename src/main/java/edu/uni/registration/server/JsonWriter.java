@@ -0,0 +1,281 @@
+package edu.uni.registration.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Streaming JSON encoder that writes UTF-8 straight into a growable byte array. There is no tree,
+ * no reflection and no intermediate {@code String}: names and values are encoded as they arrive,
+ * integers are formatted digit by digit, and {@link #reset()} lets one writer serve many responses,
+ * so a typical response costs one buffer that is reused for the life of the worker.
+ * <p>
+ * Commas are inserted automatically; nesting is limited to 64 levels. Not thread-safe.
+ */
+public final class JsonWriter {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final int MAX_DEPTH = 64;
+
+    private byte[] buf;
+    private int len;
+    // Bit d set: the container at depth d already has an element, so the next one needs a comma.
+    private long hasElement;
+    private int depth;
+    private boolean afterName;
+
+    public JsonWriter() {
+        this(512);
+    }
+
+    public JsonWriter(int initialCapacity) {
+        this.buf = new byte[Math.max(16, initialCapacity)];
+    }
+
+    /** Empties the writer, keeping its buffer. */
+    public JsonWriter reset() {
+        len = 0;
+        hasElement = 0;
+        depth = 0;
+        afterName = false;
+        return this;
+    }
+
+    public JsonWriter beginObject() {
+        return open('{');
+    }
+
+    public JsonWriter endObject() {
+        return close('}');
+    }
+
+    public JsonWriter beginArray() {
+        return open('[');
+    }
+
+    public JsonWriter endArray() {
+        return close(']');
+    }
+
+    public JsonWriter name(String name) {
+        if (depth == 0) {
+            throw new IllegalStateException("Name outside an object");
+        }
+        separator();
+        string(name);
+        put(':');
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(String value) {
+        separator();
+        if (value == null) {
+            put(NULL);
+        } else {
+            string(value);
+        }
+        return this;
+    }
+
+    public JsonWriter value(long value) {
+        separator();
+        number(value);
+        return this;
+    }
+
+    /** Non-finite values are written as {@code null}, since JSON has no NaN or Infinity. */
+    public JsonWriter value(double value) {
+        separator();
+        if (!Double.isFinite(value)) {
+            put(NULL);
+        } else if (value == (long) value && Math.abs(value) < 1e15) {
+            number((long) value);
+        } else {
+            ascii(Double.toString(value));
+        }
+        return this;
+    }
+
+    public JsonWriter value(boolean value) {
+        separator();
+        put(value ? TRUE : FALSE);
+        return this;
+    }
+
+    public JsonWriter nullValue() {
+        separator();
+        put(NULL);
+        return this;
+    }
+
+    /** Shorthand for {@code name(name).value(value)}. */
+    public JsonWriter field(String name, String value) {
+        return name(name).value(value);
+    }
+
+    public JsonWriter field(String name, long value) {
+        return name(name).value(value);
+    }
+
+    public JsonWriter field(String name, double value) {
+        return name(name).value(value);
+    }
+
+    public JsonWriter field(String name, boolean value) {
+        return name(name).value(value);
+    }
+
+    /** Encoded length in bytes. */
+    public int size() {
+        return len;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buf, 0, len);
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, len);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buf, 0, len, StandardCharsets.UTF_8);
+    }
+
+    private JsonWriter open(char bracket) {
+        if (depth == MAX_DEPTH) {
+            throw new IllegalStateException("Nesting deeper than " + MAX_DEPTH);
+        }
+        separator();
+        put(bracket);
+        depth++;
+        hasElement &= ~(1L << depth);
+        return this;
+    }
+
+    private JsonWriter close(char bracket) {
+        if (depth == 0) {
+            throw new IllegalStateException("Unbalanced " + bracket);
+        }
+        depth--;
+        put(bracket);
+        return this;
+    }
+
+    private void separator() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        long bit = 1L << depth;
+        if ((hasElement & bit) != 0) {
+            put(',');
+        } else {
+            hasElement |= bit;
+        }
+    }
+
+    private void number(long v) {
+        if (v == Long.MIN_VALUE) {
+            ascii(Long.toString(v));
+            return;
+        }
+        ensure(20);
+        if (v < 0) {
+            buf[len++] = '-';
+            v = -v;
+        }
+        int digits = 1;
+        for (long p = 10; p <= v && digits < 19; p *= 10) {
+            digits++;
+        }
+        int end = len + digits;
+        for (int i = end - 1; i >= len; i--) {
+            buf[i] = (byte) ('0' + v % 10);
+            v /= 10;
+        }
+        len = end;
+    }
+
+    private void string(String s) {
+        int n = s.length();
+        // Worst case per char is a six-byte unicode escape; quotes on top.
+        ensure(n * 6 + 2);
+        byte[] b = buf;
+        int p = len;
+        b[p++] = '"';
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                b[p++] = (byte) c;
+            } else if (c == '"' || c == '\\') {
+                b[p++] = '\\';
+                b[p++] = (byte) c;
+            } else if (c == '\n') {
+                b[p++] = '\\';
+                b[p++] = 'n';
+            } else if (c == '\r') {
+                b[p++] = '\\';
+                b[p++] = 'r';
+            } else if (c == '\t') {
+                b[p++] = '\\';
+                b[p++] = 't';
+            } else if (c < 0x20) {
+                b[p++] = '\\';
+                b[p++] = 'u';
+                b[p++] = '0';
+                b[p++] = '0';
+                b[p++] = HEX[c >> 4];
+                b[p++] = HEX[c & 0xF];
+            } else if (c < 0x800) {
+                b[p++] = (byte) (0xC0 | (c >> 6));
+                b[p++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                b[p++] = (byte) (0xF0 | (cp >> 18));
+                b[p++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                b[p++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                b[p++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                b[p++] = '?';
+            } else {
+                b[p++] = (byte) (0xE0 | (c >> 12));
+                b[p++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                b[p++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        b[p++] = '"';
+        len = p;
+    }
+
+    private void ascii(String s) {
+        int n = s.length();
+        ensure(n);
+        for (int i = 0; i < n; i++) {
+            buf[len++] = (byte) s.charAt(i);
+        }
+    }
+
+    private void put(char c) {
+        ensure(1);
+        buf[len++] = (byte) c;
+    }
+
+    private void put(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buf, len, bytes.length);
+        len += bytes.length;
+    }
+
+    private void ensure(int extra) {
+        if (len + extra > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + extra));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package edu.uni.registration.server;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Request counters and latency per route, plus named gauges read at scrape time, rendered in the
+ * Prometheus text format. Recording is a couple of {@link LongAdder} increments, so it stays off
+ * the contention path even when every virtual thread finishes at once.
+ * <p>
+ * Latency goes into fixed buckets (0.5ms to 5s) so percentiles can be estimated without keeping
+ * samples.
+ */
+public class ServerMetrics {
+
+    static final long[] BUCKET_MICROS = {500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000,
+            100_000, 250_000, 500_000, 1_000_000, 5_000_000};
+
+    private static final class RouteStats {
+        final LongAdder[] byStatusClass = new LongAdder[6];
+        final LongAdder[] buckets = new LongAdder[BUCKET_MICROS.length + 1];
+        final LongAdder totalMicros = new LongAdder();
+        final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+        RouteStats() {
+            for (int i = 0; i < byStatusClass.length; i++) byStatusClass[i] = new LongAdder();
+            for (int i = 0; i < buckets.length; i++) buckets[i] = new LongAdder();
+        }
+
+        long count() {
+            long n = 0;
+            for (LongAdder a : byStatusClass) n += a.sum();
+            return n;
+        }
+    }
+
+    private final Map<String, RouteStats> routes = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private final LongAdder inFlight = new LongAdder();
+
+    /** Registers a value read on every scrape; names must be valid metric names. */
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    void started() {
+        inFlight.increment();
+    }
+
+    void record(String route, int status, long elapsedNanos) {
+        inFlight.decrement();
+        RouteStats stats = routes.computeIfAbsent(route, r -> new RouteStats());
+        int statusClass = Math.min(5, Math.max(0, status / 100));
+        stats.byStatusClass[statusClass].increment();
+        long micros = TimeUnit.NANOSECONDS.toMicros(elapsedNanos);
+        stats.totalMicros.add(micros);
+        stats.maxMicros.accumulate(micros);
+        int b = 0;
+        while (b < BUCKET_MICROS.length && micros > BUCKET_MICROS[b]) b++;
+        stats.buckets[b].increment();
+    }
+
+    public long requestCount(String route) {
+        RouteStats stats = routes.get(route);
+        return stats == null ? 0 : stats.count();
+    }
+
+    public long requestCount(String route, int statusClass) {
+        RouteStats stats = routes.get(route);
+        return stats == null ? 0 : stats.byStatusClass[statusClass].sum();
+    }
+
+    public long inFlight() {
+        return inFlight.sum();
+    }
+
+    /** Prometheus exposition text; routes and gauges in name order. */
+    public String render() {
+        StringBuilder out = new StringBuilder(1024);
+        out.append("# TYPE http_requests_total counter\n");
+        Map<String, RouteStats> sorted = new TreeMap<>(routes);
+        sorted.forEach((route, s) -> {
+            for (int c = 1; c < s.byStatusClass.length; c++) {
+                long n = s.byStatusClass[c].sum();
+                if (n > 0) {
+                    out.append("http_requests_total{route=\"").append(route).append("\",status=\"")
+                            .append(c).append("xx\"} ").append(n).append('\n');
+                }
+            }
+        });
+        out.append("# TYPE http_request_duration_seconds histogram\n");
+        sorted.forEach((route, s) -> {
+            long cumulative = 0;
+            for (int b = 0; b < s.buckets.length; b++) {
+                cumulative += s.buckets[b].sum();
+                String le = b < BUCKET_MICROS.length ? seconds(BUCKET_MICROS[b]) : "+Inf";
+                out.append("http_request_duration_seconds_bucket{route=\"").append(route)
+                        .append("\",le=\"").append(le).append("\"} ").append(cumulative).append('\n');
+            }
+            out.append("http_request_duration_seconds_sum{route=\"").append(route).append("\"} ")
+                    .append(seconds(s.totalMicros.sum())).append('\n');
+            out.append("http_request_duration_seconds_count{route=\"").append(route).append("\"} ")
+                    .append(cumulative).append('\n');
+            out.append("http_request_duration_seconds_max{route=\"").append(route).append("\"} ")
+                    .append(seconds(s.maxMicros.get())).append('\n');
+        });
+        out.append("# TYPE http_requests_in_flight gauge\n");
+        // The scrape itself is in flight while rendering.
+        out.append("http_requests_in_flight ").append(Math.max(0, inFlight.sum() - 1)).append('\n');
+        new TreeMap<>(gauges).forEach((name, value) ->
+                out.append("# TYPE ").append(name).append(" gauge\n")
+                        .append(name).append(' ').append(value.getAsLong()).append('\n'));
+        return out.toString();
+    }
+
+    private static String seconds(long micros) {
+        return Double.toString(micros / 1_000_000.0);
+    }
+}
@@ -2,10 +2,14 @@ package edu.uni.registration.service;
 
 import edu.uni.registration.model.Course;
 import edu.uni.registration.model.Section;
+import edu.uni.registration.model.TimeSlot;
+import edu.uni.registration.model.WaitlistPolicy;
 import edu.uni.registration.util.CourseQuery;
 import edu.uni.registration.util.Result;
+import edu.uni.registration.validation.TimeClash;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service for managing the course catalog. Handles courses, sections, searching, and instructor assignment.
@@ -21,13 +25,40 @@ public interface CatalogService {
 
     Result<Section> createSection(String id, Course course, String term, int capacity);
 
+    /**
+     * Assigns an instructor to a section. Fails if the instructor already teaches
+     * another section of the same term at an overlapping time.
+     */
     Result<Void> assignInstructor(String sectionId, String instructorId);
 
+    /**
+     * Assigns a whole teaching plan (section id -> instructor id) after validating it in one pass.
+     * All or nothing: if any entry is invalid or clashes, nothing is assigned.
+     */
+    Result<Void> assignInstructors(Map<String, String> plan);
+
+    /**
+     * Adds a meeting time to a section. Fails if the room is already booked at that time in the same term.
+     */
+    Result<Void> addMeetingTime(String sectionId, TimeSlot slot);
+
+    /**
+     * Lists every pair of sections booked into the same room at the same time (null term = all terms).
+     */
+    Result<List<TimeClash>> auditRoomClashes(String term);
+
     /**
      * Admin override: changes section capacity. Logged for audit.
+     * Seats opened by a raise are offered to the waitlist right away.
      */
     Result<Void> adminOverrideCapacity(String sectionId, int newCapacity, String adminId, String reason);
 
+    /**
+     * Admin override: sets the order in which the section's waitlist receives seat offers and
+     * reorders the students already waiting. Logged for audit.
+     */
+    Result<Void> setWaitlistPolicy(String sectionId, WaitlistPolicy policy, String adminId, String reason);
+
     Result<List<Section>> getInstructorSections(String instructorId);
 
     /**
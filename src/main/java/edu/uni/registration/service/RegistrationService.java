@@ -1,10 +1,14 @@
 package edu.uni.registration.service;
 
 import edu.uni.registration.model.Enrollment;
+import edu.uni.registration.model.SeatHold;
+import edu.uni.registration.model.SeatOffer;
 import edu.uni.registration.model.Section;
 import edu.uni.registration.util.Result;
+import edu.uni.registration.validation.CartItemVerdict;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Service for student registration. Handles enrollments, drops, schedules, and admin overrides.
@@ -17,15 +21,86 @@ public interface RegistrationService {
     Result<Enrollment> enrollStudentInSection(String studentId, String sectionId);
 
     /**
-     * Drops a student from a section. May auto-promote from waitlist if seat opens.
+     * Drops a student from a section. If an enrolled seat opens, it is offered to the next student
+     * in the section's waitlist order (see {@link edu.uni.registration.model.WaitlistPolicy}) for a
+     * limited time; see {@link #acceptOffer}.
      */
     Result<Void> dropStudentInSection(String studentId, String sectionId);
 
+    /**
+     * Moves a student from one enrolled section to another in one step. The new section is validated
+     * as if the old one were already dropped, and must have an open seat; the old seat is only released
+     * (and offered to its waitlist) once the new enrollment is committed. On failure nothing changes.
+     */
+    Result<Enrollment> swapSection(String studentId, String fromSectionId, String toSectionId);
+
+    /**
+     * Reserves a seat for a limited time (prerequisites and conflicts are checked now).
+     * The seat counts against capacity until the hold is confirmed, released or expires.
+     */
+    Result<SeatHold> holdSeat(String studentId, String sectionId);
+
+    /**
+     * Turns a live hold into an ENROLLED enrollment, re-checking time conflicts.
+     */
+    Result<Enrollment> confirmHold(String studentId, String holdId);
+
+    /**
+     * Gives a held seat back before it expires.
+     */
+    Result<Void> releaseHold(String studentId, String holdId);
+
+    /**
+     * Seats currently offered to a waitlisted student.
+     */
+    Result<List<SeatOffer>> getPendingOffers(String studentId);
+
+    /**
+     * Accepts an offered seat. Prerequisites and time conflicts are re-checked; on failure the
+     * offer stays open until it expires or is declined.
+     */
+    Result<Enrollment> acceptOffer(String studentId, String offerId);
+
+    /**
+     * Declines an offer. The student leaves the waitlist and the seat goes to the next in line,
+     * as it does when an offer expires.
+     */
+    Result<Void> declineOffer(String studentId, String offerId);
+
+    // Request-id variants of the seat-changing calls. A client that retries after a timeout reuses
+    // the id of the original call and gets the original Result back instead of running it twice.
+    // A null request id behaves like the plain call.
+
+    Result<Enrollment> enrollStudentInSection(String requestId, String studentId, String sectionId);
+
+    Result<Void> dropStudentInSection(String requestId, String studentId, String sectionId);
+
+    Result<Enrollment> swapSection(String requestId, String studentId, String fromSectionId, String toSectionId);
+
+    Result<SeatHold> holdSeat(String requestId, String studentId, String sectionId);
+
+    Result<Enrollment> confirmHold(String requestId, String studentId, String holdId);
+
+    Result<Enrollment> acceptOffer(String requestId, String studentId, String offerId);
+
     /**
      * Gets student's current schedule. Optional term filter (null = all terms).
      */
     Result<List<Section>> getCurrentSchedule(String studentId, String term);
 
+    /**
+     * Streams conflict-free schedules (one section per course, in the given course order) for a term.
+     * Results are produced lazily; see {@link edu.uni.registration.scheduling.ScheduleGenerator#RANKING}
+     * to rank a collected batch.
+     */
+    Result<Stream<List<Section>>> generateSchedules(List<String> courseCodes, String term);
+
+    /**
+     * Dry-runs enrollment for a cart of sections: prerequisites, capacity and time conflicts against
+     * the current schedule and the other cart items. Returns one verdict per requested id, in order.
+     */
+    Result<List<CartItemVerdict>> validateCart(String studentId, List<String> sectionIds);
+
     /**
      * Gets student's transcript (entries and GPA).
      */
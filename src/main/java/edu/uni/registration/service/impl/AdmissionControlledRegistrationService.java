@@ -0,0 +1,178 @@
+package edu.uni.registration.service.impl;
+
+import edu.uni.registration.admission.AdmissionScheduler;
+import edu.uni.registration.admission.AdmissionTicket;
+import edu.uni.registration.model.Enrollment;
+import edu.uni.registration.model.SeatHold;
+import edu.uni.registration.model.SeatOffer;
+import edu.uni.registration.model.Section;
+import edu.uni.registration.model.Student;
+import edu.uni.registration.model.Transcript;
+import edu.uni.registration.repository.StudentRepository;
+import edu.uni.registration.service.RegistrationService;
+import edu.uni.registration.util.Result;
+import edu.uni.registration.validation.CartItemVerdict;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Puts the waiting room in front of a {@link RegistrationService}.
+ * Calls that take seats (enroll, drop, swap, holding a seat, confirming a hold, accepting an offer)
+ * only go through for students with an admitted session; everyone else gets a fast
+ * {@code Result.fail} with their queue position and estimated wait. Read-only calls, cart checks
+ * and calls that only give a seat back (releasing a hold, declining an offer) pass straight
+ * through, so a student whose session lapsed can still free what they hold. Every admitted call is
+ * timed and fed back to the scheduler's adaptive limit.
+ */
+public class AdmissionControlledRegistrationService implements RegistrationService {
+
+    /** Prefix of the error a student gets while not admitted; the ticket's wait estimate follows. */
+    public static final String NOT_ADMITTED = "Not admitted: ";
+
+    private final RegistrationService delegate;
+    private final AdmissionScheduler scheduler;
+    private final StudentRepository studentRepo;
+
+    public AdmissionControlledRegistrationService(RegistrationService delegate, AdmissionScheduler scheduler,
+                                                  StudentRepository studentRepo) {
+        this.delegate = delegate;
+        this.scheduler = scheduler;
+        this.studentRepo = studentRepo;
+    }
+
+    /** Joins (or refreshes a place in) the waiting room without making a registration call. */
+    public Result<AdmissionTicket> checkIn(String studentId) {
+        if (studentId == null) return Result.fail("Student ID cannot be null");
+        var sOpt = studentRepo.findById(studentId);
+        if (sOpt.isEmpty()) return Result.fail("Student not found: " + studentId);
+        return Result.ok(scheduler.requestAdmission(sOpt.get()));
+    }
+
+    /** Ends the student's session so the next waiter is admitted. */
+    public void checkOut(String studentId) {
+        if (studentId != null) {
+            scheduler.leave(studentId);
+        }
+    }
+
+    private <T> Result<T> admitted(String studentId, Supplier<Result<T>> call) {
+        if (studentId == null) return Result.fail("Missing ID");
+        var sOpt = studentRepo.findById(studentId);
+        if (sOpt.isEmpty()) return Result.fail("Student not found: " + studentId);
+        Student student = sOpt.get();
+
+        AdmissionTicket ticket = scheduler.requestAdmission(student);
+        if (!ticket.isAdmitted()) {
+            return Result.fail(NOT_ADMITTED + ticket);
+        }
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            scheduler.recordLatency(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Result<Enrollment> enrollStudentInSection(String studentId, String sectionId) {
+        return admitted(studentId, () -> delegate.enrollStudentInSection(studentId, sectionId));
+    }
+
+    @Override
+    public Result<Void> dropStudentInSection(String studentId, String sectionId) {
+        return admitted(studentId, () -> delegate.dropStudentInSection(studentId, sectionId));
+    }
+
+    @Override
+    public Result<Enrollment> swapSection(String studentId, String fromSectionId, String toSectionId) {
+        return admitted(studentId, () -> delegate.swapSection(studentId, fromSectionId, toSectionId));
+    }
+
+    @Override
+    public Result<SeatHold> holdSeat(String studentId, String sectionId) {
+        return admitted(studentId, () -> delegate.holdSeat(studentId, sectionId));
+    }
+
+    @Override
+    public Result<Enrollment> confirmHold(String studentId, String holdId) {
+        return admitted(studentId, () -> delegate.confirmHold(studentId, holdId));
+    }
+
+    @Override
+    public Result<Void> releaseHold(String studentId, String holdId) {
+        return delegate.releaseHold(studentId, holdId);
+    }
+
+    @Override
+    public Result<Enrollment> acceptOffer(String studentId, String offerId) {
+        return admitted(studentId, () -> delegate.acceptOffer(studentId, offerId));
+    }
+
+    @Override
+    public Result<Void> declineOffer(String studentId, String offerId) {
+        return delegate.declineOffer(studentId, offerId);
+    }
+
+    @Override
+    public Result<Enrollment> enrollStudentInSection(String requestId, String studentId, String sectionId) {
+        return admitted(studentId, () -> delegate.enrollStudentInSection(requestId, studentId, sectionId));
+    }
+
+    @Override
+    public Result<Void> dropStudentInSection(String requestId, String studentId, String sectionId) {
+        return admitted(studentId, () -> delegate.dropStudentInSection(requestId, studentId, sectionId));
+    }
+
+    @Override
+    public Result<Enrollment> swapSection(String requestId, String studentId, String fromSectionId,
+                                          String toSectionId) {
+        return admitted(studentId, () -> delegate.swapSection(requestId, studentId, fromSectionId, toSectionId));
+    }
+
+    @Override
+    public Result<SeatHold> holdSeat(String requestId, String studentId, String sectionId) {
+        return admitted(studentId, () -> delegate.holdSeat(requestId, studentId, sectionId));
+    }
+
+    @Override
+    public Result<Enrollment> confirmHold(String requestId, String studentId, String holdId) {
+        return admitted(studentId, () -> delegate.confirmHold(requestId, studentId, holdId));
+    }
+
+    @Override
+    public Result<Enrollment> acceptOffer(String requestId, String studentId, String offerId) {
+        return admitted(studentId, () -> delegate.acceptOffer(requestId, studentId, offerId));
+    }
+
+    @Override
+    public Result<List<CartItemVerdict>> validateCart(String studentId, List<String> sectionIds) {
+        return delegate.validateCart(studentId, sectionIds);
+    }
+
+    @Override
+    public Result<List<SeatOffer>> getPendingOffers(String studentId) {
+        return delegate.getPendingOffers(studentId);
+    }
+
+    @Override
+    public Result<List<Section>> getCurrentSchedule(String studentId, String term) {
+        return delegate.getCurrentSchedule(studentId, term);
+    }
+
+    @Override
+    public Result<Stream<List<Section>>> generateSchedules(List<String> courseCodes, String term) {
+        return delegate.generateSchedules(courseCodes, term);
+    }
+
+    @Override
+    public Result<Transcript> getTranscript(String studentId) {
+        return delegate.getTranscript(studentId);
+    }
+
+    @Override
+    public Result<Enrollment> adminOverrideEnroll(String studentId, String sectionId, String adminId, String reason) {
+        return delegate.adminOverrideEnroll(studentId, sectionId, adminId, reason);
+    }
+}
@@ -1,52 +1,160 @@
 package edu.uni.registration.service.impl;
 
 import edu.uni.registration.model.Admin;
+import edu.uni.registration.model.CatalogSnapshot;
 import edu.uni.registration.model.Course;
 import edu.uni.registration.model.Instructor;
 import edu.uni.registration.model.Section;
+import edu.uni.registration.model.SectionListing;
+import edu.uni.registration.model.TimeSlot;
+import edu.uni.registration.model.WaitlistPolicy;
 import edu.uni.registration.repository.CourseRepository;
 import edu.uni.registration.repository.SectionRepository;
 import edu.uni.registration.repository.PersonRepository;
 import edu.uni.registration.service.CatalogService;
 import edu.uni.registration.util.CourseQuery;
 import edu.uni.registration.util.Result;
+import edu.uni.registration.util.TinyLfuCache;
 import edu.uni.registration.util.AdminOverrideLog;
+import edu.uni.registration.validation.RoomClashAuditor;
+import edu.uni.registration.validation.RoomOccupancyIndex;
+import edu.uni.registration.validation.TeachingLoadIndex;
+import edu.uni.registration.validation.TimeClash;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
 /**
  * Course catalog management: CRUD, search, instructor assignment.
+ * <p>
+ * Reads (search, section listing) go through an immutable {@link CatalogSnapshot} published via
+ * an atomic reference; every edit made here publishes a new one. The first snapshot is built from
+ * the repositories on first use, so catalog edits after that must go through this service.
  */
 public class CatalogServiceImpl implements CatalogService {
     private final CourseRepository courseRepo;
     private final SectionRepository sectionRepo;
     private final PersonRepository personRepo;
     private final List<AdminOverrideLog> logs;
+    private final RoomOccupancyIndex roomIndex = new RoomOccupancyIndex();
+    private final RoomClashAuditor roomAuditor = new RoomClashAuditor();
+    private final TeachingLoadIndex teachingLoad = new TeachingLoadIndex();
+    // Guards roomIndex and teachingLoad, which are not thread-safe: every clash check and the booking
+    // or assignment it allows happen under it, so two concurrent edits cannot both pass the check.
+    private final Object scheduleWrites = new Object();
+
+    private final AtomicReference<CatalogSnapshot> catalog = new AtomicReference<>();
+
+    private static final int SEARCH_CACHE_SIZE = 1024;
+    private final TinyLfuCache<String, CachedSearch> searchCache = new TinyLfuCache<>(SEARCH_CACHE_SIZE);
+
+    /** A cached search result together with the query that produced it, for invalidation. */
+    private static final class CachedSearch {
+        final CourseQuery query;
+        final List<Course> courses;
+
+        CachedSearch(CourseQuery query, List<Course> courses) {
+            this.query = query;
+            this.courses = courses;
+        }
+
+        boolean contains(String code) {
+            for (Course c : courses) {
+                if (c.getCode().equals(code)) return true;
+            }
+            return false;
+        }
+    }
+
+    /** Turns seats added by a capacity override into waitlist offers; see {@link #setSeatOfferer}. */
+    @FunctionalInterface
+    public interface SeatOfferer {
+        /** Offers the section's free seats to waitlisted students and returns how many offers were made. */
+        int offerOpenSeats(Section section);
+    }
+
+    private volatile SeatOfferer seatOfferer;
 
     public CatalogServiceImpl(CourseRepository courseRepo, SectionRepository sectionRepo, PersonRepository personRepo) {
         this.courseRepo = courseRepo;
         this.sectionRepo = sectionRepo;
         this.personRepo = personRepo;
-        this.logs = new ArrayList<>();
+        this.logs = Collections.synchronizedList(new ArrayList<>());
     }
 
+    /**
+     * Results are cached by {@link CourseQuery#cacheKey()} and returned as read-only lists. Catalog
+     * changes made through this service invalidate exactly the cached searches they can affect.
+     */
     @Override
     public Result<List<Course>> search(CourseQuery query) {
-        List<Course> all = courseRepo.findAll();
+        String key = query == null ? "*" : query.cacheKey();
+        CourseQuery frozen = query == null ? null : query.copy();
+        return Result.ok(searchCache.get(key, k -> runSearch(frozen)).courses);
+    }
+
+    private CachedSearch runSearch(CourseQuery query) {
+        CatalogSnapshot snap = snapshot();
         if (query == null) {
-            return Result.ok(all);
+            return new CachedSearch(null, snap.courses());
         }
 
-        query.setSectionRepository(sectionRepo);
-        
         List<Course> result = new ArrayList<>();
-        for (Course c : all) {
-            if (query.isSatisfiedBy(c)) {
+        for (Course c : snap.courses()) {
+            if (query.isSatisfiedBy(c, snap)) {
                 result.add(c);
             }
         }
-        return Result.ok(result);
+        return new CachedSearch(query, List.copyOf(result));
+    }
+
+    /** Current catalog version; never blocks, and the returned snapshot never changes. */
+    public CatalogSnapshot snapshot() {
+        CatalogSnapshot snap = catalog.get();
+        return snap != null ? snap : loadSnapshot();
+    }
+
+    private synchronized CatalogSnapshot loadSnapshot() {
+        CatalogSnapshot snap = catalog.get();
+        if (snap == null) {
+            snap = CatalogSnapshot.EMPTY;
+            for (Course c : courseRepo.findAll()) {
+                snap = snap.withCourse(c);
+            }
+            for (Section s : sectionRepo.findAll()) {
+                snap = snap.withSection(s);
+            }
+            catalog.set(snap);
+        }
+        return snap;
+    }
+
+    /** Publishes an edit; concurrent edits retry against each other's result, readers are never held up. */
+    private void publish(UnaryOperator<CatalogSnapshot> edit) {
+        snapshot();
+        catalog.updateAndGet(edit);
+    }
+
+    /**
+     * Drops cached searches that list the course or whose query matches it now. With
+     * {@code sectionsChanged}, only the course's sections changed, so searches that never look
+     * at sections are kept.
+     */
+    private void invalidateSearches(Course course, boolean sectionsChanged) {
+        searchCache.removeIf((key, cached) -> {
+            if (cached.query == null) return !sectionsChanged;
+            if (sectionsChanged && !cached.query.dependsOnSections()) return false;
+            return cached.contains(course.getCode()) || cached.query.isSatisfiedBy(course, snapshot());
+        });
+    }
+
+    public TinyLfuCache.Stats getSearchCacheStats() {
+        return searchCache.stats();
     }
 
 
@@ -56,18 +164,78 @@ public class CatalogServiceImpl implements CatalogService {
         
         Course c = new Course(code, title, credits);
         courseRepo.save(c);
+        publish(snap -> snap.withCourse(c));
+        invalidateSearches(c, false);
         return Result.ok(c);
     }
 
     @Override
     public Result<Section> createSection(String id, Course course, String term, int capacity) {
         if (id == null || course == null) return Result.fail("Missing info");
-        
-        Section s = new Section(id, course, term, capacity);
-        sectionRepo.save(s);
+        // Callers may pass a frozen copy from a search result; sections hang off the live course.
+        Course live = courseRepo.findById(course.getCode()).orElse(course);
+
+        Section s = new Section(id, live, term, capacity);
+        synchronized (scheduleWrites) {
+            sectionRepo.save(s);
+            if (roomIndex.containsTerm(term)) {
+                roomIndex.addSection(s);
+            }
+        }
+        publish(snap -> snap.withSection(s));
+        invalidateSearches(live, true);
         return Result.ok(s);
     }
 
+    @Override
+    public Result<Void> addMeetingTime(String secId, TimeSlot slot) {
+        if (slot == null) return Result.fail("Missing info");
+        var secOpt = sectionRepo.findById(secId);
+        if (secOpt.isEmpty()) return Result.fail("Section not found");
+        Section s = secOpt.get();
+
+        synchronized (scheduleWrites) {
+            TimeClash clash = roomIndexFor(s.getTerm()).findClash(s, slot);
+            if (clash != null) {
+                return Result.fail("Room " + slot.getRoom() + " already booked by " + clash.getFirst().getId());
+            }
+            Instructor ins = s.getInstructor();
+            if (ins != null) {
+                Section teaching = teachingLoad.findConflict(ins, s, slot);
+                if (teaching != null) {
+                    return Result.fail("Instructor teaching conflict with " + teaching.getId());
+                }
+            }
+            s.addMeetingTime(slot);
+            roomIndex.add(s, slot);
+            if (ins != null) {
+                teachingLoad.refresh(ins, s);
+            }
+        }
+        publish(snap -> snap.withSection(s));
+        invalidateSearches(s.getCourse(), true);
+        return Result.ok(null);
+    }
+
+    @Override
+    public Result<List<TimeClash>> auditRoomClashes(String term) {
+        return Result.ok(roomAuditor.audit(sectionRepo.findAll(), term));
+    }
+
+    /**
+     * Loads a term's bookings on first use; later changes made through this service keep it current.
+     * Called with {@code scheduleWrites} held.
+     */
+    private RoomOccupancyIndex roomIndexFor(String term) {
+        if (!roomIndex.containsTerm(term)) {
+            roomIndex.registerTerm(term);
+            for (Section s : sectionRepo.findByTerm(term)) {
+                roomIndex.addSection(s);
+            }
+        }
+        return roomIndex;
+    }
+
     @Override
     public Result<Void> assignInstructor(String secId, String insId) {
         var pOpt = personRepo.findById(insId);
@@ -80,10 +248,77 @@ public class CatalogServiceImpl implements CatalogService {
         if (secOpt.isEmpty()) return Result.fail("Section not found");
         
         Section s = secOpt.get();
+        synchronized (scheduleWrites) {
+            if (s.getInstructor() == ins) return Result.ok(null);
+
+            Section clash = teachingLoad.findConflict(ins, s);
+            if (clash != null) {
+                return Result.fail("Instructor teaching conflict with " + clash.getId());
+            }
+            assign(s, ins);
+        }
+        return Result.ok(null);
+    }
+
+    @Override
+    public Result<Void> assignInstructors(Map<String, String> plan) {
+        if (plan == null || plan.isEmpty()) return Result.fail("Empty plan");
+
+        Map<Section, Instructor> resolved = new LinkedHashMap<>();
+        List<String> errors = new ArrayList<>();
+        for (Map.Entry<String, String> e : plan.entrySet()) {
+            var secOpt = sectionRepo.findById(e.getKey());
+            var pOpt = personRepo.findById(e.getValue());
+            if (secOpt.isEmpty()) {
+                errors.add("Section not found: " + e.getKey());
+            } else if (pOpt.isEmpty() || !(pOpt.get() instanceof Instructor)) {
+                errors.add("Not an instructor: " + e.getValue());
+            } else {
+                resolved.put(secOpt.get(), (Instructor) pOpt.get());
+            }
+        }
+        if (!errors.isEmpty()) {
+            return Result.fail(String.join("; ", errors));
+        }
+
+        synchronized (scheduleWrites) {
+            for (TimeClash clash : teachingLoad.validatePlan(resolved)) {
+                errors.add("Teaching conflict: " + clash.getFirst().getId() + " / " + clash.getSecond().getId());
+            }
+            if (!errors.isEmpty()) {
+                return Result.fail(String.join("; ", errors));
+            }
+            for (Map.Entry<Section, Instructor> e : resolved.entrySet()) {
+                assign(e.getKey(), e.getValue());
+            }
+        }
+        return Result.ok(null);
+    }
+
+    /**
+     * Moves the section to the instructor, taking it off the previous instructor's load.
+     * Called with {@code scheduleWrites} held.
+     */
+    private void assign(Section s, Instructor ins) {
+        Instructor previous = s.getInstructor();
+        if (previous == ins) return;
+        if (previous != null) {
+            previous.removeAssignedSection(s);
+            teachingLoad.remove(previous, s);
+        }
         s.setInstructor(ins);
         ins.addAssignedSection(s);
-        
-        return Result.ok(null);
+        teachingLoad.add(ins, s);
+        publish(snap -> snap.withSection(s));
+        invalidateSearches(s.getCourse(), true);
+    }
+
+    /**
+     * Where seats added by {@link #adminOverrideCapacity} go, normally
+     * {@code RegistrationServiceImpl::offerOpenSeats}; with none set the seats simply stay open.
+     */
+    public void setSeatOfferer(SeatOfferer seatOfferer) {
+        this.seatOfferer = seatOfferer;
     }
 
     @Override
@@ -97,10 +332,50 @@ public class CatalogServiceImpl implements CatalogService {
         if (secOpt.isEmpty()) return Result.fail("Section not found");
         Section s = secOpt.get();
 
-        int old = s.getCapacity();
-        s.setCapacity(newCap);
+        // old capacity; committed only against an unchanged section version
+        int[] change = new int[1];
+        long seen;
+        do {
+            seen = s.getVersion();
+        } while (!sectionRepo.compareAndSave(s, seen, sec -> {
+            change[0] = sec.getCapacity();
+            sec.setCapacity(newCap);
+        }));
+        publish(snap -> snap.withSection(s));
+        int old = change[0];
+        // New seats go to the waitlist as offers, like any other freed seat; nobody is enrolled unasked.
+        SeatOfferer offerer = seatOfferer;
+        int offered = newCap > old && offerer != null ? offerer.offerOpenSeats(s) : 0;
 
-        logs.add(new AdminOverrideLog(adminId, "CAPACITY: " + old + "->" + newCap, secId, reason));
+        String action = "CAPACITY: " + old + "->" + newCap;
+        if (offered > 0) {
+            action += " (offered " + offered + " to waitlist)";
+        }
+        logs.add(new AdminOverrideLog(adminId, action, secId, reason));
+        return Result.ok(null);
+    }
+
+    @Override
+    public Result<Void> setWaitlistPolicy(String secId, WaitlistPolicy policy, String adminId, String reason) {
+        var adminOpt = personRepo.findById(adminId);
+        if (adminOpt.isEmpty() || !(adminOpt.get() instanceof Admin)) {
+            return Result.fail("Invalid admin");
+        }
+        if (policy == null) return Result.fail("Missing info");
+
+        var secOpt = sectionRepo.findById(secId);
+        if (secOpt.isEmpty()) return Result.fail("Section not found");
+        Section s = secOpt.get();
+
+        WaitlistPolicy[] old = new WaitlistPolicy[1];
+        long seen;
+        do {
+            seen = s.getVersion();
+        } while (!sectionRepo.compareAndSave(s, seen, sec -> {
+            old[0] = sec.getWaitlistPolicy();
+            sec.setWaitlistPolicy(policy);
+        }));
+        logs.add(new AdminOverrideLog(adminId, "WAITLIST_POLICY: " + old[0] + "->" + policy, secId, reason));
         return Result.ok(null);
     }
 
@@ -124,11 +399,18 @@ public class CatalogServiceImpl implements CatalogService {
         var cOpt = courseRepo.findById(code);
         if (cOpt.isEmpty()) return Result.fail("Course not found");
 
-        Course c = cOpt.get();
-        if (newTitle != null) c.setTitle(newTitle);
-        if (newCredits != null) c.setCredits(newCredits);
+        if (newCredits != null && newCredits <= 0) return Result.fail("Credits must be positive");
 
-        courseRepo.save(c);
+        Course c = cOpt.get();
+        long seen;
+        do {
+            seen = c.getVersion();
+        } while (!courseRepo.compareAndSave(c, seen, course -> {
+            if (newTitle != null) course.setTitle(newTitle);
+            if (newCredits != null) course.setCredits(newCredits);
+        }));
+        publish(snap -> snap.withCourse(c));
+        invalidateSearches(c, false);
         return Result.ok(c);
     }
 
@@ -137,11 +419,10 @@ public class CatalogServiceImpl implements CatalogService {
         if (courseCode == null || courseCode.isBlank()) {
             return Result.fail("Course code required");
         }
+        // The snapshot's per-course index avoids scanning every section; the live sections are returned.
         List<Section> matches = new ArrayList<>();
-        for (Section s : sectionRepo.findAll()) {
-            if (s.getCourse().getCode().equalsIgnoreCase(courseCode)) {
-                matches.add(s);
-            }
+        for (SectionListing listing : snapshot().sectionsOf(courseCode)) {
+            sectionRepo.findById(listing.getId()).ifPresent(matches::add);
         }
         return Result.ok(matches);
     }
@@ -0,0 +1,103 @@
+package edu.uni.registration.service.impl;
+
+import edu.uni.registration.model.Course;
+import edu.uni.registration.model.Section;
+import edu.uni.registration.model.TimeSlot;
+import edu.uni.registration.model.WaitlistPolicy;
+import edu.uni.registration.service.CatalogService;
+import edu.uni.registration.util.CourseQuery;
+import edu.uni.registration.util.Result;
+import edu.uni.registration.util.TokenBucketLimiter;
+import edu.uni.registration.validation.TimeClash;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Per-caller rate limiting in front of a {@link CatalogService}. Catalog calls carry no person id,
+ * so the caller is taken from a supplier (e.g. the logged-in user of a UI); a null caller is not limited.
+ */
+public class RateLimitedCatalogService implements CatalogService {
+
+    private final CatalogService delegate;
+    private final TokenBucketLimiter reads;
+    private final TokenBucketLimiter writes;
+    private final Supplier<String> callerId;
+
+    public RateLimitedCatalogService(CatalogService delegate, TokenBucketLimiter reads, TokenBucketLimiter writes,
+                                     Supplier<String> callerId) {
+        this.delegate = delegate;
+        this.reads = reads;
+        this.writes = writes;
+        this.callerId = callerId;
+    }
+
+    private <T> Result<T> read(Supplier<Result<T>> call) {
+        return RateLimitedRegistrationService.limited(reads, callerId.get(), call);
+    }
+
+    private <T> Result<T> write(Supplier<Result<T>> call) {
+        return RateLimitedRegistrationService.limited(writes, callerId.get(), call);
+    }
+
+    @Override
+    public Result<List<Course>> search(CourseQuery query) {
+        return read(() -> delegate.search(query));
+    }
+
+    @Override
+    public Result<Course> createCourse(String code, String title, int credits) {
+        return write(() -> delegate.createCourse(code, title, credits));
+    }
+
+    @Override
+    public Result<Section> createSection(String id, Course course, String term, int capacity) {
+        return write(() -> delegate.createSection(id, course, term, capacity));
+    }
+
+    @Override
+    public Result<Void> assignInstructor(String sectionId, String instructorId) {
+        return write(() -> delegate.assignInstructor(sectionId, instructorId));
+    }
+
+    @Override
+    public Result<Void> assignInstructors(Map<String, String> plan) {
+        return write(() -> delegate.assignInstructors(plan));
+    }
+
+    @Override
+    public Result<Void> addMeetingTime(String sectionId, TimeSlot slot) {
+        return write(() -> delegate.addMeetingTime(sectionId, slot));
+    }
+
+    @Override
+    public Result<List<TimeClash>> auditRoomClashes(String term) {
+        return read(() -> delegate.auditRoomClashes(term));
+    }
+
+    @Override
+    public Result<Void> adminOverrideCapacity(String sectionId, int newCapacity, String adminId, String reason) {
+        return write(() -> delegate.adminOverrideCapacity(sectionId, newCapacity, adminId, reason));
+    }
+
+    @Override
+    public Result<Void> setWaitlistPolicy(String sectionId, WaitlistPolicy policy, String adminId, String reason) {
+        return write(() -> delegate.setWaitlistPolicy(sectionId, policy, adminId, reason));
+    }
+
+    @Override
+    public Result<List<Section>> getInstructorSections(String instructorId) {
+        return read(() -> delegate.getInstructorSections(instructorId));
+    }
+
+    @Override
+    public Result<Course> updateCourse(String code, String newTitle, Integer newCredits) {
+        return write(() -> delegate.updateCourse(code, newTitle, newCredits));
+    }
+
+    @Override
+    public Result<List<Section>> getSectionsByCourseCode(String courseCode) {
+        return read(() -> delegate.getSectionsByCourseCode(courseCode));
+    }
+}
@@ -0,0 +1,147 @@
+package edu.uni.registration.service.impl;
+
+import edu.uni.registration.model.Enrollment;
+import edu.uni.registration.model.SeatHold;
+import edu.uni.registration.model.SeatOffer;
+import edu.uni.registration.model.Section;
+import edu.uni.registration.model.Transcript;
+import edu.uni.registration.service.RegistrationService;
+import edu.uni.registration.util.IdDictionary;
+import edu.uni.registration.util.Result;
+import edu.uni.registration.util.TokenBucketLimiter;
+import edu.uni.registration.validation.CartItemVerdict;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Per-student rate limiting in front of a {@link RegistrationService}, with separate read and
+ * write budgets. An exhausted budget returns {@code Result.fail} without touching the delegate.
+ * Calls with no student (schedule generation, admin overrides) and unknown ids pass through;
+ * the delegate rejects unknown ids cheaply anyway.
+ */
+public class RateLimitedRegistrationService implements RegistrationService {
+
+    public static final String TOO_MANY_REQUESTS = "Too many requests, please slow down";
+
+    private final RegistrationService delegate;
+    private final TokenBucketLimiter reads;
+    private final TokenBucketLimiter writes;
+
+    public RateLimitedRegistrationService(RegistrationService delegate, TokenBucketLimiter reads,
+                                          TokenBucketLimiter writes) {
+        this.delegate = delegate;
+        this.reads = reads;
+        this.writes = writes;
+    }
+
+    static <T> Result<T> limited(TokenBucketLimiter limiter, String personId, Supplier<Result<T>> call) {
+        int key = IdDictionary.PEOPLE.indexOf(personId);
+        if (key >= 0 && !limiter.tryAcquire(key)) {
+            return Result.fail(TOO_MANY_REQUESTS);
+        }
+        return call.get();
+    }
+
+    @Override
+    public Result<Enrollment> enrollStudentInSection(String studentId, String sectionId) {
+        return limited(writes, studentId, () -> delegate.enrollStudentInSection(studentId, sectionId));
+    }
+
+    @Override
+    public Result<Void> dropStudentInSection(String studentId, String sectionId) {
+        return limited(writes, studentId, () -> delegate.dropStudentInSection(studentId, sectionId));
+    }
+
+    @Override
+    public Result<Enrollment> swapSection(String studentId, String fromSectionId, String toSectionId) {
+        return limited(writes, studentId, () -> delegate.swapSection(studentId, fromSectionId, toSectionId));
+    }
+
+    @Override
+    public Result<SeatHold> holdSeat(String studentId, String sectionId) {
+        return limited(writes, studentId, () -> delegate.holdSeat(studentId, sectionId));
+    }
+
+    @Override
+    public Result<Enrollment> confirmHold(String studentId, String holdId) {
+        return limited(writes, studentId, () -> delegate.confirmHold(studentId, holdId));
+    }
+
+    @Override
+    public Result<Void> releaseHold(String studentId, String holdId) {
+        return limited(writes, studentId, () -> delegate.releaseHold(studentId, holdId));
+    }
+
+    @Override
+    public Result<Enrollment> acceptOffer(String studentId, String offerId) {
+        return limited(writes, studentId, () -> delegate.acceptOffer(studentId, offerId));
+    }
+
+    @Override
+    public Result<Void> declineOffer(String studentId, String offerId) {
+        return limited(writes, studentId, () -> delegate.declineOffer(studentId, offerId));
+    }
+
+    @Override
+    public Result<Enrollment> enrollStudentInSection(String requestId, String studentId, String sectionId) {
+        return limited(writes, studentId, () -> delegate.enrollStudentInSection(requestId, studentId, sectionId));
+    }
+
+    @Override
+    public Result<Void> dropStudentInSection(String requestId, String studentId, String sectionId) {
+        return limited(writes, studentId, () -> delegate.dropStudentInSection(requestId, studentId, sectionId));
+    }
+
+    @Override
+    public Result<Enrollment> swapSection(String requestId, String studentId, String fromSectionId,
+                                          String toSectionId) {
+        return limited(writes, studentId, () -> delegate.swapSection(requestId, studentId, fromSectionId, toSectionId));
+    }
+
+    @Override
+    public Result<SeatHold> holdSeat(String requestId, String studentId, String sectionId) {
+        return limited(writes, studentId, () -> delegate.holdSeat(requestId, studentId, sectionId));
+    }
+
+    @Override
+    public Result<Enrollment> confirmHold(String requestId, String studentId, String holdId) {
+        return limited(writes, studentId, () -> delegate.confirmHold(requestId, studentId, holdId));
+    }
+
+    @Override
+    public Result<Enrollment> acceptOffer(String requestId, String studentId, String offerId) {
+        return limited(writes, studentId, () -> delegate.acceptOffer(requestId, studentId, offerId));
+    }
+
+    @Override
+    public Result<List<SeatOffer>> getPendingOffers(String studentId) {
+        return limited(reads, studentId, () -> delegate.getPendingOffers(studentId));
+    }
+
+    @Override
+    public Result<List<Section>> getCurrentSchedule(String studentId, String term) {
+        return limited(reads, studentId, () -> delegate.getCurrentSchedule(studentId, term));
+    }
+
+    @Override
+    public Result<List<CartItemVerdict>> validateCart(String studentId, List<String> sectionIds) {
+        return limited(reads, studentId, () -> delegate.validateCart(studentId, sectionIds));
+    }
+
+    @Override
+    public Result<Transcript> getTranscript(String studentId) {
+        return limited(reads, studentId, () -> delegate.getTranscript(studentId));
+    }
+
+    @Override
+    public Result<Stream<List<Section>>> generateSchedules(List<String> courseCodes, String term) {
+        return delegate.generateSchedules(courseCodes, term);
+    }
+
+    @Override
+    public Result<Enrollment> adminOverrideEnroll(String studentId, String sectionId, String adminId, String reason) {
+        return delegate.adminOverrideEnroll(studentId, sectionId, adminId, reason);
+    }
+}
@@ -3,15 +3,37 @@ package edu.uni.registration.service.impl;
 import edu.uni.registration.model.*;
 import edu.uni.registration.model.Admin;
 import edu.uni.registration.model.Enrollment.EnrollmentStatus;
+import edu.uni.registration.validation.CartItemVerdict;
+import edu.uni.registration.validation.MeetingTimeSweep;
 import edu.uni.registration.validation.PrerequisiteValidator;
+import edu.uni.registration.validation.ScheduleConflictChecker;
+import edu.uni.registration.validation.TimeClash;
 import edu.uni.registration.service.RegistrationService;
 import edu.uni.registration.repository.*;
+import edu.uni.registration.scheduling.ScheduleGenerator;
 import edu.uni.registration.util.AdminOverrideLog;
+import edu.uni.registration.util.IdDictionary;
+import edu.uni.registration.util.RequestDeduplicator;
 import edu.uni.registration.util.Result;
+import edu.uni.registration.util.TimingWheel;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Core registration logic: enroll, drop, waitlist management.
@@ -22,27 +44,71 @@ public class RegistrationServiceImpl implements RegistrationService {
     private final SectionRepository sectionRepo;
     private final EnrollmentRepository enrollmentRepo;
     private final PrerequisiteValidator validator;
+    private final ScheduleConflictChecker conflictChecker = new ScheduleConflictChecker();
+    private final ScheduleGenerator scheduleGenerator = new ScheduleGenerator();
     private final TranscriptRepository transcriptRepo;
     private final PersonRepository personRepo;
     private final List<AdminOverrideLog> logs;
 
+    /** Default time a held seat stays reserved before it returns to the section. */
+    public static final long DEFAULT_SEAT_HOLD_MILLIS = 10 * 60_000L;
+    private static final long TIMER_TICK_MILLIS = 1_000L;
+
+    private final TimingWheel<Runnable> timers;
+    private final Map<String, SeatHold> holds = new ConcurrentHashMap<>();
+    private final Map<Long, SeatHold> holdsByPair = new ConcurrentHashMap<>();
+    private final Map<String, TimingWheel.Timeout<Runnable>> holdTimeouts = new ConcurrentHashMap<>();
+    private final AtomicLong holdSequence = new AtomicLong();
+    private volatile long seatHoldMillis = DEFAULT_SEAT_HOLD_MILLIS;
+    // Daemon tick that fires deadlines between calls; null until startExpiryTicker. Guarded by this.
+    private ScheduledExecutorService expiryTicker;
+
+    /** Default time a waitlisted student has to accept an offered seat. */
+    public static final long DEFAULT_OFFER_WINDOW_MILLIS = 24 * 60 * 60_000L;
+    private final Map<String, SeatOffer> offers = new ConcurrentHashMap<>();
+    private final Map<Long, SeatOffer> offersByPair = new ConcurrentHashMap<>();
+    // Student dense index -> that student's open offers; lists are replaced, never changed in place.
+    private final Map<Integer, List<SeatOffer>> offersByStudent = new ConcurrentHashMap<>();
+    private final Map<String, TimingWheel.Timeout<Runnable>> offerTimeouts = new ConcurrentHashMap<>();
+    private final AtomicLong offerSequence = new AtomicLong();
+    private volatile long offerWindowMillis = DEFAULT_OFFER_WINDOW_MILLIS;
+
+    /** How long a request id is remembered, comfortably longer than any client retry loop. */
+    public static final long REQUEST_ID_TTL_MILLIS = 15 * 60_000L;
+    private static final int MAX_REMEMBERED_REQUESTS = 100_000;
+    private final RequestDeduplicator requests;
+
     public RegistrationServiceImpl(StudentRepository studentRepo,
                                SectionRepository sectionRepo,
                                PrerequisiteValidator validator,
                                TranscriptRepository transcriptRepo,
                                PersonRepository personRepo,
                                EnrollmentRepository enrollmentRepo) {
+        this(studentRepo, sectionRepo, validator, transcriptRepo, personRepo, enrollmentRepo, System::currentTimeMillis);
+    }
+
+    /** Same as above with an explicit millisecond clock for hold and offer deadlines. */
+    public RegistrationServiceImpl(StudentRepository studentRepo,
+                               SectionRepository sectionRepo,
+                               PrerequisiteValidator validator,
+                               TranscriptRepository transcriptRepo,
+                               PersonRepository personRepo,
+                               EnrollmentRepository enrollmentRepo,
+                               LongSupplier clock) {
+        this.timers = new TimingWheel<>(TIMER_TICK_MILLIS, 64, clock);
+        this.requests = new RequestDeduplicator(MAX_REMEMBERED_REQUESTS, REQUEST_ID_TTL_MILLIS, clock);
         this.studentRepo = studentRepo;
         this.sectionRepo = sectionRepo;
         this.validator = validator;
         this.transcriptRepo = transcriptRepo;
         this.personRepo = personRepo;
         this.enrollmentRepo = enrollmentRepo;
-        this.logs = new ArrayList<>();
+        this.logs = Collections.synchronizedList(new ArrayList<>());
     }
 
     @Override
     public Result<Enrollment> enrollStudentInSection(String sid, String secId) {
+        runExpiredTimers();
         if (sid == null || secId == null) return Result.fail("Missing ID");
 
         var sOpt = studentRepo.findById(sid);
@@ -52,6 +118,7 @@ public class RegistrationServiceImpl implements RegistrationService {
         var secOpt = sectionRepo.findById(secId);
         if (secOpt.isEmpty()) return Result.fail("Section not found: " + secId);
         Section sec = secOpt.get();
+        if (sec.findActiveEnrollment(s) != null) return Result.fail("Already in " + secId);
 
         var tOpt = transcriptRepo.findById(s.getId());
         if (tOpt.isEmpty()) return Result.fail("No transcript for " + s.getId());
@@ -67,22 +134,32 @@ public class RegistrationServiceImpl implements RegistrationService {
 
         Enrollment enr = new Enrollment(s, sec);
 
-        if (sec.isFull()) {
-            if (sec.isWaitlistFull()) {
-                return Result.fail("Section/Waitlist full");
+        // Decide against the section version we read and commit only if it is unchanged; on a
+        // conflict (another enroll, drop or hold got there first) re-read and decide again.
+        // The read takes the section monitor only briefly, so the version and the counts agree.
+        while (true) {
+            long seen;
+            synchronized (sec) {
+                seen = sec.getVersion();
+                if (sec.findActiveEnrollment(s) != null) return Result.fail("Already in " + secId);
+                if (sec.isFull()) {
+                    if (sec.isWaitlistFull()) {
+                        return Result.fail("Section/Waitlist full");
+                    }
+                    enr.setStatus(EnrollmentStatus.WAITLISTED);
+                } else {
+                    enr.setStatus(EnrollmentStatus.ENROLLED);
+                }
+            }
+            if (sectionRepo.compareAndSave(sec, seen, x -> enrollmentRepo.save(enr))) {
+                return Result.ok(enr);
             }
-            enr.setStatus(EnrollmentStatus.WAITLISTED);
-        } else {
-            enr.setStatus(EnrollmentStatus.ENROLLED);
         }
-
-        sec.addEnrollment(enr);
-        enrollmentRepo.save(enr);
-        return Result.ok(enr);
     }
 
     @Override
     public Result<Void> dropStudentInSection(String sid, String secId) {
+        runExpiredTimers();
         if (sid == null || secId == null) return Result.fail("IDs required");
 
         var sOpt = studentRepo.findById(sid);
@@ -92,30 +169,84 @@ public class RegistrationServiceImpl implements RegistrationService {
         if (secOpt.isEmpty()) return Result.fail("Section not found");
         Section sec = secOpt.get();
 
-        Enrollment target = null;
-        for (Enrollment e : sec.getRoster()) {
-            if (e.getStudent().getId().equals(sid) &&
-                    (e.getStatus() == EnrollmentStatus.ENROLLED || e.getStatus() == EnrollmentStatus.WAITLISTED)) {
-                target = e;
-                break;
-            }
+        Enrollment target = enrollmentRepo.findByStudentAndSection(sOpt.get(), sec).orElse(null);
+
+        // The enrollment's version guards against a concurrent drop (or a retried one) of the same seat.
+        while (true) {
+            if (target == null || target.getStatus() == EnrollmentStatus.DROPPED) return Result.fail("Not enrolled");
+            long seen = target.getVersion();
+            boolean dropped = enrollmentRepo.compareAndSave(target, seen, e -> {
+                synchronized (sec) {
+                    EnrollmentStatus oldStatus = e.getStatus();
+                    enrollmentRepo.archive(e);
+
+                    SeatOffer offer = offersByPair.get(pairKey(sOpt.get(), sec));
+                    if (offer != null && removeOffer(offer)) {
+                        sec.releaseHeldSeat();
+                    }
+                    if (oldStatus == EnrollmentStatus.ENROLLED || offer != null) {
+                        offerOpenSeats(sec);
+                    }
+                }
+            });
+            if (dropped) return Result.ok(null);
         }
+    }
 
-        if (target == null) return Result.fail("Not enrolled");
+    @Override
+    public Result<Enrollment> swapSection(String sid, String fromSecId, String toSecId) {
+        runExpiredTimers();
+        if (sid == null || fromSecId == null || toSecId == null) return Result.fail("IDs required");
+        if (fromSecId.equals(toSecId)) return Result.fail("Cannot swap a section with itself");
 
-        EnrollmentStatus oldStatus = target.getStatus();
-        target.setStatus(EnrollmentStatus.DROPPED);
+        var sOpt = studentRepo.findById(sid);
+        if (sOpt.isEmpty()) return Result.fail("Student not found: " + sid);
+        Student s = sOpt.get();
 
-        if (oldStatus == EnrollmentStatus.ENROLLED) {
-            for (Enrollment e : sec.getRoster()) {
-                if (e.getStatus() == EnrollmentStatus.WAITLISTED) {
-                    e.setStatus(EnrollmentStatus.ENROLLED);
-                    break;
+        var fromOpt = sectionRepo.findById(fromSecId);
+        var toOpt = sectionRepo.findById(toSecId);
+        if (fromOpt.isEmpty()) return Result.fail("Section not found: " + fromSecId);
+        if (toOpt.isEmpty()) return Result.fail("Section not found: " + toSecId);
+        Section from = fromOpt.get();
+        Section to = toOpt.get();
+
+        Enrollment current = enrollmentRepo.findByStudentAndSection(s, from).orElse(null);
+        if (current == null || current.getStatus() != EnrollmentStatus.ENROLLED) {
+            return Result.fail("Not enrolled in " + fromSecId);
+        }
+        if (to.findActiveEnrollment(s) != null) return Result.fail("Already in " + toSecId);
+
+        var tOpt = transcriptRepo.findById(s.getId());
+        if (tOpt.isEmpty()) return Result.fail("No transcript for " + s.getId());
+        if (!validator.hasCompletedPrerequisites(tOpt.get(), to.getCourse())) {
+            return Result.fail("Prereqs not met");
+        }
+
+        // The seat being given up must not count as a conflict with its replacement.
+        Section conflict = findFirstConflictSection(s, to, from);
+        if (conflict != null) {
+            return Result.fail("Time conflict with " + conflict.getId());
+        }
+
+        // Fixed lock order (dense section index) so two opposite swaps cannot deadlock.
+        Section first = from.getIndex() < to.getIndex() ? from : to;
+        Section second = first == from ? to : from;
+        synchronized (first) {
+            synchronized (second) {
+                if (current.getStatus() != EnrollmentStatus.ENROLLED) {
+                    return Result.fail("Not enrolled in " + fromSecId);
+                }
+                if (to.isFull()) {
+                    return Result.fail("No open seat in " + toSecId);
                 }
+                Enrollment enr = new Enrollment(s, to);
+                enr.setStatus(EnrollmentStatus.ENROLLED);
+                enrollmentRepo.save(enr);
+                enrollmentRepo.archive(current);
+                offerOpenSeats(from);
+                return Result.ok(enr);
             }
         }
-        
-        return Result.ok(null);
     }
 
     @Override
@@ -138,22 +269,26 @@ public class RegistrationServiceImpl implements RegistrationService {
             result.add(section);
         }
 
-        for (Section section : sectionRepo.findAll()) {
-            if (term != null && !term.isBlank() && !term.equals(section.getTerm())) {
-                continue;
-            }
-            for (Enrollment e : section.getRoster()) {
-                if ((e.getStatus() == EnrollmentStatus.ENROLLED || e.getStatus() == EnrollmentStatus.WAITLISTED) 
-                    && studentId.equals(e.getStudent().getId())) {
-                    if (!result.contains(section)) {
-                        result.add(section);
-                    }
-                    break;
+        return Result.ok(result);
+    }
+
+    @Override
+    public Result<Stream<List<Section>>> generateSchedules(List<String> courseCodes, String term) {
+        if (courseCodes == null || courseCodes.isEmpty()) return Result.fail("No courses given");
+        if (term == null || term.isBlank()) return Result.fail("Term cannot be empty");
+
+        List<List<Section>> options = new ArrayList<>();
+        for (String code : new LinkedHashSet<>(courseCodes)) {
+            List<Section> sections = new ArrayList<>();
+            for (Section s : sectionRepo.findByCourseCode(code)) {
+                if (term.equals(s.getTerm())) {
+                    sections.add(s);
                 }
             }
+            if (sections.isEmpty()) return Result.fail("No sections of " + code + " in " + term);
+            options.add(sections);
         }
-
-        return Result.ok(result);
+        return Result.ok(scheduleGenerator.generate(options));
     }
 
     @Override
@@ -169,27 +304,368 @@ public class RegistrationServiceImpl implements RegistrationService {
         return Result.ok(transcript);
     }
 
-    private Section findFirstConflictSection(Student student, Section target) {
-        List<Section> all = sectionRepo.findAll();
-
-        for (Section existing : all) {
-            boolean enrolledHere = false;
-            for (Enrollment e : existing.getRoster()) {
-                if (e.getStudent().getId().equals(student.getId()) &&
-                        e.getStatus() == EnrollmentStatus.ENROLLED) {
-                    enrolledHere = true;
-                    break;
+    @Override
+    public Result<List<CartItemVerdict>> validateCart(String studentId, List<String> sectionIds) {
+        runExpiredTimers();
+        if (studentId == null) return Result.fail("Student ID cannot be null");
+        if (sectionIds == null || sectionIds.isEmpty()) return Result.fail("Cart is empty");
+        var sOpt = studentRepo.findById(studentId);
+        if (sOpt.isEmpty()) return Result.fail("Student not found: " + studentId);
+        Student student = sOpt.get();
+        var tOpt = transcriptRepo.findById(studentId);
+
+        List<CartItemVerdict> verdicts = new ArrayList<>();
+        Map<Section, CartItemVerdict> inCart = new IdentityHashMap<>();
+        Set<String> seen = new HashSet<>();
+        for (String secId : sectionIds) {
+            Section sec = secId == null ? null : sectionRepo.findById(secId).orElse(null);
+            CartItemVerdict v = new CartItemVerdict(secId, sec);
+            verdicts.add(v);
+            if (sec == null) {
+                v.addProblem("Section not found");
+                continue;
+            }
+            if (!seen.add(secId)) {
+                v.addProblem("Duplicate cart item");
+                continue;
+            }
+            inCart.put(sec, v);
+            if (sec.findActiveEnrollment(student) != null) {
+                v.addProblem("Already enrolled or waitlisted");
+            }
+            if (tOpt.isEmpty()) {
+                v.addProblem("No transcript for " + studentId);
+            } else if (!validator.hasCompletedPrerequisites(tOpt.get(), sec.getCourse())) {
+                v.addProblem("Prereqs not met");
+            }
+            if (sec.isFull()) {
+                if (sec.isWaitlistFull()) {
+                    v.addProblem("Section/Waitlist full");
+                } else {
+                    v.markWaitlisted();
                 }
             }
+        }
+
+        // One sweep over the enrolled schedule plus every cart item finds all overlapping pairs at once.
+        MeetingTimeSweep sweep = new MeetingTimeSweep();
+        for (Enrollment e : enrollmentRepo.findByStudent(studentId)) {
+            if (e.getStatus() == EnrollmentStatus.ENROLLED && !inCart.containsKey(e.getSection())) {
+                sweep.addAll(e.getSection());
+            }
+        }
+        for (Section sec : inCart.keySet()) {
+            sweep.addAll(sec);
+        }
+        for (TimeClash clash : sweep.findClashes()) {
+            CartItemVerdict first = inCart.get(clash.getFirst());
+            CartItemVerdict second = inCart.get(clash.getSecond());
+            if (first != null) first.addProblem("Time conflict with " + clash.getSecond().getId());
+            if (second != null) second.addProblem("Time conflict with " + clash.getFirst().getId());
+        }
+        return Result.ok(verdicts);
+    }
 
-            if (!enrolledHere) continue;
+    public void setSeatHoldMillis(long seatHoldMillis) {
+        if (seatHoldMillis <= 0) {
+            throw new IllegalArgumentException("Hold duration must be positive");
+        }
+        this.seatHoldMillis = seatHoldMillis;
+    }
 
-            for (TimeSlot a : existing.getMeetingTimes()) {
-                for (TimeSlot b : target.getMeetingTimes()) {
-                    if (a.overlaps(b)) {
-                        return existing;
-                    }
+    @Override
+    public Result<SeatHold> holdSeat(String sid, String secId) {
+        runExpiredTimers();
+        if (sid == null || secId == null) return Result.fail("Missing ID");
+
+        var sOpt = studentRepo.findById(sid);
+        if (sOpt.isEmpty()) return Result.fail("Student not found: " + sid);
+        Student s = sOpt.get();
+        var secOpt = sectionRepo.findById(secId);
+        if (secOpt.isEmpty()) return Result.fail("Section not found: " + secId);
+        Section sec = secOpt.get();
+
+        if (sec.findActiveEnrollment(s) != null) return Result.fail("Already in " + secId);
+        long pair = pairKey(s, sec);
+        if (holdsByPair.containsKey(pair)) return Result.fail("Seat already held in " + secId);
+
+        var tOpt = transcriptRepo.findById(s.getId());
+        if (tOpt.isEmpty()) return Result.fail("No transcript for " + s.getId());
+        if (!validator.hasCompletedPrerequisites(tOpt.get(), sec.getCourse())) {
+            return Result.fail("Prereqs not met");
+        }
+        Section conflict = findFirstConflictSection(s, sec);
+        if (conflict != null) {
+            return Result.fail("Time conflict with " + conflict.getId());
+        }
+
+        if (!sec.tryHoldSeat()) return Result.fail("No open seat in " + secId);
+        SeatHold hold = new SeatHold("H" + holdSequence.incrementAndGet(), s, sec, timers.now() + seatHoldMillis);
+        if (holdsByPair.putIfAbsent(pair, hold) != null) {
+            sec.releaseHeldSeat();
+            return Result.fail("Seat already held in " + secId);
+        }
+        holds.put(hold.getId(), hold);
+        holdTimeouts.put(hold.getId(), timers.schedule(() -> expireHold(hold), seatHoldMillis));
+        return Result.ok(hold);
+    }
+
+    @Override
+    public Result<Enrollment> confirmHold(String sid, String holdId) {
+        runExpiredTimers();
+        SeatHold hold = holdId == null ? null : holds.get(holdId);
+        if (hold == null) return Result.fail("Hold not found or expired");
+        if (!hold.getStudent().getId().equals(sid)) return Result.fail("Hold belongs to another student");
+
+        Section sec = hold.getSection();
+        // The student may have picked up a clashing section since placing the hold.
+        Section conflict = findFirstConflictSection(hold.getStudent(), sec);
+        if (conflict != null) {
+            return Result.fail("Time conflict with " + conflict.getId());
+        }
+        if (!removeHold(hold)) return Result.fail("Hold not found or expired");
+
+        Enrollment enr = new Enrollment(hold.getStudent(), sec);
+        synchronized (sec) {
+            sec.releaseHeldSeat();
+            if (sec.findActiveEnrollment(hold.getStudent()) != null) {
+                offerOpenSeats(sec);
+                return Result.fail("Already in " + sec.getId());
+            }
+            enr.setStatus(EnrollmentStatus.ENROLLED);
+            enrollmentRepo.save(enr);
+        }
+        return Result.ok(enr);
+    }
+
+    @Override
+    public Result<Void> releaseHold(String sid, String holdId) {
+        runExpiredTimers();
+        SeatHold hold = holdId == null ? null : holds.get(holdId);
+        if (hold == null) return Result.fail("Hold not found or expired");
+        if (!hold.getStudent().getId().equals(sid)) return Result.fail("Hold belongs to another student");
+        if (removeHold(hold)) {
+            returnHeldSeat(hold.getSection());
+        }
+        return Result.ok(null);
+    }
+
+    /** Unregisters a hold; false if it was already confirmed, released or expired. */
+    private boolean removeHold(SeatHold hold) {
+        if (!holds.remove(hold.getId(), hold)) {
+            return false;
+        }
+        holdsByPair.remove(pairKey(hold.getStudent(), hold.getSection()), hold);
+        timers.cancel(holdTimeouts.remove(hold.getId()));
+        return true;
+    }
+
+    private void expireHold(SeatHold hold) {
+        if (holds.remove(hold.getId(), hold)) {
+            holdsByPair.remove(pairKey(hold.getStudent(), hold.getSection()), hold);
+            holdTimeouts.remove(hold.getId());
+            returnHeldSeat(hold.getSection());
+        }
+    }
+
+    private void returnHeldSeat(Section sec) {
+        synchronized (sec) {
+            sec.releaseHeldSeat();
+            offerOpenSeats(sec);
+        }
+    }
+
+    public void setOfferWindowMillis(long offerWindowMillis) {
+        if (offerWindowMillis <= 0) {
+            throw new IllegalArgumentException("Offer window must be positive");
+        }
+        this.offerWindowMillis = offerWindowMillis;
+    }
+
+    /**
+     * Offers every free seat to the next waitlisted students, holding one seat per offer, and
+     * returns how many offers were made. Walks the waitlist heap only; the roster is never scanned.
+     * Also the hook for seats added outside this service, e.g. a raised capacity.
+     */
+    public int offerOpenSeats(Section sec) {
+        int made = 0;
+        synchronized (sec) {
+            while (sec.tryHoldSeat()) {
+                Enrollment next = sec.pollWaitlist();
+                if (next == null) {
+                    sec.releaseHeldSeat();
+                    break;
                 }
+                SeatOffer offer = new SeatOffer("O" + offerSequence.incrementAndGet(), next,
+                        timers.now() + offerWindowMillis);
+                offers.put(offer.getId(), offer);
+                offersByPair.put(pairKey(next.getStudent(), sec), offer);
+                offersByStudent.merge(next.getStudent().getIndex(), List.of(offer), RegistrationServiceImpl::plus);
+                offerTimeouts.put(offer.getId(), timers.schedule(() -> expireOffer(offer), offerWindowMillis));
+                made++;
+            }
+        }
+        return made;
+    }
+
+    @Override
+    public Result<List<SeatOffer>> getPendingOffers(String sid) {
+        runExpiredTimers();
+        if (sid == null) return Result.fail("Student ID cannot be null");
+        return Result.ok(new ArrayList<>(offersByStudent.getOrDefault(IdDictionary.PEOPLE.indexOf(sid), List.of())));
+    }
+
+    @Override
+    public Result<Enrollment> acceptOffer(String sid, String offerId) {
+        runExpiredTimers();
+        SeatOffer offer = offerId == null ? null : offers.get(offerId);
+        if (offer == null) return Result.fail("Offer not found or expired");
+        if (!offer.getStudent().getId().equals(sid)) return Result.fail("Offer belongs to another student");
+
+        // Circumstances may have changed since the student joined the waitlist.
+        // An offer that can no longer be taken is given up like a declined one, so the seat
+        // cascades now instead of sitting held until the offer window runs out.
+        Student s = offer.getStudent();
+        Section sec = offer.getSection();
+        var tOpt = transcriptRepo.findById(s.getId());
+        if (tOpt.isEmpty() || !validator.hasCompletedPrerequisites(tOpt.get(), sec.getCourse())) {
+            if (removeOffer(offer)) passOn(offer);
+            return Result.fail("Prereqs not met");
+        }
+        Section conflict = findFirstConflictSection(s, sec);
+        if (conflict != null) {
+            if (removeOffer(offer)) passOn(offer);
+            return Result.fail("Time conflict with " + conflict.getId());
+        }
+
+        synchronized (sec) {
+            if (!removeOffer(offer)) return Result.fail("Offer not found or expired");
+            sec.releaseHeldSeat();
+            offer.getEnrollment().setStatus(EnrollmentStatus.ENROLLED);
+        }
+        return Result.ok(offer.getEnrollment());
+    }
+
+    @Override
+    public Result<Void> declineOffer(String sid, String offerId) {
+        runExpiredTimers();
+        SeatOffer offer = offerId == null ? null : offers.get(offerId);
+        if (offer == null) return Result.fail("Offer not found or expired");
+        if (!offer.getStudent().getId().equals(sid)) return Result.fail("Offer belongs to another student");
+        if (removeOffer(offer)) {
+            passOn(offer);
+        }
+        return Result.ok(null);
+    }
+
+    private boolean removeOffer(SeatOffer offer) {
+        if (!offers.remove(offer.getId(), offer)) {
+            return false;
+        }
+        unindexOffer(offer);
+        timers.cancel(offerTimeouts.remove(offer.getId()));
+        return true;
+    }
+
+    private void expireOffer(SeatOffer offer) {
+        if (offers.remove(offer.getId(), offer)) {
+            unindexOffer(offer);
+            offerTimeouts.remove(offer.getId());
+            passOn(offer);
+        }
+    }
+
+    private void unindexOffer(SeatOffer offer) {
+        offersByPair.remove(pairKey(offer.getStudent(), offer.getSection()), offer);
+        offersByStudent.computeIfPresent(offer.getStudent().getIndex(), (k, list) -> minus(list, offer));
+    }
+
+    private static List<SeatOffer> plus(List<SeatOffer> list, List<SeatOffer> added) {
+        List<SeatOffer> copy = new ArrayList<>(list);
+        copy.addAll(added);
+        return List.copyOf(copy);
+    }
+
+    /** The list without {@code offer}, or null (dropping the entry) when nothing is left. */
+    private static List<SeatOffer> minus(List<SeatOffer> list, SeatOffer offer) {
+        List<SeatOffer> copy = new ArrayList<>(list);
+        copy.remove(offer);
+        return copy.isEmpty() ? null : List.copyOf(copy);
+    }
+
+    /** An unanswered or declined offer gives up the waitlist spot; the seat cascades to the next student. */
+    private void passOn(SeatOffer offer) {
+        Section sec = offer.getSection();
+        synchronized (sec) {
+            if (offer.getEnrollment().getStatus() == EnrollmentStatus.WAITLISTED) {
+                enrollmentRepo.archive(offer.getEnrollment());
+            }
+            sec.releaseHeldSeat();
+            offerOpenSeats(sec);
+        }
+    }
+
+    /**
+     * Fires every hold/offer deadline that has passed; called at the start of each seat-affecting
+     * call and by the expiry ticker.
+     */
+    private void runExpiredTimers() {
+        for (Runnable expiry : timers.advance()) {
+            expiry.run();
+        }
+    }
+
+    /**
+     * Starts a daemon thread that fires expired holds and offers once per wheel tick, so a quiet
+     * section gets its seats back without waiting for the next call that touches seats. Deadlines
+     * are still checked at the start of each such call. Does nothing if already started.
+     */
+    public synchronized void startExpiryTicker() {
+        if (expiryTicker != null) return;
+        expiryTicker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "seat-expiry");
+            t.setDaemon(true);
+            return t;
+        });
+        expiryTicker.scheduleWithFixedDelay(() -> {
+            try {
+                runExpiredTimers();
+            } catch (RuntimeException e) {
+                // a failed expiry must not cancel every later tick
+            }
+        }, TIMER_TICK_MILLIS, TIMER_TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stopExpiryTicker() {
+        if (expiryTicker != null) {
+            expiryTicker.shutdownNow();
+            expiryTicker = null;
+        }
+    }
+
+    private static long pairKey(Student s, Section sec) {
+        return ((long) s.getIndex() << 32) | (sec.getIndex() & 0xFFFFFFFFL);
+    }
+
+    private Section findFirstConflictSection(Student student, Section target) {
+        return findFirstConflictSection(student, target, null);
+    }
+
+    /** Same as above, ignoring {@code excluded} (the section a swap is leaving). */
+    private Section findFirstConflictSection(Student student, Section target, Section excluded) {
+        List<Section> enrolled = new ArrayList<>();
+        WeeklyOccupancy busy = WeeklyOccupancy.EMPTY;
+        for (Enrollment e : enrollmentRepo.findByStudent(student.getId())) {
+            if (e.getStatus() != EnrollmentStatus.ENROLLED || e.getSection() == excluded) continue;
+            enrolled.add(e.getSection());
+            busy = busy.union(e.getSection().getOccupancy());
+        }
+        // one bitmap AND clears the common no-conflict case without looking at any slot
+        if (!busy.intersects(target.getOccupancy())) return null;
+
+        for (Section existing : enrolled) {
+            if (conflictChecker.conflicts(existing, target)) {
+                return existing;
             }
         }
         return null;
@@ -209,16 +685,74 @@ public class RegistrationServiceImpl implements RegistrationService {
             return Result.fail("Admin privileges required");
         }
         
-        Enrollment enr = new Enrollment(sOpt.get(), secOpt.get());
-        enr.setStatus(EnrollmentStatus.ENROLLED);
-        secOpt.get().addEnrollment(enr);
-        enrollmentRepo.save(enr);
+        Section sec = secOpt.get();
+        Enrollment enr;
+        synchronized (sec) {
+            // A waitlisted student is moved onto the roster rather than enrolled a second time.
+            enr = sec.findActiveEnrollment(sOpt.get());
+            if (enr != null && enr.getStatus() == EnrollmentStatus.ENROLLED) {
+                return Result.fail("Already in " + secId);
+            }
+            if (enr == null) {
+                enr = new Enrollment(sOpt.get(), sec);
+                enr.setStatus(EnrollmentStatus.ENROLLED);
+                enrollmentRepo.save(enr);
+            } else {
+                enr.setStatus(EnrollmentStatus.ENROLLED);
+                // An open offer for this student is settled by the override; its held seat is the one now taken.
+                SeatOffer offer = offersByPair.get(pairKey(sOpt.get(), sec));
+                if (offer != null && removeOffer(offer)) {
+                    sec.releaseHeldSeat();
+                }
+            }
+        }
         
         logs.add(new AdminOverrideLog(adminId, "FORCE_ENROLL", secId, reason));
         
         return Result.ok(enr);
     }
 
+    @Override
+    public Result<Enrollment> enrollStudentInSection(String requestId, String sid, String secId) {
+        return once(requestId, sid, "enroll/" + secId, () -> enrollStudentInSection(sid, secId));
+    }
+
+    @Override
+    public Result<Void> dropStudentInSection(String requestId, String sid, String secId) {
+        return once(requestId, sid, "drop/" + secId, () -> dropStudentInSection(sid, secId));
+    }
+
+    @Override
+    public Result<Enrollment> swapSection(String requestId, String sid, String fromSecId, String toSecId) {
+        return once(requestId, sid, "swap/" + fromSecId + "/" + toSecId, () -> swapSection(sid, fromSecId, toSecId));
+    }
+
+    @Override
+    public Result<SeatHold> holdSeat(String requestId, String sid, String secId) {
+        return once(requestId, sid, "hold/" + secId, () -> holdSeat(sid, secId));
+    }
+
+    @Override
+    public Result<Enrollment> confirmHold(String requestId, String sid, String holdId) {
+        return once(requestId, sid, "confirm/" + holdId, () -> confirmHold(sid, holdId));
+    }
+
+    @Override
+    public Result<Enrollment> acceptOffer(String requestId, String sid, String offerId) {
+        return once(requestId, sid, "accept/" + offerId, () -> acceptOffer(sid, offerId));
+    }
+
+    /** Replays of a known request id are a map lookup; ids are scoped per student. */
+    private <T> Result<T> once(String requestId, String sid, String fingerprint, Supplier<Result<T>> call) {
+        if (requestId == null) return call.get();
+        return requests.execute(sid + "/" + requestId, fingerprint, call);
+    }
+
+    /** Calls answered from the request-id cache since startup. */
+    public long getReplayedRequestCount() {
+        return requests.replayCount();
+    }
+
     public List<AdminOverrideLog> getOverrideLogs() {
         return new ArrayList<>(logs);
     }
@@ -0,0 +1,40 @@
+package edu.uni.registration.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts failed optimistic writes per entity id, to show which sections or courses are hot.
+ * Recording is a striped add, so counting contention does not itself contend.
+ */
+public class ContentionCounter {
+
+    private final Map<String, LongAdder> conflicts = new ConcurrentHashMap<>();
+    private final LongAdder total = new LongAdder();
+
+    public void record(String id) {
+        conflicts.computeIfAbsent(id, k -> new LongAdder()).increment();
+        total.increment();
+    }
+
+    public long count(String id) {
+        LongAdder n = conflicts.get(id);
+        return n == null ? 0 : n.sum();
+    }
+
+    public long total() {
+        return total.sum();
+    }
+
+    /** Ids with the most conflicts, most contended first. */
+    public List<Map.Entry<String, Long>> top(int limit) {
+        List<Map.Entry<String, Long>> all = new ArrayList<>(conflicts.size());
+        conflicts.forEach((id, n) -> all.add(Map.entry(id, n.sum())));
+        all.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()));
+        return all.subList(0, Math.min(limit, all.size()));
+    }
+}
@@ -1,7 +1,9 @@
 package edu.uni.registration.util;
 
+import edu.uni.registration.model.CatalogSnapshot;
 import edu.uni.registration.model.Course;
 import edu.uni.registration.model.Section;
+import edu.uni.registration.model.SectionListing;
 import edu.uni.registration.model.TimeSlot;
 import edu.uni.registration.repository.SectionRepository;
 
@@ -75,6 +77,26 @@ public class CourseQuery implements Specification<Course> {
 
     @Override
     public boolean isSatisfiedBy(Course course) {
+        if (!matchesCourseFields(course)) return false;
+        if (needsSectionCheck()) {
+            return checkSections(course);
+        }
+        return true;
+    }
+
+    /** Same test, with instructor and meeting-time filters answered from a catalog snapshot. */
+    public boolean isSatisfiedBy(Course course, CatalogSnapshot catalog) {
+        if (!matchesCourseFields(course)) return false;
+        if (needsSectionCheck()) {
+            for (SectionListing listing : catalog.sectionsOf(course.getCode())) {
+                if (sectionMatches(listing.getInstructorName(), listing.getMeetingTimes())) return true;
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private boolean matchesCourseFields(Course course) {
         if (course == null) return false;
         
         // If code and title are the same (normal keyword search), use OR logic
@@ -107,14 +129,54 @@ public class CourseQuery implements Specification<Course> {
 
         if (minCredits != null && course.getCredits() < minCredits) return false;
         if (maxCredits != null && course.getCredits() > maxCredits) return false;
-        
-        if (needsSectionCheck()) {
-            return checkSections(course);
-        }
-        
         return true;
     }
     
+    /** True if the result also depends on sections (instructor or meeting-time filters). */
+    public boolean dependsOnSections() {
+        return needsSectionCheck();
+    }
+
+    /**
+     * Canonical form of the filters for use as a cache key: two queries with equal keys match
+     * exactly the same courses. Text is case-folded and blank filters count as unset, as they do
+     * in {@link #isSatisfiedBy}.
+     */
+    public String cacheKey() {
+        StringBuilder sb = new StringBuilder(64);
+        appendText(sb, code);
+        appendText(sb, title);
+        sb.append(minCredits).append('|').append(maxCredits).append('|');
+        appendText(sb, instructorName);
+        sb.append(dayOfWeek).append('|').append(startTime).append('|').append(endTime);
+        return sb.toString();
+    }
+
+    private static void appendText(StringBuilder sb, String text) {
+        if (text == null || text.isBlank()) {
+            sb.append('-');
+        } else {
+            // length prefix keeps "a|b" from colliding with two separate fields
+            sb.append(text.length()).append(':').append(text.toLowerCase(Locale.ROOT));
+        }
+        sb.append('|');
+    }
+
+    /** Independent copy, so a cached query is not affected by later changes to the caller's. */
+    public CourseQuery copy() {
+        CourseQuery q = new CourseQuery();
+        q.code = code;
+        q.title = title;
+        q.minCredits = minCredits;
+        q.maxCredits = maxCredits;
+        q.instructorName = instructorName;
+        q.dayOfWeek = dayOfWeek;
+        q.startTime = startTime;
+        q.endTime = endTime;
+        q.sectionRepo = sectionRepo;
+        return q;
+    }
+
     private boolean needsSectionCheck() {
         return (instructorName != null && !instructorName.isBlank()) 
             || dayOfWeek != null 
@@ -128,29 +190,30 @@ public class CourseQuery implements Specification<Course> {
         List<Section> sections = sectionRepo.findAll();
         for (Section sec : sections) {
             if (!sec.getCourse().getCode().equals(course.getCode())) continue;
-            
-            if (instructorName != null && !instructorName.isBlank()) {
-                if (sec.getInstructor() == null) continue;
-                String fullName = sec.getInstructor().getFullName().toLowerCase(Locale.ROOT);
-                if (!fullName.contains(instructorName.toLowerCase(Locale.ROOT))) continue;
-            }
-            
-            if (dayOfWeek != null || startTime != null || endTime != null) {
-                boolean timeOk = false;
-                for (TimeSlot slot : sec.getMeetingTimes()) {
-                    boolean slotMatches = true;
-                    if (dayOfWeek != null && slot.getDayOfWeek() != dayOfWeek) slotMatches = false;
-                    if (startTime != null && slot.getStartTime().isBefore(startTime)) slotMatches = false;
-                    if (endTime != null && slot.getEndTime().isAfter(endTime)) slotMatches = false;
-                    if (slotMatches) { timeOk = true; break; }
-                }
-                if (!timeOk) continue;
-            }
-            
-            return true;
+            String teacher = sec.getInstructor() == null ? null : sec.getInstructor().getFullName();
+            if (sectionMatches(teacher, sec.getMeetingTimes())) return true;
         }
         return false;
     }
+
+    private boolean sectionMatches(String teacher, List<TimeSlot> meetingTimes) {
+        if (instructorName != null && !instructorName.isBlank()) {
+            if (teacher == null) return false;
+            if (!teacher.toLowerCase(Locale.ROOT).contains(instructorName.toLowerCase(Locale.ROOT))) return false;
+        }
+
+        if (dayOfWeek != null || startTime != null || endTime != null) {
+            for (TimeSlot slot : meetingTimes) {
+                boolean slotMatches = true;
+                if (dayOfWeek != null && slot.getDayOfWeek() != dayOfWeek) slotMatches = false;
+                if (startTime != null && slot.getStartTime().isBefore(startTime)) slotMatches = false;
+                if (endTime != null && slot.getEndTime().isAfter(endTime)) slotMatches = false;
+                if (slotMatches) return true;
+            }
+            return false;
+        }
+        return true;
+    }
 }
 
 
@@ -0,0 +1,81 @@
+package edu.uni.registration.util;
+
+/**
+ * Count-min sketch of 4-bit counters used by {@link TinyLfuCache} to estimate how often a key has
+ * been requested recently. Four rows, sixteen counters per {@code long}; the estimate is the
+ * minimum over the rows. After {@code sampleSize} increments every counter is halved, so
+ * popularity fades and yesterday's hot query cannot squat in the cache forever.
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0x97cb3127L, 0xab9e6d1bL, 0xc2b2ae35L, 0x85ebca6bL
+    };
+    private static final long RESET_MASK = 0x7777_7777_7777_7777L;
+    private static final int MAX_COUNT = 15;
+
+    private final long[] table;
+    private final int rowMask;
+    private final int wordsPerRow;
+    private final int sampleSize;
+    private int additions;
+
+    /** @param expectedKeys roughly the number of distinct keys worth tracking (cache capacity) */
+    FrequencySketch(int expectedKeys) {
+        int counters = Integer.highestOneBit(Math.max(16, expectedKeys - 1) << 1);
+        this.rowMask = counters - 1;
+        this.wordsPerRow = counters >>> 4;
+        this.table = new long[wordsPerRow * SEEDS.length];
+        this.sampleSize = 10 * Math.max(16, expectedKeys);
+    }
+
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int row = 0; row < SEEDS.length; row++) {
+            int counter = indexOf(hash, row);
+            int word = row * wordsPerRow + (counter >>> 4);
+            int shift = (counter & 15) << 2;
+            if (((table[word] >>> shift) & 0xF) < MAX_COUNT) {
+                table[word] += 1L << shift;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int min = MAX_COUNT;
+        for (int row = 0; row < SEEDS.length; row++) {
+            int counter = indexOf(hash, row);
+            int word = row * wordsPerRow + (counter >>> 4);
+            int count = (int) ((table[word] >>> ((counter & 15) << 2)) & 0xF);
+            min = Math.min(min, count);
+        }
+        return min;
+    }
+
+    /** Halves every counter (the shift drops each nibble's low bit into its neighbour, hence the mask). */
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions >>>= 1;
+    }
+
+    private int indexOf(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return (int) h & rowMask;
+    }
+
+    private static int spread(int h) {
+        h ^= h >>> 17;
+        h *= 0xed5ad4bb;
+        h ^= h >>> 11;
+        return h;
+    }
+}
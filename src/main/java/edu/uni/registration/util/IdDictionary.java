@@ -0,0 +1,69 @@
+package edu.uni.registration.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps string identifiers to dense int indexes (0, 1, 2, ...).
+ * Entities intern their id once on construction; repositories and rosters then
+ * key on the int instead of hashing and comparing strings.
+ */
+public final class IdDictionary {
+
+    /** Students, instructors and admins share one id space. */
+    public static final IdDictionary PEOPLE = new IdDictionary();
+    public static final IdDictionary SECTIONS = new IdDictionary();
+    public static final IdDictionary COURSES = new IdDictionary();
+
+    private final ConcurrentHashMap<String, Integer> indexes = new ConcurrentHashMap<>();
+    private volatile String[] ids = new String[64];
+    private int size;
+
+    /** Returns the index for the id, assigning the next free one if it is new. -1 for null. */
+    public int intern(String id) {
+        if (id == null) {
+            return -1;
+        }
+        Integer existing = indexes.get(id);
+        if (existing != null) {
+            return existing;
+        }
+        synchronized (this) {
+            existing = indexes.get(id);
+            if (existing != null) {
+                return existing;
+            }
+            int index = size;
+            String[] table = ids;
+            if (index == table.length) {
+                table = Arrays.copyOf(table, table.length * 2);
+            }
+            table[index] = id;
+            ids = table;
+            size = index + 1;
+            indexes.put(id, index);
+            return index;
+        }
+    }
+
+    /** Looks an id up without interning it. Returns -1 if the id was never seen. */
+    public int indexOf(String id) {
+        if (id == null) {
+            return -1;
+        }
+        Integer index = indexes.get(id);
+        return index == null ? -1 : index;
+    }
+
+    public String idAt(int index) {
+        String[] table = ids;
+        if (index < 0 || index >= table.length) {
+            return null;
+        }
+        return table[index];
+    }
+
+    public int size() {
+        return indexes.size();
+    }
+}
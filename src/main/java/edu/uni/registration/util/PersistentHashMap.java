@@ -0,0 +1,273 @@
+package edu.uni.registration.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable hash map (hash array mapped trie, 32-way). {@link #plus} and {@link #minus} return a
+ * new map that shares every untouched node with the old one, so an update copies at most one
+ * small array per level (about seven for 2^32 hashes, two or three for a catalog) and the old
+ * version stays valid for whoever still holds it. Null keys and values are not allowed.
+ */
+public final class PersistentHashMap<K, V> {
+
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(null, 0);
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        return root == null || key == null ? null : (V) root.find(0, hash(key), key);
+    }
+
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    /** This map with {@code key} bound to {@code value}; this map itself if the binding already exists. */
+    public PersistentHashMap<K, V> plus(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Keys and values cannot be null");
+        }
+        boolean[] added = new boolean[1];
+        Node base = root == null ? BitmapNode.EMPTY : root;
+        Node updated = base.assoc(0, hash(key), key, value, added);
+        return updated == root ? this : new PersistentHashMap<>(updated, added[0] ? size + 1 : size);
+    }
+
+    /** This map without {@code key}; this map itself if the key is absent. */
+    public PersistentHashMap<K, V> minus(Object key) {
+        if (root == null || key == null) {
+            return this;
+        }
+        Node updated = root.without(0, hash(key), key);
+        return updated == root ? this : new PersistentHashMap<>(updated, size - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (root != null) {
+            root.forEach((BiConsumer<Object, Object>) action);
+        }
+    }
+
+    /** Values in trie order (not insertion order), copied into a new list. */
+    public List<V> values() {
+        List<V> result = new ArrayList<>(size);
+        forEach((k, v) -> result.add(v));
+        return result;
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int bitFor(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private abstract static class Node {
+        abstract Object find(int shift, int hash, Object key);
+
+        abstract Node assoc(int shift, int hash, Object key, Object value, boolean[] added);
+
+        /** Null if the node became empty, {@code this} if the key was absent. */
+        abstract Node without(int shift, int hash, Object key);
+
+        abstract void forEach(BiConsumer<Object, Object> action);
+    }
+
+    /**
+     * Up to 32 slots, only the occupied ones stored. Each slot is a key/value pair in
+     * {@code array}, or {@code null}/child node when several keys share the 5 hash bits.
+     */
+    private static final class BitmapNode extends Node {
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] array;
+
+        BitmapNode(int bitmap, Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        private int slot(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1)) * 2;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int bit = bitFor(hash, shift);
+            if ((bitmap & bit) == 0) return null;
+            int i = slot(bit);
+            Object k = array[i];
+            if (k == null) return ((Node) array[i + 1]).find(shift + BITS, hash, key);
+            return key.equals(k) ? array[i + 1] : null;
+        }
+
+        @Override
+        Node assoc(int shift, int hash, Object key, Object value, boolean[] added) {
+            int bit = bitFor(hash, shift);
+            int i = slot(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] copy = new Object[array.length + 2];
+                System.arraycopy(array, 0, copy, 0, i);
+                copy[i] = key;
+                copy[i + 1] = value;
+                System.arraycopy(array, i, copy, i + 2, array.length - i);
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, copy);
+            }
+            Object k = array[i];
+            Object v = array[i + 1];
+            if (k == null) {
+                Node child = (Node) v;
+                Node updated = child.assoc(shift + BITS, hash, key, value, added);
+                return updated == child ? this : with(i + 1, updated);
+            }
+            if (key.equals(k)) {
+                return v == value ? this : with(i + 1, value);
+            }
+            added[0] = true;
+            Node split = pair(shift + BITS, k, v, hash, key, value);
+            Object[] copy = array.clone();
+            copy[i] = null;
+            copy[i + 1] = split;
+            return new BitmapNode(bitmap, copy);
+        }
+
+        @Override
+        Node without(int shift, int hash, Object key) {
+            int bit = bitFor(hash, shift);
+            if ((bitmap & bit) == 0) return this;
+            int i = slot(bit);
+            Object k = array[i];
+            if (k == null) {
+                Node child = (Node) array[i + 1];
+                Node updated = child.without(shift + BITS, hash, key);
+                if (updated == child) return this;
+                if (updated != null) return with(i + 1, updated);
+            } else if (!key.equals(k)) {
+                return this;
+            }
+            if (bitmap == bit) return null;
+            Object[] copy = new Object[array.length - 2];
+            System.arraycopy(array, 0, copy, 0, i);
+            System.arraycopy(array, i + 2, copy, i, array.length - i - 2);
+            return new BitmapNode(bitmap & ~bit, copy);
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i] == null) {
+                    ((Node) array[i + 1]).forEach(action);
+                } else {
+                    action.accept(array[i], array[i + 1]);
+                }
+            }
+        }
+
+        private BitmapNode with(int index, Object element) {
+            Object[] copy = array.clone();
+            copy[index] = element;
+            return new BitmapNode(bitmap, copy);
+        }
+
+        private static Node pair(int shift, Object k1, Object v1, int hash2, Object k2, Object v2) {
+            int hash1 = hash(k1);
+            if (hash1 == hash2) {
+                return new CollisionNode(hash1, new Object[]{k1, v1, k2, v2});
+            }
+            boolean[] ignored = new boolean[1];
+            return EMPTY.assoc(shift, hash1, k1, v1, ignored).assoc(shift, hash2, k2, v2, ignored);
+        }
+    }
+
+    /** Keys whose full 32-bit hashes are equal, kept as a flat key/value array. */
+    private static final class CollisionNode extends Node {
+        private final int hash;
+        private final Object[] array;
+
+        CollisionNode(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) return i;
+            }
+            return -1;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int i = indexOf(key);
+            return i < 0 ? null : array[i + 1];
+        }
+
+        @Override
+        Node assoc(int shift, int hash, Object key, Object value, boolean[] added) {
+            if (hash != this.hash) {
+                Node nested = new BitmapNode(bitFor(this.hash, shift), new Object[]{null, this});
+                return nested.assoc(shift, hash, key, value, added);
+            }
+            int i = indexOf(key);
+            if (i >= 0) {
+                if (array[i + 1] == value) return this;
+                Object[] copy = array.clone();
+                copy[i + 1] = value;
+                return new CollisionNode(hash, copy);
+            }
+            Object[] copy = new Object[array.length + 2];
+            System.arraycopy(array, 0, copy, 0, array.length);
+            copy[array.length] = key;
+            copy[array.length + 1] = value;
+            added[0] = true;
+            return new CollisionNode(hash, copy);
+        }
+
+        @Override
+        Node without(int shift, int hash, Object key) {
+            int i = indexOf(key);
+            if (i < 0) return this;
+            if (array.length == 2) return null;
+            Object[] copy = new Object[array.length - 2];
+            System.arraycopy(array, 0, copy, 0, i);
+            System.arraycopy(array, i + 2, copy, i, array.length - i - 2);
+            return new CollisionNode(hash, copy);
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                action.accept(array[i], array[i + 1]);
+            }
+        }
+    }
+}
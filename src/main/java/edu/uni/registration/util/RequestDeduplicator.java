@@ -0,0 +1,118 @@
+package edu.uni.registration.util;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the {@link Result} of each client request id for a while, so a retried call gets the
+ * original answer back instead of running again. A replay that arrives while the first attempt
+ * is still running waits for it rather than racing it. Entries expire after a fixed TTL and the
+ * oldest are evicted first once the cache is full, so memory stays bounded under retry storms.
+ * <p>
+ * Each id is bound to a fingerprint of the call it first arrived with; reusing an id for a
+ * different call fails instead of returning an unrelated result.
+ */
+public class RequestDeduplicator {
+
+    public static final String ID_REUSED = "Request id already used for a different request";
+
+    private static final class Entry {
+        final String key;
+        final String fingerprint;
+        final long expiresAt;
+        final CompletableFuture<Result<?>> result = new CompletableFuture<>();
+
+        Entry(String key, String fingerprint, long expiresAt) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Insertion order; with a fixed TTL this is also expiry order.
+    private final Queue<Entry> order = new ConcurrentLinkedQueue<>();
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final AtomicLong replays = new AtomicLong();
+
+    public RequestDeduplicator(int maxEntries, long ttlMillis, LongSupplier clock) {
+        if (maxEntries < 1 || ttlMillis < 1) {
+            throw new IllegalArgumentException("Capacity and TTL must be positive");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Runs {@code call} the first time {@code key} is seen and returns its result; later calls with
+     * the same key and fingerprint return that same result until it expires. If the call throws,
+     * nothing is remembered and waiting replays see the exception.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Result<T> execute(String key, String fingerprint, Supplier<Result<T>> call) {
+        long now = clock.getAsLong();
+        purge(now);
+
+        Entry fresh = new Entry(key, fingerprint, now + ttlMillis);
+        while (true) {
+            Entry existing = entries.putIfAbsent(key, fresh);
+            if (existing == null) {
+                break;
+            }
+            if (existing.expiresAt <= now) {
+                entries.remove(key, existing);
+                continue;
+            }
+            if (!existing.fingerprint.equals(fingerprint)) {
+                return Result.fail(ID_REUSED);
+            }
+            replays.incrementAndGet();
+            return (Result<T>) existing.result.join();
+        }
+        order.add(fresh);
+
+        Result<T> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException | Error e) {
+            entries.remove(key, fresh);
+            fresh.result.completeExceptionally(e);
+            throw e;
+        }
+        fresh.result.complete(result);
+        return result;
+    }
+
+    /** Drops expired entries from the front of the queue, then the oldest while over capacity. */
+    private void purge(long now) {
+        Entry head;
+        while ((head = order.peek()) != null
+                && (head.expiresAt <= now || entries.size() >= maxEntries)) {
+            if (order.remove(head)) {
+                entries.remove(head.key, head);
+            }
+        }
+    }
+
+    /** Number of request ids currently remembered. */
+    public int size() {
+        return entries.size();
+    }
+
+    /** Calls answered from the cache instead of being run again. */
+    public long replayCount() {
+        return replays.get();
+    }
+}
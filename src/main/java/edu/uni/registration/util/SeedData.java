@@ -169,7 +169,6 @@ public class SeedData {
                 secRepo.findById(sectionId).map(section -> {
                     Enrollment enrollment = new Enrollment(student, section);
                     enrollment.setStatus(Enrollment.EnrollmentStatus.ENROLLED);
-                    section.addEnrollment(enrollment);
                     eRepo.save(enrollment);
                     return enrollment;
                 })
@@ -0,0 +1,194 @@
+package edu.uni.registration.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Hierarchical timing wheel for many short-lived deadlines (seat holds, waitlist offers).
+ * Scheduling and cancelling are O(1); an entry is touched again only when its bucket comes due
+ * or cascades down one level. There is no background thread: callers {@link #advance()} the
+ * wheel (typically at the start of each service call) and run whatever expired.
+ *
+ * @param <T> payload handed back on expiry
+ */
+public class TimingWheel<T> {
+
+    /** Handle returned by {@link #schedule}; cancel it when the deadline no longer matters. */
+    public static final class Timeout<T> {
+        private final T payload;
+        private final long deadlineTick;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private Bucket<T> bucket;
+
+        private Timeout(T payload, long deadlineTick) {
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+    }
+
+    /** Intrusive doubly linked list, so removal does not search. */
+    private static final class Bucket<T> {
+        private Timeout<T> head;
+
+        void add(Timeout<T> t) {
+            t.bucket = this;
+            t.prev = null;
+            t.next = head;
+            if (head != null) head.prev = t;
+            head = t;
+        }
+
+        void remove(Timeout<T> t) {
+            if (t.prev != null) t.prev.next = t.next; else head = t.next;
+            if (t.next != null) t.next.prev = t.prev;
+            t.prev = t.next = null;
+            t.bucket = null;
+        }
+
+        Timeout<T> drain() {
+            Timeout<T> first = head;
+            head = null;
+            return first;
+        }
+    }
+
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final LongSupplier clock;
+    private final Bucket<T>[][] wheels;
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param tickMillis resolution; deadlines are rounded up to a tick
+     * @param wheelSize  buckets per level, a power of two
+     * @param clock      millisecond clock, injectable for tests
+     */
+    public TimingWheel(long tickMillis, int wheelSize, LongSupplier clock) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        if (wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.tickMillis = tickMillis;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.clock = clock;
+        this.wheels = newWheels(LEVELS, wheelSize);
+        this.currentTick = clock.getAsLong() / tickMillis;
+    }
+
+    /** Generic arrays cannot be created directly; every slot is filled with a Bucket<T> before use. */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Bucket<T>[][] newWheels(int levels, int wheelSize) {
+        Bucket<T>[][] wheels = new Bucket[levels][wheelSize];
+        for (Bucket<T>[] level : wheels) {
+            for (int i = 0; i < level.length; i++) level[i] = new Bucket<>();
+        }
+        return wheels;
+    }
+
+    public long now() {
+        return clock.getAsLong();
+    }
+
+    public synchronized Timeout<T> schedule(T payload, long delayMillis) {
+        long deadline = Math.max(now() + Math.max(0, delayMillis), 0);
+        Timeout<T> t = new Timeout<>(payload, (deadline + tickMillis - 1) / tickMillis);
+        place(t);
+        size++;
+        return t;
+    }
+
+    /** Returns false if the timeout already fired or was cancelled. */
+    public synchronized boolean cancel(Timeout<T> t) {
+        if (t == null || t.bucket == null) {
+            return false;
+        }
+        t.bucket.remove(t);
+        size--;
+        return true;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /** Moves the wheel to the clock's current time and returns the payloads that expired, oldest first. */
+    public List<T> advance() {
+        List<T> expired = new ArrayList<>();
+        synchronized (this) {
+            long target = now() / tickMillis;
+            if (size == 0) {
+                currentTick = Math.max(currentTick, target);
+                return expired;
+            }
+            while (currentTick < target) {
+                currentTick++;
+                cascade();
+                Timeout<T> t = wheels[0][(int) (currentTick & mask)].drain();
+                while (t != null) {
+                    Timeout<T> next = t.next;
+                    t.bucket = null;
+                    t.prev = t.next = null;
+                    if (t.deadlineTick <= currentTick) {
+                        size--;
+                        expired.add(t.payload);
+                    } else {
+                        place(t);
+                    }
+                    t = next;
+                }
+                if (size == 0) {
+                    currentTick = target;
+                }
+            }
+        }
+        return expired;
+    }
+
+    /** When a level wraps, re-spread the next bucket of the level above into finer buckets. */
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            long lowerBits = currentTick & ((1L << (bits * level)) - 1);
+            if (lowerBits != 0) {
+                return;
+            }
+            int idx = (int) ((currentTick >>> (bits * level)) & mask);
+            Timeout<T> t = wheels[level][idx].drain();
+            while (t != null) {
+                Timeout<T> next = t.next;
+                t.bucket = null;
+                place(t);
+                t = next;
+            }
+        }
+    }
+
+    private void place(Timeout<T> t) {
+        long delta = t.deadlineTick - currentTick;
+        if (delta <= 0) {
+            wheels[0][(int) ((currentTick + 1) & mask)].add(t);
+            return;
+        }
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (bits * (level + 1)))) {
+            level++;
+        }
+        int idx = (int) ((t.deadlineTick >>> (bits * level)) & mask);
+        wheels[level][idx].add(t);
+    }
+}
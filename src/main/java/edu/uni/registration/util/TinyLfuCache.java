@@ -0,0 +1,190 @@
+package edu.uni.registration.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Bounded cache with a W-TinyLFU admission policy: a small LRU window (1% of capacity) in front
+ * of a segmented LRU main area (20% probation, 80% protected). A key evicted from the window only
+ * enters the main area if the {@link FrequencySketch} says it is requested more often than the
+ * entry it would displace, so a burst of one-off keys cannot flush the popular ones.
+ * <p>
+ * All operations take one lock; loading in {@link #get(Object, Function)} runs outside it, and a
+ * loaded value is dropped if {@link #removeIf} ran meanwhile, so invalidation never loses to a
+ * slow load.
+ */
+public class TinyLfuCache<K, V> {
+
+    /** Point-in-time counters. */
+    public static final class Stats {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final int size;
+
+        Stats(long hits, long misses, long evictions, int size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.size = size;
+        }
+
+        public long getHitCount() { return hits; }
+        public long getMissCount() { return misses; }
+        public long getEvictionCount() { return evictions; }
+        public int getSize() { return size; }
+
+        /** Fraction of lookups served from the cache; 0 before the first lookup. */
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d misses=%d hitRate=%.3f evictions=%d size=%d",
+                    hits, misses, getHitRate(), evictions, size);
+        }
+    }
+
+    private final int windowMax;
+    private final int probationMax;
+    private final int protectedMax;
+    private final LinkedHashMap<K, V> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, V> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, V> protectedArea = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch sketch;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long generation;
+
+    public TinyLfuCache(int capacity) {
+        if (capacity < 3) {
+            throw new IllegalArgumentException("Capacity must be at least 3");
+        }
+        this.windowMax = Math.max(1, capacity / 100);
+        int main = capacity - windowMax;
+        this.protectedMax = Math.max(1, main * 4 / 5);
+        this.probationMax = main - protectedMax;
+        this.sketch = new FrequencySketch(capacity);
+    }
+
+    /** Cached value or null; counts a hit or a miss. */
+    public synchronized V getIfPresent(K key) {
+        sketch.increment(key);
+        V v = lookup(key);
+        if (v != null) hits++; else misses++;
+        return v;
+    }
+
+    /** Read-through: returns the cached value, or loads, caches and returns it. */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long seen;
+        synchronized (this) {
+            V v = getIfPresent(key);
+            if (v != null) return v;
+            seen = generation;
+        }
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            synchronized (this) {
+                if (generation == seen) {
+                    put(key, loaded);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    public synchronized void put(K key, V value) {
+        if (window.containsKey(key)) {
+            window.put(key, value);
+        } else if (probation.containsKey(key)) {
+            probation.put(key, value);
+        } else if (protectedArea.containsKey(key)) {
+            protectedArea.put(key, value);
+        } else {
+            window.put(key, value);
+            if (window.size() > windowMax) {
+                Map.Entry<K, V> candidate = eldest(window);
+                window.remove(candidate.getKey());
+                admit(candidate.getKey(), candidate.getValue());
+            }
+        }
+    }
+
+    /** Removes every entry the predicate accepts. */
+    public synchronized int removeIf(BiPredicate<? super K, ? super V> stale) {
+        generation++;
+        return removeIf(window, stale) + removeIf(probation, stale) + removeIf(protectedArea, stale);
+    }
+
+    public synchronized void clear() {
+        generation++;
+        window.clear();
+        probation.clear();
+        protectedArea.clear();
+    }
+
+    public synchronized int size() {
+        return window.size() + probation.size() + protectedArea.size();
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, size());
+    }
+
+    private V lookup(K key) {
+        V v = window.get(key);
+        if (v != null) return v;
+        v = protectedArea.get(key);
+        if (v != null) return v;
+        v = probation.remove(key);
+        if (v != null) {
+            // Second hit: promote, demoting the protected LRU back to probation if needed.
+            protectedArea.put(key, v);
+            if (protectedArea.size() > protectedMax) {
+                Map.Entry<K, V> demoted = eldest(protectedArea);
+                protectedArea.remove(demoted.getKey());
+                probation.put(demoted.getKey(), demoted.getValue());
+            }
+        }
+        return v;
+    }
+
+    /** Window overflow: the candidate joins probation if there is room or it beats the probation LRU. */
+    private void admit(K key, V value) {
+        if (probation.size() + protectedArea.size() < probationMax + protectedMax) {
+            probation.put(key, value);
+            return;
+        }
+        LinkedHashMap<K, V> from = probation.isEmpty() ? protectedArea : probation;
+        K victim = eldest(from).getKey();
+        if (sketch.frequency(key) > sketch.frequency(victim)) {
+            from.remove(victim);
+            probation.put(key, value);
+        }
+        evictions++;
+    }
+
+    private static <K, V> Map.Entry<K, V> eldest(LinkedHashMap<K, V> map) {
+        return map.entrySet().iterator().next();
+    }
+
+    private static <K, V> int removeIf(LinkedHashMap<K, V> map, BiPredicate<? super K, ? super V> stale) {
+        int removed = 0;
+        for (Iterator<Map.Entry<K, V>> it = map.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<K, V> e = it.next();
+            if (stale.test(e.getKey(), e.getValue())) {
+                it.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+}
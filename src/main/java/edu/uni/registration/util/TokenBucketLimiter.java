@@ -0,0 +1,92 @@
+package edu.uni.registration.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token buckets in one fixed {@link AtomicLongArray}, one slot per dense id
+ * (e.g. {@link IdDictionary#PEOPLE} indexes). Each slot packs the last refill time
+ * (upper 40 bits, ms since construction) and the balance in milli-tokens (lower 24 bits),
+ * so a take is a single CAS. Memory is fixed by the slot count: ids beyond it share slots
+ * (index modulo size), which only ever makes the limit stricter for those ids.
+ */
+public class TokenBucketLimiter {
+
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long MILLI = 1_000;
+
+    private final AtomicLongArray slots;
+    private final int mask;
+    private final long capacity;
+    private final long refillPerSecond;
+    private final LongSupplier clock;
+    private final long epoch;
+
+    /**
+     * @param slotCount       number of buckets, rounded up to a power of two
+     * @param burst           tokens a full bucket holds
+     * @param tokensPerSecond sustained refill rate
+     */
+    public TokenBucketLimiter(int slotCount, int burst, double tokensPerSecond, LongSupplier clock) {
+        if (slotCount < 1 || burst < 1 || tokensPerSecond <= 0) {
+            throw new IllegalArgumentException("Slots, burst and rate must be positive");
+        }
+        if (burst * MILLI > TOKEN_MASK) {
+            throw new IllegalArgumentException("Burst too large");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        int size = 1;
+        while (size < slotCount) size <<= 1;
+        this.slots = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.capacity = burst * MILLI;
+        this.refillPerSecond = Math.max(1, Math.round(tokensPerSecond * MILLI));
+        this.clock = clock;
+        // Offset by one so a written slot is never 0, which marks an untouched (full) bucket.
+        this.epoch = clock.getAsLong() - 1;
+    }
+
+    public TokenBucketLimiter(int slotCount, int burst, double tokensPerSecond) {
+        this(slotCount, burst, tokensPerSecond, System::currentTimeMillis);
+    }
+
+    /** Takes one token from the key's bucket; false (without waiting) if it is empty. */
+    public boolean tryAcquire(int key) {
+        int slot = key & mask;
+        while (true) {
+            long state = slots.get(slot);
+            long now = clock.getAsLong() - epoch;
+            long last;
+            long tokens;
+            if (state == 0) {
+                last = now;
+                tokens = capacity;
+            } else {
+                last = state >>> TOKEN_BITS;
+                tokens = state & TOKEN_MASK;
+                long elapsed = now - last;
+                if (elapsed > 0) {
+                    long gained = elapsed * refillPerSecond / MILLI;
+                    if (gained > 0) {
+                        tokens = Math.min(capacity, tokens + gained);
+                        last = now;
+                    }
+                }
+            }
+            if (tokens < MILLI) {
+                return false;
+            }
+            long next = (last << TOKEN_BITS) | (tokens - MILLI);
+            if (slots.compareAndSet(slot, state, next)) {
+                return true;
+            }
+        }
+    }
+
+    public int slotCount() {
+        return slots.length();
+    }
+}
@@ -0,0 +1,66 @@
+package edu.uni.registration.validation;
+
+import edu.uni.registration.model.Section;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of checking one shopping-cart section: what an enroll call would do right now, and why not.
+ */
+public class CartItemVerdict {
+
+    public enum Outcome {
+        ENROLL,
+        WAITLIST,
+        REJECTED
+    }
+
+    private final String sectionId;
+    private final Section section;
+    private final List<String> problems = new ArrayList<>();
+    private boolean waitlisted;
+
+    public CartItemVerdict(String sectionId, Section section) {
+        this.sectionId = sectionId;
+        this.section = section;
+    }
+
+    public String getSectionId() {
+        return sectionId;
+    }
+
+    /** Null when the id did not resolve to a section. */
+    public Section getSection() {
+        return section;
+    }
+
+    public Outcome getOutcome() {
+        if (!problems.isEmpty()) return Outcome.REJECTED;
+        return waitlisted ? Outcome.WAITLIST : Outcome.ENROLL;
+    }
+
+    public boolean isOk() {
+        return problems.isEmpty();
+    }
+
+    public List<String> getProblems() {
+        return Collections.unmodifiableList(problems);
+    }
+
+    public void addProblem(String problem) {
+        if (!problems.contains(problem)) {
+            problems.add(problem);
+        }
+    }
+
+    public void markWaitlisted() {
+        this.waitlisted = true;
+    }
+
+    @Override
+    public String toString() {
+        return sectionId + ": " + getOutcome() + (problems.isEmpty() ? "" : " " + problems);
+    }
+}
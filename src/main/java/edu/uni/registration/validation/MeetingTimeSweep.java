@@ -0,0 +1,69 @@
+package edu.uni.registration.validation;
+
+import edu.uni.registration.model.Section;
+import edu.uni.registration.model.TimeSlot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Sweep-line over meeting times: reports every overlapping pair in O(n log n + k)
+ * instead of comparing all n² pairs. Meeting times of the same section are never paired.
+ */
+public class MeetingTimeSweep {
+
+    private final List<Section> sections = new ArrayList<>();
+    private final List<TimeSlot> slots = new ArrayList<>();
+
+    public MeetingTimeSweep add(Section section, TimeSlot slot) {
+        sections.add(section);
+        slots.add(slot);
+        return this;
+    }
+
+    public MeetingTimeSweep addAll(Section section) {
+        for (TimeSlot slot : section.getMeetingTimes()) {
+            add(section, slot);
+        }
+        return this;
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    public List<TimeClash> findClashes() {
+        int n = slots.size();
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(slots::get)); // day, then start
+
+        List<TimeClash> clashes = new ArrayList<>();
+        // meeting times still running at the sweep position, earliest (day, end) on top
+        Comparator<Integer> byDayThenEnd = Comparator.<Integer, TimeSlot>comparing(slots::get, Comparator.comparing(TimeSlot::getDayOfWeek))
+                .thenComparing(i -> slots.get(i).getEndTime());
+        PriorityQueue<Integer> active = new PriorityQueue<>(byDayThenEnd);
+        for (int idx : order) {
+            TimeSlot slot = slots.get(idx);
+            while (!active.isEmpty()) {
+                TimeSlot head = slots.get(active.peek());
+                if (head.getDayOfWeek() == slot.getDayOfWeek() && head.getEndTime().isAfter(slot.getStartTime())) {
+                    break;
+                }
+                active.poll();
+            }
+            for (int other : active) {
+                if (sections.get(other) != sections.get(idx)) {
+                    clashes.add(new TimeClash(sections.get(other), slots.get(other), sections.get(idx), slot));
+                }
+            }
+            active.add(idx);
+        }
+        return clashes;
+    }
+}
@@ -0,0 +1,40 @@
+package edu.uni.registration.validation;
+
+import edu.uni.registration.model.Section;
+import edu.uni.registration.model.TimeSlot;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batch check for rooms booked twice at the same time within a term.
+ * Groups meeting times by room and runs one sweep per room: O(n log n + clashes).
+ * A null term audits every term.
+ */
+public class RoomClashAuditor {
+
+    public List<TimeClash> audit(Collection<Section> sections, String term) {
+        Map<String, MeetingTimeSweep> byRoom = new HashMap<>();
+        for (Section section : sections) {
+            if (term != null && !term.equals(section.getTerm())) {
+                continue;
+            }
+            for (TimeSlot slot : section.getMeetingTimes()) {
+                String room = RoomOccupancyIndex.normalizeRoom(slot.getRoom());
+                if (room != null) {
+                    // rooms of different terms never clash, so the term is part of the group key
+                    String key = section.getTerm() + '\u0000' + room;
+                    byRoom.computeIfAbsent(key, k -> new MeetingTimeSweep()).add(section, slot);
+                }
+            }
+        }
+        List<TimeClash> clashes = new ArrayList<>();
+        for (MeetingTimeSweep sweep : byRoom.values()) {
+            clashes.addAll(sweep.findClashes());
+        }
+        return clashes;
+    }
+}
@@ -0,0 +1,105 @@
+package edu.uni.registration.validation;
+
+import edu.uni.registration.model.Section;
+import edu.uni.registration.model.TimeSlot;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Room bookings indexed by (term, room, day). A booking check only looks at the
+ * handful of meetings already in that room on that day, not at every section of the term.
+ * Meeting times without a room are not tracked.
+ * Not thread-safe; callers serialize each check together with the booking it allows.
+ */
+public class RoomOccupancyIndex {
+
+    private static final class Booking {
+        final Section section;
+        final TimeSlot slot;
+
+        Booking(Section section, TimeSlot slot) {
+            this.section = section;
+            this.slot = slot;
+        }
+    }
+
+    private final Map<String, Map<String, EnumMap<DayOfWeek, List<Booking>>>> byTerm = new HashMap<>();
+
+    /** Rooms are compared trimmed and case-insensitively ("Room 101" == "room 101 "). */
+    static String normalizeRoom(String room) {
+        if (room == null || room.isBlank()) {
+            return null;
+        }
+        return room.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private List<Booking> bookings(String term, String room, DayOfWeek day, boolean create) {
+        Map<String, EnumMap<DayOfWeek, List<Booking>>> rooms = byTerm.get(term);
+        if (rooms == null) {
+            if (!create) return null;
+            rooms = new HashMap<>();
+            byTerm.put(term, rooms);
+        }
+        EnumMap<DayOfWeek, List<Booking>> days = rooms.get(room);
+        if (days == null) {
+            if (!create) return null;
+            days = new EnumMap<>(DayOfWeek.class);
+            rooms.put(room, days);
+        }
+        List<Booking> list = days.get(day);
+        if (list == null && create) {
+            list = new ArrayList<>(4);
+            days.put(day, list);
+        }
+        return list;
+    }
+
+    /**
+     * Returns the booking that the slot would clash with for this section, or null if the room is free.
+     */
+    public TimeClash findClash(Section section, TimeSlot slot) {
+        String room = normalizeRoom(slot.getRoom());
+        if (room == null) {
+            return null;
+        }
+        List<Booking> list = bookings(section.getTerm(), room, slot.getDayOfWeek(), false);
+        if (list == null) {
+            return null;
+        }
+        for (Booking b : list) {
+            if (b.section != section && b.slot.overlaps(slot)) {
+                return new TimeClash(b.section, b.slot, section, slot);
+            }
+        }
+        return null;
+    }
+
+    public void add(Section section, TimeSlot slot) {
+        String room = normalizeRoom(slot.getRoom());
+        if (room == null) {
+            return;
+        }
+        bookings(section.getTerm(), room, slot.getDayOfWeek(), true).add(new Booking(section, slot));
+    }
+
+    public void addSection(Section section) {
+        for (TimeSlot slot : section.getMeetingTimes()) {
+            add(section, slot);
+        }
+    }
+
+    public boolean containsTerm(String term) {
+        return byTerm.containsKey(term);
+    }
+
+    /** Marks a term as loaded even if it has no bookings yet. */
+    public void registerTerm(String term) {
+        byTerm.computeIfAbsent(term, t -> new HashMap<>());
+    }
+}
@@ -2,13 +2,31 @@ package edu.uni.registration.validation;
 
 import edu.uni.registration.model.Schedulable;
 import edu.uni.registration.model.TimeSlot;
+import edu.uni.registration.model.WeeklyOccupancy;
 
 /**
  * Detects time conflicts between two Schedulable items.
+ * Compares weekly occupancy bitmaps first; slot-by-slot overlap is only needed
+ * when the bitmaps intersect and one side has times off the 5-minute grid.
  */
 public class ScheduleConflictChecker {
     public boolean conflicts(Schedulable a, Schedulable b) {
         if (a == null || b == null) return false;
+        return conflicts(a.getOccupancy(), a, b);
+    }
+
+    /**
+     * Same as {@link #conflicts(Schedulable, Schedulable)} with a precomputed occupancy for {@code a},
+     * e.g. the union of a student's whole schedule.
+     */
+    public boolean conflicts(WeeklyOccupancy occupancyOfA, Schedulable a, Schedulable b) {
+        WeeklyOccupancy occupancyOfB = b.getOccupancy();
+        if (!occupancyOfA.intersects(occupancyOfB)) return false;
+        if (occupancyOfA.isExact() && occupancyOfB.isExact()) return true;
+        return overlapsExactly(a, b);
+    }
+
+    private boolean overlapsExactly(Schedulable a, Schedulable b) {
         for (TimeSlot ta : a.getMeetingTimes()) {
             for (TimeSlot tb : b.getMeetingTimes()) {
                 if (ta.overlaps(tb)) {
@@ -0,0 +1,156 @@
+package edu.uni.registration.validation;
+
+import edu.uni.registration.model.Instructor;
+import edu.uni.registration.model.Section;
+import edu.uni.registration.model.TimeSlot;
+import edu.uni.registration.model.WeeklyOccupancy;
+import edu.uni.registration.util.IntObjectMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-instructor, per-term weekly occupancy of assigned sections.
+ * Checking a new assignment is one bitmap AND in the common case; individual sections
+ * are only compared when the bitmap hits. Instructors are loaded lazily from
+ * {@link Instructor#getAssignedSections()} the first time they are consulted.
+ * Not thread-safe; callers serialize each check together with the assignment it allows.
+ */
+public class TeachingLoadIndex {
+
+    private static final class TermLoad {
+        final List<Section> sections = new ArrayList<>();
+        WeeklyOccupancy busy = WeeklyOccupancy.EMPTY;
+
+        void rebuild() {
+            busy = WeeklyOccupancy.EMPTY;
+            for (Section s : sections) {
+                busy = busy.union(s.getOccupancy());
+            }
+        }
+    }
+
+    private final IntObjectMap<Map<String, TermLoad>> byInstructor = new IntObjectMap<>();
+    private final ScheduleConflictChecker checker = new ScheduleConflictChecker();
+
+    private Map<String, TermLoad> loadOf(Instructor instructor) {
+        Map<String, TermLoad> terms = byInstructor.get(instructor.getIndex());
+        if (terms == null) {
+            terms = new HashMap<>();
+            for (Section s : instructor.getAssignedSections()) {
+                terms.computeIfAbsent(s.getTerm(), t -> new TermLoad()).sections.add(s);
+            }
+            for (TermLoad load : terms.values()) {
+                load.rebuild();
+            }
+            byInstructor.put(instructor.getIndex(), terms);
+        }
+        return terms;
+    }
+
+    /**
+     * Returns an already assigned section of the same term that meets at the same time as the candidate, or null.
+     */
+    public Section findConflict(Instructor instructor, Section candidate) {
+        TermLoad load = loadOf(instructor).get(candidate.getTerm());
+        if (load == null || !load.busy.intersects(candidate.getOccupancy())) {
+            return null;
+        }
+        for (Section s : load.sections) {
+            if (s != candidate && checker.conflicts(s, candidate)) {
+                return s;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns another section of the owner's term, taught by the instructor, that overlaps a slot about to be added to {@code owner}.
+     */
+    public Section findConflict(Instructor instructor, Section owner, TimeSlot slot) {
+        TermLoad load = loadOf(instructor).get(owner.getTerm());
+        if (load == null || !load.busy.intersects(WeeklyOccupancy.of(List.of(slot)))) {
+            return null;
+        }
+        for (Section s : load.sections) {
+            if (s == owner) continue;
+            for (TimeSlot t : s.getMeetingTimes()) {
+                if (t.overlaps(slot)) {
+                    return s;
+                }
+            }
+        }
+        return null;
+    }
+
+    public void add(Instructor instructor, Section section) {
+        TermLoad load = loadOf(instructor).computeIfAbsent(section.getTerm(), t -> new TermLoad());
+        if (!load.sections.contains(section)) {
+            load.sections.add(section);
+            load.busy = load.busy.union(section.getOccupancy());
+        }
+    }
+
+    public void remove(Instructor instructor, Section section) {
+        TermLoad load = loadOf(instructor).get(section.getTerm());
+        if (load != null && load.sections.remove(section)) {
+            load.rebuild();
+        }
+    }
+
+    /** Recomputes the bitmap of the section's term, e.g. after its meeting times changed. */
+    public void refresh(Instructor instructor, Section section) {
+        TermLoad load = loadOf(instructor).get(section.getTerm());
+        if (load != null) {
+            load.rebuild();
+        }
+    }
+
+    /**
+     * Validates a whole teaching plan (section -> instructor) in one pass.
+     * Each instructor's resulting load per term (current sections, minus sections the plan moves
+     * to someone else, plus planned ones) is swept once; only clashes involving a planned section
+     * are reported, so pre-existing overlaps do not block the plan.
+     */
+    public List<TimeClash> validatePlan(Map<Section, Instructor> plan) {
+        Map<Instructor, Map<String, List<Section>>> resulting = new LinkedHashMap<>();
+        for (Map.Entry<Section, Instructor> e : plan.entrySet()) {
+            Instructor instructor = e.getValue();
+            if (!resulting.containsKey(instructor)) {
+                Map<String, List<Section>> terms = new HashMap<>();
+                for (Map.Entry<String, TermLoad> t : loadOf(instructor).entrySet()) {
+                    for (Section s : t.getValue().sections) {
+                        Instructor planned = plan.get(s);
+                        if (planned == null || planned == instructor) {
+                            terms.computeIfAbsent(t.getKey(), k -> new ArrayList<>()).add(s);
+                        }
+                    }
+                }
+                resulting.put(instructor, terms);
+            }
+            List<Section> list = resulting.get(instructor).computeIfAbsent(e.getKey().getTerm(), k -> new ArrayList<>());
+            if (!list.contains(e.getKey())) {
+                list.add(e.getKey());
+            }
+        }
+
+        List<TimeClash> clashes = new ArrayList<>();
+        for (Map<String, List<Section>> terms : resulting.values()) {
+            for (List<Section> sections : terms.values()) {
+                MeetingTimeSweep sweep = new MeetingTimeSweep();
+                for (Section s : sections) {
+                    sweep.addAll(s);
+                }
+                for (TimeClash clash : sweep.findClashes()) {
+                    if (plan.containsKey(clash.getFirst()) || plan.containsKey(clash.getSecond())) {
+                        clashes.add(clash);
+                    }
+                }
+            }
+        }
+        return clashes;
+    }
+}
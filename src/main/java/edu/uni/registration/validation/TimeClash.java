@@ -0,0 +1,49 @@
+package edu.uni.registration.validation;
+
+import edu.uni.registration.model.Section;
+import edu.uni.registration.model.TimeSlot;
+
+/**
+ * Two sections whose meeting times overlap.
+ */
+public class TimeClash {
+    private final Section first;
+    private final TimeSlot firstSlot;
+    private final Section second;
+    private final TimeSlot secondSlot;
+
+    public TimeClash(Section first, TimeSlot firstSlot, Section second, TimeSlot secondSlot) {
+        this.first = first;
+        this.firstSlot = firstSlot;
+        this.second = second;
+        this.secondSlot = secondSlot;
+    }
+
+    public Section getFirst() {
+        return first;
+    }
+
+    public TimeSlot getFirstSlot() {
+        return firstSlot;
+    }
+
+    public Section getSecond() {
+        return second;
+    }
+
+    public TimeSlot getSecondSlot() {
+        return secondSlot;
+    }
+
+    /** True if the given section is one of the two sides. */
+    public boolean involves(Section section) {
+        return first == section || second == section;
+    }
+
+    @Override
+    public String toString() {
+        return first.getId() + " " + firstSlot.getDayOfWeek() + " " + firstSlot.getStartTime() + "-" + firstSlot.getEndTime()
+                + " <-> " + second.getId() + " " + secondSlot.getStartTime() + "-" + secondSlot.getEndTime()
+                + (firstSlot.getRoom() != null ? " (" + firstSlot.getRoom() + ")" : "");
+    }
+}
@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 
 import java.time.DayOfWeek;
 import java.time.LocalTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -71,7 +72,7 @@ class AdminAuthorizationTest {
     }
 
     @Test
-    void shouldPromoteFromWaitlist_whenEnrolledStudentDrops() {
+    void shouldOfferSeatToWaitlist_whenEnrolledStudentDrops() {
         Result<Enrollment> first = registrationService.enrollStudentInSection("S1", "SEC-1");
         assertTrue(first.isOk());
         assertEquals(Enrollment.EnrollmentStatus.ENROLLED, first.get().getStatus());
@@ -90,8 +91,15 @@ class AdminAuthorizationTest {
         Result<Void> dropRes = registrationService.dropStudentInSection("S1", "SEC-1");
         assertTrue(dropRes.isOk());
         
-        Enrollment promoted = enrollmentRepo.findByStudentAndSection(waitlisted, sectionRepo.findById("SEC-1").orElseThrow()).orElseThrow();
-        assertEquals(Enrollment.EnrollmentStatus.ENROLLED, promoted.getStatus(), 
-                "Waitlisted student should be auto-promoted to ENROLLED");
+        Enrollment offered = enrollmentRepo.findByStudentAndSection(waitlisted, sectionRepo.findById("SEC-1").orElseThrow()).orElseThrow();
+        assertEquals(Enrollment.EnrollmentStatus.WAITLISTED, offered.getStatus(),
+                "Waitlisted student keeps their status until the offer is accepted");
+        List<SeatOffer> offers = registrationService.getPendingOffers("S2").get();
+        assertEquals(1, offers.size());
+
+        Result<Enrollment> accepted = registrationService.acceptOffer("S2", offers.get(0).getId());
+        assertTrue(accepted.isOk());
+        assertEquals(Enrollment.EnrollmentStatus.ENROLLED, offered.getStatus(),
+                "Waitlisted student should be ENROLLED after accepting the offer");
     }
 }
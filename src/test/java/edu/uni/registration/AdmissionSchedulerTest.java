@@ -0,0 +1,138 @@
+package edu.uni.registration;
+
+import edu.uni.registration.admission.AdaptiveLimit;
+import edu.uni.registration.admission.AdmissionScheduler;
+import edu.uni.registration.admission.AdmissionTicket;
+import edu.uni.registration.admission.AdmissionTicket.Status;
+import edu.uni.registration.model.*;
+import edu.uni.registration.repository.*;
+import edu.uni.registration.service.impl.AdmissionControlledRegistrationService;
+import edu.uni.registration.service.impl.RegistrationServiceImpl;
+import edu.uni.registration.util.Result;
+import edu.uni.registration.validation.PrerequisiteValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionSchedulerTest {
+
+    private static final long OPEN = 10_000_000L;
+    private static final long WAVE = 60 * 60_000L;
+    private final long[] now = {OPEN};
+    private AdmissionScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new AdmissionScheduler(OPEN, WAVE, 5 * 60_000L, new AdaptiveLimit(2, 1, 100), () -> now[0]);
+    }
+
+    private static Student student(String id, int year) {
+        return new Student(id, "F", "L", id + "@uni.edu", "CS", year);
+    }
+
+    @Test
+    void shouldAdmitSeniorsFirstAndQueueTheRest_whenRegistrationOpens() {
+        Student a = student("AD-A", 4), b = student("AD-B", 4), c = student("AD-C", 4), junior = student("AD-J", 2);
+
+        assertEquals(Status.ADMITTED, scheduler.requestAdmission(a).getStatus());
+        assertEquals(Status.ADMITTED, scheduler.requestAdmission(b).getStatus());
+        AdmissionTicket waiting = scheduler.requestAdmission(c);
+        AdmissionTicket early = scheduler.requestAdmission(junior);
+
+        assertEquals(Status.WAITING, waiting.getStatus());
+        assertEquals(0, waiting.getPosition());
+        assertTrue(waiting.getEstimatedWaitMillis() > 0);
+        assertEquals(Status.NOT_YET_OPEN, early.getStatus());
+        assertEquals(OPEN + 2 * WAVE, early.getTicketTimeMillis());
+
+        scheduler.leave("AD-A");
+        assertTrue(scheduler.isAdmitted("AD-C"));
+    }
+
+    @Test
+    void shouldFreeSlot_whenAdmittedSessionGoesIdle() {
+        scheduler.requestAdmission(student("AD-D", 4));
+        scheduler.requestAdmission(student("AD-E", 4));
+        Student waiter = student("AD-F", 4);
+        assertEquals(Status.WAITING, scheduler.requestAdmission(waiter).getStatus());
+
+        now[0] += 4 * 60_000L;
+        scheduler.requestAdmission(student("AD-D", 4));
+        now[0] += 2 * 60_000L;
+
+        assertEquals(Status.ADMITTED, scheduler.requestAdmission(waiter).getStatus());
+        assertTrue(scheduler.isAdmitted("AD-D"));
+        assertFalse(scheduler.isAdmitted("AD-E"));
+    }
+
+    @Test
+    void shouldShrinkLimit_whenLatencyClimbs() {
+        AdaptiveLimit limit = new AdaptiveLimit(50, 5, 500);
+        for (int i = 0; i < 200; i++) limit.onSample(1_000_000);
+        int healthy = limit.getLimit();
+        for (int i = 0; i < 200; i++) limit.onSample(20_000_000);
+
+        assertTrue(healthy > 50);
+        assertTrue(limit.getLimit() < healthy);
+    }
+
+    @Test
+    void shouldFailFastWithPosition_whenStudentIsNotAdmitted() {
+        StudentRepository studentRepo = new StudentRepository();
+        TranscriptRepository transcriptRepo = new TranscriptRepository();
+        SectionRepository sectionRepo = new SectionRepository();
+        for (String id : new String[]{"AD-1", "AD-2", "AD-3"}) {
+            Student s = student(id, 4);
+            studentRepo.save(s);
+            transcriptRepo.save(s.getTranscript());
+        }
+        sectionRepo.save(new Section("AD-SEC", new Course("AD101", "Intro", 3), "Fall", 10));
+        AdmissionControlledRegistrationService service = new AdmissionControlledRegistrationService(
+                new RegistrationServiceImpl(studentRepo, sectionRepo, new PrerequisiteValidator(), transcriptRepo,
+                        new PersonRepository(), new EnrollmentRepository()),
+                scheduler, studentRepo);
+
+        assertTrue(service.enrollStudentInSection("AD-1", "AD-SEC").isOk());
+        assertTrue(service.enrollStudentInSection("AD-2", "AD-SEC").isOk());
+        Result<Enrollment> blocked = service.enrollStudentInSection("AD-3", "AD-SEC");
+
+        assertTrue(blocked.isFail());
+        assertTrue(blocked.getError().contains("position"));
+        assertTrue(service.getCurrentSchedule("AD-3", null).isOk());
+        service.checkOut("AD-1");
+        assertTrue(service.enrollStudentInSection("AD-3", "AD-SEC").isOk());
+    }
+
+    @Test
+    void shouldLetLapsedStudentReleaseHold_whenSessionHasExpired() {
+        StudentRepository studentRepo = new StudentRepository();
+        TranscriptRepository transcriptRepo = new TranscriptRepository();
+        SectionRepository sectionRepo = new SectionRepository();
+        for (String id : new String[]{"AD-H1", "AD-H2", "AD-H3"}) {
+            Student s = student(id, 4);
+            studentRepo.save(s);
+            transcriptRepo.save(s.getTranscript());
+        }
+        Section section = new Section("AD-HSEC", new Course("AD102", "Holds", 3), "Fall", 10);
+        sectionRepo.save(section);
+        AdmissionControlledRegistrationService service = new AdmissionControlledRegistrationService(
+                new RegistrationServiceImpl(studentRepo, sectionRepo, new PrerequisiteValidator(), transcriptRepo,
+                        new PersonRepository(), new EnrollmentRepository()),
+                scheduler, studentRepo);
+        SeatHold hold = service.holdSeat("AD-H1", "AD-HSEC").get();
+        service.checkIn("AD-H2");
+
+        now[0] += 6 * 60_000L;
+        service.checkIn("AD-H2");
+        service.checkIn("AD-H3");
+        assertFalse(scheduler.isAdmitted("AD-H1"));
+
+        assertTrue(service.validateCart("AD-H1", List.of("AD-HSEC")).isOk());
+        assertTrue(service.releaseHold("AD-H1", hold.getId()).isOk());
+        assertEquals(0, section.getHeldSeats());
+        assertFalse(scheduler.isAdmitted("AD-H1"));
+    }
+}
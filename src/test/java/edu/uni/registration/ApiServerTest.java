@@ -0,0 +1,231 @@
+package edu.uni.registration;
+
+import edu.uni.registration.model.*;
+import edu.uni.registration.repository.*;
+import edu.uni.registration.server.ApiServer;
+import edu.uni.registration.server.JsonWriter;
+import edu.uni.registration.server.ServerMetrics;
+import edu.uni.registration.service.impl.CatalogServiceImpl;
+import edu.uni.registration.service.impl.GradingServiceImpl;
+import edu.uni.registration.service.impl.RateLimitedRegistrationService;
+import edu.uni.registration.service.impl.RegistrationServiceImpl;
+import edu.uni.registration.util.TokenBucketLimiter;
+import edu.uni.registration.validation.PrerequisiteValidator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiServerTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private SectionRepository sectionRepo;
+    private EnrollmentRepository enrollmentRepo;
+    private RegistrationServiceImpl registration;
+    private CatalogServiceImpl catalog;
+    private GradingServiceImpl grading;
+    private Section section;
+    private ApiServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        StudentRepository studentRepo = new StudentRepository();
+        TranscriptRepository transcriptRepo = new TranscriptRepository();
+        sectionRepo = new SectionRepository();
+        CourseRepository courseRepo = new CourseRepository();
+        PersonRepository personRepo = new PersonRepository();
+        enrollmentRepo = new EnrollmentRepository();
+        for (int i = 1; i <= 20; i++) {
+            Student s = new Student("API-" + i, "Ada", "Löve", "e", "CS", 1);
+            studentRepo.save(s);
+            transcriptRepo.save(s.getTranscript());
+        }
+        Course course = new Course("API101", "Intro to \"APIs\"", 3);
+        courseRepo.save(course);
+        section = new Section("API-SEC", course, "Fall", 10);
+        sectionRepo.save(section);
+        Course busy = new Course("API202", "Busy", 3);
+        courseRepo.save(busy);
+        for (int i = 0; i < 50; i++) {
+            Section many = new Section("API-MANY" + i, busy, "Fall", 3);
+            many.setWaitlistCapacity(2);
+            sectionRepo.save(many);
+        }
+
+        registration = new RegistrationServiceImpl(studentRepo, sectionRepo, new PrerequisiteValidator(),
+                transcriptRepo, personRepo, enrollmentRepo);
+        catalog = new CatalogServiceImpl(courseRepo, sectionRepo, personRepo);
+        grading = new GradingServiceImpl(studentRepo, sectionRepo, enrollmentRepo, transcriptRepo);
+        ServerMetrics metrics = new ServerMetrics();
+        metrics.gauge("replayed_requests", registration::getReplayedRequestCount);
+        server = new ApiServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                registration, catalog, grading, metrics);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldReturnCoursesAsJson_whenSearching() throws Exception {
+        HttpResponse<String> res = get("/courses?code=API101");
+
+        assertEquals(200, res.statusCode());
+        assertEquals("[{\"code\":\"API101\",\"title\":\"Intro to \\\"APIs\\\"\",\"credits\":3,\"prerequisites\":[]}]",
+                res.body());
+    }
+
+    @Test
+    void shouldEnrollOnce_whenPostIsRetriedWithSameIdempotencyKey() throws Exception {
+        HttpResponse<String> first = post("/students/API-1/enroll", "section=API-SEC", "k-1");
+        HttpResponse<String> retry = post("/students/API-1/enroll", "section=API-SEC", "k-1");
+
+        assertEquals(200, first.statusCode());
+        assertEquals(first.body(), retry.body());
+        assertTrue(first.body().contains("\"status\":\"ENROLLED\""));
+        assertEquals(1, section.getEnrolledCount());
+        assertEquals(1, registration.getReplayedRequestCount());
+    }
+
+    @Test
+    void shouldMapFailures_toStatusCodes() throws Exception {
+        assertEquals(404, post("/students/NOPE/enroll", "section=API-SEC", null).statusCode());
+        assertEquals(400, post("/students/API-1/enroll", "", null).statusCode());
+        assertEquals(404, get("/no/such/thing").statusCode());
+        assertEquals(405, get("/students/API-1/enroll").statusCode());
+
+        assertEquals(200, post("/students/API-1/enroll", "section=API-SEC", null).statusCode());
+        HttpResponse<String> again = post("/students/API-1/enroll", "section=API-SEC", null);
+        assertEquals(422, again.statusCode());
+        assertEquals("{\"error\":\"Already in API-SEC\"}", again.body());
+    }
+
+    @Test
+    void shouldAnswer429_whenStudentExhaustsWriteBudget() throws Exception {
+        TokenBucketLimiter reads = new TokenBucketLimiter(64, 10, 0.001);
+        TokenBucketLimiter writes = new TokenBucketLimiter(64, 1, 0.001);
+        ApiServer limited = new ApiServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                new RateLimitedRegistrationService(registration, reads, writes), catalog, grading, new ServerMetrics());
+        limited.start();
+        try {
+            String base = "http://127.0.0.1:" + limited.getPort();
+            HttpRequest.Builder enroll = HttpRequest.newBuilder(URI.create(base + "/students/API-2/enroll"))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString("section=API-SEC"));
+
+            assertEquals(200, client.send(enroll.build(), HttpResponse.BodyHandlers.ofString()).statusCode());
+            HttpResponse<String> second = client.send(enroll.build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(429, second.statusCode());
+            assertTrue(second.body().contains(RateLimitedRegistrationService.TOO_MANY_REQUESTS));
+            assertEquals(1, section.getEnrolledCount());
+        } finally {
+            limited.stop(0);
+        }
+    }
+
+    @Test
+    void shouldKeepRostersConsistent_whenClientsEnrollAndDropAcrossSectionsConcurrently() throws Exception {
+        AtomicInteger errors = new AtomicInteger();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            Random random = new Random(t);
+            threads[t] = new Thread(() -> {
+                try {
+                    for (int op = 0; op < 150; op++) {
+                        String student = "API-" + (1 + random.nextInt(20));
+                        String form = "section=API-MANY" + random.nextInt(50);
+                        String action = random.nextInt(3) == 0 ? "/drop" : "/enroll";
+                        int status = post("/students/" + student + action, form, null).statusCode();
+                        if (status != 200 && status != 422) errors.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    errors.incrementAndGet();
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread t : threads) {
+            t.join(60_000);
+            assertFalse(t.isAlive(), "client did not finish");
+        }
+
+        assertEquals(0, errors.get());
+        int onRosters = 0;
+        for (Section s : sectionRepo.findByCourseCode("API202")) {
+            assertTrue(s.getEnrolledCount() <= s.getCapacity());
+            onRosters += s.getRoster().size();
+        }
+        List<Enrollment> live = enrollmentRepo.findAll();
+        assertEquals(onRosters, live.size());
+        int scheduled = 0;
+        for (int i = 1; i <= 20; i++) {
+            scheduled += enrollmentRepo.findByStudent("API-" + i).size();
+        }
+        assertEquals(live.size(), scheduled);
+        for (Enrollment e : live) {
+            assertSame(e, e.getSection().findActiveEnrollment(e.getStudent()));
+        }
+    }
+
+    @Test
+    void shouldCountRequestsAndExposeGauges_onMetricsEndpoint() throws Exception {
+        get("/courses");
+        get("/courses");
+        post("/students/API-1/enroll", "section=API-SEC", "k-2");
+        post("/students/API-1/enroll", "section=API-SEC", "k-2");
+
+        String text = get("/metrics").body();
+
+        assertTrue(text.contains("http_requests_total{route=\"/courses\",status=\"2xx\"} 2"));
+        assertTrue(text.contains("http_request_duration_seconds_count{route=\"/students/{id}/enroll\"} 2"));
+        assertTrue(text.contains("replayed_requests 1"));
+        assertEquals(2, server.getMetrics().requestCount("/courses"));
+    }
+
+    @Test
+    void shouldSeparateAndEscape_whenWritingNestedJson() {
+        JsonWriter w = new JsonWriter(16);
+        w.beginObject()
+                .field("s", "tab\there é 😀")
+                .field("n", -42)
+                .field("gpa", 3.5)
+                .name("list").beginArray().value(1).value(true).nullValue().beginObject().endObject().endArray()
+                .endObject();
+
+        assertEquals("{\"s\":\"tab\\there é 😀\",\"n\":-42,\"gpa\":3.5,\"list\":[1,true,null,{}]}",
+                w.toString());
+        assertEquals("[]", w.reset().beginArray().endArray().toString());
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        HttpRequest req = HttpRequest.newBuilder(uri(path)).GET().build();
+        return client.send(req, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String form, String idempotencyKey) throws Exception {
+        HttpRequest.Builder req = HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form));
+        if (idempotencyKey != null) {
+            req.header(ApiServer.IDEMPOTENCY_HEADER, idempotencyKey);
+        }
+        return client.send(req.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getPort() + path);
+    }
+}
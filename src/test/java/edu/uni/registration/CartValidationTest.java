@@ -0,0 +1,91 @@
+package edu.uni.registration;
+
+import edu.uni.registration.model.*;
+import edu.uni.registration.repository.*;
+import edu.uni.registration.service.RegistrationService;
+import edu.uni.registration.service.impl.RegistrationServiceImpl;
+import edu.uni.registration.util.Result;
+import edu.uni.registration.validation.CartItemVerdict;
+import edu.uni.registration.validation.CartItemVerdict.Outcome;
+import edu.uni.registration.validation.PrerequisiteValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CartValidationTest {
+
+    private SectionRepository sectionRepo;
+    private StudentRepository studentRepo;
+    private RegistrationService registrationService;
+    private final Course course = new Course("CART101", "Intro", 3);
+
+    @BeforeEach
+    void setUp() {
+        sectionRepo = new SectionRepository();
+        studentRepo = new StudentRepository();
+        TranscriptRepository transcriptRepo = new TranscriptRepository();
+        registrationService = new RegistrationServiceImpl(studentRepo, sectionRepo, new PrerequisiteValidator(),
+                transcriptRepo, new PersonRepository(), new EnrollmentRepository());
+
+        Student student = new Student("CS1", "Jane", "Doe", "s@uni.edu", "CS", 1);
+        studentRepo.save(student);
+        transcriptRepo.save(student.getTranscript());
+        Student other = new Student("CS2", "Mike", "Mouse", "m@uni.edu", "CS", 1);
+        studentRepo.save(other);
+        transcriptRepo.save(other.getTranscript());
+    }
+
+    private Section section(String id, Course c, int capacity, DayOfWeek day, int startMinute, int endMinute) {
+        Section s = new Section(id, c, "Fall", capacity);
+        s.addMeetingTime(new TimeSlot(day, LocalTime.of(0, 0).plusMinutes(startMinute),
+                LocalTime.of(0, 0).plusMinutes(endMinute), "R-" + id));
+        sectionRepo.save(s);
+        return s;
+    }
+
+    @Test
+    void shouldReturnVerdictPerItem_whenCartHasMixedProblems() {
+        section("CART-A", course, 10, DayOfWeek.MONDAY, 540, 600);
+        assertTrue(registrationService.enrollStudentInSection("CS1", "CART-A").isOk());
+        section("CART-B", course, 10, DayOfWeek.MONDAY, 570, 630);
+        section("CART-C", course, 10, DayOfWeek.TUESDAY, 540, 600);
+        section("CART-D", course, 10, DayOfWeek.TUESDAY, 570, 600);
+        Course advanced = new Course("CART301", "Advanced", 3);
+        advanced.addPrerequisite("CART201");
+        section("CART-E", advanced, 10, DayOfWeek.FRIDAY, 540, 600);
+        section("CART-F", course, 1, DayOfWeek.THURSDAY, 540, 600);
+        assertTrue(registrationService.enrollStudentInSection("CS2", "CART-F").isOk());
+
+        Result<List<CartItemVerdict>> res = registrationService.validateCart("CS1",
+                List.of("CART-B", "CART-C", "CART-D", "CART-E", "CART-F", "NOPE"));
+
+        assertTrue(res.isOk());
+        List<CartItemVerdict> v = res.get();
+        assertEquals(6, v.size());
+        assertEquals(List.of("Time conflict with CART-A"), v.get(0).getProblems());
+        assertEquals(List.of("Time conflict with CART-D"), v.get(1).getProblems());
+        assertEquals(List.of("Time conflict with CART-C"), v.get(2).getProblems());
+        assertEquals(List.of("Prereqs not met"), v.get(3).getProblems());
+        assertEquals(Outcome.WAITLIST, v.get(4).getOutcome());
+        assertEquals(Outcome.REJECTED, v.get(5).getOutcome());
+        assertTrue(registrationService.getCurrentSchedule("CS1", null).get().size() == 1);
+    }
+
+    @Test
+    void shouldAcceptCart_whenItemsFitTogether() {
+        section("CART-G", course, 10, DayOfWeek.MONDAY, 540, 600);
+        section("CART-H", course, 10, DayOfWeek.MONDAY, 600, 660);
+
+        Result<List<CartItemVerdict>> res = registrationService.validateCart("CS1", List.of("CART-G", "CART-H", "CART-G"));
+
+        assertTrue(res.isOk());
+        assertEquals(Outcome.ENROLL, res.get().get(0).getOutcome());
+        assertEquals(Outcome.ENROLL, res.get().get(1).getOutcome());
+        assertEquals(List.of("Duplicate cart item"), res.get().get(2).getProblems());
+    }
+}
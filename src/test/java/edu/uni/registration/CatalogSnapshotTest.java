@@ -0,0 +1,101 @@
+package edu.uni.registration;
+
+import edu.uni.registration.model.*;
+import edu.uni.registration.repository.CourseRepository;
+import edu.uni.registration.repository.PersonRepository;
+import edu.uni.registration.repository.SectionRepository;
+import edu.uni.registration.service.impl.CatalogServiceImpl;
+import edu.uni.registration.util.PersistentHashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotTest {
+
+    private CatalogServiceImpl catalogService;
+
+    @BeforeEach
+    void setUp() {
+        catalogService = new CatalogServiceImpl(new CourseRepository(), new SectionRepository(), new PersonRepository());
+        catalogService.createCourse("SNAP101", "Intro", 3);
+    }
+
+    /** Keys with equal hash codes, to exercise collision nodes. */
+    private record Colliding(int id) {
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+
+    @Test
+    void shouldMatchHashMap_whenManyKeysAreAddedAndRemoved() {
+        PersistentHashMap<Integer, String> map = PersistentHashMap.empty();
+        Map<Integer, String> expected = new HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            map = map.plus(i * 7919, "v" + i);
+            expected.put(i * 7919, "v" + i);
+        }
+        for (int i = 0; i < 5_000; i += 3) {
+            map = map.minus(i * 7919);
+            expected.remove(i * 7919);
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (int i = 0; i < 5_000; i++) {
+            assertEquals(expected.get(i * 7919), map.get(i * 7919));
+        }
+    }
+
+    @Test
+    void shouldLeaveOldVersionIntact_whenKeysCollide() {
+        PersistentHashMap<Colliding, String> v1 = PersistentHashMap.<Colliding, String>empty()
+                .plus(new Colliding(1), "a")
+                .plus(new Colliding(2), "b");
+        PersistentHashMap<Colliding, String> v2 = v1.plus(new Colliding(1), "A").minus(new Colliding(2));
+
+        assertEquals("a", v1.get(new Colliding(1)));
+        assertEquals("b", v1.get(new Colliding(2)));
+        assertEquals(2, v1.size());
+        assertEquals("A", v2.get(new Colliding(1)));
+        assertNull(v2.get(new Colliding(2)));
+        assertEquals(1, v2.size());
+        assertSame(v2, v2.minus(new Colliding(3)));
+    }
+
+    @Test
+    void shouldKeepServingOldSnapshot_whenCourseIsEdited() {
+        CatalogSnapshot before = catalogService.snapshot();
+
+        catalogService.updateCourse("SNAP101", "Intro to Snapshots", 4);
+
+        CatalogSnapshot after = catalogService.snapshot();
+        assertEquals("Intro", before.findCourse("SNAP101").getTitle());
+        assertEquals(3, before.findCourse("SNAP101").getCredits());
+        assertEquals("Intro to Snapshots", after.findCourse("SNAP101").getTitle());
+        assertTrue(after.getVersion() > before.getVersion());
+        assertThrows(IllegalStateException.class, () -> after.findCourse("SNAP101").setTitle("x"));
+    }
+
+    @Test
+    void shouldListSectionsFromSnapshot_whenSearchResultCourseIsUsed() {
+        Course fromSearch = catalogService.search(null).get().get(0);
+        assertTrue(fromSearch.isFrozen());
+
+        assertTrue(catalogService.createSection("SNAP101-01", fromSearch, "Fall", 20).isOk());
+        catalogService.addMeetingTime("SNAP101-01",
+                new TimeSlot(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0), "R1"));
+
+        Section live = catalogService.getSectionsByCourseCode("snap101").get().get(0);
+        assertFalse(live.getCourse().isFrozen());
+        SectionListing listing = catalogService.snapshot().findSection("SNAP101-01");
+        assertEquals(1, listing.getMeetingTimes().size());
+        assertEquals(20, listing.getCapacity());
+    }
+}
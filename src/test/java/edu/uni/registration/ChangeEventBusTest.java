@@ -0,0 +1,130 @@
+package edu.uni.registration;
+
+import edu.uni.registration.events.ChangeEvent;
+import edu.uni.registration.events.ChangeEventBus;
+import edu.uni.registration.events.ChangeEventCounter;
+import edu.uni.registration.model.*;
+import edu.uni.registration.repository.*;
+import edu.uni.registration.service.impl.RegistrationServiceImpl;
+import edu.uni.registration.validation.PrerequisiteValidator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeEventBusTest {
+
+    private static List<String> describe(List<ChangeEvent> events) {
+        List<String> out = new ArrayList<>();
+        for (ChangeEvent e : events) {
+            out.add(e.getType() + " " + e.getEntityId() + (e.getDetail().isEmpty() ? "" : " " + e.getDetail()));
+        }
+        return out;
+    }
+
+    @Test
+    void shouldPublishEnrollmentLifecycle_whenStudentEnrollsAndDrops() {
+        ChangeEventBus bus = new ChangeEventBus(64, () -> 0L);
+        StudentRepository studentRepo = new StudentRepository();
+        SectionRepository sectionRepo = new SectionRepository();
+        TranscriptRepository transcriptRepo = new TranscriptRepository();
+        EnrollmentRepository enrollmentRepo = new EnrollmentRepository();
+        Student a = new Student("EV-1", "F", "L", "e", "CS", 1);
+        Student b = new Student("EV-2", "F", "L", "e", "CS", 1);
+        for (Student s : List.of(a, b)) {
+            studentRepo.save(s);
+            transcriptRepo.save(s.getTranscript());
+        }
+        sectionRepo.save(new Section("EV-SEC", new Course("EV101", "Intro", 3), "Fall", 1));
+        RegistrationServiceImpl service = new RegistrationServiceImpl(studentRepo, sectionRepo,
+                new PrerequisiteValidator(), transcriptRepo, new PersonRepository(), enrollmentRepo);
+        enrollmentRepo.setEventBus(bus);
+        ChangeEventBus.Subscription billing = bus.subscribe();
+
+        service.enrollStudentInSection("EV-1", "EV-SEC");
+        service.enrollStudentInSection("EV-2", "EV-SEC");
+        service.dropStudentInSection("EV-1", "EV-SEC");
+
+        assertEquals(List.of(
+                "ENROLLMENT_SAVED EV-1:EV-SEC ENROLLED",
+                "ENROLLMENT_SAVED EV-2:EV-SEC WAITLISTED",
+                "ENROLLMENT_STATUS_CHANGED EV-1:EV-SEC ENROLLED->DROPPED",
+                "ENROLLMENT_ARCHIVED EV-1:EV-SEC"), describe(billing.poll(100)));
+        assertTrue(billing.poll(100).isEmpty());
+        assertEquals(0, billing.lag());
+    }
+
+    @Test
+    void shouldLetEachConsumerReadAtOwnPace_whenPolledInBatches() {
+        ChangeEventBus bus = new ChangeEventBus(16, () -> 0L);
+        ChangeEventBus.Subscription fast = bus.subscribe();
+        ChangeEventBus.Subscription slow = bus.subscribe();
+        for (int i = 0; i < 10; i++) {
+            bus.publish(ChangeEvent.Type.COURSE_SAVED, "C" + i, null);
+        }
+
+        assertEquals(4, fast.poll(4).size());
+        assertEquals(6, fast.poll(100).size());
+        assertEquals(10, slow.lag());
+        assertEquals("C0", slow.poll(1).get(0).getEntityId());
+    }
+
+    @Test
+    void shouldSkipAheadAndCountMissed_whenConsumerIsLapped() {
+        ChangeEventBus bus = new ChangeEventBus(8, () -> 0L);
+        ChangeEventBus.Subscription slow = bus.subscribe();
+        for (int i = 0; i < 20; i++) {
+            bus.publish(ChangeEvent.Type.SECTION_SAVED, "S" + i, null);
+        }
+
+        List<ChangeEvent> batch = slow.poll(100);
+
+        assertEquals(8, batch.size());
+        assertEquals("S12", batch.get(0).getEntityId());
+        assertEquals(12, slow.getMissedCount());
+    }
+
+    @Test
+    void shouldDeliverEveryEventInOrder_whenManyThreadsPublish() throws InterruptedException {
+        ChangeEventBus bus = new ChangeEventBus(1 << 14, () -> 0L);
+        ChangeEventBus.Subscription consumer = bus.subscribe();
+        Thread[] producers = new Thread[4];
+        for (int t = 0; t < producers.length; t++) {
+            producers[t] = new Thread(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    bus.publish(ChangeEvent.Type.GRADE_ASSIGNED, "E", "A");
+                }
+            });
+            producers[t].start();
+        }
+        for (Thread t : producers) t.join();
+
+        List<ChangeEvent> all = consumer.poll(10_000);
+        assertEquals(8_000, all.size());
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(i, all.get(i).getSequence());
+        }
+    }
+
+    @Test
+    void shouldCountEventsByType_whenCountersReadTheSameBusAtTheirOwnPace() {
+        ChangeEventBus bus = new ChangeEventBus(64, () -> 0L);
+        ChangeEventCounter early = new ChangeEventCounter(bus);
+        bus.publish(ChangeEvent.Type.COURSE_SAVED, "C1", null);
+        bus.publish(ChangeEvent.Type.GRADE_ASSIGNED, "E1", "A");
+        assertEquals(2, early.drain());
+        ChangeEventCounter late = new ChangeEventCounter(bus);
+        bus.publish(ChangeEvent.Type.GRADE_ASSIGNED, "E2", "B");
+
+        assertEquals(1, early.lag());
+        assertEquals(1, early.drain());
+        assertEquals(1, early.count(ChangeEvent.Type.COURSE_SAVED));
+        assertEquals(2, early.count(ChangeEvent.Type.GRADE_ASSIGNED));
+        assertEquals(1, late.drain());
+        assertEquals(0, late.count(ChangeEvent.Type.COURSE_SAVED));
+        assertEquals(1, late.count(ChangeEvent.Type.GRADE_ASSIGNED));
+        assertEquals(0, late.missed());
+    }
+}
@@ -0,0 +1,66 @@
+package edu.uni.registration;
+
+import edu.uni.registration.model.*;
+import edu.uni.registration.model.Enrollment.EnrollmentStatus;
+import edu.uni.registration.repository.*;
+import edu.uni.registration.service.RegistrationService;
+import edu.uni.registration.service.impl.RegistrationServiceImpl;
+import edu.uni.registration.validation.PrerequisiteValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnrollmentHistoryTest {
+
+    private SectionRepository sectionRepo;
+    private EnrollmentRepository enrollmentRepo;
+    private RegistrationService registrationService;
+    private Section section;
+
+    @BeforeEach
+    void setUp() {
+        StudentRepository studentRepo = new StudentRepository();
+        TranscriptRepository transcriptRepo = new TranscriptRepository();
+        PersonRepository personRepo = new PersonRepository();
+        sectionRepo = new SectionRepository();
+        enrollmentRepo = new EnrollmentRepository();
+        registrationService = new RegistrationServiceImpl(studentRepo, sectionRepo, new PrerequisiteValidator(),
+                transcriptRepo, personRepo, enrollmentRepo);
+
+        for (String id : new String[]{"S1", "S2"}) {
+            Student s = new Student(id, "First", "Last", id + "@uni.edu", "CS", 1);
+            studentRepo.save(s);
+            transcriptRepo.save(s.getTranscript());
+        }
+        section = new Section("SEC-1", new Course("CS101", "Intro", 3), "Fall", 2);
+        sectionRepo.save(section);
+    }
+
+    @Test
+    void shouldMoveDroppedEnrollmentToHistory_whenStudentDrops() {
+        Enrollment enrollment = registrationService.enrollStudentInSection("S1", "SEC-1").get();
+        registrationService.enrollStudentInSection("S2", "SEC-1");
+
+        assertTrue(registrationService.dropStudentInSection("S1", "SEC-1").isOk());
+
+        assertEquals(1, section.getRoster().size());
+        assertEquals("S2", section.getRoster().get(0).getStudent().getId());
+        assertEquals(EnrollmentStatus.DROPPED, enrollment.getStatus());
+        assertTrue(enrollmentRepo.findByStudentAndSection(enrollment.getStudent(), section).isEmpty());
+        assertEquals(1, enrollmentRepo.getHistory().findBySection("SEC-1").size());
+        assertEquals(1, enrollmentRepo.findByStatus(EnrollmentStatus.DROPPED).size());
+    }
+
+    @Test
+    void shouldKeepRosterAtLiveSize_whenStudentRepeatsAddDrop() {
+        for (int i = 0; i < 20; i++) {
+            assertTrue(registrationService.enrollStudentInSection("S1", "SEC-1").isOk());
+            assertTrue(registrationService.dropStudentInSection("S1", "SEC-1").isOk());
+        }
+        registrationService.enrollStudentInSection("S1", "SEC-1");
+
+        assertEquals(1, section.getRoster().size());
+        assertEquals(20, enrollmentRepo.getHistory().findByStudent("S1").size());
+    }
+}
@@ -0,0 +1,75 @@
+package edu.uni.registration;
+
+import edu.uni.registration.model.*;
+import edu.uni.registration.repository.EnrollmentRepository;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnrollmentRepositoryTest {
+
+    private final Course course = new Course("CS101", "Intro", 3);
+
+    @Test
+    void shouldIndexRosterAndSchedule_whenEnrollmentIsSaved() {
+        EnrollmentRepository repo = new EnrollmentRepository();
+        Student student = new Student("S1", "John", "Doe", "email", "CS", 1);
+        Section section = new Section("SEC1", course, "Fall", 10);
+
+        Enrollment enrollment = repo.save(new Enrollment(student, section));
+
+        assertEquals(1, section.getRoster().size());
+        assertSame(enrollment, repo.findByStudent("S1").get(0));
+        assertSame(enrollment, repo.findBySection("SEC1").get(0));
+        assertSame(enrollment, repo.findById("S1:SEC1").orElseThrow());
+    }
+
+    @Test
+    void shouldNotDuplicateRosterRow_whenSavedAfterManualAdd() {
+        EnrollmentRepository repo = new EnrollmentRepository();
+        Student student = new Student("S1", "John", "Doe", "email", "CS", 1);
+        Section section = new Section("SEC1", course, "Fall", 10);
+        Enrollment enrollment = new Enrollment(student, section);
+
+        section.addEnrollment(enrollment);
+        repo.save(enrollment);
+        repo.save(enrollment);
+
+        assertEquals(1, section.getRoster().size());
+        assertEquals(1, repo.findByStudent("S1").size());
+    }
+
+    @Test
+    void shouldRemoveFromEveryIndex_whenArchived() {
+        EnrollmentRepository repo = new EnrollmentRepository();
+        Student student = new Student("S1", "John", "Doe", "email", "CS", 1);
+        Section section = new Section("SEC1", course, "Fall", 10);
+        Enrollment enrollment = repo.save(new Enrollment(student, section));
+
+        repo.archive(enrollment);
+
+        assertEquals(Enrollment.EnrollmentStatus.DROPPED, enrollment.getStatus());
+        assertTrue(section.getRoster().isEmpty());
+        assertTrue(repo.findByStudent("S1").isEmpty());
+        assertTrue(repo.findAll().isEmpty());
+        assertEquals(1, repo.getHistory().size());
+    }
+
+    @Test
+    void shouldArchiveReplacedEnrollment_whenSameStudentAndSectionIsSavedAgain() {
+        EnrollmentRepository repo = new EnrollmentRepository();
+        Student student = new Student("S1", "John", "Doe", "email", "CS", 1);
+        Section section = new Section("SEC1", course, "Fall", 10);
+        Enrollment first = repo.save(new Enrollment(student, section));
+        Enrollment replacement = new Enrollment(student, section);
+        replacement.setStatus(Enrollment.EnrollmentStatus.DROPPED);
+
+        repo.save(replacement);
+
+        assertEquals(Enrollment.EnrollmentStatus.DROPPED, first.getStatus());
+        assertEquals(0, section.getEnrolledCount());
+        assertTrue(section.getRoster().isEmpty());
+        assertSame(replacement, repo.findById("S1:SEC1").orElseThrow());
+        assertEquals(1, repo.getHistory().size());
+    }
+}
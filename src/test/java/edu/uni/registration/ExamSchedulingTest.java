@@ -0,0 +1,72 @@
+package edu.uni.registration;
+
+import edu.uni.registration.model.*;
+import edu.uni.registration.repository.EnrollmentRepository;
+import edu.uni.registration.scheduling.ExamConflictGraph;
+import edu.uni.registration.scheduling.ExamSchedule;
+import edu.uni.registration.scheduling.ExamSlotColorer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExamSchedulingTest {
+
+    private final Course course = new Course("CS101", "Intro", 3);
+
+    @Test
+    void shouldLinkSectionsSharingEnrolledStudent_whenBuildingGraph() {
+        EnrollmentRepository repo = new EnrollmentRepository();
+        Section a = new Section("EX-A", course, "Fall", 10);
+        Section b = new Section("EX-B", course, "Fall", 10);
+        Section c = new Section("EX-C", course, "Fall", 10);
+        Student s1 = new Student("EX-S1", "A", "A", "a", "CS", 1);
+        Student s2 = new Student("EX-S2", "B", "B", "b", "CS", 1);
+        repo.save(new Enrollment(s1, a));
+        repo.save(new Enrollment(s1, b));
+        repo.save(new Enrollment(s2, c));
+        Enrollment waitlisted = new Enrollment(s2, a);
+        waitlisted.setStatus(Enrollment.EnrollmentStatus.WAITLISTED);
+        repo.save(waitlisted);
+
+        ExamConflictGraph graph = ExamConflictGraph.build(repo, "Fall");
+        ExamSchedule schedule = new ExamSlotColorer().color(graph);
+
+        assertEquals(3, graph.vertexCount());
+        assertEquals(1, graph.edgeCount());
+        assertTrue(schedule.isValid());
+        assertEquals(2, schedule.getSlotCount());
+    }
+
+    @Test
+    void shouldProduceValidSlots_whenColoringInParallel() {
+        EnrollmentRepository repo = new EnrollmentRepository();
+        List<Section> sections = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            sections.add(new Section("EXP-" + i, course, "Fall", 1_000));
+        }
+        Random random = new Random(3);
+        for (int s = 0; s < 1_500; s++) {
+            Student student = new Student("EXP-S" + s, "F", "L", "e", "CS", 1);
+            for (int k = 0; k < 4; k++) {
+                Section section = sections.get(random.nextInt(sections.size()));
+                if (!section.isEnrolled(student)) {
+                    repo.save(new Enrollment(student, section));
+                }
+            }
+        }
+
+        ExamConflictGraph graph = ExamConflictGraph.build(repo, "Fall");
+        ExamSchedule parallel = new ExamSlotColorer(new ForkJoinPool(4), 0).color(graph);
+        ExamSchedule sequential = new ExamSlotColorer(new ForkJoinPool(1), Integer.MAX_VALUE).color(graph);
+
+        assertTrue(parallel.isValid());
+        assertTrue(sequential.isValid());
+        assertTrue(parallel.getSlotCount() <= graph.maxDegree() + 1);
+        assertEquals(graph.vertexCount(), parallel.getSlots().stream().mapToInt(List::size).sum());
+    }
+}
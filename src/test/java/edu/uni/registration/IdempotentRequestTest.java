@@ -0,0 +1,91 @@
+package edu.uni.registration;
+
+import edu.uni.registration.model.*;
+import edu.uni.registration.repository.*;
+import edu.uni.registration.service.impl.RegistrationServiceImpl;
+import edu.uni.registration.util.RequestDeduplicator;
+import edu.uni.registration.util.Result;
+import edu.uni.registration.validation.PrerequisiteValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotentRequestTest {
+
+    private final long[] now = {0L};
+    private RegistrationServiceImpl service;
+    private Section section;
+
+    @BeforeEach
+    void setUp() {
+        StudentRepository studentRepo = new StudentRepository();
+        TranscriptRepository transcriptRepo = new TranscriptRepository();
+        SectionRepository sectionRepo = new SectionRepository();
+        Student s = new Student("IR-1", "F", "L", "e", "CS", 1);
+        studentRepo.save(s);
+        transcriptRepo.save(s.getTranscript());
+        section = new Section("IR-SEC", new Course("IR101", "Intro", 3), "Fall", 10);
+        sectionRepo.save(section);
+        service = new RegistrationServiceImpl(studentRepo, sectionRepo, new PrerequisiteValidator(), transcriptRepo,
+                new PersonRepository(), new EnrollmentRepository(), () -> now[0]);
+    }
+
+    @Test
+    void shouldReturnOriginalResult_whenEnrollIsRetriedWithSameRequestId() {
+        Result<Enrollment> first = service.enrollStudentInSection("req-1", "IR-1", "IR-SEC");
+        Result<Enrollment> retry = service.enrollStudentInSection("req-1", "IR-1", "IR-SEC");
+
+        assertTrue(first.isOk());
+        assertSame(first, retry);
+        assertEquals(1, section.getRoster().size());
+        assertEquals(1, service.getReplayedRequestCount());
+    }
+
+    @Test
+    void shouldRejectSecondEnrollment_whenRetriedWithoutRequestId() {
+        assertTrue(service.enrollStudentInSection("IR-1", "IR-SEC").isOk());
+
+        Result<Enrollment> again = service.enrollStudentInSection("IR-1", "IR-SEC");
+
+        assertEquals("Already in IR-SEC", again.getError());
+        assertEquals(1, section.getRoster().size());
+    }
+
+    @Test
+    void shouldFail_whenRequestIdIsReusedForDifferentCall() {
+        assertTrue(service.enrollStudentInSection("req-2", "IR-1", "IR-SEC").isOk());
+
+        Result<Void> drop = service.dropStudentInSection("req-2", "IR-1", "IR-SEC");
+
+        assertEquals(RequestDeduplicator.ID_REUSED, drop.getError());
+        assertTrue(section.isEnrolled(section.getRoster().get(0).getStudent()));
+    }
+
+    @Test
+    void shouldRunAgain_whenRequestIdHasExpired() {
+        RequestDeduplicator dedup = new RequestDeduplicator(100, 1_000, () -> now[0]);
+        AtomicInteger runs = new AtomicInteger();
+
+        dedup.execute("k", "op", () -> Result.ok(runs.incrementAndGet()));
+        dedup.execute("k", "op", () -> Result.ok(runs.incrementAndGet()));
+        now[0] += 1_000;
+        Result<Integer> late = dedup.execute("k", "op", () -> Result.ok(runs.incrementAndGet()));
+
+        assertEquals(Integer.valueOf(2), late.get());
+        assertEquals(1, dedup.replayCount());
+    }
+
+    @Test
+    void shouldStayWithinCapacity_whenManyDistinctRequestsArrive() {
+        RequestDeduplicator dedup = new RequestDeduplicator(64, 60_000, () -> now[0]);
+
+        for (int i = 0; i < 1_000; i++) {
+            dedup.execute("k" + i, "op", () -> Result.ok(null));
+        }
+
+        assertTrue(dedup.size() <= 64);
+    }
+}
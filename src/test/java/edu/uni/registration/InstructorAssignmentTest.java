@@ -0,0 +1,96 @@
+package edu.uni.registration;
+
+import edu.uni.registration.model.*;
+import edu.uni.registration.repository.*;
+import edu.uni.registration.service.CatalogService;
+import edu.uni.registration.service.impl.CatalogServiceImpl;
+import edu.uni.registration.util.Result;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstructorAssignmentTest {
+
+    private SectionRepository sectionRepo;
+    private PersonRepository personRepo;
+    private CatalogService catalogService;
+    private Instructor alice;
+    private Instructor bob;
+    private final Course course = new Course("CS101", "Intro", 3);
+
+    @BeforeEach
+    void setUp() {
+        sectionRepo = new SectionRepository();
+        personRepo = new PersonRepository();
+        catalogService = new CatalogServiceImpl(new CourseRepository(), sectionRepo, personRepo);
+        alice = new Instructor("I1", "Alice", "Smith", "a@uni.edu", "CS", "101");
+        bob = new Instructor("I2", "Bob", "Brown", "b@uni.edu", "CS", "102");
+        personRepo.save(alice);
+        personRepo.save(bob);
+    }
+
+    private Section section(String id, String term, DayOfWeek day, int startHour, int endHour) {
+        Section s = new Section(id, course, term, 30);
+        s.addMeetingTime(new TimeSlot(day, LocalTime.of(startHour, 0), LocalTime.of(endHour, 0), "R-" + id));
+        sectionRepo.save(s);
+        return s;
+    }
+
+    @Test
+    void shouldRejectAssignment_whenInstructorAlreadyTeachesAtThatTime() {
+        section("SEC-A", "Fall", DayOfWeek.MONDAY, 9, 11);
+        Section b = section("SEC-B", "Fall", DayOfWeek.MONDAY, 10, 12);
+        section("SEC-C", "Spring", DayOfWeek.MONDAY, 10, 12);
+
+        assertTrue(catalogService.assignInstructor("SEC-A", "I1").isOk());
+        Result<Void> clash = catalogService.assignInstructor("SEC-B", "I1");
+        Result<Void> otherTerm = catalogService.assignInstructor("SEC-C", "I1");
+
+        assertTrue(clash.isFail());
+        assertTrue(clash.getError().contains("SEC-A"));
+        assertNull(b.getInstructor());
+        assertTrue(otherTerm.isOk());
+        assertTrue(catalogService.assignInstructor("SEC-A", "I1").isOk());
+        assertEquals(2, alice.getAssignedSections().size());
+    }
+
+    @Test
+    void shouldApplyNothing_whenAnyPlanEntryClashes() {
+        Section a = section("SEC-A", "Fall", DayOfWeek.MONDAY, 9, 11);
+        section("SEC-B", "Fall", DayOfWeek.MONDAY, 10, 12);
+        section("SEC-C", "Fall", DayOfWeek.TUESDAY, 9, 11);
+
+        Map<String, String> bad = new LinkedHashMap<>();
+        bad.put("SEC-A", "I1");
+        bad.put("SEC-B", "I1");
+        bad.put("SEC-C", "I2");
+        Result<Void> rejected = catalogService.assignInstructors(bad);
+
+        assertTrue(rejected.isFail());
+        assertNull(a.getInstructor());
+        assertTrue(bob.getAssignedSections().isEmpty());
+
+        bad.put("SEC-B", "I2");
+        assertTrue(catalogService.assignInstructors(bad).isOk());
+        assertSame(alice, a.getInstructor());
+        assertEquals(2, bob.getAssignedSections().size());
+    }
+
+    @Test
+    void shouldReleaseOldInstructor_whenSectionIsReassigned() {
+        section("SEC-A", "Fall", DayOfWeek.MONDAY, 9, 11);
+        section("SEC-B", "Fall", DayOfWeek.MONDAY, 10, 12);
+
+        assertTrue(catalogService.assignInstructor("SEC-A", "I1").isOk());
+        assertTrue(catalogService.assignInstructor("SEC-A", "I2").isOk());
+
+        assertTrue(alice.getAssignedSections().isEmpty());
+        assertTrue(catalogService.assignInstructor("SEC-B", "I1").isOk());
+    }
+}
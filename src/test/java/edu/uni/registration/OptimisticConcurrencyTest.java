@@ -0,0 +1,177 @@
+package edu.uni.registration;
+
+import edu.uni.registration.model.*;
+import edu.uni.registration.repository.*;
+import edu.uni.registration.service.impl.CatalogServiceImpl;
+import edu.uni.registration.service.impl.RegistrationServiceImpl;
+import edu.uni.registration.validation.PrerequisiteValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimisticConcurrencyTest {
+
+    private StudentRepository studentRepo;
+    private SectionRepository sectionRepo;
+    private CourseRepository courseRepo;
+    private RegistrationServiceImpl registrationService;
+    private Section section;
+
+    @BeforeEach
+    void setUp() {
+        studentRepo = new StudentRepository();
+        sectionRepo = new SectionRepository();
+        courseRepo = new CourseRepository();
+        TranscriptRepository transcriptRepo = new TranscriptRepository();
+        for (int i = 0; i < 40; i++) {
+            Student s = new Student("OC-" + i, "F", "L", "e", "CS", 1);
+            studentRepo.save(s);
+            transcriptRepo.save(s.getTranscript());
+        }
+        Course course = new Course("OC101", "Intro", 3);
+        courseRepo.save(course);
+        section = new Section("OC-SEC", course, "Fall", 10);
+        section.setWaitlistCapacity(5);
+        sectionRepo.save(section);
+        registrationService = new RegistrationServiceImpl(studentRepo, sectionRepo, new PrerequisiteValidator(),
+                transcriptRepo, new PersonRepository(), new EnrollmentRepository());
+    }
+
+    @Test
+    void shouldBumpVersion_whenSectionOrCourseChanges() {
+        long before = section.getVersion();
+        registrationService.enrollStudentInSection("OC-0", "OC-SEC");
+        long afterEnroll = section.getVersion();
+        section.setCapacity(12);
+
+        assertTrue(afterEnroll > before);
+        assertTrue(section.getVersion() > afterEnroll);
+
+        Course course = section.getCourse();
+        long courseVersion = course.getVersion();
+        course.setTitle("Intro II");
+        assertEquals(courseVersion + 1, course.getVersion());
+        assertEquals(course.getVersion(), course.frozenCopy().getVersion());
+    }
+
+    @Test
+    void shouldRejectAndCountConflict_whenVersionIsStale() {
+        long stale = section.getVersion();
+        section.setCapacity(20);
+
+        boolean saved = sectionRepo.compareAndSave(section, stale, s -> s.setCapacity(1));
+
+        assertFalse(saved);
+        assertEquals(20, section.getCapacity());
+        assertEquals(1, sectionRepo.getContention().count("OC-SEC"));
+        assertEquals("OC-SEC", sectionRepo.getContention().top(1).get(0).getKey());
+        assertTrue(sectionRepo.compareAndSave(section, section.getVersion(), s -> s.setCapacity(1)));
+    }
+
+    @Test
+    void shouldNeverOversell_whenStudentsEnrollConcurrently() throws InterruptedException {
+        AtomicInteger enrolled = new AtomicInteger();
+        AtomicInteger waitlisted = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int i = offset; i < 40; i += threads.length) {
+                    var res = registrationService.enrollStudentInSection("OC-" + i, "OC-SEC");
+                    if (res.isOk() && res.get().getStatus() == Enrollment.EnrollmentStatus.ENROLLED) {
+                        enrolled.incrementAndGet();
+                    } else if (res.isOk()) {
+                        waitlisted.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread t : threads) t.join();
+
+        assertEquals(10, enrolled.get());
+        assertEquals(5, waitlisted.get());
+        assertEquals(10, section.getEnrolledCount());
+        assertEquals(5, section.getWaitlistedCount());
+    }
+
+    @Test
+    void shouldKeepIndexesConsistent_whenThreadsEnrollAndDropAcrossManySections() throws InterruptedException {
+        EnrollmentRepository enrollmentRepo = new EnrollmentRepository();
+        TranscriptRepository transcriptRepo = new TranscriptRepository();
+        for (int i = 0; i < 40; i++) {
+            transcriptRepo.save(studentRepo.findById("OC-" + i).orElseThrow().getTranscript());
+        }
+        Course course = section.getCourse();
+        int sectionCount = 4096;
+        for (int i = 0; i < sectionCount; i++) {
+            Section s = new Section("OC-MANY" + i, course, "Fall", 2);
+            s.setWaitlistCapacity(1);
+            sectionRepo.save(s);
+        }
+        RegistrationServiceImpl service = new RegistrationServiceImpl(studentRepo, sectionRepo,
+                new PrerequisiteValidator(), transcriptRepo, new PersonRepository(), enrollmentRepo);
+        AtomicInteger failures = new AtomicInteger();
+        Thread[] threads = new Thread[16];
+        for (int t = 0; t < threads.length; t++) {
+            Random random = new Random(t);
+            threads[t] = new Thread(() -> {
+                try {
+                    for (int op = 0; op < 4000; op++) {
+                        String student = "OC-" + random.nextInt(40);
+                        String sec = "OC-MANY" + random.nextInt(sectionCount);
+                        if (random.nextInt(4) == 0) {
+                            service.dropStudentInSection(student, sec);
+                        } else {
+                            service.enrollStudentInSection(student, sec);
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    failures.incrementAndGet();
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread t : threads) {
+            t.join(30_000);
+            assertFalse(t.isAlive(), "worker did not finish");
+        }
+
+        assertEquals(0, failures.get());
+        int onRosters = 0;
+        for (Section s : sectionRepo.findByCourseCode("OC101")) {
+            assertTrue(s.getEnrolledCount() <= s.getCapacity());
+            onRosters += s.getRoster().size();
+        }
+        List<Enrollment> live = enrollmentRepo.findAll();
+        assertEquals(onRosters, live.size());
+        int scheduled = 0;
+        for (int i = 0; i < 40; i++) {
+            scheduled += enrollmentRepo.findByStudent("OC-" + i).size();
+        }
+        assertEquals(live.size(), scheduled);
+        for (Enrollment e : live) {
+            assertSame(e, e.getSection().findActiveEnrollment(e.getStudent()));
+        }
+    }
+
+    @Test
+    void shouldApplyCapacityOverride_throughCompareAndSave() {
+        PersonRepository personRepo = new PersonRepository();
+        personRepo.save(new Admin("OC-A", "Ada", "Min", "a@uni.edu"));
+        CatalogServiceImpl catalogService = new CatalogServiceImpl(courseRepo, sectionRepo, personRepo);
+        long before = section.getVersion();
+
+        assertTrue(catalogService.adminOverrideCapacity("OC-SEC", 30, "OC-A", "Room change").isOk());
+        assertTrue(catalogService.updateCourse("OC101", null, 0).isFail());
+
+        assertEquals(30, section.getCapacity());
+        assertTrue(section.getVersion() > before);
+        assertEquals(0, sectionRepo.getContention().total());
+    }
+}
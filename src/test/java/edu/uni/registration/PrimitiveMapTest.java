@@ -0,0 +1,51 @@
+package edu.uni.registration;
+
+import edu.uni.registration.util.IdDictionary;
+import edu.uni.registration.util.IntObjectMap;
+import edu.uni.registration.util.LongObjectMap;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimitiveMapTest {
+
+    @Test
+    void shouldKeepAllEntries_whenMapGrowsAndEntriesAreRemoved() {
+        IntObjectMap<String> map = new IntObjectMap<>(4);
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "v" + i);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            assertEquals("v" + i, map.remove(i));
+        }
+
+        assertEquals(500, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 0 ? null : "v" + i, map.get(i));
+        }
+    }
+
+    @Test
+    void shouldReplaceValue_whenSameLongKeyIsPutTwice() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        long key = (7L << 32) | 3;
+
+        assertNull(map.put(key, "first"));
+        assertEquals("first", map.put(key, "second"));
+        assertEquals(1, map.size());
+        assertEquals("second", map.get(key));
+        assertNull(map.get(3));
+    }
+
+    @Test
+    void shouldReturnSameIndex_whenIdIsInternedTwice() {
+        IdDictionary dict = new IdDictionary();
+        int a = dict.intern("S1");
+        int b = dict.intern("S2");
+
+        assertEquals(a, dict.intern("S1"));
+        assertNotEquals(a, b);
+        assertEquals("S2", dict.idAt(b));
+        assertEquals(-1, dict.indexOf("UNKNOWN"));
+    }
+}
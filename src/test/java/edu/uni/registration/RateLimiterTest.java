@@ -0,0 +1,83 @@
+package edu.uni.registration;
+
+import edu.uni.registration.model.*;
+import edu.uni.registration.repository.*;
+import edu.uni.registration.service.RegistrationService;
+import edu.uni.registration.service.impl.RateLimitedRegistrationService;
+import edu.uni.registration.service.impl.RegistrationServiceImpl;
+import edu.uni.registration.util.Result;
+import edu.uni.registration.util.TokenBucketLimiter;
+import edu.uni.registration.validation.PrerequisiteValidator;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final long[] now = {50_000L};
+
+    @Test
+    void shouldRefillAtConfiguredRate_whenBucketIsDrained() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(8, 3, 2, () -> now[0]);
+
+        assertTrue(limiter.tryAcquire(1));
+        assertTrue(limiter.tryAcquire(1));
+        assertTrue(limiter.tryAcquire(1));
+        assertFalse(limiter.tryAcquire(1));
+        assertTrue(limiter.tryAcquire(2), "other keys have their own bucket");
+
+        now[0] += 499;
+        assertFalse(limiter.tryAcquire(1));
+        now[0] += 1;
+        assertTrue(limiter.tryAcquire(1));
+        now[0] += 60_000;
+        for (int i = 0; i < 3; i++) assertTrue(limiter.tryAcquire(1));
+        assertFalse(limiter.tryAcquire(1), "refill is capped at the burst size");
+        assertEquals(8, limiter.slotCount());
+    }
+
+    @Test
+    void shouldNeverOverspend_whenThreadsRace() throws InterruptedException {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(4, 1_000, 0.001, () -> now[0]);
+        AtomicInteger granted = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    if (limiter.tryAcquire(3)) granted.incrementAndGet();
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread t : threads) t.join();
+
+        assertEquals(1_000, granted.get());
+    }
+
+    @Test
+    void shouldFailFastOnReadsButStillAllowWrites_whenReadBudgetIsSpent() {
+        StudentRepository studentRepo = new StudentRepository();
+        TranscriptRepository transcriptRepo = new TranscriptRepository();
+        SectionRepository sectionRepo = new SectionRepository();
+        Student s = new Student("RL-1", "F", "L", "e", "CS", 1);
+        studentRepo.save(s);
+        transcriptRepo.save(s.getTranscript());
+        sectionRepo.save(new Section("RL-SEC", new Course("RL101", "Intro", 3), "Fall", 10));
+        RegistrationService service = new RateLimitedRegistrationService(
+                new RegistrationServiceImpl(studentRepo, sectionRepo, new PrerequisiteValidator(), transcriptRepo,
+                        new PersonRepository(), new EnrollmentRepository()),
+                new TokenBucketLimiter(16, 2, 1, () -> now[0]),
+                new TokenBucketLimiter(16, 2, 1, () -> now[0]));
+
+        assertTrue(service.getCurrentSchedule("RL-1", null).isOk());
+        assertTrue(service.getTranscript("RL-1").isOk());
+        Result<List<Section>> third = service.getCurrentSchedule("RL-1", null);
+
+        assertTrue(third.isFail());
+        assertEquals(RateLimitedRegistrationService.TOO_MANY_REQUESTS, third.getError());
+        assertTrue(service.enrollStudentInSection("RL-1", "RL-SEC").isOk());
+    }
+}
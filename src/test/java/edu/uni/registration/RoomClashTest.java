@@ -0,0 +1,105 @@
+package edu.uni.registration;
+
+import edu.uni.registration.model.*;
+import edu.uni.registration.repository.*;
+import edu.uni.registration.service.CatalogService;
+import edu.uni.registration.service.impl.CatalogServiceImpl;
+import edu.uni.registration.util.Result;
+import edu.uni.registration.validation.RoomClashAuditor;
+import edu.uni.registration.validation.TimeClash;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomClashTest {
+
+    private SectionRepository sectionRepo;
+    private CatalogService catalogService;
+    private final Course course = new Course("CS101", "Intro", 3);
+
+    @BeforeEach
+    void setUp() {
+        sectionRepo = new SectionRepository();
+        catalogService = new CatalogServiceImpl(new CourseRepository(), sectionRepo, new PersonRepository());
+    }
+
+    private static TimeSlot slot(DayOfWeek day, int startHour, int endHour, String room) {
+        return new TimeSlot(day, LocalTime.of(startHour, 0), LocalTime.of(endHour, 0), room);
+    }
+
+    @Test
+    void shouldRejectMeetingTime_whenRoomIsTakenInSameTerm() {
+        Section existing = new Section("SEC-A", course, "Fall", 30);
+        existing.addMeetingTime(slot(DayOfWeek.MONDAY, 9, 11, "Room 101"));
+        sectionRepo.save(existing);
+        catalogService.createSection("SEC-B", course, "Fall", 30);
+        catalogService.createSection("SEC-C", course, "Spring", 30);
+
+        Result<Void> clash = catalogService.addMeetingTime("SEC-B", slot(DayOfWeek.MONDAY, 10, 12, "room 101"));
+        Result<Void> otherTerm = catalogService.addMeetingTime("SEC-C", slot(DayOfWeek.MONDAY, 10, 12, "Room 101"));
+        Result<Void> afterwards = catalogService.addMeetingTime("SEC-B", slot(DayOfWeek.MONDAY, 11, 12, "Room 101"));
+
+        assertTrue(clash.isFail());
+        assertTrue(clash.getError().contains("SEC-A"));
+        assertTrue(otherTerm.isOk());
+        assertTrue(afterwards.isOk());
+    }
+
+    @Test
+    void shouldBookRoomOnce_whenSectionsRaceForTheSameSlot() throws InterruptedException {
+        int racers = 16;
+        for (int i = 0; i < racers; i++) {
+            catalogService.createSection("RACE-" + i, course, "Fall", 30);
+        }
+        AtomicInteger booked = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[racers];
+        for (int i = 0; i < racers; i++) {
+            String id = "RACE-" + i;
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (catalogService.addMeetingTime(id, slot(DayOfWeek.FRIDAY, 9, 10, "Hall 1")).isOk()) {
+                    booked.incrementAndGet();
+                }
+            });
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread t : threads) t.join();
+
+        assertEquals(1, booked.get());
+        assertTrue(catalogService.auditRoomClashes("Fall").get().isEmpty());
+    }
+
+    @Test
+    void shouldReportEveryClashingPair_whenAuditingTerm() {
+        Section a = new Section("A", course, "Fall", 10);
+        a.addMeetingTime(slot(DayOfWeek.TUESDAY, 9, 12, "Lab 1"));
+        Section b = new Section("B", course, "Fall", 10);
+        b.addMeetingTime(slot(DayOfWeek.TUESDAY, 10, 11, "Lab 1"));
+        Section c = new Section("C", course, "Fall", 10);
+        c.addMeetingTime(slot(DayOfWeek.TUESDAY, 11, 13, "Lab 1"));
+        Section d = new Section("D", course, "Fall", 10);
+        d.addMeetingTime(slot(DayOfWeek.TUESDAY, 9, 12, "Lab 2"));
+        Section e = new Section("E", course, "Fall", 10);
+        e.addMeetingTime(slot(DayOfWeek.WEDNESDAY, 9, 12, "Lab 1"));
+
+        List<TimeClash> clashes = new RoomClashAuditor().audit(List.of(a, b, c, d, e), "Fall");
+
+        assertEquals(2, clashes.size());
+        assertTrue(clashes.stream().allMatch(x -> x.involves(a)));
+        assertTrue(clashes.stream().anyMatch(x -> x.involves(b)));
+        assertTrue(clashes.stream().anyMatch(x -> x.involves(c)));
+    }
+}
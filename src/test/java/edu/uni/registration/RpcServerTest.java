@@ -0,0 +1,216 @@
+package edu.uni.registration;
+
+import edu.uni.registration.model.*;
+import edu.uni.registration.repository.*;
+import edu.uni.registration.rpc.RpcClient;
+import edu.uni.registration.rpc.RpcProtocol;
+import edu.uni.registration.rpc.RpcServer;
+import edu.uni.registration.rpc.RpcViews.CourseView;
+import edu.uni.registration.rpc.RpcViews.EnrollmentView;
+import edu.uni.registration.rpc.RpcViews.SectionView;
+import edu.uni.registration.service.impl.CatalogServiceImpl;
+import edu.uni.registration.service.impl.RateLimitedRegistrationService;
+import edu.uni.registration.service.impl.RegistrationServiceImpl;
+import edu.uni.registration.util.Result;
+import edu.uni.registration.util.TokenBucketLimiter;
+import edu.uni.registration.validation.PrerequisiteValidator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RpcServerTest {
+
+    private SectionRepository sectionRepo;
+    private EnrollmentRepository enrollmentRepo;
+    private RegistrationServiceImpl registration;
+    private CatalogServiceImpl catalog;
+    private RpcServer server;
+    private RpcClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        StudentRepository studentRepo = new StudentRepository();
+        TranscriptRepository transcriptRepo = new TranscriptRepository();
+        sectionRepo = new SectionRepository();
+        CourseRepository courseRepo = new CourseRepository();
+        PersonRepository personRepo = new PersonRepository();
+        for (int i = 0; i < 20; i++) {
+            Student s = new Student("RPC-" + i, "Zoe", "Student", "e", "CS", 1);
+            studentRepo.save(s);
+            transcriptRepo.save(s.getTranscript());
+        }
+        for (int i = 0; i < 40; i++) {
+            Course course = new Course("RPC" + (100 + i), "Course " + i, 3);
+            courseRepo.save(course);
+            Section section = new Section("RPC-SEC" + i, course, "Fall", 2);
+            section.setWaitlistCapacity(1);
+            sectionRepo.save(section);
+        }
+        enrollmentRepo = new EnrollmentRepository();
+        registration = new RegistrationServiceImpl(studentRepo, sectionRepo, new PrerequisiteValidator(),
+                transcriptRepo, personRepo, enrollmentRepo);
+        catalog = new CatalogServiceImpl(courseRepo, sectionRepo, personRepo);
+        server = new RpcServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), registration, catalog, 2);
+        server.start();
+        client = RpcClient.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    void shouldRoundTripServiceResults_whenCalledOverTheWire() {
+        Result<EnrollmentView> enrolled = client.enrollStudentInSection(null, "RPC-0", "RPC-SEC1").join();
+        Result<List<SectionView>> schedule = client.getCurrentSchedule("RPC-0", null).join();
+        Result<List<CourseView>> found = client.search("RPC105", null, null, null, null).join();
+
+        assertTrue(enrolled.isOk());
+        assertEquals(Enrollment.EnrollmentStatus.ENROLLED, enrolled.get().getStatus());
+        assertEquals("RPC-SEC1", schedule.get().get(0).getId());
+        assertEquals(1, schedule.get().get(0).getEnrolled());
+        assertEquals("Course 5", found.get().get(0).getTitle());
+        assertEquals("Already in RPC-SEC1", client.enrollStudentInSection(null, "RPC-0", "RPC-SEC1").join().getError());
+    }
+
+    @Test
+    void shouldAnswerInOrder_whenRequestsArePipelined() {
+        List<CompletableFuture<Result<EnrollmentView>>> replies = new ArrayList<>();
+        client.pipelined(() -> {
+            for (int i = 0; i < 40; i++) {
+                replies.add(client.enrollStudentInSection("p-" + i, "RPC-1", "RPC-SEC" + i));
+            }
+        });
+
+        for (int i = 0; i < 40; i++) {
+            Result<EnrollmentView> r = replies.get(i).join();
+            assertTrue(r.isOk(), r.getError());
+            assertEquals("RPC-SEC" + i, r.get().getSectionId());
+        }
+        assertEquals(40, server.getRequestCount());
+        assertTrue(server.getRequestsPerRead() > 1);
+    }
+
+    @Test
+    void shouldKeepRostersConsistent_whenClientsWriteAcrossSectionsConcurrently() throws Exception {
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+        AtomicInteger errors = new AtomicInteger();
+        Thread[] threads = new Thread[6];
+        for (int t = 0; t < threads.length; t++) {
+            Random random = new Random(t);
+            threads[t] = new Thread(() -> {
+                try (RpcClient own = RpcClient.connect(address)) {
+                    for (int round = 0; round < 50; round++) {
+                        List<CompletableFuture<? extends Result<?>>> replies = new ArrayList<>();
+                        own.pipelined(() -> {
+                            for (int i = 0; i < 8; i++) {
+                                String student = "RPC-" + random.nextInt(20);
+                                String sec = "RPC-SEC" + random.nextInt(40);
+                                replies.add(random.nextInt(3) == 0
+                                        ? own.dropStudentInSection(null, student, sec)
+                                        : own.enrollStudentInSection(null, student, sec));
+                            }
+                        });
+                        for (CompletableFuture<? extends Result<?>> reply : replies) {
+                            reply.join();
+                        }
+                    }
+                } catch (Exception e) {
+                    errors.incrementAndGet();
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread t : threads) {
+            t.join(60_000);
+            assertFalse(t.isAlive(), "client did not finish");
+        }
+
+        assertEquals(0, errors.get());
+        int onRosters = 0;
+        for (Section s : sectionRepo.findAll()) {
+            assertTrue(s.getEnrolledCount() <= s.getCapacity());
+            onRosters += s.getRoster().size();
+        }
+        List<Enrollment> live = enrollmentRepo.findAll();
+        assertEquals(onRosters, live.size());
+        int scheduled = 0;
+        for (int i = 0; i < 20; i++) {
+            scheduled += enrollmentRepo.findByStudent("RPC-" + i).size();
+        }
+        assertEquals(live.size(), scheduled);
+        for (Enrollment e : live) {
+            assertSame(e, e.getSection().findActiveEnrollment(e.getStudent()));
+        }
+    }
+
+    @Test
+    void shouldReplayOriginalAnswer_whenRequestIdIsRetried() {
+        client.enrollStudentInSection("r-1", "RPC-2", "RPC-SEC3").join();
+        Result<EnrollmentView> retry = client.enrollStudentInSection("r-1", "RPC-2", "RPC-SEC3").join();
+
+        assertTrue(retry.isOk());
+        assertEquals(1, registration.getReplayedRequestCount());
+    }
+
+    @Test
+    void shouldRejectCatalogEdits_whenCallerIsNotAnAdmin() throws Exception {
+        try (SocketChannel raw = SocketChannel.open(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()))) {
+            ByteBuffer frame = ByteBuffer.allocate(RpcProtocol.LENGTH_BYTES + RpcProtocol.HEADER_BYTES);
+            frame.putInt(RpcProtocol.HEADER_BYTES).putInt(7).put((byte) 23).flip();
+            raw.write(frame);
+            ByteBuffer reply = ByteBuffer.allocate(256);
+            while (reply.position() < RpcProtocol.LENGTH_BYTES + RpcProtocol.HEADER_BYTES) {
+                assertTrue(raw.read(reply) >= 0);
+            }
+
+            assertEquals(7, reply.getInt(RpcProtocol.LENGTH_BYTES));
+            assertEquals(RpcProtocol.STATUS_BAD_REQUEST, reply.get(RpcProtocol.LENGTH_BYTES + 4));
+        }
+        Result<Void> override = client.adminOverrideCapacity("RPC-SEC0", 50, "RPC-0", "More room").join();
+        assertTrue(override.isFail());
+    }
+
+    @Test
+    void shouldReturnBuffersToPool_whenConnectionGoesIdle() {
+        for (int i = 0; i < 20; i++) {
+            assertTrue(client.ping().join().isOk());
+        }
+
+        assertTrue(server.getBufferPool().allocatedCount() <= 2);
+        assertEquals(1, server.getConnectionCount());
+    }
+
+    @Test
+    void shouldFailCall_whenStudentExhaustsWriteBudget() throws Exception {
+        RateLimitedRegistrationService limited = new RateLimitedRegistrationService(registration,
+                new TokenBucketLimiter(64, 20, 5, () -> 0L), new TokenBucketLimiter(64, 1, 1, () -> 0L));
+        try (RpcServer limitedServer = new RpcServer(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), limited, catalog, 1)) {
+            limitedServer.start();
+            try (RpcClient limitedClient = RpcClient.connect(
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), limitedServer.getPort()))) {
+                assertTrue(limitedClient.enrollStudentInSection(null, "RPC-3", "RPC-SEC4").join().isOk());
+                Result<EnrollmentView> second = limitedClient.enrollStudentInSection(null, "RPC-3", "RPC-SEC5").join();
+
+                assertTrue(second.isFail());
+                assertEquals(RateLimitedRegistrationService.TOO_MANY_REQUESTS, second.getError());
+            }
+        }
+    }
+}
@@ -50,6 +50,28 @@ class ScheduleConflictCheckerTest {
         assertFalse(checker.conflicts(s1, s2));
     }
 
+    @Test
+    void shouldUseExactOverlap_whenTimesAreOffTheFiveMinuteGrid() {
+        // 10:02 and 10:03 share a bucket but do not overlap
+        TimeSlot slot1 = new TimeSlot(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 2), "A");
+        TimeSlot slot2 = new TimeSlot(DayOfWeek.MONDAY, LocalTime.of(10, 3), LocalTime.of(11, 0), "B");
+        TimeSlot slot3 = new TimeSlot(DayOfWeek.MONDAY, LocalTime.of(10, 1), LocalTime.of(10, 4), "C");
+
+        Schedulable s1 = new TestSchedulable(List.of(slot1));
+
+        assertTrue(s1.getOccupancy().intersects(new TestSchedulable(List.of(slot2)).getOccupancy()));
+        assertFalse(checker.conflicts(s1, new TestSchedulable(List.of(slot2))));
+        assertTrue(checker.conflicts(s1, new TestSchedulable(List.of(slot3))));
+    }
+
+    @Test
+    void shouldNotDetectConflict_whenSameTimeOnDifferentDays() {
+        TimeSlot slot1 = new TimeSlot(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0), "A");
+        TimeSlot slot2 = new TimeSlot(DayOfWeek.SUNDAY, LocalTime.of(9, 0), LocalTime.of(10, 0), "A");
+
+        assertFalse(checker.conflicts(new TestSchedulable(List.of(slot1)), new TestSchedulable(List.of(slot2))));
+    }
+
     @Test
     void shouldReturnFalse_whenInputIsNull() {
         Schedulable s1 = new TestSchedulable(List.of());
@@ -0,0 +1,91 @@
+package edu.uni.registration;
+
+import edu.uni.registration.model.*;
+import edu.uni.registration.repository.*;
+import edu.uni.registration.scheduling.ScheduleGenerator;
+import edu.uni.registration.service.RegistrationService;
+import edu.uni.registration.service.impl.RegistrationServiceImpl;
+import edu.uni.registration.util.Result;
+import edu.uni.registration.validation.PrerequisiteValidator;
+import edu.uni.registration.validation.ScheduleConflictChecker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleGeneratorTest {
+
+    private SectionRepository sectionRepo;
+    private RegistrationService registrationService;
+
+    @BeforeEach
+    void setUp() {
+        sectionRepo = new SectionRepository();
+        registrationService = new RegistrationServiceImpl(new StudentRepository(), sectionRepo,
+                new PrerequisiteValidator(), new TranscriptRepository(), new PersonRepository(), new EnrollmentRepository());
+    }
+
+    private Section section(String id, Course course, String term, int hour) {
+        Section s = new Section(id, course, term, 30);
+        s.addMeetingTime(new TimeSlot(DayOfWeek.MONDAY, LocalTime.of(hour, 0), LocalTime.of(hour + 1, 0), "R1"));
+        sectionRepo.save(s);
+        return s;
+    }
+
+    @Test
+    void shouldEnumerateOnlyConflictFreeCombinations_whenGeneratingSchedules() {
+        Course math = new Course("GEN-MATH", "Math", 3);
+        Course phys = new Course("GEN-PHYS", "Physics", 3);
+        section("GM-9", math, "Fall", 9);
+        section("GM-10", math, "Fall", 10);
+        section("GP-9", phys, "Fall", 9);
+        section("GP-11", phys, "Fall", 11);
+        section("GP-SPR", phys, "Spring", 13);
+
+        Result<Stream<List<Section>>> res = registrationService.generateSchedules(List.of("GEN-MATH", "GEN-PHYS"), "Fall");
+        assertTrue(res.isOk());
+        Set<String> found = res.get()
+                .map(s -> s.get(0).getId() + "+" + s.get(1).getId())
+                .collect(Collectors.toSet());
+
+        assertEquals(Set.of("GM-9+GP-11", "GM-10+GP-9", "GM-10+GP-11"), found);
+        assertTrue(registrationService.generateSchedules(List.of("GEN-MATH", "NOPE"), "Fall").isFail());
+    }
+
+    @Test
+    void shouldMatchSequentialResults_whenSearchingInParallel() {
+        List<List<Section>> options = new ArrayList<>();
+        for (int c = 0; c < ScheduleGenerator.PARALLEL_COURSES; c++) {
+            Course course = new Course("PAR-" + c, "Course " + c, 3);
+            List<Section> sections = new ArrayList<>();
+            for (int h = 8; h < 16; h++) {
+                sections.add(section("PAR-" + c + "-" + h, course, "Fall", h));
+            }
+            options.add(sections);
+        }
+
+        ScheduleGenerator generator = new ScheduleGenerator();
+        List<List<Section>> parallel = generator.generate(options).collect(Collectors.toList());
+        long sequential = generator.generate(options).sequential().count();
+
+        // 8 hours choose 6 distinct ones, in every order: 8!/2! permutations.
+        assertEquals(20_160, parallel.size());
+        assertEquals(20_160, sequential);
+        ScheduleConflictChecker checker = new ScheduleConflictChecker();
+        for (List<Section> schedule : parallel.subList(0, 100)) {
+            for (int i = 0; i < schedule.size(); i++) {
+                for (int j = i + 1; j < schedule.size(); j++) {
+                    assertFalse(checker.conflicts(schedule.get(i), schedule.get(j)));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package edu.uni.registration;
+
+import edu.uni.registration.model.*;
+import edu.uni.registration.repository.CourseRepository;
+import edu.uni.registration.repository.PersonRepository;
+import edu.uni.registration.repository.SectionRepository;
+import edu.uni.registration.service.impl.CatalogServiceImpl;
+import edu.uni.registration.util.CourseQuery;
+import edu.uni.registration.util.TinyLfuCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchCacheTest {
+
+    private CatalogServiceImpl catalogService;
+
+    @BeforeEach
+    void setUp() {
+        CourseRepository courseRepo = new CourseRepository();
+        PersonRepository personRepo = new PersonRepository();
+        personRepo.save(new Instructor("SC-I1", "Alice", "Smith", "a@uni.edu", "CS", "101"));
+        catalogService = new CatalogServiceImpl(courseRepo, new SectionRepository(), personRepo);
+        catalogService.createCourse("CS101", "Intro to CS", 3);
+        catalogService.createCourse("MATH101", "Calculus", 4);
+    }
+
+    private static CourseQuery keyword(String text) {
+        CourseQuery q = new CourseQuery();
+        q.setCode(text);
+        q.setTitle(text);
+        return q;
+    }
+
+    @Test
+    void shouldServeFromCache_whenQueriesDifferOnlyInCase() {
+        List<Course> first = catalogService.search(keyword("cs")).get();
+        List<Course> second = catalogService.search(keyword("CS")).get();
+
+        assertSame(first, second);
+        assertEquals(1, catalogService.getSearchCacheStats().getHitCount());
+        assertEquals(1, catalogService.getSearchCacheStats().getMissCount());
+    }
+
+    @Test
+    void shouldInvalidateOnlyAffectedSearches_whenCourseIsCreated() {
+        catalogService.search(keyword("CS"));
+        catalogService.search(keyword("MATH"));
+
+        catalogService.createCourse("CS102", "Data Structures", 3);
+
+        assertEquals(2, catalogService.search(keyword("CS")).get().size());
+        assertEquals(1, catalogService.search(keyword("MATH")).get().size());
+        TinyLfuCache.Stats stats = catalogService.getSearchCacheStats();
+        assertEquals(1, stats.getHitCount(), "MATH search untouched by the new CS course");
+        assertEquals(3, stats.getMissCount());
+    }
+
+    @Test
+    void shouldRefreshInstructorSearch_whenInstructorIsAssigned() {
+        Course cs = catalogService.search(keyword("CS101")).get().get(0);
+        catalogService.createSection("SC-SEC", cs, "Fall", 30);
+        CourseQuery byInstructor = new CourseQuery();
+        byInstructor.setInstructorName("smith");
+        assertTrue(catalogService.search(byInstructor).get().isEmpty());
+
+        assertTrue(catalogService.assignInstructor("SC-SEC", "SC-I1").isOk());
+
+        assertEquals(List.of(cs), catalogService.search(byInstructor).get());
+    }
+
+    @Test
+    void shouldKeepFrequentKey_whenScannedByOneOffKeys() {
+        TinyLfuCache<String, Integer> cache = new TinyLfuCache<>(100);
+        for (int i = 0; i < 10_000; i++) {
+            cache.get("scan-" + i, k -> 0);
+            if (i % 50 == 0) {
+                cache.get("hot", k -> 1);
+            }
+        }
+
+        assertEquals(Integer.valueOf(1), cache.getIfPresent("hot"));
+        assertTrue(cache.stats().getHitCount() >= 199, "hot key loaded once");
+        assertTrue(cache.size() <= 100);
+    }
+}
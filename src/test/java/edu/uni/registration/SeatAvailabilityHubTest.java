@@ -0,0 +1,112 @@
+package edu.uni.registration;
+
+import edu.uni.registration.events.SeatAvailabilityHub;
+import edu.uni.registration.events.SeatUpdate;
+import edu.uni.registration.model.*;
+import edu.uni.registration.repository.*;
+import edu.uni.registration.service.impl.RegistrationServiceImpl;
+import edu.uni.registration.validation.PrerequisiteValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatAvailabilityHubTest {
+
+    private RegistrationServiceImpl service;
+    private Section busy;
+    private Section quiet;
+    private final SeatAvailabilityHub hub = new SeatAvailabilityHub();
+    private final List<List<SeatUpdate>> received = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        StudentRepository studentRepo = new StudentRepository();
+        TranscriptRepository transcriptRepo = new TranscriptRepository();
+        SectionRepository sectionRepo = new SectionRepository();
+        for (int i = 0; i < 3; i++) {
+            Student s = new Student("SA-" + i, "F", "L", "e", "CS", 1);
+            studentRepo.save(s);
+            transcriptRepo.save(s.getTranscript());
+        }
+        busy = new Section("SA-BUSY", new Course("SA101", "Intro", 3), "Fall", 2);
+        quiet = new Section("SA-QUIET", new Course("SA102", "Other", 3), "Fall", 5);
+        sectionRepo.save(busy);
+        sectionRepo.save(quiet);
+        service = new RegistrationServiceImpl(studentRepo, sectionRepo, new PrerequisiteValidator(), transcriptRepo,
+                new PersonRepository(), new EnrollmentRepository());
+    }
+
+    @Test
+    void shouldPushInitialCountsThenOnlyChangedSections_whenFlushed() {
+        hub.subscribe(List.of(busy, quiet), received::add);
+        hub.flush();
+        assertEquals(2, received.get(0).size());
+
+        service.enrollStudentInSection("SA-0", "SA-BUSY");
+        hub.flush();
+
+        assertEquals(2, received.size());
+        SeatUpdate update = received.get(1).get(0);
+        assertEquals(1, received.get(1).size());
+        assertEquals("SA-BUSY", update.getSectionId());
+        assertEquals(1, update.getEnrolled());
+        assertEquals(1, update.getOpenSeats());
+    }
+
+    @Test
+    void shouldCoalesceManyChanges_intoOneUpdatePerInterval() {
+        hub.subscribe(List.of(busy), received::add);
+        hub.flush();
+
+        service.enrollStudentInSection("SA-0", "SA-BUSY");
+        service.enrollStudentInSection("SA-1", "SA-BUSY");
+        service.enrollStudentInSection("SA-2", "SA-BUSY");
+        hub.flush();
+        hub.flush();
+
+        assertEquals(2, received.size());
+        SeatUpdate last = received.get(1).get(0);
+        assertEquals(2, last.getEnrolled());
+        assertEquals(1, last.getWaitlisted());
+    }
+
+    @Test
+    void shouldNotPush_whenChangesCancelOutOrSubscriptionIsClosed() {
+        SeatAvailabilityHub.Subscription sub = hub.subscribe(List.of(busy), received::add);
+        hub.flush();
+
+        service.enrollStudentInSection("SA-0", "SA-BUSY");
+        service.dropStudentInSection("SA-0", "SA-BUSY");
+        hub.flush();
+        assertEquals(1, received.size(), "enroll then drop nets out to the same counts");
+
+        sub.close();
+        service.enrollStudentInSection("SA-1", "SA-BUSY");
+        hub.flush();
+        assertEquals(1, received.size());
+        assertEquals(0, hub.subscriptionCount());
+    }
+
+    @Test
+    void shouldPushHeldSeats_andStopListening_whenLastSubscriptionCloses() {
+        SeatAvailabilityHub.Subscription sub = hub.subscribe(List.of(busy), received::add);
+        hub.flush();
+
+        assertTrue(service.holdSeat("SA-0", "SA-BUSY").isOk());
+        hub.flush();
+        assertEquals(2, received.size());
+        assertEquals(1, received.get(1).get(0).getHeld());
+        assertEquals(1, received.get(1).get(0).getOpenSeats());
+
+        sub.close();
+        busy.setCapacity(4);
+        hub.subscribe(List.of(quiet), received::add);
+        hub.flush();
+        assertEquals(3, received.size());
+        assertEquals("SA-QUIET", received.get(2).get(0).getSectionId(), "closed watches are not read again");
+    }
+}
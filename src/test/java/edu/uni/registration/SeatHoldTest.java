@@ -0,0 +1,111 @@
+package edu.uni.registration;
+
+import edu.uni.registration.model.*;
+import edu.uni.registration.repository.*;
+import edu.uni.registration.service.impl.RegistrationServiceImpl;
+import edu.uni.registration.util.Result;
+import edu.uni.registration.util.TimingWheel;
+import edu.uni.registration.validation.PrerequisiteValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatHoldTest {
+
+    private final long[] now = {1_000_000L};
+    private SectionRepository sectionRepo;
+    private StudentRepository studentRepo;
+    private TranscriptRepository transcriptRepo;
+    private RegistrationServiceImpl registrationService;
+    private Section section;
+
+    @BeforeEach
+    void setUp() {
+        sectionRepo = new SectionRepository();
+        studentRepo = new StudentRepository();
+        transcriptRepo = new TranscriptRepository();
+        registrationService = new RegistrationServiceImpl(studentRepo, sectionRepo, new PrerequisiteValidator(),
+                transcriptRepo, new PersonRepository(), new EnrollmentRepository(), () -> now[0]);
+        registrationService.setSeatHoldMillis(5 * 60_000L);
+        for (String id : new String[]{"H1", "H2"}) {
+            Student s = new Student(id, "F", "L", id + "@uni.edu", "CS", 1);
+            studentRepo.save(s);
+            transcriptRepo.save(s.getTranscript());
+        }
+        section = new Section("HOLD-1", new Course("HOLD101", "Intro", 3), "Fall", 1);
+        sectionRepo.save(section);
+    }
+
+    @Test
+    void shouldFireInDeadlineOrder_whenWheelAdvancesAcrossLevels() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, () -> now[0]);
+        wheel.schedule("late", 5_000);
+        wheel.schedule("soon", 25);
+        TimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 40);
+        wheel.schedule("middle", 700);
+        assertTrue(wheel.cancel(cancelled));
+
+        now[0] += 30;
+        assertEquals(List.of("soon"), wheel.advance());
+        now[0] += 690;
+        assertEquals(List.of("middle"), wheel.advance());
+        now[0] += 4_000;
+        assertTrue(wheel.advance().isEmpty());
+        now[0] += 300;
+        assertEquals(List.of("late"), wheel.advance());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void shouldBlockSeatUntilConfirmed_whenStudentHoldsIt() {
+        Result<SeatHold> hold = registrationService.holdSeat("H1", "HOLD-1");
+        assertTrue(hold.isOk());
+        assertTrue(section.isFull());
+
+        assertEquals(Enrollment.EnrollmentStatus.WAITLISTED,
+                registrationService.enrollStudentInSection("H2", "HOLD-1").get().getStatus());
+        assertTrue(registrationService.holdSeat("H1", "HOLD-1").isFail());
+
+        Result<Enrollment> confirmed = registrationService.confirmHold("H1", hold.get().getId());
+        assertTrue(confirmed.isOk());
+        assertEquals(Enrollment.EnrollmentStatus.ENROLLED, confirmed.get().getStatus());
+        assertEquals(0, section.getHeldSeats());
+        assertTrue(registrationService.confirmHold("H1", hold.get().getId()).isFail());
+    }
+
+    @Test
+    void shouldReturnSeatToWaitlist_whenHoldExpires() {
+        Result<SeatHold> hold = registrationService.holdSeat("H1", "HOLD-1");
+        registrationService.enrollStudentInSection("H2", "HOLD-1");
+
+        now[0] += 5 * 60_000L + 1_000;
+        Result<Enrollment> late = registrationService.confirmHold("H1", hold.get().getId());
+
+        assertTrue(late.isFail());
+        List<SeatOffer> offers = registrationService.getPendingOffers("H2").get();
+        assertEquals(1, offers.size());
+        assertEquals(1, section.getHeldSeats(), "the freed seat is held for the offer");
+    }
+
+    @Test
+    void shouldReleaseExpiredHold_whenNoFurtherCallTouchesTheSection() throws InterruptedException {
+        assertTrue(registrationService.holdSeat("H1", "HOLD-1").isOk());
+        now[0] += 5 * 60_000L + 2_000L;
+
+        registrationService.startExpiryTicker();
+        try {
+            long deadline = System.currentTimeMillis() + 10_000L;
+            while (section.getHeldSeats() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+        } finally {
+            registrationService.stopExpiryTicker();
+        }
+
+        assertEquals(0, section.getHeldSeats());
+        assertFalse(section.isFull());
+    }
+}
@@ -0,0 +1,93 @@
+package edu.uni.registration;
+
+import edu.uni.registration.model.*;
+import edu.uni.registration.model.Enrollment.EnrollmentStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SectionRosterTest {
+
+    private final Course course = new Course("CS101", "Intro", 3);
+
+    @Test
+    void shouldKeepStatusAndGrade_whenEnrollmentIsAddedToRoster() {
+        Section section = new Section("SEC1", course, "Fall", 5);
+        Student student = new Student("S1", "John", "Doe", "email", "CS", 1);
+        Enrollment enrollment = new Enrollment(student, section);
+        enrollment.setStatus(EnrollmentStatus.WAITLISTED);
+        enrollment.assignGrade(Grade.I);
+
+        section.addEnrollment(enrollment);
+
+        assertEquals(EnrollmentStatus.WAITLISTED, enrollment.getStatus());
+        assertEquals(Grade.I, enrollment.getGrade().orElseThrow());
+        assertEquals(1, section.getWaitlistedCount());
+        assertSame(enrollment, section.getRoster().get(0));
+    }
+
+    @Test
+    void shouldUpdateCounts_whenStatusChangesThroughView() {
+        Section section = new Section("SEC1", course, "Fall", 1);
+        Student student = new Student("S1", "John", "Doe", "email", "CS", 1);
+        Enrollment enrollment = new Enrollment(student, section);
+        section.addEnrollment(enrollment);
+
+        assertTrue(section.isFull());
+        assertTrue(section.isEnrolled(student));
+
+        enrollment.setStatus(EnrollmentStatus.DROPPED);
+
+        assertFalse(section.isFull());
+        assertEquals(0, section.getEnrolledCount());
+        assertNull(section.findActiveEnrollment(student));
+    }
+
+    @Test
+    void shouldRejectModification_whenRosterViewIsChanged() {
+        Section section = new Section("SEC1", course, "Fall", 1);
+        Student student = new Student("S1", "John", "Doe", "email", "CS", 1);
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> section.getRoster().add(new Enrollment(student, section)));
+    }
+
+    @Test
+    void shouldVisitEveryRowOnce_whenRowsAreDroppedWhileIterating() {
+        Section section = new Section("SEC1", course, "Fall", 10);
+        for (int i = 0; i < 5; i++) {
+            section.addEnrollment(new Enrollment(new Student("S" + i, "John", "Doe", "email", "CS", 1), section));
+        }
+
+        int visited = 0;
+        for (Enrollment e : section.getRoster()) {
+            e.setStatus(EnrollmentStatus.DROPPED);
+            visited++;
+        }
+
+        assertEquals(5, visited);
+        assertEquals(0, section.getEnrolledCount());
+        assertTrue(section.getRoster().isEmpty());
+    }
+
+    @Test
+    void shouldVisitLiveRowsInPlace_andFindEntryByStudentId() {
+        Section section = new Section("SEC1", course, "Fall", 5);
+        Enrollment kept = new Enrollment(new Student("S1", "John", "Doe", "email", "CS", 1), section);
+        Enrollment dropped = new Enrollment(new Student("S2", "Jane", "Doe", "email", "CS", 1), section);
+        section.addEnrollment(kept);
+        section.addEnrollment(dropped);
+        dropped.setStatus(EnrollmentStatus.DROPPED);
+
+        List<Enrollment> visited = new ArrayList<>();
+        section.forEachRosterEntry(visited::add);
+
+        assertEquals(List.of(kept), visited);
+        assertSame(kept, section.findActiveEnrollment("S1"));
+        assertNull(section.findActiveEnrollment("S2"));
+        assertNull(section.findActiveEnrollment("NO-SUCH-STUDENT"));
+    }
+}
@@ -0,0 +1,85 @@
+package edu.uni.registration;
+
+import edu.uni.registration.model.*;
+import edu.uni.registration.repository.*;
+import edu.uni.registration.service.RegistrationService;
+import edu.uni.registration.service.impl.RegistrationServiceImpl;
+import edu.uni.registration.util.Result;
+import edu.uni.registration.validation.PrerequisiteValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SwapSectionTest {
+
+    private SectionRepository sectionRepo;
+    private StudentRepository studentRepo;
+    private TranscriptRepository transcriptRepo;
+    private EnrollmentRepository enrollmentRepo;
+    private RegistrationService registrationService;
+    private final Course course = new Course("SWAP101", "Intro", 3);
+
+    @BeforeEach
+    void setUp() {
+        sectionRepo = new SectionRepository();
+        studentRepo = new StudentRepository();
+        transcriptRepo = new TranscriptRepository();
+        enrollmentRepo = new EnrollmentRepository();
+        registrationService = new RegistrationServiceImpl(studentRepo, sectionRepo, new PrerequisiteValidator(),
+                transcriptRepo, new PersonRepository(), enrollmentRepo);
+        student("SW1");
+        student("SW2");
+    }
+
+    private Student student(String id) {
+        Student s = new Student(id, "F", "L", id + "@uni.edu", "CS", 1);
+        studentRepo.save(s);
+        transcriptRepo.save(s.getTranscript());
+        return s;
+    }
+
+    private Section section(String id, int capacity, int hour, int minute) {
+        Section s = new Section(id, course, "Fall", capacity);
+        s.addMeetingTime(new TimeSlot(DayOfWeek.MONDAY, LocalTime.of(hour, minute), LocalTime.of(hour + 1, minute), "R-" + id));
+        sectionRepo.save(s);
+        return s;
+    }
+
+    @Test
+    void shouldMoveSeatAndPromoteWaitlist_whenSwappingToOverlappingSection() {
+        Section a = section("SWAP-A", 1, 9, 0);
+        Section b = section("SWAP-B", 5, 9, 30);
+        assertTrue(registrationService.enrollStudentInSection("SW1", "SWAP-A").isOk());
+        assertEquals(Enrollment.EnrollmentStatus.WAITLISTED,
+                registrationService.enrollStudentInSection("SW2", "SWAP-A").get().getStatus());
+
+        Result<Enrollment> res = registrationService.swapSection("SW1", "SWAP-A", "SWAP-B");
+
+        assertTrue(res.isOk());
+        assertEquals(Enrollment.EnrollmentStatus.ENROLLED, res.get().getStatus());
+        assertTrue(b.isEnrolled(studentRepo.findById("SW1").orElseThrow()));
+        assertFalse(a.isEnrolled(studentRepo.findById("SW1").orElseThrow()));
+        String offerId = registrationService.getPendingOffers("SW2").get().get(0).getId();
+        assertTrue(registrationService.acceptOffer("SW2", offerId).isOk());
+        assertTrue(a.isEnrolled(studentRepo.findById("SW2").orElseThrow()));
+        assertEquals(1, registrationService.getCurrentSchedule("SW1", null).get().size());
+    }
+
+    @Test
+    void shouldKeepOriginalSeat_whenTargetHasNoOpenSeat() {
+        Section a = section("SWAP-C", 5, 9, 0);
+        section("SWAP-D", 1, 11, 0);
+        assertTrue(registrationService.enrollStudentInSection("SW1", "SWAP-C").isOk());
+        assertTrue(registrationService.enrollStudentInSection("SW2", "SWAP-D").isOk());
+
+        Result<Enrollment> res = registrationService.swapSection("SW1", "SWAP-C", "SWAP-D");
+
+        assertTrue(res.isFail());
+        assertTrue(a.isEnrolled(studentRepo.findById("SW1").orElseThrow()));
+        assertTrue(registrationService.swapSection("SW1", "SWAP-D", "SWAP-C").isFail());
+    }
+}
@@ -0,0 +1,77 @@
+package edu.uni.registration;
+
+import edu.uni.registration.model.*;
+import edu.uni.registration.repository.EnrollmentRepository;
+import edu.uni.registration.scheduling.CoEnrollmentGraph;
+import edu.uni.registration.scheduling.TimePattern;
+import edu.uni.registration.scheduling.Timetable;
+import edu.uni.registration.scheduling.TimetableProblem;
+import edu.uni.registration.scheduling.TimetableSolver;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimetableSolverTest {
+
+    private static TimePattern pattern(int startHour) {
+        return new TimePattern("MW" + startHour, List.of(
+                new TimeSlot(DayOfWeek.MONDAY, LocalTime.of(startHour, 0), LocalTime.of(startHour + 1, 0), null),
+                new TimeSlot(DayOfWeek.WEDNESDAY, LocalTime.of(startHour, 0), LocalTime.of(startHour + 1, 0), null)));
+    }
+
+    @Test
+    void shouldFindClashFreeTimetable_whenOneExists() {
+        Instructor alice = new Instructor("I1", "Alice", "Smith", "a@uni.edu", "CS", "101");
+        Instructor bob = new Instructor("I2", "Bob", "Brown", "b@uni.edu", "CS", "102");
+        List<Section> sections = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Section s = new Section("TT-" + i, new Course("C" + i, "Course " + i, 3), "Fall", 30);
+            s.setInstructor(i < 3 ? alice : bob);
+            sections.add(s);
+        }
+        TimetableProblem problem = new TimetableProblem(sections,
+                List.of(pattern(9), pattern(10), pattern(11)), List.of("R1", "R2"), null);
+
+        TimetableSolver solver = new TimetableSolver(new ForkJoinPool(2));
+        solver.setTimeBudgetMillis(1_000);
+        Timetable timetable = solver.solve(problem);
+
+        assertTrue(timetable.isFeasible());
+        assertEquals(0, timetable.getCost());
+        Map<Section, List<TimeSlot>> slots = timetable.toMeetingTimes();
+        assertEquals(6, slots.size());
+        for (int a = 0; a < 3; a++) {
+            for (int b = a + 1; b < 3; b++) {
+                assertNotEquals(timetable.patternOf(a), timetable.patternOf(b));
+            }
+        }
+        assertFalse(timetable.getProgress().isEmpty());
+    }
+
+    @Test
+    void shouldWeightCoursesTakenTogether_whenEstimatingFromHistory() {
+        Course a = new Course("A100", "A", 3);
+        Course b = new Course("B100", "B", 3);
+        Course c = new Course("C200", "C", 3);
+        Course d = new Course("D200", "D", 3);
+        c.addPrerequisite("A100");
+        d.addPrerequisite("A100");
+        EnrollmentRepository repo = new EnrollmentRepository();
+        Student student = new Student("S1", "John", "Doe", "email", "CS", 1);
+        repo.save(new Enrollment(student, new Section("OLD-A", a, "Spring", 10)));
+        repo.save(new Enrollment(student, new Section("OLD-B", b, "Spring", 10)));
+
+        List<Section> sections = List.of(new Section("N-A", a, "Fall", 10), new Section("N-B", b, "Fall", 10),
+                new Section("N-C", c, "Fall", 10), new Section("N-D", d, "Fall", 10));
+        CoEnrollmentGraph graph = CoEnrollmentGraph.estimate(sections, repo);
+
+        assertEquals(2, graph.edgeCount());
+    }
+}
@@ -0,0 +1,112 @@
+package edu.uni.registration;
+
+import edu.uni.registration.model.*;
+import edu.uni.registration.repository.*;
+import edu.uni.registration.service.impl.RegistrationServiceImpl;
+import edu.uni.registration.util.Result;
+import edu.uni.registration.validation.PrerequisiteValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WaitlistOfferTest {
+
+    private final long[] now = {5_000_000L};
+    private SectionRepository sectionRepo;
+    private StudentRepository studentRepo;
+    private TranscriptRepository transcriptRepo;
+    private PersonRepository personRepo;
+    private RegistrationServiceImpl registrationService;
+    private final Course course = new Course("OFFER101", "Intro", 3);
+
+    @BeforeEach
+    void setUp() {
+        sectionRepo = new SectionRepository();
+        studentRepo = new StudentRepository();
+        transcriptRepo = new TranscriptRepository();
+        personRepo = new PersonRepository();
+        registrationService = new RegistrationServiceImpl(studentRepo, sectionRepo, new PrerequisiteValidator(),
+                transcriptRepo, personRepo, new EnrollmentRepository(), () -> now[0]);
+        registrationService.setOfferWindowMillis(60_000L);
+        for (String id : new String[]{"W1", "W2", "W3"}) {
+            Student s = new Student(id, "F", "L", id + "@uni.edu", "CS", 1);
+            studentRepo.save(s);
+            transcriptRepo.save(s.getTranscript());
+        }
+    }
+
+    private Section section(String id, int capacity, int hour) {
+        Section s = new Section(id, course, "Fall", capacity);
+        s.addMeetingTime(new TimeSlot(DayOfWeek.MONDAY, LocalTime.of(hour, 0), LocalTime.of(hour + 1, 0), "R-" + id));
+        sectionRepo.save(s);
+        return s;
+    }
+
+    @Test
+    void shouldCascadeToNextStudent_whenOfferExpires() {
+        Section sec = section("OFF-A", 1, 9);
+        registrationService.enrollStudentInSection("W1", "OFF-A");
+        registrationService.enrollStudentInSection("W2", "OFF-A");
+        registrationService.enrollStudentInSection("W3", "OFF-A");
+
+        registrationService.dropStudentInSection("W1", "OFF-A");
+        assertEquals(1, registrationService.getPendingOffers("W2").get().size());
+        assertTrue(registrationService.getPendingOffers("W3").get().isEmpty());
+
+        now[0] += 61_000L;
+        assertTrue(registrationService.getPendingOffers("W2").get().isEmpty());
+        List<SeatOffer> next = registrationService.getPendingOffers("W3").get();
+        assertEquals(1, next.size());
+        assertNull(sec.findActiveEnrollment(studentRepo.findById("W2").orElseThrow()));
+
+        assertTrue(registrationService.acceptOffer("W3", next.get(0).getId()).isOk());
+        assertTrue(sec.isEnrolled(studentRepo.findById("W3").orElseThrow()));
+        assertEquals(0, sec.getHeldSeats());
+    }
+
+    @Test
+    void shouldSettleOpenOffer_whenAdminForceEnrollsTheStudent() {
+        Section sec = section("OFF-D", 1, 9);
+        personRepo.save(new Admin("OFF-A1", "Ada", "Min", "a@uni.edu"));
+        registrationService.enrollStudentInSection("W1", "OFF-D");
+        registrationService.enrollStudentInSection("W2", "OFF-D");
+        registrationService.dropStudentInSection("W1", "OFF-D");
+        assertEquals(1, sec.getHeldSeats());
+
+        assertTrue(registrationService.adminOverrideEnroll("W2", "OFF-D", "OFF-A1", "Dean approved").isOk());
+
+        assertTrue(sec.isEnrolled(studentRepo.findById("W2").orElseThrow()));
+        assertEquals(0, sec.getHeldSeats());
+        assertTrue(registrationService.getPendingOffers("W2").get().isEmpty());
+        now[0] += 61_000L;
+        assertTrue(registrationService.enrollStudentInSection("W3", "OFF-D").isOk());
+        assertTrue(sec.isEnrolled(studentRepo.findById("W2").orElseThrow()));
+    }
+
+    @Test
+    void shouldRejectAcceptance_whenStudentTookConflictingSectionMeanwhile() {
+        section("OFF-B", 1, 9);
+        section("OFF-C", 5, 9);
+        registrationService.enrollStudentInSection("W1", "OFF-B");
+        registrationService.enrollStudentInSection("W2", "OFF-B");
+        registrationService.enrollStudentInSection("W3", "OFF-B");
+        assertTrue(registrationService.enrollStudentInSection("W2", "OFF-C").isOk());
+
+        registrationService.dropStudentInSection("W1", "OFF-B");
+        String offerId = registrationService.getPendingOffers("W2").get().get(0).getId();
+        Result<Enrollment> res = registrationService.acceptOffer("W2", offerId);
+
+        assertTrue(res.isFail());
+        assertTrue(res.getError().contains("OFF-C"));
+        // The failed acceptance gives the offer up at once and the seat moves on to W3.
+        assertTrue(registrationService.getPendingOffers("W2").get().isEmpty());
+        assertTrue(registrationService.declineOffer("W2", offerId).isFail());
+        assertEquals(1, registrationService.getPendingOffers("W3").get().size());
+        assertEquals(1, sectionRepo.findById("OFF-B").orElseThrow().getHeldSeats());
+    }
+}
@@ -0,0 +1,120 @@
+package edu.uni.registration;
+
+import edu.uni.registration.model.*;
+import edu.uni.registration.model.Enrollment.EnrollmentStatus;
+import edu.uni.registration.repository.*;
+import edu.uni.registration.service.impl.CatalogServiceImpl;
+import edu.uni.registration.service.impl.RegistrationServiceImpl;
+import edu.uni.registration.util.Result;
+import edu.uni.registration.validation.PrerequisiteValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WaitlistTest {
+
+    private final Course course = new Course("CS101", "Intro", 3);
+    private final SectionRepository sectionRepo = new SectionRepository();
+    private final PersonRepository personRepo = new PersonRepository();
+    private final CatalogServiceImpl catalogService =
+            new CatalogServiceImpl(new CourseRepository(), sectionRepo, personRepo);
+    private final RegistrationServiceImpl registrationService = new RegistrationServiceImpl(new StudentRepository(),
+            sectionRepo, new PrerequisiteValidator(), new TranscriptRepository(), personRepo,
+            new EnrollmentRepository());
+
+    @BeforeEach
+    void setUp() {
+        personRepo.save(new Admin("A1", "Admin", "User", "admin@uni.edu"));
+        catalogService.setSeatOfferer(registrationService::offerOpenSeats);
+    }
+
+    private Section fullSection() {
+        Section section = new Section("SEC1", course, "Fall", 0);
+        sectionRepo.save(section);
+        return section;
+    }
+
+    private Enrollment waitlist(Section section, Student student) {
+        Enrollment e = new Enrollment(student, section);
+        e.setStatus(EnrollmentStatus.WAITLISTED);
+        section.addEnrollment(e);
+        return e;
+    }
+
+    private boolean hasOffer(Enrollment e) {
+        return !registrationService.getPendingOffers(e.getStudent().getId()).get().isEmpty();
+    }
+
+    @Test
+    void shouldOfferInArrivalOrder_whenPolicyIsFifo() {
+        Section section = fullSection();
+        Enrollment first = waitlist(section, new Student("S1", "A", "A", "a", "CS", 1));
+        Enrollment second = waitlist(section, new Student("S2", "B", "B", "b", "CS", 4));
+
+        assertTrue(catalogService.adminOverrideCapacity("SEC1", 1, "A1", "One more seat").isOk());
+
+        assertTrue(hasOffer(first));
+        assertFalse(hasOffer(second));
+        assertEquals(EnrollmentStatus.WAITLISTED, second.getStatus());
+    }
+
+    @Test
+    void shouldOfferSeniorStudentFirst_whenAdminSetsSeniorityPolicy() {
+        Section section = fullSection();
+        Enrollment freshman = waitlist(section, new Student("S1", "A", "A", "a", "CS", 1));
+        Enrollment senior = waitlist(section, new Student("S2", "B", "B", "b", "CS", 4));
+
+        Result<Void> res = catalogService.setWaitlistPolicy("SEC1", WaitlistPolicy.SENIORITY, "A1", "Seniors first");
+
+        assertTrue(res.isOk());
+        assertEquals(WaitlistPolicy.SENIORITY, section.getWaitlistPolicy());
+        assertSame(senior, section.peekWaitlist());
+        assertTrue(catalogService.getOverrideLogs().get(0).getAction().contains("FIFO->SENIORITY"));
+
+        assertTrue(catalogService.adminOverrideCapacity("SEC1", 1, "A1", "One more seat").isOk());
+
+        assertTrue(hasOffer(senior));
+        assertFalse(hasOffer(freshman));
+    }
+
+    @Test
+    void shouldRejectPolicyChange_whenCallerIsNotAnAdmin() {
+        Section section = fullSection();
+        personRepo.save(new Instructor("I1", "Ina", "Str", "i@uni.edu", "CS", "101"));
+
+        assertTrue(catalogService.setWaitlistPolicy("SEC1", WaitlistPolicy.SENIORITY, "I1", "Nope").isFail());
+        assertEquals(WaitlistPolicy.FIFO, section.getWaitlistPolicy());
+    }
+
+    @Test
+    void shouldSkipDroppedEntries_whenOfferingSeats() {
+        Section section = fullSection();
+        Enrollment gone = waitlist(section, new Student("S1", "A", "A", "a", "CS", 1));
+        Enrollment next = waitlist(section, new Student("S2", "B", "B", "b", "CS", 1));
+        gone.setStatus(EnrollmentStatus.DROPPED);
+
+        assertTrue(catalogService.adminOverrideCapacity("SEC1", 5, "A1", "Bigger room").isOk());
+
+        assertTrue(hasOffer(next));
+        assertFalse(hasOffer(gone));
+        assertEquals(1, section.getHeldSeats());
+    }
+
+    @Test
+    void shouldOfferNewSeatsToWaitlist_whenAdminRaisesCapacity() {
+        Section section = fullSection();
+        waitlist(section, new Student("S1", "A", "A", "a", "CS", 1));
+        waitlist(section, new Student("S2", "B", "B", "b", "CS", 1));
+        waitlist(section, new Student("S3", "C", "C", "c", "CS", 1));
+
+        Result<Void> res = catalogService.adminOverrideCapacity("SEC1", 2, "A1", "Bigger room");
+
+        assertTrue(res.isOk());
+        assertEquals(0, section.getEnrolledCount());
+        assertEquals(2, section.getHeldSeats());
+        assertEquals(1, registrationService.getPendingOffers("S1").get().size());
+        assertEquals(1, registrationService.getPendingOffers("S2").get().size());
+        assertTrue(registrationService.getPendingOffers("S3").get().isEmpty());
+    }
+}
@@ -0,0 +1,72 @@
+package edu.uni.registration.bench;
+
+import edu.uni.registration.model.Course;
+import edu.uni.registration.model.Enrollment;
+import edu.uni.registration.model.Section;
+import edu.uni.registration.model.Student;
+import edu.uni.registration.repository.EnrollmentRepository;
+import edu.uni.registration.scheduling.ExamConflictGraph;
+import edu.uni.registration.scheduling.ExamSchedule;
+import edu.uni.registration.scheduling.ExamSlotColorer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Graph build and exam-slot coloring time on a synthetic term.
+ * Run with: java -cp target/classes:target/test-classes edu.uni.registration.bench.ExamColoringBenchmark [sections] [enrollments]
+ */
+public class ExamColoringBenchmark {
+
+    public static void main(String[] args) {
+        int sectionCount = args.length > 0 ? Integer.parseInt(args[0]) : 30_000;
+        int enrollmentCount = args.length > 1 ? Integer.parseInt(args[1]) : 300_000;
+        EnrollmentRepository repo = syntheticTerm(sectionCount, enrollmentCount, new Random(11));
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(cores);
+        for (int run = 0; run < 3; run++) {
+            long t0 = System.nanoTime();
+            ExamConflictGraph graph = ExamConflictGraph.build(repo, "Bench", pool);
+            long t1 = System.nanoTime();
+            ExamSchedule parallel = new ExamSlotColorer(pool, 0).color(graph);
+            long t2 = System.nanoTime();
+            ExamSchedule dsatur = new ExamSlotColorer(pool, Integer.MAX_VALUE).color(graph);
+            long t3 = System.nanoTime();
+            System.out.printf("vertices=%d edges=%d maxDegree=%d | build %dms | parallel %dms, %d slots, %d rounds, valid=%b"
+                            + " | dsatur %dms, %d slots%n",
+                    graph.vertexCount(), graph.edgeCount(), graph.maxDegree(), (t1 - t0) / 1_000_000,
+                    (t2 - t1) / 1_000_000, parallel.getSlotCount(), parallel.getRounds(), parallel.isValid(),
+                    (t3 - t2) / 1_000_000, dsatur.getSlotCount());
+        }
+        pool.shutdown();
+    }
+
+    /** Students take five sections each, mostly within one of a few hundred programmes. */
+    static EnrollmentRepository syntheticTerm(int sectionCount, int enrollmentCount, Random random) {
+        Course course = new Course("BENCH-EXAM", "Exam bench", 3);
+        List<Section> sections = new ArrayList<>(sectionCount);
+        for (int i = 0; i < sectionCount; i++) {
+            sections.add(new Section("EXB" + i, course, "Bench", Integer.MAX_VALUE / 2));
+        }
+        int programmes = Math.max(1, sectionCount / 100);
+        EnrollmentRepository repo = new EnrollmentRepository();
+        int perStudent = 5;
+        for (int s = 0; s < enrollmentCount / perStudent; s++) {
+            Student student = new Student("EXBS" + s, "F", "L", "e", "CS", 1);
+            int programme = random.nextInt(programmes);
+            for (int k = 0; k < perStudent; k++) {
+                int idx = random.nextInt(10) < 8
+                        ? Math.min(sectionCount - 1, programme * 100 + random.nextInt(100))
+                        : random.nextInt(sectionCount);
+                Section section = sections.get(idx);
+                if (!section.isEnrolled(student)) {
+                    repo.save(new Enrollment(student, section));
+                }
+            }
+        }
+        return repo;
+    }
+}
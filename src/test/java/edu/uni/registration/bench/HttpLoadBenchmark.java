@@ -0,0 +1,145 @@
+package edu.uni.registration.bench;
+
+import edu.uni.registration.model.Course;
+import edu.uni.registration.model.Section;
+import edu.uni.registration.model.Student;
+import edu.uni.registration.repository.*;
+import edu.uni.registration.server.ApiServer;
+import edu.uni.registration.server.ServerMetrics;
+import edu.uni.registration.service.impl.CatalogServiceImpl;
+import edu.uni.registration.service.impl.GradingServiceImpl;
+import edu.uni.registration.service.impl.RegistrationServiceImpl;
+import edu.uni.registration.validation.PrerequisiteValidator;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Closed-loop load test of the HTTP API on localhost: each client thread sends a request, waits for
+ * the reply, and sends the next. The mix is 80% reads (course search, schedule) and 20% writes
+ * (enroll, then drop) with idempotency keys. Prints throughput, latency percentiles, status classes
+ * and the server's own /metrics.
+ * Run with: java -cp target/classes:target/test-classes edu.uni.registration.bench.HttpLoadBenchmark [clients] [seconds]
+ */
+public class HttpLoadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int studentCount = 5_000;
+        int sectionCount = 500;
+
+        StudentRepository studentRepo = new StudentRepository();
+        TranscriptRepository transcriptRepo = new TranscriptRepository();
+        SectionRepository sectionRepo = new SectionRepository();
+        CourseRepository courseRepo = new CourseRepository();
+        PersonRepository personRepo = new PersonRepository();
+        EnrollmentRepository enrollmentRepo = new EnrollmentRepository();
+        for (int i = 0; i < studentCount; i++) {
+            Student s = new Student("HB-S" + i, "Load", "Student" + i, "s" + i + "@uni.edu", "CS", 1 + i % 4);
+            studentRepo.save(s);
+            transcriptRepo.save(s.getTranscript());
+        }
+        for (int i = 0; i < sectionCount; i++) {
+            Course course = new Course("HB" + i, "Load course " + i, 3);
+            courseRepo.save(course);
+            sectionRepo.save(new Section("HB-SEC" + i, course, "Fall", 10_000));
+        }
+
+        RegistrationServiceImpl registration = new RegistrationServiceImpl(studentRepo, sectionRepo,
+                new PrerequisiteValidator(), transcriptRepo, personRepo, enrollmentRepo);
+        CatalogServiceImpl catalog = new CatalogServiceImpl(courseRepo, sectionRepo, personRepo);
+        GradingServiceImpl grading = new GradingServiceImpl(studentRepo, sectionRepo, enrollmentRepo, transcriptRepo);
+        ServerMetrics metrics = new ServerMetrics();
+        metrics.gauge("search_cache_hits", () -> catalog.getSearchCacheStats().getHitCount());
+        metrics.gauge("replayed_requests", registration::getReplayedRequestCount);
+        ApiServer server = new ApiServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                registration, catalog, grading, metrics);
+        server.start();
+        String base = "http://127.0.0.1:" + server.getPort();
+
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        // Latency histogram in 10-microsecond steps up to 100ms, plus an overflow slot.
+        AtomicLongArray histogram = new AtomicLongArray(10_001);
+        AtomicLongArray statusClasses = new AtomicLongArray(6);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long t0 = System.nanoTime();
+
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        for (int c = 0; c < clients; c++) {
+            int clientId = c;
+            pool.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long seq = 0;
+                while (System.nanoTime() < deadline) {
+                    String student = "HB-S" + random.nextInt(studentCount);
+                    String section = "HB-SEC" + random.nextInt(sectionCount);
+                    int roll = random.nextInt(100);
+                    HttpRequest req;
+                    if (roll < 50) {
+                        req = HttpRequest.newBuilder(URI.create(base + "/courses?code=HB" + random.nextInt(50))).build();
+                    } else if (roll < 80) {
+                        req = HttpRequest.newBuilder(URI.create(base + "/students/" + student + "/schedule")).build();
+                    } else {
+                        String action = roll < 90 ? "enroll" : "drop";
+                        req = HttpRequest.newBuilder(URI.create(base + "/students/" + student + "/" + action))
+                                .header("Content-Type", "application/x-www-form-urlencoded")
+                                .header(ApiServer.IDEMPOTENCY_HEADER, clientId + "-" + seq++)
+                                .POST(HttpRequest.BodyPublishers.ofString("section=" + section))
+                                .build();
+                    }
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> res = http.send(req, HttpResponse.BodyHandlers.discarding());
+                        statusClasses.incrementAndGet(Math.min(5, res.statusCode() / 100));
+                    } catch (Exception e) {
+                        statusClasses.incrementAndGet(0);
+                    }
+                    long micros = (System.nanoTime() - start) / 1_000;
+                    histogram.incrementAndGet((int) Math.min(histogram.length() - 1, micros / 10));
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(seconds + 30L, TimeUnit.SECONDS);
+        double elapsed = (System.nanoTime() - t0) / 1e9;
+
+        long total = 0;
+        for (int i = 0; i < statusClasses.length(); i++) total += statusClasses.get(i);
+        System.out.printf("clients=%d requests=%d throughput=%.0f req/s | p50 %s p90 %s p99 %s p99.9 %s%n",
+                clients, total, total / elapsed, percentile(histogram, total, 0.50), percentile(histogram, total, 0.90),
+                percentile(histogram, total, 0.99), percentile(histogram, total, 0.999));
+        System.out.printf("2xx=%d 4xx=%d 5xx=%d errors=%d%n",
+                statusClasses.get(2), statusClasses.get(4), statusClasses.get(5), statusClasses.get(0));
+
+        HttpResponse<String> scrape = http.send(HttpRequest.newBuilder(URI.create(base + "/metrics")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        Arrays.stream(scrape.body().split("\n"))
+                .filter(line -> line.startsWith("http_requests_total") || line.contains("_count{")
+                        || line.startsWith("search_cache") || line.startsWith("replayed"))
+                .forEach(System.out::println);
+        server.stop(1);
+    }
+
+    private static String percentile(AtomicLongArray histogram, long total, double q) {
+        long target = (long) Math.ceil(total * q);
+        long seen = 0;
+        for (int i = 0; i < histogram.length(); i++) {
+            seen += histogram.get(i);
+            if (seen >= target && seen > 0) {
+                return i == histogram.length() - 1 ? ">100ms" : String.format("%.2fms", i / 100.0);
+            }
+        }
+        return "n/a";
+    }
+}
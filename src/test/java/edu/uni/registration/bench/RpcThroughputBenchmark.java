@@ -0,0 +1,110 @@
+package edu.uni.registration.bench;
+
+import edu.uni.registration.model.Course;
+import edu.uni.registration.model.Section;
+import edu.uni.registration.model.Student;
+import edu.uni.registration.repository.*;
+import edu.uni.registration.rpc.RpcClient;
+import edu.uni.registration.rpc.RpcServer;
+import edu.uni.registration.service.impl.CatalogServiceImpl;
+import edu.uni.registration.service.impl.RegistrationServiceImpl;
+import edu.uni.registration.util.Result;
+import edu.uni.registration.validation.PrerequisiteValidator;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Localhost throughput of the binary protocol at several pipeline depths: each client thread owns
+ * a connection and keeps {@code depth} requests in flight per round trip. The mix is 50% course
+ * search, 30% schedule reads and 20% enroll/drop.
+ * Run with: java -cp target/classes:target/test-classes edu.uni.registration.bench.RpcThroughputBenchmark [clients] [seconds]
+ */
+public class RpcThroughputBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int studentCount = 5_000;
+        int sectionCount = 500;
+
+        StudentRepository studentRepo = new StudentRepository();
+        TranscriptRepository transcriptRepo = new TranscriptRepository();
+        SectionRepository sectionRepo = new SectionRepository();
+        CourseRepository courseRepo = new CourseRepository();
+        PersonRepository personRepo = new PersonRepository();
+        for (int i = 0; i < studentCount; i++) {
+            Student s = new Student("RB-S" + i, "Load", "Student" + i, "s" + i + "@uni.edu", "CS", 1 + i % 4);
+            studentRepo.save(s);
+            transcriptRepo.save(s.getTranscript());
+        }
+        for (int i = 0; i < sectionCount; i++) {
+            Course course = new Course("RB" + i, "Load course " + i, 3);
+            courseRepo.save(course);
+            sectionRepo.save(new Section("RB-SEC" + i, course, "Fall", 10_000));
+        }
+        RegistrationServiceImpl registration = new RegistrationServiceImpl(studentRepo, sectionRepo,
+                new PrerequisiteValidator(), transcriptRepo, personRepo, new EnrollmentRepository());
+        CatalogServiceImpl catalog = new CatalogServiceImpl(courseRepo, sectionRepo, personRepo);
+        int ioThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        RpcServer server = new RpcServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                registration, catalog, ioThreads);
+        server.start();
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+
+        for (int depth : new int[]{1, 8, 64}) {
+            AtomicLong done = new AtomicLong();
+            AtomicLong failed = new AtomicLong();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+            Thread[] threads = new Thread[clients];
+            for (int c = 0; c < clients; c++) {
+                threads[c] = new Thread(() -> {
+                    try (RpcClient client = RpcClient.connect(address)) {
+                        @SuppressWarnings("unchecked")
+                        CompletableFuture<? extends Result<?>>[] batch = new CompletableFuture[depth];
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        while (System.nanoTime() < deadline) {
+                            client.pipelined(() -> {
+                                for (int i = 0; i < depth; i++) {
+                                    batch[i] = issue(client, random, studentCount, sectionCount);
+                                }
+                            });
+                            for (int i = 0; i < depth; i++) {
+                                batch[i].join();
+                            }
+                            done.addAndGet(depth);
+                        }
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                    }
+                });
+                threads[c].start();
+            }
+            long t0 = System.nanoTime();
+            for (Thread t : threads) t.join();
+            double elapsed = (System.nanoTime() - t0) / 1e9;
+            System.out.printf("clients=%d depth=%-3d %,10.0f req/s | direct buffers allocated %d, idle %d"
+                            + " | connection failures %d%n",
+                    clients, depth, done.get() / elapsed, server.getBufferPool().allocatedCount(),
+                    server.getBufferPool().idleCount(), failed.get());
+        }
+        System.out.printf("overall requests per read: %.1f%n", server.getRequestsPerRead());
+        server.close();
+    }
+
+    private static CompletableFuture<? extends Result<?>> issue(RpcClient client, ThreadLocalRandom random,
+                                                                int students, int sections) {
+        String student = "RB-S" + random.nextInt(students);
+        int roll = random.nextInt(100);
+        if (roll < 50) return client.search("RB" + random.nextInt(50), null, null, null, null);
+        if (roll < 80) return client.getCurrentSchedule(student, null);
+        String section = "RB-SEC" + random.nextInt(sections);
+        return roll < 90
+                ? client.enrollStudentInSection(null, student, section)
+                : client.dropStudentInSection(null, student, section);
+    }
+}
@@ -0,0 +1,113 @@
+package edu.uni.registration.bench;
+
+import edu.uni.registration.model.Course;
+import edu.uni.registration.model.Instructor;
+import edu.uni.registration.model.Section;
+import edu.uni.registration.model.TimeSlot;
+import edu.uni.registration.scheduling.CoEnrollmentGraph;
+import edu.uni.registration.scheduling.TimePattern;
+import edu.uni.registration.scheduling.Timetable;
+import edu.uni.registration.scheduling.TimetableProblem;
+import edu.uni.registration.scheduling.TimetableSolver;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Solution quality against wall-clock time on a synthetic term.
+ * Run with: java -cp target/classes:target/test-classes edu.uni.registration.bench.TimetableSolverBenchmark [sections]
+ */
+public class TimetableSolverBenchmark {
+
+    public static void main(String[] args) {
+        int sectionCount = args.length > 0 ? Integer.parseInt(args[0]) : 1500;
+        TimetableProblem problem = syntheticTerm(sectionCount, new Random(7));
+        System.out.printf("sections=%d patterns=%d rooms=%d co-enrollment edges=%d%n",
+                sectionCount, problem.getPatterns().size(), problem.getRooms().size(),
+                problem.getCoEnrollment().edgeCount());
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int parallelism : new int[]{1, cores}) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            for (long budget : new long[]{250, 1_000, 4_000}) {
+                TimetableSolver solver = new TimetableSolver(pool);
+                solver.setTimeBudgetMillis(budget);
+                Timetable t = solver.solve(problem);
+                System.out.printf("threads=%-3d budget=%5dms hard=%-4d soft=%-7d cost=%d%n",
+                        parallelism, budget, t.getHardConflicts(), t.getSoftPenalty(), t.getCost());
+            }
+            pool.shutdown();
+        }
+
+        TimetableSolver solver = new TimetableSolver(new ForkJoinPool(cores));
+        solver.setTimeBudgetMillis(4_000);
+        List<Timetable.Progress> trace = solver.solve(problem).getProgress();
+        System.out.println("best cost over time (" + cores + " threads):");
+        for (long checkpoint : new long[]{10, 50, 100, 250, 500, 1_000, 2_000, 4_000}) {
+            long best = -1;
+            for (Timetable.Progress p : trace) {
+                if (p.getElapsedMillis() <= checkpoint) best = p.getCost();
+            }
+            System.out.printf("  %5dms %s%n", checkpoint, best < 0 ? "-" : Long.toString(best));
+        }
+    }
+
+    /** Three patterns per teaching block over a Mon-Fri 08:00-18:00 week; sections grouped into cohorts. */
+    static TimetableProblem syntheticTerm(int sectionCount, Random random) {
+        List<TimePattern> patterns = new ArrayList<>();
+        for (int h = 8; h < 18; h++) {
+            patterns.add(pattern("MWF" + h, h * 60, 50, DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY));
+        }
+        for (int m = 8 * 60; m + 75 <= 18 * 60; m += 90) {
+            patterns.add(pattern("TR" + m / 60 + ":" + m % 60, m, 75, DayOfWeek.TUESDAY, DayOfWeek.THURSDAY));
+        }
+
+        int roomCount = Math.max(4, sectionCount / patterns.size() + 1);
+        List<String> rooms = new ArrayList<>();
+        for (int r = 0; r < roomCount; r++) rooms.add("R" + r);
+
+        int courseCount = Math.max(1, sectionCount / 2);
+        List<Course> courses = new ArrayList<>();
+        for (int c = 0; c < courseCount; c++) courses.add(new Course("BENCH" + c, "Course " + c, 3));
+        List<Instructor> instructors = new ArrayList<>();
+        for (int k = 0; k < Math.max(1, sectionCount / 3); k++) {
+            instructors.add(new Instructor("BI" + k, "I", "" + k, "i" + k + "@uni.edu", "CS", "" + k));
+        }
+
+        List<Section> sections = new ArrayList<>();
+        for (int i = 0; i < sectionCount; i++) {
+            Section s = new Section("BSEC" + i, courses.get(i % courseCount), "Bench", 40);
+            s.setInstructor(instructors.get(random.nextInt(instructors.size())));
+            sections.add(s);
+        }
+
+        // Cohorts of eight courses commonly taken together, weighted like shared-student counts.
+        Map<String, Integer> weights = new HashMap<>();
+        for (int c = 0; c < courseCount; c++) {
+            int cohort = c / 8;
+            for (int k = 0; k < 3; k++) {
+                int other = cohort * 8 + random.nextInt(8);
+                if (other != c && other < courseCount) {
+                    weights.merge(CoEnrollmentGraph.pairKey(courses.get(c).getCode(), courses.get(other).getCode()),
+                            1 + random.nextInt(20), Integer::sum);
+                }
+            }
+        }
+        return new TimetableProblem(sections, patterns, rooms, CoEnrollmentGraph.fromCourseWeights(sections, weights));
+    }
+
+    private static TimePattern pattern(String name, int startMinute, int lengthMinutes, DayOfWeek... days) {
+        List<TimeSlot> slots = new ArrayList<>();
+        LocalTime start = LocalTime.of(startMinute / 60, startMinute % 60);
+        for (DayOfWeek d : days) {
+            slots.add(new TimeSlot(d, start, start.plusMinutes(lengthMinutes), null));
+        }
+        return new TimePattern(name, slots);
+    }
+}